@@ -1,5 +1,7 @@
 package com.ejemplo.algoritmo;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -11,7 +13,7 @@ public class AsignacionCandidata {
     private String nombreHeuristica;
     private Map<Integer, Integer> asignaciones; // vehiculoId -> cargadorId
     private double valorEvaluacion;
-    private long tiempoComputo; // en milisegundos
+    private long tiempoComputo; // en nanosegundos
 
     public AsignacionCandidata() {
         this.valorEvaluacion = 0.0;
@@ -52,12 +54,39 @@ public class AsignacionCandidata {
     public AsignacionCandidata copia() {
         AsignacionCandidata copia = new AsignacionCandidata();
         copia.nombreHeuristica = this.nombreHeuristica + "_copy";
-        copia.asignaciones = Map.copyOf(this.asignaciones);
+        // Copia inmutable con el mismo orden de iteración (Map.copyOf lo aleatoriza)
+        copia.asignaciones = Collections.unmodifiableMap(new LinkedHashMap<>(this.asignaciones));
         copia.valorEvaluacion = this.valorEvaluacion;
         copia.tiempoComputo = this.tiempoComputo;
         return copia;
     }
 
+    /**
+     * Huella Zobrist de las asignaciones: XOR de una clave pseudoaleatoria de 64
+     * bits por cada par vehículo→cargador. No depende del orden de inserción,
+     * así que dos heurísticas que producen el mismo mapa tienen la misma huella.
+     */
+    public long calcularHuella() {
+        long huella = 0L;
+        for (Map.Entry<Integer, Integer> par : asignaciones.entrySet()) {
+            if (par.getValue() != null) {
+                huella ^= claveZobrist(par.getKey(), par.getValue());
+            }
+        }
+        return huella;
+    }
+
+    /**
+     * Clave del par (vehículo, cargador) derivada con el mezclador de SplitMix64
+     * en lugar de una tabla, porque los IDs de vehículo no están acotados
+     */
+    private static long claveZobrist(int vehiculoId, int cargadorId) {
+        long z = ((long) vehiculoId << 32 | (cargadorId & 0xFFFFFFFFL)) + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
     @Override
     public String toString() {
         return String.format("AsignacionCandidata{heuristica='%s', asignaciones=%d, valor=%.3f}",
@@ -0,0 +1,500 @@
+package com.ejemplo.algoritmo;
+
+import com.ejemplo.model.TestSystem;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Benchmark real de configuraciones de Scatter Search: ejecuta cada
+ * configuración sobre cada instancia con varias semillas (constructivo y
+ * Scatter Search sembrados), en paralelo, y resume objetivo, tamaño del frente
+ * y tiempo con media, desviación y percentiles. Cada ejecución registra además
+ * su brecha respecto a la cota de flujo máximo de la instancia.
+ */
+public class BenchmarkConfiguraciones {
+
+    private final Map<String, ScatterSearch.ParametrosScatterSearch> configuraciones = new LinkedHashMap<>();
+    private final Map<String, TestSystem> instancias = new LinkedHashMap<>();
+    private final Map<String, CotaEnergia> cotas = new HashMap<>(); // Una por instancia
+    private final List<Long> semillas = new ArrayList<>();
+    private int hilos = Runtime.getRuntime().availableProcessors();
+    private boolean mostrarProgreso = true;
+
+    public BenchmarkConfiguraciones agregarConfiguracion(String nombre,
+            ScatterSearch.ParametrosScatterSearch parametros) {
+        configuraciones.put(nombre, parametros);
+        return this;
+    }
+
+    /**
+     * Añade los presets rápida, balanceada e intensiva
+     */
+    public BenchmarkConfiguraciones agregarPresets() {
+        agregarConfiguracion("Rápida", ScatterSearch.ParametrosScatterSearch.configuracionRapida());
+        agregarConfiguracion("Balanceada", ScatterSearch.ParametrosScatterSearch.configuracionBalanceada());
+        agregarConfiguracion("Intensiva", ScatterSearch.ParametrosScatterSearch.configuracionIntensiva());
+        return this;
+    }
+
+    public BenchmarkConfiguraciones agregarInstancia(String nombre, TestSystem testSystem) {
+        instancias.put(nombre, testSystem);
+        cotas.remove(nombre);
+        return this;
+    }
+
+    /**
+     * Como agregarInstancia, reutilizando una cota ya calculada
+     */
+    public BenchmarkConfiguraciones agregarInstancia(String nombre, TestSystem testSystem, CotaEnergia cota) {
+        instancias.put(nombre, testSystem);
+        cotas.put(nombre, cota);
+        return this;
+    }
+
+    public BenchmarkConfiguraciones agregarSemilla(long semilla) {
+        semillas.add(semilla);
+        return this;
+    }
+
+    /**
+     * Añade las semillas base, base+1, ..., base+cantidad-1
+     */
+    public BenchmarkConfiguraciones agregarSemillas(int cantidad, long base) {
+        for (int i = 0; i < cantidad; i++) {
+            semillas.add(base + i);
+        }
+        return this;
+    }
+
+    public BenchmarkConfiguraciones setHilos(int hilos) {
+        this.hilos = Math.max(1, hilos);
+        return this;
+    }
+
+    public BenchmarkConfiguraciones setMostrarProgreso(boolean mostrarProgreso) {
+        this.mostrarProgreso = mostrarProgreso;
+        return this;
+    }
+
+    public int getNumeroEjecuciones() {
+        return configuraciones.size() * instancias.size() * semillas.size();
+    }
+
+    /**
+     * Ejecuta todas las combinaciones (configuración, instancia, semilla). Los
+     * resultados se devuelven en ese orden, independientemente del orden de
+     * finalización de los hilos.
+     */
+    public List<Ejecucion> ejecutar() throws InterruptedException {
+        if (configuraciones.isEmpty() || instancias.isEmpty() || semillas.isEmpty()) {
+            throw new IllegalStateException("El benchmark necesita al menos una configuración, instancia y semilla");
+        }
+
+        // La cota solo depende de la instancia: se calcula una vez para todas las semillas
+        for (Map.Entry<String, TestSystem> instancia : instancias.entrySet()) {
+            cotas.computeIfAbsent(instancia.getKey(), k -> CotaEnergia.calcular(instancia.getValue()));
+        }
+
+        int total = getNumeroEjecuciones();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(hilos, total));
+        List<Future<Ejecucion>> pendientes = new ArrayList<>(total);
+        for (Map.Entry<String, ScatterSearch.ParametrosScatterSearch> configuracion : configuraciones.entrySet()) {
+            for (Map.Entry<String, TestSystem> instancia : instancias.entrySet()) {
+                for (long semilla : semillas) {
+                    pendientes.add(executor.submit(() -> ejecutarUna(configuracion.getKey(),
+                            configuracion.getValue(), instancia.getKey(), instancia.getValue(),
+                            cotas.get(instancia.getKey()), semilla)));
+                }
+            }
+        }
+        executor.shutdown();
+
+        List<Ejecucion> ejecuciones = new ArrayList<>(total);
+        try {
+            for (Future<Ejecucion> pendiente : pendientes) {
+                ejecuciones.add(pendiente.get());
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            throw e;
+        } catch (ExecutionException e) {
+            // ejecutarUna captura sus propios errores; esto solo ocurre por errores graves
+            executor.shutdownNow();
+            throw new IllegalStateException("Error inesperado en el benchmark", e.getCause());
+        }
+        return ejecuciones;
+    }
+
+    private Ejecucion ejecutarUna(String configuracion, ScatterSearch.ParametrosScatterSearch parametros,
+            String instancia, TestSystem testSystem, CotaEnergia cota, long semilla) {
+        Ejecucion ejecucion = evaluar(configuracion, parametros, instancia, testSystem, cota, semilla);
+        if (mostrarProgreso) {
+            if (ejecucion.isCorrecta()) {
+                System.out.printf("   ✅ %s | %s | semilla %d: objetivo %.2f, brecha cota %.2f%%, frente %d, %d ms%n",
+                        configuracion, instancia, semilla, ejecucion.valorObjetivo, ejecucion.brechaCota,
+                        ejecucion.tamañoFrente, ejecucion.tiempoTotalMs);
+            } else {
+                System.err.printf("   ❌ %s | %s | semilla %d: %s%n", configuracion, instancia, semilla,
+                        ejecucion.error);
+            }
+        }
+        return ejecucion;
+    }
+
+    /**
+     * Ejecuta constructivo y Scatter Search sembrados con la misma semilla. Los
+     * errores quedan registrados en la ejecución en lugar de propagarse.
+     */
+    static Ejecucion evaluar(String configuracion, ScatterSearch.ParametrosScatterSearch parametros,
+            String instancia, TestSystem testSystem, long semilla) {
+        return evaluar(configuracion, parametros, instancia, testSystem, null, semilla);
+    }
+
+    /**
+     * Como evaluar, registrando la brecha de la mejor solución respecto a la
+     * cota (si no es nula)
+     */
+    static Ejecucion evaluar(String configuracion, ScatterSearch.ParametrosScatterSearch parametros,
+            String instancia, TestSystem testSystem, CotaEnergia cota, long semilla) {
+        Ejecucion ejecucion = new Ejecucion(configuracion, instancia, semilla);
+        ThreadMXBean hilosMx = ManagementFactory.getThreadMXBean();
+        boolean medirCpu = hilosMx.isCurrentThreadCpuTimeSupported();
+        try {
+            long inicio = System.nanoTime();
+            long inicioCpu = medirCpu ? hilosMx.getCurrentThreadCpuTime() : 0L;
+            ConstructivoAdaptativo constructivo = new ConstructivoAdaptativo(testSystem);
+            constructivo.getLogger().setShowLogs(false);
+            constructivo.getLogger().setHistorialTexto(false);
+            constructivo.setSemilla(semilla);
+            SolucionConstructiva solucionInicial = constructivo.ejecutar();
+            long finConstructivo = System.nanoTime();
+
+            ScatterSearch scatterSearch = new ScatterSearch(testSystem, solucionInicial, parametros);
+            scatterSearch.getLogger().setShowLogs(false);
+            scatterSearch.getLogger().setHistorialTexto(false);
+            scatterSearch.setSemilla(semilla);
+            SolucionConstructiva mejor = scatterSearch.ejecutar();
+            long fin = System.nanoTime();
+
+            ejecucion.valorObjetivoInicial = solucionInicial.getValorObjetivo();
+            ejecucion.valorObjetivo = mejor.getValorObjetivo();
+            ejecucion.costo = mejor.getCostoTotalOperacion();
+            ejecucion.energia = mejor.getEnergiaTotalEntregada();
+            if (cota != null) {
+                ejecucion.brechaCota = cota.calcularBrecha(mejor);
+            }
+            ejecucion.mejora = scatterSearch.getMejoraObtenida();
+            ejecucion.tamañoFrente = scatterSearch.getFrentePareto().getTamaño();
+            ejecucion.tiempoConstructivoMs = (finConstructivo - inicio) / 1_000_000;
+            ejecucion.tiempoTotalMs = (fin - inicio) / 1_000_000;
+            ejecucion.tiempoCpuMs = medirCpu ? (hilosMx.getCurrentThreadCpuTime() - inicioCpu) / 1_000_000
+                    : ejecucion.tiempoTotalMs;
+        } catch (Exception e) {
+            ejecucion.error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+        return ejecucion;
+    }
+
+    /**
+     * Agrupa las ejecuciones correctas por configuración e instancia (en el
+     * orden en que se añadieron)
+     */
+    public static List<ResumenGrupo> resumirPorInstancia(List<Ejecucion> ejecuciones) {
+        Map<String, List<Ejecucion>> grupos = new LinkedHashMap<>();
+        for (Ejecucion ejecucion : ejecuciones) {
+            grupos.computeIfAbsent(ejecucion.configuracion + "\u0000" + ejecucion.instancia,
+                    k -> new ArrayList<>()).add(ejecucion);
+        }
+        List<ResumenGrupo> resumenes = new ArrayList<>();
+        for (List<Ejecucion> grupo : grupos.values()) {
+            resumenes.add(new ResumenGrupo(grupo.get(0).configuracion, grupo.get(0).instancia, grupo));
+        }
+        return resumenes;
+    }
+
+    /**
+     * Resume cada configuración sobre todas las instancias. Como la escala del
+     * objetivo cambia entre instancias, la calidad se compara con la brecha
+     * relativa (%) de cada ejecución respecto a la mejor media de su instancia.
+     */
+    public static List<ResumenConfiguracion> resumirPorConfiguracion(List<Ejecucion> ejecuciones) {
+        Map<String, Double> mejorMediaPorInstancia = new HashMap<>();
+        for (ResumenGrupo grupo : resumirPorInstancia(ejecuciones)) {
+            if (grupo.objetivo.n > 0) {
+                mejorMediaPorInstancia.merge(grupo.instancia, grupo.objetivo.media, Math::max);
+            }
+        }
+
+        Map<String, List<Ejecucion>> porConfiguracion = new LinkedHashMap<>();
+        for (Ejecucion ejecucion : ejecuciones) {
+            porConfiguracion.computeIfAbsent(ejecucion.configuracion, k -> new ArrayList<>()).add(ejecucion);
+        }
+
+        List<ResumenConfiguracion> resumenes = new ArrayList<>();
+        for (Map.Entry<String, List<Ejecucion>> entrada : porConfiguracion.entrySet()) {
+            List<Ejecucion> correctas = filtrarCorrectas(entrada.getValue());
+            double[] brechas = new double[correctas.size()];
+            for (int i = 0; i < brechas.length; i++) {
+                Ejecucion ejecucion = correctas.get(i);
+                double referencia = mejorMediaPorInstancia.get(ejecucion.instancia);
+                brechas[i] = Math.abs(referencia) > 1e-9
+                        ? (referencia - ejecucion.valorObjetivo) / Math.abs(referencia) * 100.0
+                        : 0.0;
+            }
+            resumenes.add(new ResumenConfiguracion(entrada.getKey(), Estadistica.de(brechas),
+                    Estadistica.de(valores(correctas, e -> e.brechaCota)),
+                    Estadistica.de(valores(correctas, e -> e.tamañoFrente)),
+                    Estadistica.de(valores(correctas, e -> e.tiempoTotalMs)),
+                    entrada.getValue().size() - correctas.size()));
+        }
+        return resumenes;
+    }
+
+    /**
+     * Configuración recomendada: menor brecha media; ante brechas similares
+     * (diferencia menor a 0.5 puntos), la más rápida
+     */
+    public static ResumenConfiguracion recomendar(List<ResumenConfiguracion> resumenes) {
+        ResumenConfiguracion mejor = null;
+        for (ResumenConfiguracion resumen : resumenes) {
+            if (resumen.brecha.n == 0) {
+                continue;
+            }
+            if (mejor == null || resumen.brecha.media < mejor.brecha.media - 0.5
+                    || (Math.abs(resumen.brecha.media - mejor.brecha.media) <= 0.5
+                            && resumen.tiempo.media < mejor.tiempo.media)) {
+                mejor = resumen;
+            }
+        }
+        return mejor;
+    }
+
+    /**
+     * Genera el informe de texto con las tablas por instancia y por configuración
+     */
+    public static String generarInforme(List<Ejecucion> ejecuciones) {
+        StringBuilder informe = new StringBuilder();
+        String separador = "-".repeat(130) + "\n";
+
+        informe.append("📊 RESULTADOS POR CONFIGURACIÓN E INSTANCIA\n");
+        informe.append(separador);
+        informe.append(String.format("%-14s %-20s %3s %24s %10s %10s %11s %14s %16s%n", "CONFIGURACIÓN", "INSTANCIA",
+                "N", "OBJETIVO (media±desv)", "P50", "P90", "COTA %", "FRENTE (media)", "TIEMPO p50/p90 s"));
+        informe.append(separador);
+        for (ResumenGrupo grupo : resumirPorInstancia(ejecuciones)) {
+            informe.append(String.format("%-14s %-20s %3d %24s %10.2f %10.2f %11.2f %14.1f %16s%n",
+                    grupo.configuracion, grupo.instancia, grupo.objetivo.n,
+                    String.format("%.2f±%.2f", grupo.objetivo.media, grupo.objetivo.desviacion),
+                    grupo.objetivo.p50, grupo.objetivo.p90, grupo.brechaCota.media, grupo.frente.media,
+                    String.format("%.1f/%.1f", grupo.tiempo.p50 / 1000.0, grupo.tiempo.p90 / 1000.0)));
+        }
+
+        informe.append("\n📈 RESUMEN POR CONFIGURACIÓN (brecha % respecto a la mejor media de cada instancia)\n");
+        informe.append(separador);
+        informe.append(String.format("%-14s %3s %18s %10s %10s %11s %16s %18s %7s%n", "CONFIGURACIÓN", "N",
+                "BRECHA (media±desv)", "P50", "P90", "COTA %", "FRENTE (m±d)", "TIEMPO (media±d) s", "FALLOS"));
+        informe.append(separador);
+        List<ResumenConfiguracion> resumenes = resumirPorConfiguracion(ejecuciones);
+        for (ResumenConfiguracion resumen : resumenes) {
+            informe.append(String.format("%-14s %3d %18s %10.2f %10.2f %11.2f %16s %18s %7d%n", resumen.nombre,
+                    resumen.brecha.n, String.format("%.2f±%.2f", resumen.brecha.media, resumen.brecha.desviacion),
+                    resumen.brecha.p50, resumen.brecha.p90, resumen.brechaCota.media,
+                    String.format("%.1f±%.1f", resumen.frente.media, resumen.frente.desviacion),
+                    String.format("%.1f±%.1f", resumen.tiempo.media / 1000.0, resumen.tiempo.desviacion / 1000.0),
+                    resumen.fallos));
+        }
+        informe.append("COTA %: energía no entregada respecto a la cota de flujo máximo de la instancia\n");
+
+        ResumenConfiguracion recomendada = recomendar(resumenes);
+        if (recomendada != null) {
+            informe.append(String.format("%n🏆 Recomendación: %s (brecha media %.2f%%, tiempo medio %.1f s)%n",
+                    recomendada.nombre, recomendada.brecha.media, recomendada.tiempo.media / 1000.0));
+        }
+        return informe.toString();
+    }
+
+    /**
+     * Exporta una fila por ejecución
+     */
+    public static void exportarCsv(List<Ejecucion> ejecuciones, Path destino) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(destino, StandardCharsets.UTF_8))) {
+            writer.println("Configuracion,Instancia,Semilla,ValorObjetivo,Costo,Energia,Mejora_%,"
+                    + "FrentePareto_Tamano,Tiempo_Constructivo_ms,Tiempo_Total_ms,Brecha_Cota_%,Error");
+            for (Ejecucion e : ejecuciones) {
+                if (e.isCorrecta()) {
+                    writer.println(String.format(Locale.US, "%s,%s,%d,%.4f,%.4f,%.4f,%.4f,%d,%d,%d,%s,",
+                            e.configuracion, e.instancia, e.semilla, e.valorObjetivo, e.costo, e.energia, e.mejora,
+                            e.tamañoFrente, e.tiempoConstructivoMs, e.tiempoTotalMs,
+                            Double.isNaN(e.brechaCota) ? "" : String.format(Locale.US, "%.4f", e.brechaCota)));
+                } else {
+                    writer.println(String.format("%s,%s,%d,,,,,,,,,\"%s\"", e.configuracion, e.instancia, e.semilla,
+                            e.error.replace("\"", "\"\"")));
+                }
+            }
+        }
+    }
+
+    private static List<Ejecucion> filtrarCorrectas(List<Ejecucion> ejecuciones) {
+        List<Ejecucion> correctas = new ArrayList<>(ejecuciones.size());
+        for (Ejecucion ejecucion : ejecuciones) {
+            if (ejecucion.isCorrecta()) {
+                correctas.add(ejecucion);
+            }
+        }
+        return correctas;
+    }
+
+    private static double[] valores(List<Ejecucion> ejecuciones, java.util.function.ToDoubleFunction<Ejecucion> f) {
+        double[] valores = new double[ejecuciones.size()];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = f.applyAsDouble(ejecuciones.get(i));
+        }
+        return valores;
+    }
+
+    /**
+     * Resultado de una ejecución (configuración, instancia, semilla)
+     */
+    public static class Ejecucion {
+        public final String configuracion;
+        public final String instancia;
+        public final long semilla;
+        public double valorObjetivoInicial; // Solución del constructivo de partida
+        public double valorObjetivo;
+        public double costo;
+        public double energia;
+        public double brechaCota = Double.NaN; // % de la cota de flujo máximo sin entregar (NaN sin cota)
+        public double mejora;
+        public int tamañoFrente;
+        public long tiempoConstructivoMs;
+        public long tiempoTotalMs;
+        public long tiempoCpuMs; // Tiempo de CPU del hilo (tiempo total si no se puede medir)
+        public String error; // null si la ejecución terminó correctamente
+
+        Ejecucion(String configuracion, String instancia, long semilla) {
+            this.configuracion = configuracion;
+            this.instancia = instancia;
+            this.semilla = semilla;
+        }
+
+        public boolean isCorrecta() {
+            return error == null;
+        }
+    }
+
+    /**
+     * Estadísticos descriptivos de una muestra (desviación muestral y
+     * percentiles por interpolación lineal)
+     */
+    public static class Estadistica {
+        public final int n;
+        public final double media;
+        public final double desviacion;
+        public final double minimo;
+        public final double p50;
+        public final double p90;
+        public final double maximo;
+
+        private Estadistica(int n, double media, double desviacion, double minimo, double p50, double p90,
+                double maximo) {
+            this.n = n;
+            this.media = media;
+            this.desviacion = desviacion;
+            this.minimo = minimo;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.maximo = maximo;
+        }
+
+        public static Estadistica de(double[] muestra) {
+            int n = muestra.length;
+            if (n == 0) {
+                return new Estadistica(0, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+            }
+            double[] ordenada = muestra.clone();
+            Arrays.sort(ordenada);
+
+            double suma = 0.0;
+            for (double valor : ordenada) {
+                suma += valor;
+            }
+            double media = suma / n;
+            double sumaCuadrados = 0.0;
+            for (double valor : ordenada) {
+                sumaCuadrados += (valor - media) * (valor - media);
+            }
+            double desviacion = n > 1 ? Math.sqrt(sumaCuadrados / (n - 1)) : 0.0;
+
+            return new Estadistica(n, media, desviacion, ordenada[0], percentil(ordenada, 0.5),
+                    percentil(ordenada, 0.9), ordenada[n - 1]);
+        }
+
+        /**
+         * Percentil q (0..1) de una muestra ordenada
+         */
+        public static double percentil(double[] ordenada, double q) {
+            double posicion = q * (ordenada.length - 1);
+            int inferior = (int) Math.floor(posicion);
+            int superior = Math.min(inferior + 1, ordenada.length - 1);
+            double fraccion = posicion - inferior;
+            return ordenada[inferior] + fraccion * (ordenada[superior] - ordenada[inferior]);
+        }
+    }
+
+    /**
+     * Estadísticos de una configuración sobre una instancia
+     */
+    public static class ResumenGrupo {
+        public final String configuracion;
+        public final String instancia;
+        public final Estadistica objetivo;
+        public final Estadistica brechaCota;
+        public final Estadistica frente;
+        public final Estadistica tiempo;
+        public final int fallos;
+
+        ResumenGrupo(String configuracion, String instancia, List<Ejecucion> ejecuciones) {
+            List<Ejecucion> correctas = filtrarCorrectas(ejecuciones);
+            this.configuracion = configuracion;
+            this.instancia = instancia;
+            this.objetivo = Estadistica.de(valores(correctas, e -> e.valorObjetivo));
+            this.brechaCota = Estadistica.de(valores(correctas, e -> e.brechaCota));
+            this.frente = Estadistica.de(valores(correctas, e -> e.tamañoFrente));
+            this.tiempo = Estadistica.de(valores(correctas, e -> e.tiempoTotalMs));
+            this.fallos = ejecuciones.size() - correctas.size();
+        }
+    }
+
+    /**
+     * Estadísticos de una configuración sobre todas las instancias
+     */
+    public static class ResumenConfiguracion {
+        public final String nombre;
+        public final Estadistica brecha; // % respecto a la mejor media de la instancia
+        public final Estadistica brechaCota; // % respecto a la cota de flujo máximo
+        public final Estadistica frente;
+        public final Estadistica tiempo;
+        public final int fallos;
+
+        ResumenConfiguracion(String nombre, Estadistica brecha, Estadistica brechaCota, Estadistica frente,
+                Estadistica tiempo, int fallos) {
+            this.nombre = nombre;
+            this.brecha = brecha;
+            this.brechaCota = brechaCota;
+            this.frente = frente;
+            this.tiempo = tiempo;
+            this.fallos = fallos;
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.ejemplo.algoritmo;
 
 import com.ejemplo.model.*;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Sistema de logging avanzado para el algoritmo de carga de vehículos
@@ -15,9 +17,23 @@ import java.util.stream.Collectors;
  */
 public class ChargingLogger {
 
-    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+    /** Número máximo de entradas retenidas en memoria por defecto */
+    public static final int CAPACIDAD_HISTORIAL_POR_DEFECTO = 100_000;
+
     private final boolean consoleOutput;
-    private final List<String> logHistory;
+
+    // Historial acotado en buffer circular, indexado por nivel y categoría: al
+    // llenarse se sobrescribe lo más antiguo
+    private final HistorialLogs logHistory;
+
+    // Salida opcional a archivo en segundo plano
+    private EscritorLogsAsincrono escritorArchivo;
+
+    // Traza binaria opcional y control del historial de texto
+    private TrazaEventos traza;
+    private boolean historialTexto = true;
+    private double tiempoSimulacion;
+
     private int iterationCounter;
 
     // Feature flag para controlar si se muestran los logs
@@ -31,8 +47,15 @@ public class ChargingLogger {
     private int vehicleCompletionCount;
 
     public ChargingLogger(boolean consoleOutput) {
+        this(consoleOutput, CAPACIDAD_HISTORIAL_POR_DEFECTO);
+    }
+
+    public ChargingLogger(boolean consoleOutput, int capacidadHistorial) {
+        if (capacidadHistorial <= 0) {
+            throw new IllegalArgumentException("La capacidad del historial debe ser positiva: " + capacidadHistorial);
+        }
         this.consoleOutput = consoleOutput;
-        this.logHistory = new ArrayList<>();
+        this.logHistory = new HistorialLogs(capacidadHistorial);
         this.iterationCounter = 0;
         this.showLogs = false; // Por defecto no muestra los logs
         resetCounters();
@@ -64,18 +87,87 @@ public class ChargingLogger {
         return showLogs;
     }
 
+    /**
+     * Activa la escritura de todos los logs a un archivo en segundo plano (gzip
+     * si el nombre termina en ".gz"). Cierra la salida anterior si existía.
+     */
+    public void habilitarArchivoLogs(Path archivo) throws IOException {
+        cerrarArchivoLogs();
+        this.escritorArchivo = new EscritorLogsAsincrono(archivo);
+    }
+
+    /**
+     * Vacía y cierra la salida a archivo, si está activa
+     */
+    public void cerrarArchivoLogs() throws IOException {
+        if (escritorArchivo != null) {
+            EscritorLogsAsincrono escritor = escritorArchivo;
+            escritorArchivo = null;
+            escritor.close();
+        }
+    }
+
+    public EscritorLogsAsincrono getEscritorArchivo() {
+        return escritorArchivo;
+    }
+
+    /**
+     * Asocia una traza binaria donde se registran los eventos estructurados
+     * (null para desactivarla)
+     */
+    public void setTraza(TrazaEventos traza) {
+        this.traza = traza;
+    }
+
+    public TrazaEventos getTraza() {
+        return traza;
+    }
+
+    /**
+     * Activa o desactiva el historial de texto en memoria. Con la traza binaria
+     * activa puede desactivarse para no formatear mensajes.
+     */
+    public void setHistorialTexto(boolean historialTexto) {
+        this.historialTexto = historialTexto;
+    }
+
+    public boolean isHistorialTexto() {
+        return historialTexto;
+    }
+
+    /**
+     * Indica si algún destino de texto (historial, consola o archivo) consumirá
+     * los mensajes formateados
+     */
+    private boolean requiereTexto() {
+        return historialTexto || escritorArchivo != null || (consoleOutput && showLogs);
+    }
+
     /**
      * Método de log principal (ahora público para uso externo)
      */
     public void log(String level, String category, String message) {
-        String timestamp = LocalDateTime.now().format(TIME_FORMATTER);
-        String logEntry = String.format("[%s] %s <%s> %s", timestamp, level, category, message);
+        if (!requiereTexto()) {
+            return;
+        }
+        long instante = System.currentTimeMillis();
 
-        logHistory.add(logEntry);
+        if (historialTexto) {
+            logHistory.agregar(instante, level, category, message);
+        }
 
-        // Solo mostrar en consola si la feature flag está activada
-        if (consoleOutput && showLogs) {
-            System.out.println(logEntry);
+        // Solo se formatea la línea si hay consola o archivo que la consuman
+        boolean enConsola = consoleOutput && showLogs;
+        if (escritorArchivo != null || enConsola) {
+            String logEntry = HistorialLogs.formatear(instante, level, category, message);
+            if (escritorArchivo != null) {
+                escritorArchivo.escribir(logEntry);
+            }
+
+            // Solo mostrar en consola si la feature flag está activada
+            if (enConsola) {
+                System.out.println(logEntry);
+            }
         }
     }
 
@@ -84,6 +176,14 @@ public class ChargingLogger {
      */
     public void logIterationStart(double currentTime, int vehiclesWaiting, int availableChargers) {
         this.iterationCounter++;
+        this.tiempoSimulacion = currentTime;
+        if (traza != null) {
+            traza.registrar(TrazaEventos.TipoEvento.INICIO_ITERACION, currentTime, -1, -1, iterationCounter,
+                    vehiclesWaiting, availableChargers);
+        }
+        if (!requiereTexto()) {
+            return;
+        }
         log("INFO", "ITERATION",
                 String.format(
                         "🔄 Iteración %d iniciada - Tiempo: %.2f h | Vehículos esperando: %d | Cargadores disponibles: %d",
@@ -94,6 +194,13 @@ public class ChargingLogger {
      * Log de generación de heurísticas candidatas
      */
     public void logHeuristicsGeneration(List<AsignacionCandidata> candidates) {
+        if (traza != null) {
+            traza.registrar(TrazaEventos.TipoEvento.GENERACION_HEURISTICAS, tiempoSimulacion, -1, -1,
+                    candidates.size(), 0, 0);
+        }
+        if (!requiereTexto()) {
+            return;
+        }
         log("INFO", "HEURISTICS", String.format("🧠 Generadas %d soluciones candidatas:", candidates.size()));
 
         for (int i = 0; i < candidates.size(); i++) {
@@ -108,6 +215,14 @@ public class ChargingLogger {
      * Log de selección de mejor heurística
      */
     public void logHeuristicSelection(AsignacionCandidata selected, double evaluationTime) {
+        if (traza != null) {
+            traza.registrar(TrazaEventos.TipoEvento.SELECCION_HEURISTICA, selected.getNombreHeuristica(),
+                    tiempoSimulacion, -1, -1, selected.getNumeroAsignaciones(), selected.getValorEvaluacion(),
+                    evaluationTime);
+        }
+        if (!requiereTexto()) {
+            return;
+        }
         log("SUCCESS", "HEURISTICS", String.format("🎯 Heurística seleccionada: %s",
                 selected.getNombreHeuristica()));
         log("INFO", "HEURISTICS", String.format("   📊 Valor evaluación: %.4f",
@@ -120,6 +235,14 @@ public class ChargingLogger {
      */
     public void logFeasibilityCheck(VehiculoSimulacion vehicle, Charger charger, boolean feasible, String reason) {
         feasibilityCheckCount++;
+        if (traza != null) {
+            double potencia = Math.min(charger.getPower(), vehicle.getVehiculoOriginal().getMaxChargeRate());
+            traza.registrar(TrazaEventos.TipoEvento.FACTIBILIDAD, feasible ? null : reason, tiempoSimulacion,
+                    vehicle.getVehiculoOriginal().getId(), charger.getChargerId(), feasible ? 1 : 0, potencia, 0);
+        }
+        if (!requiereTexto()) {
+            return;
+        }
 
         String status = feasible ? "✅ FACTIBLE" : "❌ NO FACTIBLE";
         log("DEBUG", "FEASIBILITY", String.format("%s: Vehículo %d → Cargador %d",
@@ -138,6 +261,13 @@ public class ChargingLogger {
      * Log de compatibilidad entre vehículo y cargador
      */
     public void logCompatibilityCheck(VehiculoSimulacion vehicle, Charger charger, boolean compatible, double score) {
+        if (traza != null) {
+            traza.registrar(TrazaEventos.TipoEvento.COMPATIBILIDAD, vehicle.getVehiculoOriginal().getBrand(),
+                    tiempoSimulacion, vehicle.getVehiculoOriginal().getId(), charger.getChargerId(), compatible ? 1 : 0, score, 0);
+        }
+        if (!requiereTexto()) {
+            return;
+        }
         String vehicleBrand = vehicle.getVehiculoOriginal().getBrand();
         String compatibleVehicles = String.join(", ", charger.getCompatibleVehicles());
 
@@ -156,8 +286,16 @@ public class ChargingLogger {
      */
     public void logVehicleAssignment(VehiculoSimulacion vehicle, Charger charger, double currentTime) {
         assignmentCount++;
+        tiempoSimulacion = currentTime;
 
         VehicleArrival v = vehicle.getVehiculoOriginal();
+        if (traza != null) {
+            traza.registrar(TrazaEventos.TipoEvento.ASIGNACION, v.getBrand(), currentTime, v.getId(),
+                    charger.getChargerId(), charger.getPower(), vehicle.getEnergiaRestante(), v.getDepartureTime());
+        }
+        if (!requiereTexto()) {
+            return;
+        }
         log("SUCCESS", "ASSIGNMENT", String.format("🔗 ASIGNACIÓN: Vehículo %d (%s) → Cargador %d",
                 v.getId(), v.getBrand(), charger.getChargerId()));
 
@@ -180,6 +318,15 @@ public class ChargingLogger {
     public void logPreemption(VehiculoSimulacion currentVehicle, VehiculoSimulacion newVehicle,
             Charger charger, String reason) {
         preemptionCount++;
+        if (traza != null) {
+            traza.registrar(TrazaEventos.TipoEvento.PREEMPCION, reason, tiempoSimulacion,
+                    currentVehicle.getVehiculoOriginal().getId(), charger.getChargerId(),
+                    newVehicle != null ? newVehicle.getVehiculoOriginal().getId() : -1,
+                    currentVehicle.getPorcentajeCompletitud(), 0);
+        }
+        if (!requiereTexto()) {
+            return;
+        }
 
         log("WARN", "PREEMPTION", String.format("🔄 PREEMPCIÓN en Cargador %d", charger.getChargerId()));
         log("WARN", "PREEMPTION", String.format("   📤 Vehículo saliente: %d (%s, %.1f%% completitud)",
@@ -198,6 +345,14 @@ public class ChargingLogger {
      */
     public void logChargerSwap(VehiculoSimulacion vehicle, Charger oldCharger, Charger newCharger, String reason) {
         chargerSwapCount++;
+        if (traza != null) {
+            traza.registrar(TrazaEventos.TipoEvento.CAMBIO_CARGADOR, reason, tiempoSimulacion,
+                    vehicle.getVehiculoOriginal().getId(), newCharger.getChargerId(), oldCharger.getChargerId(),
+                    oldCharger.getPower(), newCharger.getPower());
+        }
+        if (!requiereTexto()) {
+            return;
+        }
 
         log("INFO", "CHARGER_SWAP", String.format("🔀 CAMBIO DE CARGADOR: Vehículo %d",
                 vehicle.getVehiculoOriginal().getId()));
@@ -220,7 +375,16 @@ public class ChargingLogger {
      */
     public void logChargingProgress(VehiculoSimulacion vehicle, double energyDelivered,
             double currentPrice, double efficiency, double currentTime) {
+        tiempoSimulacion = currentTime;
         VehicleArrival v = vehicle.getVehiculoOriginal();
+        if (traza != null) {
+            traza.registrar(TrazaEventos.TipoEvento.PROGRESO_CARGA, currentTime, v.getId(),
+                    vehicle.getCargadorAsignado() != null ? vehicle.getCargadorAsignado() : -1,
+                    (int) Math.round(efficiency * 10000), energyDelivered, currentPrice);
+        }
+        if (!requiereTexto()) {
+            return;
+        }
 
         log("DEBUG", "CHARGING", String.format("🔋 Carga Vehículo %d: +%.3f kWh",
                 v.getId(), energyDelivered));
@@ -238,8 +402,17 @@ public class ChargingLogger {
      */
     public void logChargingCompletion(VehiculoSimulacion vehicle, double completionTime, boolean fullyCharged) {
         vehicleCompletionCount++;
+        tiempoSimulacion = completionTime;
 
         VehicleArrival v = vehicle.getVehiculoOriginal();
+        if (traza != null) {
+            traza.registrar(TrazaEventos.TipoEvento.FIN_CARGA, v.getBrand(), completionTime, v.getId(),
+                    vehicle.getCargadorAsignado() != null ? vehicle.getCargadorAsignado() : -1,
+                    fullyCharged ? 1 : 0, vehicle.getEnergiaActual(), vehicle.getCostoAcumulado());
+        }
+        if (!requiereTexto()) {
+            return;
+        }
         String status = fullyCharged ? "✅ COMPLETADA" : "⚠️ PARCIAL";
 
         log("SUCCESS", "COMPLETION", String.format("🏁 CARGA %s: Vehículo %d (%s)",
@@ -257,7 +430,16 @@ public class ChargingLogger {
      * Log de salida de vehículo
      */
     public void logVehicleDeparture(VehiculoSimulacion vehicle, double departureTime) {
+        tiempoSimulacion = departureTime;
         VehicleArrival v = vehicle.getVehiculoOriginal();
+        if (traza != null) {
+            traza.registrar(TrazaEventos.TipoEvento.SALIDA, v.getBrand(), departureTime, v.getId(),
+                    vehicle.getCargadorAsignado() != null ? vehicle.getCargadorAsignado() : -1, 0,
+                    v.getDepartureTime(), vehicle.getTiempoInicioCarga() - vehicle.getTiempoInicioEspera());
+        }
+        if (!requiereTexto()) {
+            return;
+        }
 
         log("INFO", "DEPARTURE", String.format("🚪 SALIDA: Vehículo %d (%s)",
                 v.getId(), v.getBrand()));
@@ -276,6 +458,13 @@ public class ChargingLogger {
      * Log de restricciones del transformador
      */
     public void logTransformerConstraint(double currentLoad, int transformerLimit, boolean violated) {
+        if (traza != null) {
+            traza.registrar(TrazaEventos.TipoEvento.TRANSFORMADOR, tiempoSimulacion, -1, -1, violated ? 1 : 0,
+                    currentLoad, transformerLimit);
+        }
+        if (!requiereTexto()) {
+            return;
+        }
         if (violated) {
             log("ERROR", "CONSTRAINT", String.format("🚨 VIOLACIÓN TRANSFORMADOR: %.1f kW > %d kW",
                     currentLoad, transformerLimit));
@@ -290,6 +479,16 @@ public class ChargingLogger {
      */
     public void logGridConstraints(GridConstraints constraints, double currentPowerPerPhase,
             double voltageDropActual, double powerFactorActual) {
+        if (traza != null) {
+            int violaciones = (currentPowerPerPhase > constraints.getMaxPowerPerPhase() ? 1 : 0)
+                    + (voltageDropActual > constraints.getVoltageDropLimit() ? 1 : 0)
+                    + (powerFactorActual < constraints.getPowerFactorLimit() ? 1 : 0);
+            traza.registrar(TrazaEventos.TipoEvento.RED, tiempoSimulacion, -1, -1, violaciones,
+                    currentPowerPerPhase, powerFactorActual);
+        }
+        if (!requiereTexto()) {
+            return;
+        }
         log("DEBUG", "GRID", "🔌 Verificación restricciones de red:");
 
         // Potencia por fase
@@ -320,6 +519,13 @@ public class ChargingLogger {
     public void logMultiObjectiveEvaluation(AsignacionCandidata assignment,
             double costComponent, double valueComponent,
             double fairnessComponent, double totalScore) {
+        if (traza != null) {
+            traza.registrar(TrazaEventos.TipoEvento.EVALUACION, assignment.getNombreHeuristica(), tiempoSimulacion,
+                    -1, -1, assignment.getNumeroAsignaciones(), costComponent, totalScore);
+        }
+        if (!requiereTexto()) {
+            return;
+        }
         log("DEBUG", "EVALUATION", String.format("📊 Evaluación multiobjetivo: %s",
                 assignment.getNombreHeuristica()));
         log("DEBUG", "EVALUATION", String.format("   💰 Componente costo: %.4f", costComponent));
@@ -333,6 +539,13 @@ public class ChargingLogger {
      */
     public void logIterationSummary(double currentTime, int activeVehicles, int chargingVehicles,
             int completedVehicles, double totalEnergyDelivered) {
+        if (traza != null) {
+            traza.registrar(TrazaEventos.TipoEvento.RESUMEN_ITERACION, currentTime, activeVehicles,
+                    chargingVehicles, completedVehicles, totalEnergyDelivered, 0);
+        }
+        if (!requiereTexto()) {
+            return;
+        }
         log("INFO", "SUMMARY", "📋 Resumen de iteración:");
         log("INFO", "SUMMARY", String.format("   ⏰ Tiempo: %.3f h", currentTime));
         log("INFO", "SUMMARY", String.format("   🚗 Vehículos activos: %d", activeVehicles));
@@ -345,6 +558,13 @@ public class ChargingLogger {
      * Log de estadísticas finales
      */
     public void logFinalStatistics(double porcentajeCargaEntregado, double energiaTotal, double energiaRequerida) {
+        if (traza != null) {
+            traza.registrar(TrazaEventos.TipoEvento.ESTADISTICAS_FINALES, tiempoSimulacion, -1, -1,
+                    iterationCounter, porcentajeCargaEntregado, energiaTotal);
+        }
+        if (!requiereTexto()) {
+            return;
+        }
         log("SUCCESS", "STATISTICS", "📊 ESTADÍSTICAS FINALES DEL ALGORITMO:");
         log("INFO", "STATISTICS", String.format("   🔄 Total iteraciones: %d", iterationCounter));
         log("INFO", "STATISTICS", String.format("   🔗 Total asignaciones: %d", assignmentCount));
@@ -362,40 +582,123 @@ public class ChargingLogger {
      * Obtener historial completo de logs
      */
     public List<String> getLogHistory() {
-        return new ArrayList<>(logHistory);
+        return logHistory.todas();
+    }
+
+    /**
+     * Obtener las últimas entradas del historial
+     */
+    public List<String> getUltimosLogs(int cantidad) {
+        return logHistory.ultimas(cantidad);
     }
 
     /**
-     * Filtrar logs por categoría
+     * Filtrar logs por categoría (consulta al índice, coste proporcional al
+     * resultado)
      */
     public List<String> getLogsByCategory(String category) {
-        return logHistory.stream()
-                .filter(log -> log.contains("<" + category + ">"))
-                .collect(Collectors.toList());
+        return logHistory.porCategorias(category);
+    }
+
+    /**
+     * Logs de varias categorías en orden cronológico
+     */
+    public List<String> getLogsByCategories(String... categories) {
+        return logHistory.porCategorias(categories);
+    }
+
+    /**
+     * Filtrar logs por nivel (INFO, DEBUG, WARN, ERROR, SUCCESS)
+     */
+    public List<String> getLogsByLevel(String level) {
+        return logHistory.porNiveles(level);
+    }
+
+    /**
+     * Logs de varios niveles en orden cronológico
+     */
+    public List<String> getLogsByLevels(String... levels) {
+        return logHistory.porNiveles(levels);
+    }
+
+    /**
+     * Número de entradas retenidas de una categoría
+     */
+    public int contarLogsCategoria(String category) {
+        return logHistory.contarCategoria(category);
+    }
+
+    /**
+     * Categorías registradas desde el último borrado, en orden de aparición
+     */
+    public List<String> getCategoriasRegistradas() {
+        return logHistory.getCategorias();
     }
 
     /**
      * Exportar logs a texto
      */
     public String exportLogs() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("=".repeat(80)).append("\n");
-        sb.append("CHARGING SYSTEM EXECUTION LOG\n");
-        sb.append("Generated: ").append(LocalDateTime.now()).append("\n");
-        sb.append("=".repeat(80)).append("\n\n");
+        StringWriter sw = new StringWriter();
+        try {
+            exportLogs(sw);
+        } catch (IOException e) {
+            // No ocurre al escribir en memoria
+        }
+        return sw.toString();
+    }
+
+    /**
+     * Exportar logs en streaming a un Writer, sin construir el texto completo
+     */
+    public void exportLogs(Writer salida) throws IOException {
+        salida.write("=".repeat(80) + "\n");
+        salida.write("CHARGING SYSTEM EXECUTION LOG\n");
+        salida.write("Generated: " + LocalDateTime.now() + "\n");
+        if (logHistory.getDescartadas() > 0) {
+            salida.write("Entradas antiguas descartadas del historial: " + logHistory.getDescartadas() + "\n");
+        }
+        salida.write("=".repeat(80) + "\n\n");
 
-        for (String log : logHistory) {
-            sb.append(log).append("\n");
+        for (int i = 0, n = logHistory.getTamaño(); i < n; i++) {
+            salida.write(logHistory.entrada(i));
+            salida.write("\n");
         }
+        salida.flush();
+    }
+
+    /**
+     * Exportar logs a un archivo (gzip si el nombre termina en ".gz")
+     */
+    public void exportLogs(Path archivo) throws IOException {
+        try (Writer salida = EscritorLogsAsincrono.abrirSalida(archivo)) {
+            exportLogs(salida);
+        }
+    }
+
+    /**
+     * Número de entradas retenidas actualmente en memoria
+     */
+    public int getTamañoHistorial() {
+        return logHistory.getTamaño();
+    }
 
-        return sb.toString();
+    public int getCapacidadHistorial() {
+        return logHistory.getCapacidad();
+    }
+
+    /**
+     * Entradas antiguas sobrescritas por el buffer circular
+     */
+    public long getEntradasDescartadas() {
+        return logHistory.getDescartadas();
     }
 
     /**
      * Limpiar historial de logs
      */
     public void clearLogs() {
-        logHistory.clear();
+        logHistory.limpiar();
         resetCounters();
         iterationCounter = 0;
     }
@@ -3,6 +3,7 @@ package com.ejemplo.algoritmo;
 import com.ejemplo.model.*;
 
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -18,7 +19,15 @@ import java.util.stream.Collectors;
  */
 public class ConstructivoAdaptativo {
 
+    // Nombres de las fases medidas
+    public static final String FASE_GENERACION = "Generacion:";
+    public static final String FASE_EVALUACION = "Evaluacion";
+    public static final String FASE_ASIGNACION = "Asignacion";
+    public static final String FASE_AVANCE_TIEMPO = "AvanceTiempo";
+    public static final String FASE_CAPTURA_DATOS = "CapturaDatos";
+
     private final TestSystem testSystem;
+    private final FuenteLlegadas fuenteExterna;
     private final double resolucionTiempo;
     private final int limiteTransformador;
     private final double eficienciaGlobal;
@@ -30,23 +39,67 @@ public class ConstructivoAdaptativo {
     // Sistema de captura de datos temporales para gráficas
     private final DatosTemporales datosTemporales;
 
+    // Métricas de tiempo y memoria por fase
+    private final MetricasFases metricas;
+
     // Configuración de pesos para evaluación multiobjetivo
     private final Map<String, Double> pesosEvaluacion;
 
     // Estado de la simulación
     private double tiempoActual;
+    private FuenteLlegadas fuenteLlegadas;
     private List<VehiculoSimulacion> vehiculosActivos;
+    private Map<Integer, VehiculoSimulacion> vehiculosPorId;
     private Map<Integer, Boolean> cargadoresDisponibles;
     private List<EnergyPrice> preciosEnergia;
     private int indicePrecioActual;
 
+    // Estado agregado que se actualiza en cada transición de un vehículo, para
+    // no recorrer vehiculosActivos en cada paso
+    private Set<VehiculoSimulacion> vehiculosEnCarga;
+    private PriorityQueue<VehiculoSimulacion> salidasPendientes;
+    private NavigableSet<VehiculoSimulacion> colaEspera;
+    private long llegadasIncorporadas;
+    private int numeroCompletados;
+    private double cargaEnCurso;
+    private double energiaEntregada;
+
     // Resultados y estadísticas
     private SolucionConstructiva mejorSolucion;
     private Map<String, Integer> contadorHeuristicas;
     private List<ResultadoIteracion> historialIteraciones;
 
+    // Fuente de aleatoriedad de la heurística exploratoria (ver setSemilla)
+    private Random aleatorio = new Random();
+
+    // Evaluaciones de candidatas realizadas y evitadas por ser duplicadas en el paso
+    private long evaluacionesRealizadas = 0;
+    private long evaluacionesDuplicadasEvitadas = 0;
+
+    // Selección adaptativa del subconjunto de heurísticas a evaluar (null = todas)
+    private SelectorHeuristicas.ParametrosSelector parametrosSelector;
+    private SelectorHeuristicas selectorHeuristicas;
+
+    // Vehículos finalizados que ya salieron de memoria (ver retenerVehiculosFinalizados)
+    private boolean retenerVehiculosFinalizados = true;
+    private final MetricasAcumuladas metricasFinalizados = new MetricasAcumuladas();
+
+    // Columnas reutilizables para el paso de carga en lote
+    private final LoteCarga loteCarga = new LoteCarga();
+
     public ConstructivoAdaptativo(TestSystem testSystem) {
+        this(testSystem, null);
+    }
+
+    /**
+     * Crea el algoritmo tomando las llegadas de una fuente en lugar de
+     * testSystem.getArrivals(). Del TestSystem solo se usan la configuración del
+     * estacionamiento y los precios. La fuente se cierra al terminar ejecutar(),
+     * también si la simulación falla.
+     */
+    public ConstructivoAdaptativo(TestSystem testSystem, FuenteLlegadas fuenteLlegadas) {
         this.testSystem = testSystem;
+        this.fuenteExterna = fuenteLlegadas;
         this.resolucionTiempo = testSystem.getParkingConfig().getTimeResolution();
         this.limiteTransformador = testSystem.getParkingConfig().getTransformerLimit();
         this.eficienciaGlobal = testSystem.getParkingConfig().getEfficiency();
@@ -60,15 +113,13 @@ public class ConstructivoAdaptativo {
                 testSystem.getParkingConfig().getTransformerLimit(),
                 testSystem.getParkingConfig().getChargers().size());
 
+        this.metricas = new MetricasFases();
+
         // Configurar el logger en el auxiliar
         this.auxiliar.setLogger(this.logger);
 
         // Inicializar pesos para evaluación multiobjetivo
-        this.pesosEvaluacion = new HashMap<>();
-        pesosEvaluacion.put("costo_energia", -1.0); // Minimizar
-        pesosEvaluacion.put("valor_carga_entregada", 1.5); // Maximizar
-        pesosEvaluacion.put("equidad", 0.8); // Maximizar
-        pesosEvaluacion.put("eficiencia_cargadores", 1.0); // Maximizar
+        this.pesosEvaluacion = pesosEvaluacionPorDefecto();
 
         this.contadorHeuristicas = new HashMap<>();
         this.historialIteraciones = new ArrayList<>();
@@ -76,6 +127,18 @@ public class ConstructivoAdaptativo {
         inicializarContadorHeuristicas();
     }
 
+    /**
+     * Pesos de la evaluación multiobjetivo de asignaciones candidatas
+     */
+    static Map<String, Double> pesosEvaluacionPorDefecto() {
+        Map<String, Double> pesos = new HashMap<>();
+        pesos.put("costo_energia", -1.0); // Minimizar
+        pesos.put("valor_carga_entregada", 1.5); // Maximizar
+        pesos.put("equidad", 0.8); // Maximizar
+        pesos.put("eficiencia_cargadores", 1.0); // Maximizar
+        return pesos;
+    }
+
     /**
      * Ejecuta el algoritmo constructivo adaptativo completo
      */
@@ -83,43 +146,56 @@ public class ConstructivoAdaptativo {
         System.out.println("🔄 Iniciando Algoritmo Constructivo Adaptativo...");
         long tiempoInicio = System.currentTimeMillis();
 
-        inicializar();
+        try {
+            inicializar();
 
-        while (!todosVehiculosProcesados()) {
-            // Obtener vehículos que han llegado pero no han sido asignados
-            List<VehiculoSimulacion> vehiculosEnEspera = obtenerVehiculosEnEspera();
-            List<Integer> cargadoresLibres = obtenerCargadoresDisponibles();
+            while (!todosVehiculosProcesados()) {
+                // Obtener vehículos que han llegado pero no han sido asignados
+                List<VehiculoSimulacion> vehiculosEnEspera = obtenerVehiculosEnEspera();
+                List<Integer> cargadoresLibres = obtenerCargadoresDisponibles();
 
-            // Log de inicio de iteración
-            logger.logIterationStart(tiempoActual, vehiculosEnEspera.size(), cargadoresLibres.size());
+                // Log de inicio de iteración
+                logger.logIterationStart(tiempoActual, vehiculosEnEspera.size(), cargadoresLibres.size());
 
-            if (!vehiculosEnEspera.isEmpty() && hayCargadoresDisponibles()) {
-                // Generar soluciones candidatas usando diferentes heurísticas
-                List<AsignacionCandidata> candidatos = generarSolucionesCandidatas(vehiculosEnEspera);
+                if (!vehiculosEnEspera.isEmpty() && hayCargadoresDisponibles()) {
+                    // Generar soluciones candidatas usando diferentes heurísticas
+                    List<AsignacionCandidata> candidatos = generarSolucionesCandidatas(vehiculosEnEspera);
 
-                // Log de generación de heurísticas
-                logger.logHeuristicsGeneration(candidatos);
+                    // Log de generación de heurísticas
+                    logger.logHeuristicsGeneration(candidatos);
 
-                // Seleccionar la mejor asignación
-                long evaluationStart = System.currentTimeMillis();
-                AsignacionCandidata mejorAsignacion = seleccionarMejorAsignacion(candidatos);
-                long evaluationTime = System.currentTimeMillis() - evaluationStart;
+                    // Seleccionar la mejor asignación
+                    long inicioEvaluacion = metricas.marcaTiempo();
+                    long bytesEvaluacion = metricas.marcaBytes();
+                    AsignacionCandidata mejorAsignacion = seleccionarMejorAsignacion(candidatos);
+                    if (selectorHeuristicas != null) {
+                        selectorHeuristicas.registrarResultados(candidatos);
+                    }
+                    long nanosEvaluacion = metricas.registrar(FASE_EVALUACION, inicioEvaluacion, bytesEvaluacion);
 
-                // Log de selección de heurística
-                logger.logHeuristicSelection(mejorAsignacion, evaluationTime);
+                    // Log de selección de heurística
+                    logger.logHeuristicSelection(mejorAsignacion, nanosEvaluacion / 1e6);
 
-                // Aplicar la asignación seleccionada
-                aplicarAsignacion(mejorAsignacion);
+                    // Aplicar la asignación seleccionada
+                    long inicioAsignacion = metricas.marcaTiempo();
+                    long bytesAsignacion = metricas.marcaBytes();
+                    aplicarAsignacion(mejorAsignacion);
+                    metricas.registrar(FASE_ASIGNACION, inicioAsignacion, bytesAsignacion);
 
-                // Registrar resultado de la iteración
-                registrarIteracion(mejorAsignacion);
-            }
+                    // Registrar resultado de la iteración
+                    registrarIteracion(mejorAsignacion);
+                }
 
-            // Avanzar el tiempo y actualizar estado
-            avanzarTiempo();
+                // Avanzar el tiempo y actualizar estado
+                avanzarTiempo();
 
-            // Log de resumen de iteración
-            logIterationSummary();
+                // Log de resumen de iteración
+                logIterationSummary();
+            }
+        } finally {
+            if (fuenteLlegadas != null) {
+                fuenteLlegadas.close();
+            }
         }
 
         // Finalizar y construir solución
@@ -132,6 +208,13 @@ public class ConstructivoAdaptativo {
                 mejorSolucion.getEnergiaTotalEntregada(),
                 mejorSolucion.getEnergiaTotalRequerida());
 
+        // El resumen del selector respeta la configuración del logger (consola, archivo, historial)
+        if (selectorHeuristicas != null) {
+            for (String linea : selectorHeuristicas.generarResumen().split("\n")) {
+                logger.log("INFO", "HEURISTICS", linea);
+            }
+        }
+
         System.out.println("✅ Algoritmo Constructivo Adaptativo completado!");
         return mejorSolucion;
     }
@@ -142,32 +225,56 @@ public class ConstructivoAdaptativo {
     private List<AsignacionCandidata> generarSolucionesCandidatas(List<VehiculoSimulacion> vehiculosEnEspera) {
         List<AsignacionCandidata> candidatos = new ArrayList<>();
 
+        Map<String, Supplier<AsignacionCandidata>> heuristicas = new LinkedHashMap<>();
         // Heurística 1: EDF - Earliest Deadline First
-        candidatos.add(generarAsignacionEDF(vehiculosEnEspera));
-
+        heuristicas.put("EDF", () -> generarAsignacionEDF(vehiculosEnEspera));
         // Heurística 2: Highest Priority
-        candidatos.add(generarAsignacionPrioridadAlta(vehiculosEnEspera));
-
+        heuristicas.put("HighestPriority", () -> generarAsignacionPrioridadAlta(vehiculosEnEspera));
         // Heurística 3: Fairness - Low Completion
-        candidatos.add(generarAsignacionEquidad(vehiculosEnEspera));
-
+        heuristicas.put("Fairness", () -> generarAsignacionEquidad(vehiculosEnEspera));
         // Heurística 4: SJF - Shortest Job First
-        candidatos.add(generarAsignacionTrabajoCorto(vehiculosEnEspera));
-
+        heuristicas.put("SJF", () -> generarAsignacionTrabajoCorto(vehiculosEnEspera));
         // Heurística 5: Price Reactive
-        candidatos.add(generarAsignacionReactivaPrecio(vehiculosEnEspera));
-
+        heuristicas.put("PriceReactive", () -> generarAsignacionReactivaPrecio(vehiculosEnEspera));
         // Heurística 6: Local Search (mejora de la mejor hasta ahora)
-        candidatos.add(generarAsignacionBusquedaLocal(vehiculosEnEspera));
+        heuristicas.put("LocalSearch", () -> generarAsignacionBusquedaLocal(vehiculosEnEspera));
+
+        // Con selección adaptativa solo se generan las heurísticas elegidas por el bandit
+        Set<String> seleccionadas;
+        if (parametrosSelector != null) {
+            if (selectorHeuristicas == null) {
+                selectorHeuristicas = new SelectorHeuristicas(new ArrayList<>(heuristicas.keySet()),
+                        parametrosSelector);
+            }
+            seleccionadas = selectorHeuristicas.seleccionar();
+        } else {
+            seleccionadas = heuristicas.keySet();
+        }
+        for (Map.Entry<String, Supplier<AsignacionCandidata>> heuristica : heuristicas.entrySet()) {
+            if (seleccionadas.contains(heuristica.getKey())) {
+                candidatos.add(medirHeuristica(heuristica.getKey(), heuristica.getValue()));
+            }
+        }
 
         // Heurística 7: Exploration (aleatoria con probabilidad baja)
-        if (Math.random() < 0.1) { // 10% probabilidad de exploración
-            candidatos.add(generarAsignacionExploratoria(vehiculosEnEspera));
+        if (aleatorio.nextDouble() < 0.1) { // 10% probabilidad de exploración
+            candidatos.add(medirHeuristica("Exploration", () -> generarAsignacionExploratoria(vehiculosEnEspera)));
         }
 
         return candidatos;
     }
 
+    /**
+     * Ejecuta una heurística registrando su tiempo de cómputo y memoria asignada
+     */
+    private AsignacionCandidata medirHeuristica(String nombre, Supplier<AsignacionCandidata> heuristica) {
+        long inicio = metricas.marcaTiempo();
+        long bytes = metricas.marcaBytes();
+        AsignacionCandidata candidata = heuristica.get();
+        candidata.setTiempoComputo(metricas.registrar(FASE_GENERACION + nombre, inicio, bytes));
+        return candidata;
+    }
+
     /**
      * Heurística 1: EDF - Earliest Deadline First
      * Prioriza vehículos con tiempo de salida más temprano
@@ -268,7 +375,7 @@ public class ConstructivoAdaptativo {
      */
     private AsignacionCandidata generarAsignacionExploratoria(List<VehiculoSimulacion> vehiculosEnEspera) {
         List<VehiculoSimulacion> vehiculosAleatorios = new ArrayList<>(vehiculosEnEspera);
-        Collections.shuffle(vehiculosAleatorios);
+        Collections.shuffle(vehiculosAleatorios, aleatorio);
         return crearAsignacionOptima(vehiculosAleatorios, "Exploration");
     }
 
@@ -308,8 +415,21 @@ public class ConstructivoAdaptativo {
         AsignacionCandidata mejorCandidato = null;
         double mejorPuntuacion = Double.NEGATIVE_INFINITY;
 
+        // Memo del paso: las heurísticas que coinciden en el mismo mapa se evalúan una vez
+        Map<Long, AsignacionCandidata> evaluadasPorHuella = new HashMap<>();
+
         for (AsignacionCandidata candidato : candidatos) {
-            double puntuacion = evaluarAsignacion(candidato);
+            long huella = candidato.calcularHuella();
+            AsignacionCandidata previa = evaluadasPorHuella.get(huella);
+            double puntuacion;
+            if (previa != null && previa.getAsignaciones().equals(candidato.getAsignaciones())) {
+                puntuacion = previa.getValorEvaluacion();
+                evaluacionesDuplicadasEvitadas++;
+            } else {
+                puntuacion = evaluarAsignacion(candidato);
+                evaluacionesRealizadas++;
+                evaluadasPorHuella.putIfAbsent(huella, candidato);
+            }
             candidato.setValorEvaluacion(puntuacion);
 
             if (puntuacion > mejorPuntuacion) {
@@ -337,8 +457,8 @@ public class ConstructivoAdaptativo {
         // Calcular componentes individuales
         double costoEnergia = auxiliar.calcularCostoEnergia(asignacion, tiempoActual);
         double valorCargaEntregada = auxiliar.calcularValorCargaEntregada(asignacion, tiempoActual);
-        double equidad = calcularEquidad(asignacion);
-        double eficienciaCargadores = calcularEficienciaCargadores(asignacion);
+        double equidad = auxiliar.calcularEquidad(asignacion);
+        double eficienciaCargadores = auxiliar.calcularEficienciaCargadores(asignacion);
 
         // Combinar con pesos
         double puntuacionTotal = (costoEnergia * pesosEvaluacion.get("costo_energia")) +
@@ -361,52 +481,116 @@ public class ConstructivoAdaptativo {
      */
     private void inicializar() {
         this.tiempoActual = 0.0;
+        this.fuenteLlegadas = fuenteExterna != null ? fuenteExterna
+                : FuenteLlegadas.desdeLista(testSystem.getArrivals());
         this.vehiculosActivos = new ArrayList<>();
+        this.vehiculosPorId = new HashMap<>();
         this.cargadoresDisponibles = new HashMap<>();
         this.preciosEnergia = new ArrayList<>(testSystem.getEnergyPrices());
         this.indicePrecioActual = 0;
+        this.vehiculosEnCarga = new LinkedHashSet<>();
+        this.salidasPendientes = new PriorityQueue<>(
+                Comparator.comparingDouble(v -> v.getVehiculoOriginal().getDepartureTime()));
+        this.colaEspera = new TreeSet<>(Comparator.comparingLong(VehiculoSimulacion::getOrdenLlegada));
+        this.llegadasIncorporadas = 0;
+        this.numeroCompletados = 0;
+        this.cargaEnCurso = 0.0;
+        this.energiaEntregada = 0.0;
+        this.selectorHeuristicas = null;
+        this.evaluacionesRealizadas = 0;
+        this.evaluacionesDuplicadasEvitadas = 0;
 
         // Inicializar todos los cargadores como disponibles
         for (Charger cargador : testSystem.getParkingConfig().getChargers()) {
             cargadoresDisponibles.put(cargador.getChargerId(), true);
         }
 
-        // Crear objetos de simulación para todos los vehículos
-        for (VehicleArrival vehiculo : testSystem.getArrivals()) {
-            vehiculosActivos.add(new VehiculoSimulacion(vehiculo));
-        }
+        // El auxiliar busca los vehículos simulados por ID
+        this.auxiliar.setVehiculosSimulacionPorId(this.vehiculosPorId);
 
-        // Set the list of active simulated vehicles in the auxiliary class
-        this.auxiliar.setVehiculosSimulacionActivos(this.vehiculosActivos);
+        // Los vehículos se crean a medida que llegan
+        incorporarLlegadas();
+    }
+
+    /**
+     * Crea los objetos de simulación de las llegadas ocurridas hasta el tiempo
+     * actual
+     */
+    private void incorporarLlegadas() {
+        while (fuenteLlegadas.hayMas() && fuenteLlegadas.proximaLlegada() <= tiempoActual) {
+            VehiculoSimulacion vehiculoSim = new VehiculoSimulacion(fuenteLlegadas.siguiente());
+            vehiculoSim.setOrdenLlegada(llegadasIncorporadas++);
+            calcularPrioridadNormalizada(vehiculoSim);
+            vehiculosActivos.add(vehiculoSim);
+            vehiculosPorId.put(vehiculoSim.getVehiculoOriginal().getId(), vehiculoSim);
+            salidasPendientes.add(vehiculoSim);
+            colaEspera.add(vehiculoSim);
+        }
+    }
 
-        // Calcular prioridades normalizadas para cada vehículo
-        calcularPrioridadesNormalizadas();
+    /**
+     * Registra que el vehículo empieza a cargar en su cargador asignado
+     */
+    private void iniciarCarga(VehiculoSimulacion vehiculo) {
+        vehiculosEnCarga.add(vehiculo);
+        cargaEnCurso += potenciaEnCarga(vehiculo);
     }
 
-    private void calcularPrioridadesNormalizadas() {
-        for (VehiculoSimulacion vehiculoSim : vehiculosActivos) {
-            VehicleArrival v = vehiculoSim.getVehiculoOriginal();
-            int prioridadOriginal = v.getPriority();
-            double tiempoEstancia = v.getDepartureTime() - v.getArrivalTime();
-            double energiaRequerida = v.getRequiredEnergy();
+    /**
+     * Registra que el vehículo deja de cargar; debe llamarse antes de soltar
+     * su cargador
+     */
+    private void terminarCarga(VehiculoSimulacion vehiculo) {
+        vehiculosEnCarga.remove(vehiculo);
+        cargaEnCurso -= potenciaEnCarga(vehiculo);
+    }
 
-            double presionTemporal = (tiempoEstancia > 0) ? energiaRequerida / tiempoEstancia : 1.0; // Avoid division
-                                                                                                     // by zero
+    /**
+     * Potencia que el vehículo toma del transformador con su cargador asignado
+     */
+    private double potenciaEnCarga(VehiculoSimulacion vehiculo) {
+        Charger cargador = auxiliar.obtenerCargadorPorId(vehiculo.getCargadorAsignado());
+        return cargador != null ? Math.min(cargador.getPower(), vehiculo.getVehiculoOriginal().getMaxChargeRate())
+                : 0.0;
+    }
 
-            double prioridadBase;
-            if (prioridadOriginal == 1) {
-                prioridadBase = 2;
-            } else if (prioridadOriginal == 2) {
-                prioridadBase = 5;
-            } else { // prioridadOriginal == 3
-                prioridadBase = 8;
+    /**
+     * Saca de memoria los vehículos que ya salieron del estacionamiento,
+     * acumulando antes su contribución a las métricas
+     */
+    private void liberarVehiculosFinalizados() {
+        vehiculosActivos.removeIf(vehiculo -> {
+            if (vehiculo.getEstado() != VehiculoSimulacion.EstadoVehiculo.RETIRADO) {
+                return false;
             }
+            metricasFinalizados.agregar(vehiculo);
+            vehiculosPorId.remove(vehiculo.getVehiculoOriginal().getId());
+            return true;
+        });
+    }
 
-            double factorPresion = Math.min(2.0, presionTemporal / 10.0);
-            double prioridadNormalizada = Math.min(10.0, Math.max(1.0, prioridadBase + factorPresion));
-
-            vehiculoSim.setPrioridadNormalizada(prioridadNormalizada);
+    static void calcularPrioridadNormalizada(VehiculoSimulacion vehiculoSim) {
+        VehicleArrival v = vehiculoSim.getVehiculoOriginal();
+        int prioridadOriginal = v.getPriority();
+        double tiempoEstancia = v.getDepartureTime() - v.getArrivalTime();
+        double energiaRequerida = v.getRequiredEnergy();
+
+        double presionTemporal = (tiempoEstancia > 0) ? energiaRequerida / tiempoEstancia : 1.0; // Avoid division
+                                                                                                 // by zero
+
+        double prioridadBase;
+        if (prioridadOriginal == 1) {
+            prioridadBase = 2;
+        } else if (prioridadOriginal == 2) {
+            prioridadBase = 5;
+        } else { // prioridadOriginal == 3
+            prioridadBase = 8;
         }
+
+        double factorPresion = Math.min(2.0, presionTemporal / 10.0);
+        double prioridadNormalizada = Math.min(10.0, Math.max(1.0, prioridadBase + factorPresion));
+
+        vehiculoSim.setPrioridadNormalizada(prioridadNormalizada);
     }
 
     private void inicializarContadorHeuristicas() {
@@ -432,17 +616,75 @@ public class ConstructivoAdaptativo {
         return historialIteraciones;
     }
 
+    /**
+     * Fija la semilla de la heurística exploratoria para obtener ejecuciones
+     * reproducibles
+     */
+    public void setSemilla(long semilla) {
+        this.aleatorio = new Random(semilla);
+    }
+
+    /**
+     * Activa la selección adaptativa de heurísticas: en cada paso solo se
+     * generan y evalúan las más prometedoras según un bandit UCB (ver
+     * SelectorHeuristicas). Con null se vuelven a evaluar todas.
+     */
+    public void setSeleccionAdaptativa(SelectorHeuristicas.ParametrosSelector parametros) {
+        this.parametrosSelector = parametros;
+        this.selectorHeuristicas = null;
+    }
+
+    public long getEvaluacionesRealizadas() {
+        return evaluacionesRealizadas;
+    }
+
+    /**
+     * Candidatas cuya evaluación se reutilizó porque otra heurística produjo
+     * el mismo mapa vehículo→cargador en el mismo paso
+     */
+    public long getEvaluacionesDuplicadasEvitadas() {
+        return evaluacionesDuplicadasEvitadas;
+    }
+
+    /**
+     * Selector de la última ejecución, o null si no se usó selección adaptativa
+     */
+    public SelectorHeuristicas getSelectorHeuristicas() {
+        return selectorHeuristicas;
+    }
+
+    /**
+     * Si es false, los vehículos que ya salieron del estacionamiento se sacan de
+     * memoria y solo se conserva su contribución a las métricas finales; la
+     * solución no incluye entonces su estado final. Permite simular
+     * horizontes largos con memoria acotada.
+     */
+    public void setRetenerVehiculosFinalizados(boolean retenerVehiculosFinalizados) {
+        this.retenerVehiculosFinalizados = retenerVehiculosFinalizados;
+    }
+
+    public boolean isRetenerVehiculosFinalizados() {
+        return retenerVehiculosFinalizados;
+    }
+
+    /**
+     * Número de vehículos que hay actualmente en memoria
+     */
+    public int getVehiculosEnMemoria() {
+        return vehiculosActivos != null ? vehiculosActivos.size() : 0;
+    }
+
     private boolean todosVehiculosProcesados() {
-        return vehiculosActivos.stream().allMatch(v -> v.getEstado() == VehiculoSimulacion.EstadoVehiculo.COMPLETADO ||
-                v.getEstado() == VehiculoSimulacion.EstadoVehiculo.RETIRADO);
+        return !fuenteLlegadas.hayMas() && colaEspera.isEmpty() && vehiculosEnCarga.isEmpty();
     }
 
+    /**
+     * Vehículos en espera en orden de llegada. La cola se actualiza en cada
+     * llegada, asignación, preempción y salida, así que no recorre los
+     * vehículos activos.
+     */
     private List<VehiculoSimulacion> obtenerVehiculosEnEspera() {
-        return vehiculosActivos.stream()
-                .filter(v -> v.haLlegado(tiempoActual) &&
-                        v.getEstado() == VehiculoSimulacion.EstadoVehiculo.ESPERANDO &&
-                        !v.debeSalir(tiempoActual))
-                .collect(Collectors.toList());
+        return new ArrayList<>(colaEspera);
     }
 
     private boolean hayCargadoresDisponibles() {
@@ -462,10 +704,7 @@ public class ConstructivoAdaptativo {
             Integer cargadorId = entry.getValue();
 
             // Encontrar el vehículo y asignar el cargador
-            VehiculoSimulacion vehiculo = vehiculosActivos.stream()
-                    .filter(v -> v.getVehiculoOriginal().getId() == vehiculoId)
-                    .findFirst()
-                    .orElse(null);
+            VehiculoSimulacion vehiculo = vehiculosPorId.get(vehiculoId);
 
             Charger cargador = auxiliar.obtenerCargadorPorId(cargadorId);
 
@@ -486,67 +725,108 @@ public class ConstructivoAdaptativo {
                     vehiculo.setEstado(VehiculoSimulacion.EstadoVehiculo.CARGANDO);
                     vehiculo.setTiempoInicioCarga(tiempoActual);
                     cargadoresDisponibles.put(cargadorId, false);
+                    colaEspera.remove(vehiculo);
+                    iniciarCarga(vehiculo);
                 }
             }
         }
     }
 
     private void avanzarTiempo() {
+        long inicioAvance = metricas.marcaTiempo();
+        long bytesAvance = metricas.marcaBytes();
         tiempoActual += resolucionTiempo;
+        incorporarLlegadas();
 
         // Verificar restricciones del transformador antes de simular carga
         verificarRestriccionesTransformador();
 
-        // Simular carga de vehículos activos
-        for (VehiculoSimulacion vehiculo : vehiculosActivos) {
-            if (vehiculo.getEstado() == VehiculoSimulacion.EstadoVehiculo.CARGANDO) {
-                simularCargaVehiculo(vehiculo);
+        // Simular carga de vehículos activos: un solo paso en lote para todos los que cargan
+        double precioActual = auxiliar.obtenerPrecioEnergia(tiempoActual);
+        loteCarga.limpiar();
+        for (VehiculoSimulacion vehiculo : vehiculosEnCarga) {
+            agregarALoteCarga(vehiculo, precioActual);
+        }
+        loteCarga.aplicarPaso(precioActual, resolucionTiempo);
+
+        for (int i = 0; i < loteCarga.getTamaño(); i++) {
+            VehiculoSimulacion vehiculo = loteCarga.getVehiculo(i);
+            double energiaPrevia = vehiculo.getEnergiaActual();
+            boolean completa = loteCarga.volcar(i);
+            energiaEntregada += vehiculo.getEnergiaActual() - energiaPrevia;
+            if (completa) {
+                completarCarga(vehiculo);
             }
+        }
+
+        // Salidas en orden de hora de salida (cada vehículo sale una sola vez)
+        while (!salidasPendientes.isEmpty() && salidasPendientes.peek().debeSalir(tiempoActual)) {
+            VehiculoSimulacion vehiculo = salidasPendientes.poll();
 
-            // Verificar si el vehículo debe salir
-            if (vehiculo.debeSalir(tiempoActual)) {
-                // Log de salida de vehículo
-                logger.logVehicleDeparture(vehiculo, tiempoActual);
+            // Log de salida de vehículo
+            logger.logVehicleDeparture(vehiculo, tiempoActual);
 
-                if (vehiculo.getCargadorAsignado() != null) {
+            // Solo un vehículo que sigue cargando ocupa todavía su cargador
+            switch (vehiculo.getEstado()) {
+                case CARGANDO:
+                    terminarCarga(vehiculo);
                     cargadoresDisponibles.put(vehiculo.getCargadorAsignado(), true);
-                }
-                vehiculo.setEstado(VehiculoSimulacion.EstadoVehiculo.RETIRADO);
-                vehiculo.setTiempoFinCarga(tiempoActual);
+                    break;
+                case ESPERANDO:
+                    colaEspera.remove(vehiculo);
+                    break;
+                case COMPLETADO:
+                    numeroCompletados--;
+                    break;
+                default:
+                    break;
             }
+            vehiculo.setEstado(VehiculoSimulacion.EstadoVehiculo.RETIRADO);
+            vehiculo.setTiempoFinCarga(tiempoActual);
+        }
+
+        if (!retenerVehiculosFinalizados) {
+            liberarVehiculosFinalizados();
         }
 
         // Verificar restricciones de la red
         verificarRestriccionesRed();
+        metricas.registrar(FASE_AVANCE_TIEMPO, inicioAvance, bytesAvance);
 
         // Capturar datos temporales para gráficas
+        long inicioCaptura = metricas.marcaTiempo();
+        long bytesCaptura = metricas.marcaBytes();
         capturarDatosTemporales();
+        metricas.registrar(FASE_CAPTURA_DATOS, inicioCaptura, bytesCaptura);
     }
 
-    private void simularCargaVehiculo(VehiculoSimulacion vehiculo) {
+    /**
+     * Añade un vehículo en carga al lote del paso con los datos de su cargador
+     */
+    private void agregarALoteCarga(VehiculoSimulacion vehiculo, double precioActual) {
         Charger cargador = auxiliar.obtenerCargadorPorId(vehiculo.getCargadorAsignado());
         if (cargador == null)
             return;
 
         VehicleArrival v = vehiculo.getVehiculoOriginal();
         double potenciaEfectiva = Math.min(cargador.getPower(), v.getMaxChargeRate());
-        double precioActual = auxiliar.obtenerPrecioEnergia(tiempoActual);
 
         // Log de progreso de carga
         logger.logChargingProgress(vehiculo, potenciaEfectiva, precioActual,
                 cargador.getEfficiency(), tiempoActual);
 
-        vehiculo.actualizarCarga(potenciaEfectiva, precioActual, cargador.getEfficiency(),
-                v.getEfficiency(), resolucionTiempo, cargador.getOperationCostPerHour());
+        loteCarga.agregar(vehiculo, potenciaEfectiva, cargador.getEfficiency(), cargador.getOperationCostPerHour());
+    }
 
-        if (vehiculo.isCargaCompleta()) {
-            // Log de finalización de carga
-            logger.logChargingCompletion(vehiculo, tiempoActual, true);
+    private void completarCarga(VehiculoSimulacion vehiculo) {
+        // Log de finalización de carga
+        logger.logChargingCompletion(vehiculo, tiempoActual, true);
 
-            cargadoresDisponibles.put(vehiculo.getCargadorAsignado(), true);
-            vehiculo.setEstado(VehiculoSimulacion.EstadoVehiculo.COMPLETADO);
-            vehiculo.setTiempoFinCarga(tiempoActual);
-        }
+        terminarCarga(vehiculo);
+        numeroCompletados++;
+        cargadoresDisponibles.put(vehiculo.getCargadorAsignado(), true);
+        vehiculo.setEstado(VehiculoSimulacion.EstadoVehiculo.COMPLETADO);
+        vehiculo.setTiempoFinCarga(tiempoActual);
     }
 
     private void registrarIteracion(AsignacionCandidata mejorAsignacion) {
@@ -575,112 +855,16 @@ public class ConstructivoAdaptativo {
         mejorSolucion.setHeuristicaMasEfectiva(heuristicaMasUsada);
         mejorSolucion.setUsoHeuristicas(new HashMap<>(contadorHeuristicas));
         mejorSolucion.setEstadoFinalVehiculos(new ArrayList<>(vehiculosActivos));
+        mejorSolucion.setMetricasFases(metricas);
     }
 
     private void calcularMetricasFinales() {
-        double costoTotalOperacion = 0.0; // This will now represent total_cost in Python
-        double costoEnergia = 0.0; // Corresponds to costo_energia in Python
-        double costoOperacionCargadores = 0.0; // Corresponds to costo_operativo in Python
-        double bonificacionPrioridad = 0.0; // Corresponds to bonificacion_prioridad in Python
-
-        double valorCargaEntregadaJava = 0.0; // This will represent eficiencia_total in Python
-        double energiaTotal = 0.0;
-        double energiaTotalRequerida = 0.0;
-        int vehiculosCompletados = 0;
-        int vehiculosAtendidos = 0;
-        double completitudTotal = 0.0;
-        // Removed penalizacionRetrasos calculation, setting it to 0 in mejorSolucion
-        // for comparability.
-
-        for (VehiculoSimulacion vehiculo : vehiculosActivos) {
-            energiaTotalRequerida += vehiculo.getVehiculoOriginal().getRequiredEnergy();
-        }
-
+        // Vehículos ya liberados de memoria más los que siguen en la simulación
+        MetricasAcumuladas totales = metricasFinalizados.copia();
         for (VehiculoSimulacion vehiculo : vehiculosActivos) {
-            if (vehiculo.getCargadorAsignado() != null) {
-                vehiculosAtendidos++;
-                costoTotalOperacion += vehiculo.getCostoAcumulado(); // Sum of energy and operational costs
-                costoEnergia += vehiculo.getCostoEnergiaAcumulado(); // Energy cost
-                costoOperacionCargadores += vehiculo.getCostoOperacionAcumulado(); // Operational cost
-
-                energiaTotal += vehiculo.getEnergiaActual();
-
-                // Python's bonificacion_prioridad: 0.1 * self.prioridades[i] * self.E[i]
-                bonificacionPrioridad += 0.1 * vehiculo.getPrioridadNormalizada() * vehiculo.getEnergiaActual();
-
-                if (vehiculo.isCargaCompleta()) {
-                    vehiculosCompletados++;
-                }
-
-                completitudTotal += vehiculo.getPorcentajeCompletitud();
-            }
+            totales.agregar(vehiculo);
         }
-
-        double porcentajeCargaEntregado = energiaTotalRequerida > 0 ? (energiaTotal / energiaTotalRequerida) * 100.0
-                : 0.0;
-
-        // Populate SolucionConstructiva
-        mejorSolucion.setCostoTotalOperacion(costoTotalOperacion); // total_cost in Python
-        mejorSolucion.setCostoEnergia(costoEnergia); // costo_energia in Python
-        mejorSolucion.setPenalizacionRetrasos(0.0); // Set to 0 for comparability with Python objective
-
-        // This will be equivalent to eficiencia_total in Python
-        valorCargaEntregadaJava = energiaTotal + bonificacionPrioridad;
-        mejorSolucion.setValorCargaEntregada(valorCargaEntregadaJava);
-
-        mejorSolucion.setEnergiaTotalEntregada(energiaTotal);
-        mejorSolucion.setEnergiaTotalRequerida(energiaTotalRequerida);
-        mejorSolucion.setPorcentajeCargaEntregado(porcentajeCargaEntregado);
-        mejorSolucion.setVehiculosAtendidos(vehiculosAtendidos);
-        mejorSolucion.setVehiculosCompletados(vehiculosCompletados);
-        mejorSolucion.setPorcentajeCompletitud(vehiculosAtendidos > 0 ? completitudTotal / vehiculosAtendidos : 0.0);
-    }
-
-    private double calcularEquidad(AsignacionCandidata asignacion) {
-        // Medir equidad como la distribución de carga entre vehículos
-        if (asignacion.getAsignaciones().isEmpty())
-            return 0.0;
-
-        List<Double> completitudes = new ArrayList<>();
-        for (Integer vehiculoId : asignacion.getAsignaciones().keySet()) {
-            VehiculoSimulacion vehiculo = vehiculosActivos.stream()
-                    .filter(v -> v.getVehiculoOriginal().getId() == vehiculoId)
-                    .findFirst()
-                    .orElse(null);
-
-            if (vehiculo != null) {
-                completitudes.add(vehiculo.getPorcentajeCompletitud());
-            }
-        }
-
-        if (completitudes.isEmpty())
-            return 0.0;
-
-        double promedio = completitudes.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-        double varianza = completitudes.stream()
-                .mapToDouble(c -> Math.pow(c - promedio, 2))
-                .average()
-                .orElse(0.0);
-
-        return 100.0 / (1.0 + varianza); // Mayor equidad = menor varianza
-    }
-
-    private double calcularEficienciaCargadores(AsignacionCandidata asignacion) {
-        if (asignacion.getAsignaciones().isEmpty())
-            return 0.0;
-
-        double eficienciaPromedio = 0.0;
-        int contador = 0;
-
-        for (Integer cargadorId : asignacion.getAsignaciones().values()) {
-            Charger cargador = auxiliar.obtenerCargadorPorId(cargadorId);
-            if (cargador != null) {
-                eficienciaPromedio += cargador.getEfficiency();
-                contador++;
-            }
-        }
-
-        return contador > 0 ? eficienciaPromedio / contador : 0.0;
+        totales.completarSolucion(mejorSolucion);
     }
 
     /**
@@ -728,22 +912,11 @@ public class ConstructivoAdaptativo {
     }
 
     /**
-     * Calcula la carga actual del transformador
+     * Calcula la carga actual del transformador (acumulada en cada inicio y fin
+     * de carga; las potencias son enteras, así que la suma es exacta)
      */
     private double calcularCargaActualTransformador() {
-        double cargaTotal = 0.0;
-
-        for (VehiculoSimulacion vehiculo : vehiculosActivos) {
-            if (vehiculo.getEstado() == VehiculoSimulacion.EstadoVehiculo.CARGANDO) {
-                Charger cargador = auxiliar.obtenerCargadorPorId(vehiculo.getCargadorAsignado());
-                if (cargador != null) {
-                    VehicleArrival v = vehiculo.getVehiculoOriginal();
-                    cargaTotal += Math.min(cargador.getPower(), v.getMaxChargeRate());
-                }
-            }
-        }
-
-        return cargaTotal;
+        return cargaEnCurso;
     }
 
     /**
@@ -784,8 +957,7 @@ public class ConstructivoAdaptativo {
      */
     private void implementarReduccionCarga(double exceso) {
         // Estrategia: reducir potencia de vehículos con menor prioridad
-        List<VehiculoSimulacion> vehiculosCargando = vehiculosActivos.stream()
-                .filter(v -> v.getEstado() == VehiculoSimulacion.EstadoVehiculo.CARGANDO)
+        List<VehiculoSimulacion> vehiculosCargando = vehiculosEnCarga.stream()
                 .sorted((v1, v2) -> Integer.compare(v2.getVehiculoOriginal().getPriority(),
                         v1.getVehiculoOriginal().getPriority()))
                 .collect(Collectors.toList());
@@ -808,6 +980,8 @@ public class ConstructivoAdaptativo {
                         vehiculo.getVehiculoOriginal().getMaxChargeRate());
 
                 // Desasignar temporalmente
+                terminarCarga(vehiculo);
+                colaEspera.add(vehiculo);
                 cargadoresDisponibles.put(vehiculo.getCargadorAsignado(), true);
                 vehiculo.setCargadorAsignado(null);
                 vehiculo.setEstado(VehiculoSimulacion.EstadoVehiculo.ESPERANDO);
@@ -821,55 +995,23 @@ public class ConstructivoAdaptativo {
      * Log de resumen de iteración
      */
     private void logIterationSummary() {
-        int activeVehicles = (int) vehiculosActivos.stream()
-                .filter(v -> v.getEstado() != VehiculoSimulacion.EstadoVehiculo.RETIRADO)
-                .count();
-
-        int chargingVehicles = (int) vehiculosActivos.stream()
-                .filter(v -> v.getEstado() == VehiculoSimulacion.EstadoVehiculo.CARGANDO)
-                .count();
-
-        int completedVehicles = (int) vehiculosActivos.stream()
-                .filter(v -> v.getEstado() == VehiculoSimulacion.EstadoVehiculo.COMPLETADO)
-                .count();
-
-        double totalEnergyDelivered = vehiculosActivos.stream()
-                .mapToDouble(VehiculoSimulacion::getEnergiaActual)
-                .sum();
+        int chargingVehicles = vehiculosEnCarga.size();
+        int activeVehicles = colaEspera.size() + chargingVehicles + numeroCompletados;
 
         logger.logIterationSummary(tiempoActual, activeVehicles, chargingVehicles,
-                completedVehicles, totalEnergyDelivered);
+                numeroCompletados, energiaEntregada);
     }
 
     /**
      * Captura datos temporales para generar gráficas
      */
     private void capturarDatosTemporales() {
-        // Calcular métricas actuales
-        double cargaTransformador = calcularCargaActualTransformador();
-
-        int cargadoresOcupados = (int) cargadoresDisponibles.values().stream()
-                .mapToLong(disponible -> disponible ? 0 : 1).sum();
-
-        int vehiculosCargando = (int) vehiculosActivos.stream()
-                .filter(v -> v.getEstado() == VehiculoSimulacion.EstadoVehiculo.CARGANDO)
-                .count();
-
-        int vehiculosEsperando = (int) vehiculosActivos.stream()
-                .filter(v -> v.getEstado() == VehiculoSimulacion.EstadoVehiculo.ESPERANDO)
-                .count();
-
-        int vehiculosCompletados = (int) vehiculosActivos.stream()
-                .filter(v -> v.getEstado() == VehiculoSimulacion.EstadoVehiculo.COMPLETADO)
-                .count();
-
-        double energiaTotalEntregada = vehiculosActivos.stream()
-                .mapToDouble(VehiculoSimulacion::getEnergiaActual)
-                .sum();
+        // Cada vehículo en carga ocupa exactamente un cargador
+        int vehiculosCargando = vehiculosEnCarga.size();
 
         // Registrar punto temporal
-        datosTemporales.registrarPunto(tiempoActual, cargaTransformador, cargadoresOcupados,
-                vehiculosCargando, vehiculosEsperando, vehiculosCompletados, energiaTotalEntregada);
+        datosTemporales.registrarPunto(tiempoActual, cargaEnCurso, vehiculosCargando,
+                vehiculosCargando, colaEspera.size(), numeroCompletados, energiaEntregada);
     }
 
     /**
@@ -879,10 +1021,17 @@ public class ConstructivoAdaptativo {
         return datosTemporales;
     }
 
+    /**
+     * Obtener las métricas de tiempo y memoria por fase
+     */
+    public MetricasFases getMetricas() {
+        return metricas;
+    }
+
     /**
      * Obtener el logger para acceso externo
      */
     public ChargingLogger getLogger() {
         return logger;
     }
-}
\ No newline at end of file
+}
@@ -3,6 +3,7 @@ package com.ejemplo.algoritmo;
 import com.ejemplo.model.*;
 
 import java.util.*;
+import java.util.function.DoubleUnaryOperator;
 import java.util.stream.Collectors;
 
 /**
@@ -15,13 +16,21 @@ public class ConstructivoAdaptativoAuxiliar {
     private final int limiteTransformador;
     private final double eficienciaGlobal;
     private ChargingLogger logger; // Referencia al logger (opcional)
-    private List<VehiculoSimulacion> vehiculosSimulacionActivos; // Nueva referencia a los vehículos activos
+    private Map<Integer, VehiculoSimulacion> vehiculosSimulacionPorId; // Vehículos simulados en memoria por ID
+    private final Map<Integer, Charger> cargadoresPorId; // Índice de cargadores por ID
+    private DoubleUnaryOperator consultaPrecios; // Precio por tiempo (null: se busca en la lista del TestSystem)
 
     public ConstructivoAdaptativoAuxiliar(TestSystem testSystem) {
         this.testSystem = testSystem;
         this.resolucionTiempo = testSystem.getParkingConfig().getTimeResolution();
         this.limiteTransformador = testSystem.getParkingConfig().getTransformerLimit();
         this.eficienciaGlobal = testSystem.getParkingConfig().getEfficiency();
+
+        // Si hubiera IDs repetidos se conserva el primero, como en la búsqueda lineal
+        this.cargadoresPorId = new HashMap<>();
+        for (Charger cargador : testSystem.getParkingConfig().getChargers()) {
+            cargadoresPorId.putIfAbsent(cargador.getChargerId(), cargador);
+        }
     }
 
     /**
@@ -31,8 +40,31 @@ public class ConstructivoAdaptativoAuxiliar {
         this.logger = logger;
     }
 
-    public void setVehiculosSimulacionActivos(List<VehiculoSimulacion> vehiculosSimulacionActivos) {
-        this.vehiculosSimulacionActivos = vehiculosSimulacionActivos;
+    /**
+     * Sustituye la búsqueda en la lista de precios del TestSystem por una
+     * consulta externa, por ejemplo un índice ordenado que se actualiza en línea
+     */
+    public void setConsultaPrecios(DoubleUnaryOperator consultaPrecios) {
+        this.consultaPrecios = consultaPrecios;
+    }
+
+    public void setVehiculosSimulacionPorId(Map<Integer, VehiculoSimulacion> vehiculosSimulacionPorId) {
+        this.vehiculosSimulacionPorId = vehiculosSimulacionPorId;
+    }
+
+    /**
+     * Busca los datos de llegada de un vehículo: primero entre los simulados y,
+     * si no se han establecido, en las llegadas del TestSystem
+     */
+    private VehicleArrival buscarLlegada(int vehiculoId) {
+        if (vehiculosSimulacionPorId != null) {
+            VehiculoSimulacion vehiculoSim = vehiculosSimulacionPorId.get(vehiculoId);
+            return vehiculoSim != null ? vehiculoSim.getVehiculoOriginal() : null;
+        }
+        return testSystem.getArrivals().stream()
+                .filter(v -> v.getId() == vehiculoId)
+                .findFirst()
+                .orElse(null);
     }
 
     /**
@@ -248,16 +280,16 @@ public class ConstructivoAdaptativoAuxiliar {
      * Obtiene un cargador por su ID
      */
     public Charger obtenerCargadorPorId(int cargadorId) {
-        return testSystem.getParkingConfig().getChargers().stream()
-                .filter(c -> c.getChargerId() == cargadorId)
-                .findFirst()
-                .orElse(null);
+        return cargadoresPorId.get(cargadorId);
     }
 
     /**
      * Obtiene el precio de energía en un tiempo específico
      */
     public double obtenerPrecioEnergia(double tiempo) {
+        if (consultaPrecios != null) {
+            return consultaPrecios.applyAsDouble(tiempo);
+        }
         // Buscar el precio más cercano al tiempo dado
         return testSystem.getEnergyPrices().stream()
                 .min((p1, p2) -> Double.compare(
@@ -329,10 +361,7 @@ public class ConstructivoAdaptativoAuxiliar {
             Integer cargadorId = entry.getValue();
 
             // Encontrar vehículo y cargador
-            VehicleArrival vehiculo = testSystem.getArrivals().stream()
-                    .filter(v -> v.getId() == vehiculoId)
-                    .findFirst()
-                    .orElse(null);
+            VehicleArrival vehiculo = buscarLlegada(vehiculoId);
 
             Charger cargador = obtenerCargadorPorId(cargadorId);
 
@@ -357,10 +386,7 @@ public class ConstructivoAdaptativoAuxiliar {
         double penalizacionTotal = 0.0;
 
         for (Integer vehiculoId : asignacion.getAsignaciones().keySet()) {
-            VehicleArrival vehiculo = testSystem.getArrivals().stream()
-                    .filter(v -> v.getId() == vehiculoId)
-                    .findFirst()
-                    .orElse(null);
+            VehicleArrival vehiculo = buscarLlegada(vehiculoId);
 
             if (vehiculo != null) {
                 double tiempoEspera = Math.max(0, tiempoActual - vehiculo.getArrivalTime());
@@ -383,11 +409,8 @@ public class ConstructivoAdaptativoAuxiliar {
             Integer cargadorId = entry.getValue();
 
             // Find the VehiculoSimulacion instance (not VehicleArrival)
-            // Use the injected list of active simulated vehicles
-            VehiculoSimulacion vehiculoSim = this.vehiculosSimulacionActivos.stream()
-                    .filter(v -> v.getVehiculoOriginal().getId() == vehiculoId)
-                    .findFirst()
-                    .orElse(null);
+            // Use the injected map of simulated vehicles
+            VehiculoSimulacion vehiculoSim = this.vehiculosSimulacionPorId.get(vehiculoId);
 
             Charger cargador = obtenerCargadorPorId(cargadorId);
 
@@ -407,4 +430,55 @@ public class ConstructivoAdaptativoAuxiliar {
 
         return valorTotal;
     }
-}
\ No newline at end of file
+
+    /**
+     * Equidad de una asignación: inversa de la varianza de la completitud de los
+     * vehículos asignados
+     */
+    public double calcularEquidad(AsignacionCandidata asignacion) {
+        // Medir equidad como la distribución de carga entre vehículos
+        if (asignacion.getAsignaciones().isEmpty())
+            return 0.0;
+
+        List<Double> completitudes = new ArrayList<>();
+        for (Integer vehiculoId : asignacion.getAsignaciones().keySet()) {
+            VehiculoSimulacion vehiculo = vehiculosSimulacionPorId.get(vehiculoId);
+
+            if (vehiculo != null) {
+                completitudes.add(vehiculo.getPorcentajeCompletitud());
+            }
+        }
+
+        if (completitudes.isEmpty())
+            return 0.0;
+
+        double promedio = completitudes.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
+        double varianza = completitudes.stream()
+                .mapToDouble(c -> Math.pow(c - promedio, 2))
+                .average()
+                .orElse(0.0);
+
+        return 100.0 / (1.0 + varianza); // Mayor equidad = menor varianza
+    }
+
+    /**
+     * Eficiencia media de los cargadores usados en una asignación
+     */
+    public double calcularEficienciaCargadores(AsignacionCandidata asignacion) {
+        if (asignacion.getAsignaciones().isEmpty())
+            return 0.0;
+
+        double eficienciaPromedio = 0.0;
+        int contador = 0;
+
+        for (Integer cargadorId : asignacion.getAsignaciones().values()) {
+            Charger cargador = obtenerCargadorPorId(cargadorId);
+            if (cargador != null) {
+                eficienciaPromedio += cargador.getEfficiency();
+                contador++;
+            }
+        }
+
+        return contador > 0 ? eficienciaPromedio / contador : 0.0;
+    }
+}
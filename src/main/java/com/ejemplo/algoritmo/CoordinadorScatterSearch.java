@@ -0,0 +1,394 @@
+package com.ejemplo.algoritmo;
+
+import com.ejemplo.model.TestSystem;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coordinador del Scatter Search distribuido. Escucha conexiones TCP de
+ * procesos trabajadores (TrabajadorScatterSearch), les envía la instancia una
+ * vez y les reparte tareas de construcción; cada trabajador devuelve un
+ * resumen compacto de la solución. El conjunto de referencia y el frente de
+ * Pareto viven solo en el ScatterSearch del coordinador (ver
+ * ScatterSearch.setCoordinador).
+ *
+ * Si un trabajador muere o deja de responder, su tarea vuelve a la cola y la
+ * toma otro; si no queda ninguno, el coordinador ejecuta las tareas él mismo.
+ * Cada tarea es determinista dada su semilla, así que el resultado no depende
+ * de qué proceso la ejecute.
+ */
+public class CoordinadorScatterSearch implements AutoCloseable {
+
+    // Protocolo: flujos Data* sobre TCP; cada mensaje es un byte de tipo y sus campos
+    static final int MAGIA = 0x53534457; // "SSDW"
+    static final int VERSION = 1;
+    static final byte MENSAJE_INSTANCIA = 1; // coordinador → trabajador: int longitud + JSON
+    static final byte MENSAJE_TAREA = 2; // coordinador → trabajador: long id + long semilla
+    static final byte MENSAJE_RESULTADO = 3; // trabajador → coordinador: long id + resumen
+    static final byte MENSAJE_ERROR = 4; // trabajador → coordinador: long id + texto
+    static final byte MENSAJE_FIN = 5; // coordinador → trabajador
+    static final int TAMAÑO_MAXIMO_INSTANCIA = 256 * 1024 * 1024;
+
+    public static class ParametrosCoordinador {
+        public String direccion = "127.0.0.1"; // "0.0.0.0" para aceptar trabajadores de otras máquinas
+        public int puerto = 0; // 0 = puerto libre elegido por el sistema
+        public int tamañoLote = 8; // Ejecuciones repartidas a la vez en la diversificación sistemática
+        public int tiempoMaximoTareaMs = 120_000; // Sin respuesta en este tiempo el trabajador se da por caído
+
+        public static ParametrosCoordinador porDefecto() {
+            return new ParametrosCoordinador();
+        }
+    }
+
+    private final TestSystem testSystem;
+    private final ParametrosCoordinador parametros;
+    private final byte[] instancia;
+    private final ServerSocket servidor;
+    private final BlockingQueue<Tarea> pendientes = new LinkedBlockingQueue<>();
+    private final Set<Socket> conexiones = ConcurrentHashMap.newKeySet();
+    private final List<Process> procesosLocales = new ArrayList<>();
+    private volatile boolean cerrado = false;
+
+    // Estadísticas
+    private final AtomicLong siguienteId = new AtomicLong();
+    private final AtomicInteger trabajadoresActivos = new AtomicInteger();
+    private final AtomicInteger trabajadoresConectados = new AtomicInteger();
+    private final AtomicInteger trabajadoresCaidos = new AtomicInteger();
+    private final AtomicLong tareasRemotas = new AtomicLong();
+    private final AtomicLong tareasLocales = new AtomicLong();
+    private final AtomicLong tareasReasignadas = new AtomicLong();
+    private final AtomicLong tareasConError = new AtomicLong();
+
+    public CoordinadorScatterSearch(TestSystem testSystem, ParametrosCoordinador parametros) throws IOException {
+        this.testSystem = testSystem;
+        this.parametros = parametros;
+        this.instancia = TrabajadorScatterSearch.escribirInstancia(testSystem);
+        this.servidor = new ServerSocket(parametros.puerto, 50, InetAddress.getByName(parametros.direccion));
+
+        Thread aceptador = new Thread(this::aceptarConexiones, "coordinador-scatter-aceptar");
+        aceptador.setDaemon(true);
+        aceptador.start();
+    }
+
+    /**
+     * Ejecución del constructivo con una semilla, asignada a un lote
+     */
+    private static final class Tarea {
+        final long id;
+        final long semilla;
+        final Lote lote;
+        final int indice;
+
+        Tarea(long id, long semilla, Lote lote, int indice) {
+            this.id = id;
+            this.semilla = semilla;
+            this.lote = lote;
+            this.indice = indice;
+        }
+    }
+
+    /**
+     * Resultados de un lote en el orden de sus semillas. Una tarea reasignada
+     * puede completarse dos veces; solo cuenta la primera.
+     */
+    private static final class Lote {
+        final SolucionConstructiva[] resultados;
+        final boolean[] terminadas;
+        int restantes;
+
+        Lote(int tamaño) {
+            this.resultados = new SolucionConstructiva[tamaño];
+            this.terminadas = new boolean[tamaño];
+            this.restantes = tamaño;
+        }
+
+        synchronized void completar(int indice, SolucionConstructiva solucion) {
+            if (!terminadas[indice]) {
+                terminadas[indice] = true;
+                resultados[indice] = solucion;
+                restantes--;
+                notifyAll();
+            }
+        }
+
+        synchronized boolean estaTerminada(int indice) {
+            return terminadas[indice];
+        }
+
+        synchronized boolean esperar(long milisegundos) throws InterruptedException {
+            if (restantes > 0) {
+                wait(milisegundos);
+            }
+            return restantes == 0;
+        }
+    }
+
+    /**
+     * Ejecuta el constructivo con cada semilla repartiendo las ejecuciones entre
+     * los trabajadores conectados. Retorna las soluciones en el orden de las
+     * semillas (null donde la ejecución falló).
+     */
+    public List<SolucionConstructiva> ejecutarConstructivos(List<Long> semillas) {
+        Lote lote = new Lote(semillas.size());
+        for (int i = 0; i < semillas.size(); i++) {
+            pendientes.add(new Tarea(siguienteId.incrementAndGet(), semillas.get(i), lote, i));
+        }
+
+        try {
+            while (!lote.esperar(50)) {
+                // Sin trabajadores vivos el coordinador avanza por su cuenta
+                if (trabajadoresActivos.get() == 0) {
+                    Tarea tarea = pendientes.poll();
+                    if (tarea != null && !tarea.lote.estaTerminada(tarea.indice)) {
+                        ejecutarLocalmente(tarea);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ejecución distribuida interrumpida", e);
+        }
+        return Arrays.asList(lote.resultados);
+    }
+
+    private void ejecutarLocalmente(Tarea tarea) {
+        SolucionConstructiva solucion = null;
+        try {
+            solucion = TrabajadorScatterSearch.ejecutarTarea(testSystem, tarea.semilla);
+        } catch (RuntimeException e) {
+            tareasConError.incrementAndGet();
+        }
+        tareasLocales.incrementAndGet();
+        tarea.lote.completar(tarea.indice, solucion);
+    }
+
+    private void aceptarConexiones() {
+        while (!cerrado) {
+            try {
+                Socket socket = servidor.accept();
+                conexiones.add(socket);
+                Thread hilo = new Thread(() -> atenderTrabajador(socket),
+                        "coordinador-scatter-" + socket.getRemoteSocketAddress());
+                hilo.setDaemon(true);
+                hilo.start();
+            } catch (IOException e) {
+                if (!cerrado) {
+                    System.out.println("⚠️ Error aceptando trabajador: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Sesión con un trabajador: saludo, envío de la instancia y una tarea a la
+     * vez hasta el cierre. Cualquier error de E/S (incluido superar
+     * tiempoMaximoTareaMs) descarta al trabajador y devuelve su tarea a la cola.
+     */
+    private void atenderTrabajador(Socket socket) {
+        Tarea enCurso = null;
+        boolean registrado = false;
+        try {
+            socket.setSoTimeout(parametros.tiempoMaximoTareaMs);
+            socket.setTcpNoDelay(true);
+            DataInputStream entrada = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            if (entrada.readInt() != MAGIA || entrada.readInt() != VERSION) {
+                return; // No es un trabajador compatible
+            }
+            salida.writeByte(MENSAJE_INSTANCIA);
+            salida.writeInt(instancia.length);
+            salida.write(instancia);
+            salida.flush();
+            trabajadoresConectados.incrementAndGet();
+            trabajadoresActivos.incrementAndGet();
+            registrado = true;
+
+            while (!cerrado) {
+                enCurso = pendientes.poll(100, TimeUnit.MILLISECONDS);
+                if (enCurso == null || enCurso.lote.estaTerminada(enCurso.indice)) {
+                    enCurso = null;
+                    continue;
+                }
+                salida.writeByte(MENSAJE_TAREA);
+                salida.writeLong(enCurso.id);
+                salida.writeLong(enCurso.semilla);
+                salida.flush();
+
+                byte tipo = entrada.readByte();
+                long id = entrada.readLong();
+                if (id != enCurso.id) {
+                    throw new IOException("Respuesta para una tarea inesperada: " + id);
+                }
+                SolucionConstructiva solucion = null;
+                if (tipo == MENSAJE_RESULTADO) {
+                    solucion = PuntoControlScatterSearch.leerResumenSolucion(entrada);
+                } else if (tipo == MENSAJE_ERROR) {
+                    entrada.readUTF();
+                    tareasConError.incrementAndGet();
+                } else {
+                    throw new IOException("Mensaje desconocido del trabajador: " + tipo);
+                }
+                tareasRemotas.incrementAndGet();
+                enCurso.lote.completar(enCurso.indice, solucion);
+                enCurso = null;
+            }
+
+            salida.writeByte(MENSAJE_FIN);
+            salida.flush();
+        } catch (IOException e) {
+            if (!cerrado && registrado) {
+                trabajadoresCaidos.incrementAndGet();
+                System.out.printf("⚠️ Trabajador %s perdido (%s); sus tareas se reasignan%n",
+                        socket.getRemoteSocketAddress(), e.getMessage());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (registrado) {
+                trabajadoresActivos.decrementAndGet();
+            }
+            if (enCurso != null && !enCurso.lote.estaTerminada(enCurso.indice)) {
+                tareasReasignadas.incrementAndGet();
+                pendientes.add(enCurso);
+            }
+            conexiones.remove(socket);
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Ya cerrado
+            }
+        }
+    }
+
+    /**
+     * Lanza trabajadores como procesos locales de esta misma JVM y classpath,
+     * que hacen de nodos del clúster
+     */
+    public void lanzarTrabajadoresLocales(int cantidad) throws IOException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        for (int i = 0; i < cantidad; i++) {
+            ProcessBuilder constructor = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    TrabajadorScatterSearch.class.getName(), getDireccionTrabajadores(),
+                    String.valueOf(getPuerto()));
+            constructor.redirectOutput(ProcessBuilder.Redirect.DISCARD);
+            constructor.redirectError(ProcessBuilder.Redirect.INHERIT);
+            synchronized (procesosLocales) {
+                procesosLocales.add(constructor.start());
+            }
+        }
+    }
+
+    /**
+     * Espera hasta que haya al menos la cantidad indicada de trabajadores
+     * conectados o venza el plazo. Retorna los trabajadores activos.
+     */
+    public int esperarTrabajadores(int cantidad, long plazoMs) throws InterruptedException {
+        long limite = System.currentTimeMillis() + plazoMs;
+        while (trabajadoresActivos.get() < cantidad && System.currentTimeMillis() < limite) {
+            Thread.sleep(50);
+        }
+        return trabajadoresActivos.get();
+    }
+
+    /**
+     * Avisa el fin a los trabajadores y termina los procesos locales que no
+     * salgan por sí mismos
+     */
+    @Override
+    public void close() {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+        try {
+            servidor.close();
+        } catch (IOException e) {
+            // Ya cerrado
+        }
+
+        List<Process> procesos;
+        synchronized (procesosLocales) {
+            procesos = new ArrayList<>(procesosLocales);
+        }
+        for (Process proceso : procesos) {
+            try {
+                if (!proceso.waitFor(2, TimeUnit.SECONDS)) {
+                    proceso.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                proceso.destroyForcibly();
+            }
+        }
+        for (Socket socket : conexiones) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Ya cerrado
+            }
+        }
+    }
+
+    private String getDireccionTrabajadores() {
+        InetAddress direccion = servidor.getInetAddress();
+        return direccion.isAnyLocalAddress() ? "127.0.0.1" : direccion.getHostAddress();
+    }
+
+    public int getPuerto() {
+        return servidor.getLocalPort();
+    }
+
+    public int getTamañoLote() {
+        return Math.max(1, parametros.tamañoLote);
+    }
+
+    public int getTrabajadoresActivos() {
+        return trabajadoresActivos.get();
+    }
+
+    public int getTrabajadoresCaidos() {
+        return trabajadoresCaidos.get();
+    }
+
+    public long getTareasRemotas() {
+        return tareasRemotas.get();
+    }
+
+    public long getTareasLocales() {
+        return tareasLocales.get();
+    }
+
+    public long getTareasReasignadas() {
+        return tareasReasignadas.get();
+    }
+
+    /**
+     * Procesos locales lanzados, para pruebas de tolerancia a fallos
+     */
+    public List<Process> getProcesosLocales() {
+        synchronized (procesosLocales) {
+            return new ArrayList<>(procesosLocales);
+        }
+    }
+
+    public String generarResumen() {
+        StringBuilder resumen = new StringBuilder();
+        resumen.append("🌐 SCATTER SEARCH DISTRIBUIDO\n");
+        resumen.append(String.format("   Coordinador: %s:%d | Lote de diversificación: %d%n",
+                getDireccionTrabajadores(), getPuerto(), getTamañoLote()));
+        resumen.append(String.format("   Trabajadores: %d conectados, %d activos, %d perdidos%n",
+                trabajadoresConectados.get(), trabajadoresActivos.get(), trabajadoresCaidos.get()));
+        resumen.append(String.format("   Tareas: %d en trabajadores, %d en el coordinador, %d reasignadas, %d con error%n",
+                tareasRemotas.get(), tareasLocales.get(), tareasReasignadas.get(), tareasConError.get()));
+        return resumen.toString();
+    }
+}
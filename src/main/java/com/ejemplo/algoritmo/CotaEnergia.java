@@ -0,0 +1,172 @@
+package com.ejemplo.algoritmo;
+
+import com.ejemplo.model.TestSystem;
+
+/**
+ * Cota superior de la energía que el estacionamiento puede entregar, calculada
+ * como flujo máximo sobre la red expandida en el tiempo (ver RedTemporal):
+ *
+ * fuente → vehículo (energía requerida más un paso, porque la simulación no
+ * recorta el último paso) → vehículo en el paso k (un cargador por paso) →
+ * grupo de cargadores en el paso k (un vehículo por cargador) → transformador
+ * en el paso k → sumidero.
+ *
+ * El flujo se mide en energía de batería. El límite del transformador es de
+ * potencia de red, así que en cada paso se multiplica por la mejor eficiencia
+ * disponible en ese paso; el resultado sigue siendo una relajación válida y
+ * toda solución del constructivo o del Scatter Search entrega a lo sumo esta
+ * energía.
+ */
+public class CotaEnergia {
+
+    private final double cota;
+    private final double energiaRequerida;
+    private final int pasos;
+    private final int pasosTransformadorSaturado;
+    private final int nodos;
+    private final int arcos;
+    private final long tiempoCalculoMs;
+
+    private CotaEnergia(double cota, double energiaRequerida, int pasos, int pasosTransformadorSaturado, int nodos,
+            int arcos, long tiempoCalculoMs) {
+        this.cota = cota;
+        this.energiaRequerida = energiaRequerida;
+        this.pasos = pasos;
+        this.pasosTransformadorSaturado = pasosTransformadorSaturado;
+        this.nodos = nodos;
+        this.arcos = arcos;
+        this.tiempoCalculoMs = tiempoCalculoMs;
+    }
+
+    public static CotaEnergia calcular(TestSystem testSystem) {
+        long inicio = System.currentTimeMillis();
+        RedTemporal red = RedTemporal.construir(testSystem);
+        int n = red.vehiculos.size();
+        int grupos = red.grupos.size();
+        double dt = red.resolucionTiempo;
+
+        // Nodos vehículo-paso: las opciones vienen ordenadas por vehículo y paso
+        int[] nodoVehiculoPaso = new int[red.opciones];
+        int vehiculoPasos = 0;
+        for (int o = 0; o < red.opciones; o++) {
+            boolean nuevo = o == 0 || red.opcionVehiculo[o] != red.opcionVehiculo[o - 1]
+                    || red.opcionPaso[o] != red.opcionPaso[o - 1];
+            if (nuevo) {
+                vehiculoPasos++;
+            }
+            nodoVehiculoPaso[o] = vehiculoPasos - 1;
+        }
+
+        final int fuente = 0;
+        final int sumidero = 1;
+        final int baseVehiculos = 2;
+        final int baseVehiculoPaso = baseVehiculos + n;
+        final int baseGrupoPaso = baseVehiculoPaso + vehiculoPasos;
+        final int baseTransformador = baseGrupoPaso + red.pasos * grupos;
+        int totalNodos = baseTransformador + red.pasos;
+
+        FlujoMaximo flujo = new FlujoMaximo(totalNodos, n + vehiculoPasos + 2 * red.opciones + red.pasos);
+
+        // Máximos por vehículo, vehículo-paso, grupo-paso y paso
+        double[] pasoMaximoVehiculo = new double[n];
+        double[] maximoVehiculoPaso = new double[vehiculoPasos];
+        double[] maximoGrupoPaso = new double[red.pasos * grupos];
+        double[] eficienciaMaximaPaso = new double[red.pasos];
+        for (int o = 0; o < red.opciones; o++) {
+            double energia = red.energiaPaso(o);
+            int i = red.opcionVehiculo[o];
+            int k = red.opcionPaso[o];
+            pasoMaximoVehiculo[i] = Math.max(pasoMaximoVehiculo[i], energia);
+            maximoVehiculoPaso[nodoVehiculoPaso[o]] = Math.max(maximoVehiculoPaso[nodoVehiculoPaso[o]], energia);
+            int grupoPaso = k * grupos + red.opcionGrupo[o];
+            maximoGrupoPaso[grupoPaso] = Math.max(maximoGrupoPaso[grupoPaso], energia);
+            eficienciaMaximaPaso[k] = Math.max(eficienciaMaximaPaso[k], red.opcionEficiencia[o]);
+        }
+
+        double energiaRequerida = 0.0;
+        for (int i = 0; i < n; i++) {
+            double requerida = red.vehiculos.get(i).getRequiredEnergy();
+            energiaRequerida += requerida;
+            if (pasoMaximoVehiculo[i] > 0) {
+                flujo.agregarArco(fuente, baseVehiculos + i, requerida + pasoMaximoVehiculo[i]);
+            }
+        }
+        for (int o = 0; o < red.opciones; o++) {
+            int vehiculoPaso = nodoVehiculoPaso[o];
+            if (o == 0 || nodoVehiculoPaso[o - 1] != vehiculoPaso) {
+                flujo.agregarArco(baseVehiculos + red.opcionVehiculo[o], baseVehiculoPaso + vehiculoPaso,
+                        maximoVehiculoPaso[vehiculoPaso]);
+            }
+            flujo.agregarArco(baseVehiculoPaso + vehiculoPaso,
+                    baseGrupoPaso + red.opcionPaso[o] * grupos + red.opcionGrupo[o], red.energiaPaso(o));
+        }
+        for (int k = 0; k < red.pasos; k++) {
+            for (int g = 0; g < grupos; g++) {
+                double maximo = maximoGrupoPaso[k * grupos + g];
+                if (maximo > 0) {
+                    flujo.agregarArco(baseGrupoPaso + k * grupos + g, baseTransformador + k,
+                            red.grupos.get(g).size() * maximo);
+                }
+            }
+        }
+        int[] arcoTransformador = new int[red.pasos];
+        double[] capacidadTransformador = new double[red.pasos];
+        for (int k = 0; k < red.pasos; k++) {
+            capacidadTransformador[k] = red.limitePotencia * dt * eficienciaMaximaPaso[k];
+            arcoTransformador[k] = flujo.agregarArco(baseTransformador + k, sumidero, capacidadTransformador[k]);
+        }
+
+        double cota = flujo.calcular(fuente, sumidero);
+
+        int saturados = 0;
+        for (int k = 0; k < red.pasos; k++) {
+            if (capacidadTransformador[k] > 0
+                    && flujo.getFlujo(arcoTransformador[k]) >= capacidadTransformador[k] * (1.0 - 1e-6)) {
+                saturados++;
+            }
+        }
+
+        return new CotaEnergia(cota, energiaRequerida, red.pasos, saturados, flujo.getNumeroNodos(),
+                flujo.getNumeroArcos(), System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * Brecha de optimalidad en energía entregada, en porcentaje de la cota
+     */
+    public double calcularBrecha(SolucionConstructiva solucion) {
+        return cota > 0 ? (cota - solucion.getEnergiaTotalEntregada()) / cota * 100.0 : 0.0;
+    }
+
+    public String describirBrecha(SolucionConstructiva solucion) {
+        return String.format("📐 Energía entregada: %.2f kWh de una cota de %.2f kWh (brecha %.2f%%)",
+                solucion.getEnergiaTotalEntregada(), cota, calcularBrecha(solucion));
+    }
+
+    public double getCota() {
+        return cota;
+    }
+
+    public double getEnergiaRequerida() {
+        return energiaRequerida;
+    }
+
+    public int getPasosTransformadorSaturado() {
+        return pasosTransformadorSaturado;
+    }
+
+    public long getTiempoCalculoMs() {
+        return tiempoCalculoMs;
+    }
+
+    public String generarResumen() {
+        StringBuilder resumen = new StringBuilder();
+        resumen.append("📐 COTA SUPERIOR DE ENERGÍA (flujo máximo en red temporal)\n");
+        resumen.append(String.format("   Cota: %.2f kWh | Energía requerida: %.2f kWh (%.1f%% alcanzable)%n", cota,
+                energiaRequerida, energiaRequerida > 0 ? Math.min(100.0, cota / energiaRequerida * 100.0) : 0.0));
+        resumen.append(String.format("   Transformador saturado en %d de %d pasos%n", pasosTransformadorSaturado,
+                pasos));
+        resumen.append(String.format("   Red: %d nodos, %d arcos | Tiempo de cálculo: %d ms%n", nodos, arcos,
+                tiempoCalculoMs));
+        return resumen.toString();
+    }
+}
@@ -1,15 +1,34 @@
 package com.ejemplo.algoritmo;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Clase para capturar y almacenar datos temporales durante la ejecución del
  * algoritmo
- * para generar gráficas de evolución
+ * para generar gráficas de evolución.
+ *
+ * Los datos se guardan en columnas de tipos primitivos que crecen por
+ * duplicación (añadir un punto es O(1) amortizado y cuesta unos pocos bytes),
+ * con mínimo, máximo y media de cada serie mantenidos al registrar. Para
+ * graficar series largas se pueden reducir con LTTB o min-max.
  */
 public class DatosTemporales {
 
+    /**
+     * Series registradas en cada punto, además del tiempo
+     */
+    public enum Serie {
+        CARGA_TRANSFORMADOR,
+        PORCENTAJE_OCUPACION,
+        CARGADORES_OCUPADOS,
+        VEHICULOS_CARGANDO,
+        VEHICULOS_ESPERANDO,
+        VEHICULOS_COMPLETADOS,
+        ENERGIA_TOTAL_ENTREGADA
+    }
+
     // Clase para almacenar un punto de datos en el tiempo
     public static class PuntoTemporal {
         private final double tiempo;
@@ -68,14 +87,31 @@ public class DatosTemporales {
         }
     }
 
-    private final List<PuntoTemporal> puntosTempo;
+    private static final int CAPACIDAD_INICIAL = 64;
+    private static final int NUM_SERIES = Serie.values().length;
+
+    // Columnas (solo las primeras 'tamaño' posiciones son válidas)
+    private double[] tiempos;
+    private double[] cargas;
+    private double[] energias;
+    private int[] cargadoresOcupados;
+    private int[] vehiculosCargando;
+    private int[] vehiculosEsperando;
+    private int[] vehiculosCompletados;
+    private int tamaño;
+
+    // Agregados por serie, indexados por Serie.ordinal()
+    private final double[] minimos = new double[NUM_SERIES];
+    private final double[] maximos = new double[NUM_SERIES];
+    private final double[] sumas = new double[NUM_SERIES];
+
     private final int limiteTransformador;
     private final int totalCargadores;
 
     public DatosTemporales(int limiteTransformador, int totalCargadores) {
-        this.puntosTempo = new ArrayList<>();
         this.limiteTransformador = limiteTransformador;
         this.totalCargadores = totalCargadores;
+        limpiar();
     }
 
     /**
@@ -84,48 +120,266 @@ public class DatosTemporales {
     public void registrarPunto(double tiempo, double cargaTransformador, int cargadoresOcupados,
             int vehiculosCargando, int vehiculosEsperando, int vehiculosCompletados,
             double energiaTotalEntregada) {
-        PuntoTemporal punto = new PuntoTemporal(tiempo, cargaTransformador, cargadoresOcupados,
-                vehiculosCargando, vehiculosEsperando, vehiculosCompletados,
-                energiaTotalEntregada, totalCargadores);
-        puntosTempo.add(punto);
+        if (tamaño == tiempos.length) {
+            crecer();
+        }
+        int i = tamaño++;
+        tiempos[i] = tiempo;
+        cargas[i] = cargaTransformador;
+        this.cargadoresOcupados[i] = cargadoresOcupados;
+        this.vehiculosCargando[i] = vehiculosCargando;
+        this.vehiculosEsperando[i] = vehiculosEsperando;
+        this.vehiculosCompletados[i] = vehiculosCompletados;
+        energias[i] = energiaTotalEntregada;
+
+        for (Serie serie : Serie.values()) {
+            double valor = getValor(serie, i);
+            int s = serie.ordinal();
+            minimos[s] = Math.min(minimos[s], valor);
+            maximos[s] = Math.max(maximos[s], valor);
+            sumas[s] += valor;
+        }
+    }
+
+    private void crecer() {
+        int capacidad = tiempos.length * 2;
+        tiempos = Arrays.copyOf(tiempos, capacidad);
+        cargas = Arrays.copyOf(cargas, capacidad);
+        energias = Arrays.copyOf(energias, capacidad);
+        cargadoresOcupados = Arrays.copyOf(cargadoresOcupados, capacidad);
+        vehiculosCargando = Arrays.copyOf(vehiculosCargando, capacidad);
+        vehiculosEsperando = Arrays.copyOf(vehiculosEsperando, capacidad);
+        vehiculosCompletados = Arrays.copyOf(vehiculosCompletados, capacidad);
+    }
+
+    public int getTamaño() {
+        return tamaño;
+    }
+
+    public boolean estaVacio() {
+        return tamaño == 0;
+    }
+
+    public double getTiempo(int i) {
+        return tiempos[i];
+    }
+
+    public double getCargaTransformador(int i) {
+        return cargas[i];
+    }
+
+    public int getCargadoresOcupados(int i) {
+        return cargadoresOcupados[i];
+    }
+
+    public int getVehiculosCargando(int i) {
+        return vehiculosCargando[i];
+    }
+
+    public int getVehiculosEsperando(int i) {
+        return vehiculosEsperando[i];
+    }
+
+    public int getVehiculosCompletados(int i) {
+        return vehiculosCompletados[i];
+    }
+
+    public double getEnergiaTotalEntregada(int i) {
+        return energias[i];
+    }
+
+    public double getPorcentajeOcupacion(int i) {
+        return totalCargadores > 0 ? (cargadoresOcupados[i] * 100.0) / totalCargadores : 0.0;
     }
 
     /**
-     * Obtiene todos los puntos temporales registrados
+     * Valor de una serie en el punto i
+     */
+    public double getValor(Serie serie, int i) {
+        switch (serie) {
+            case CARGA_TRANSFORMADOR:
+                return cargas[i];
+            case PORCENTAJE_OCUPACION:
+                return getPorcentajeOcupacion(i);
+            case CARGADORES_OCUPADOS:
+                return cargadoresOcupados[i];
+            case VEHICULOS_CARGANDO:
+                return vehiculosCargando[i];
+            case VEHICULOS_ESPERANDO:
+                return vehiculosEsperando[i];
+            case VEHICULOS_COMPLETADOS:
+                return vehiculosCompletados[i];
+            case ENERGIA_TOTAL_ENTREGADA:
+                return energias[i];
+            default:
+                throw new IllegalArgumentException("Serie desconocida: " + serie);
+        }
+    }
+
+    public double getMinimo(Serie serie) {
+        return tamaño > 0 ? minimos[serie.ordinal()] : 0.0;
+    }
+
+    public double getMaximo(Serie serie) {
+        return tamaño > 0 ? maximos[serie.ordinal()] : 0.0;
+    }
+
+    public double getMedia(Serie serie) {
+        return tamaño > 0 ? sumas[serie.ordinal()] / tamaño : 0.0;
+    }
+
+    /**
+     * Tiempo del último punto registrado (0 si no hay datos)
+     */
+    public double getTiempoFinal() {
+        return tamaño > 0 ? tiempos[tamaño - 1] : 0.0;
+    }
+
+    /**
+     * Reduce una serie a como máximo 'umbral' puntos con Largest-Triangle-
+     * Three-Buckets: conserva el primero y el último y, en cada cubo, el punto
+     * que forma el triángulo de mayor área con el elegido en el cubo anterior y
+     * la media del siguiente. Devuelve los índices elegidos, en orden.
+     */
+    public int[] reducirLttb(Serie serie, int umbral) {
+        if (umbral >= tamaño || umbral < 3) {
+            return todosLosIndices();
+        }
+
+        int[] seleccion = new int[umbral];
+        int elegidos = 0;
+        seleccion[elegidos++] = 0;
+
+        double anchoCubo = (double) (tamaño - 2) / (umbral - 2);
+        int a = 0;
+        for (int cubo = 0; cubo < umbral - 2; cubo++) {
+            // Media del cubo siguiente (el último punto hace de cubo final)
+            int inicioSiguiente = (int) Math.floor((cubo + 1) * anchoCubo) + 1;
+            int finSiguiente = Math.min((int) Math.floor((cubo + 2) * anchoCubo) + 1, tamaño);
+            double xMedia = 0.0;
+            double yMedia = 0.0;
+            for (int j = inicioSiguiente; j < finSiguiente; j++) {
+                xMedia += tiempos[j];
+                yMedia += getValor(serie, j);
+            }
+            int cantidad = finSiguiente - inicioSiguiente;
+            xMedia /= cantidad;
+            yMedia /= cantidad;
+
+            int inicio = (int) Math.floor(cubo * anchoCubo) + 1;
+            int fin = (int) Math.floor((cubo + 1) * anchoCubo) + 1;
+            double xa = tiempos[a];
+            double ya = getValor(serie, a);
+            double areaMaxima = -1.0;
+            int elegido = inicio;
+            for (int j = inicio; j < fin; j++) {
+                double area = Math.abs((xa - xMedia) * (getValor(serie, j) - ya)
+                        - (xa - tiempos[j]) * (yMedia - ya));
+                if (area > areaMaxima) {
+                    areaMaxima = area;
+                    elegido = j;
+                }
+            }
+            seleccion[elegidos++] = elegido;
+            a = elegido;
+        }
+
+        seleccion[elegidos++] = tamaño - 1;
+        return seleccion;
+    }
+
+    /**
+     * Reduce una serie conservando el mínimo y el máximo de cada uno de
+     * 'cubos' intervalos de índices (hasta 2 puntos por cubo, en orden
+     * temporal). Preserva los picos, p. ej. los de carga del transformador.
+     */
+    public int[] reducirMinMax(Serie serie, int cubos) {
+        if (cubos <= 0 || 2 * cubos >= tamaño) {
+            return todosLosIndices();
+        }
+
+        int[] seleccion = new int[2 * cubos];
+        int elegidos = 0;
+        for (int cubo = 0; cubo < cubos; cubo++) {
+            int inicio = (int) ((long) cubo * tamaño / cubos);
+            int fin = (int) ((long) (cubo + 1) * tamaño / cubos);
+            int minimo = inicio;
+            int maximo = inicio;
+            for (int j = inicio + 1; j < fin; j++) {
+                double valor = getValor(serie, j);
+                if (valor < getValor(serie, minimo)) {
+                    minimo = j;
+                }
+                if (valor > getValor(serie, maximo)) {
+                    maximo = j;
+                }
+            }
+            seleccion[elegidos++] = Math.min(minimo, maximo);
+            if (minimo != maximo) {
+                seleccion[elegidos++] = Math.max(minimo, maximo);
+            }
+        }
+        return Arrays.copyOf(seleccion, elegidos);
+    }
+
+    private int[] todosLosIndices() {
+        int[] indices = new int[tamaño];
+        for (int i = 0; i < tamaño; i++) {
+            indices[i] = i;
+        }
+        return indices;
+    }
+
+    /**
+     * Materializa todos los puntos como objetos. Crea un objeto por punto;
+     * para recorrer o agregar datos usar los accesores por índice.
      */
     public List<PuntoTemporal> getPuntosTemporales() {
-        return new ArrayList<>(puntosTempo);
+        List<PuntoTemporal> puntos = new ArrayList<>(tamaño);
+        for (int i = 0; i < tamaño; i++) {
+            puntos.add(new PuntoTemporal(tiempos[i], cargas[i], cargadoresOcupados[i], vehiculosCargando[i],
+                    vehiculosEsperando[i], vehiculosCompletados[i], energias[i], totalCargadores));
+        }
+        return puntos;
     }
 
     /**
      * Limpia todos los datos temporales
      */
     public void limpiar() {
-        puntosTempo.clear();
+        tiempos = new double[CAPACIDAD_INICIAL];
+        cargas = new double[CAPACIDAD_INICIAL];
+        energias = new double[CAPACIDAD_INICIAL];
+        cargadoresOcupados = new int[CAPACIDAD_INICIAL];
+        vehiculosCargando = new int[CAPACIDAD_INICIAL];
+        vehiculosEsperando = new int[CAPACIDAD_INICIAL];
+        vehiculosCompletados = new int[CAPACIDAD_INICIAL];
+        tamaño = 0;
+        Arrays.fill(minimos, Double.POSITIVE_INFINITY);
+        Arrays.fill(maximos, Double.NEGATIVE_INFINITY);
+        Arrays.fill(sumas, 0.0);
     }
 
     /**
      * Obtiene estadísticas generales
      */
     public String generarResumen() {
-        if (puntosTempo.isEmpty()) {
+        if (tamaño == 0) {
             return "No hay datos temporales disponibles.";
         }
 
-        double tiempoTotal = puntosTempo.get(puntosTempo.size() - 1).getTiempo();
-        double cargaMaxima = puntosTempo.stream().mapToDouble(PuntoTemporal::getCargaTransformador).max().orElse(0);
-        double ocupacionMaxima = puntosTempo.stream().mapToDouble(PuntoTemporal::getPorcentajeOcupacion).max()
-                .orElse(0);
-        double energiaFinal = puntosTempo.get(puntosTempo.size() - 1).getEnergiaTotalEntregada();
-
         return String.format(
                 "📊 RESUMEN DE EVOLUCIÓN TEMPORAL:\n" +
                         "   ⏰ Tiempo total simulado: %.2f h\n" +
                         "   ⚡ Carga máxima transformador: %.1f kW (límite: %d kW)\n" +
+                        "   ⚡ Carga media transformador: %.1f kW\n" +
                         "   🔌 Ocupación máxima cargadores: %.1f%%\n" +
+                        "   🔌 Ocupación media cargadores: %.1f%%\n" +
                         "   🔋 Energía total entregada: %.2f kWh\n" +
                         "   📈 Puntos de datos capturados: %d",
-                tiempoTotal, cargaMaxima, limiteTransformador, ocupacionMaxima, energiaFinal, puntosTempo.size());
+                getTiempoFinal(), getMaximo(Serie.CARGA_TRANSFORMADOR), limiteTransformador,
+                getMedia(Serie.CARGA_TRANSFORMADOR), getMaximo(Serie.PORCENTAJE_OCUPACION),
+                getMedia(Serie.PORCENTAJE_OCUPACION), energias[tamaño - 1], tamaño);
     }
 
     public int getLimiteTransformador() {
@@ -135,4 +389,4 @@ public class DatosTemporales {
     public int getTotalCargadores() {
         return totalCargadores;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,168 @@
+package com.ejemplo.algoritmo;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Escritor de logs en segundo plano. El hilo del algoritmo solo encola las
+ * entradas (sin bloquearse); un hilo dedicado las vuelca a un archivo a través
+ * de un canal con buffer. Si el nombre termina en ".gz" la salida se comprime.
+ * Cuando la cola está llena las entradas se descartan y se contabilizan.
+ */
+public class EscritorLogsAsincrono implements AutoCloseable {
+
+    private static final int CAPACIDAD_COLA_POR_DEFECTO = 16_384;
+    private static final int TAMAÑO_LOTE = 512;
+    private static final int TAMAÑO_BUFFER = 64 * 1024;
+
+    // Marca de fin de flujo: se compara por identidad
+    private static final String FIN = new String("<FIN>");
+
+    private final Path archivo;
+    private final BlockingQueue<String> cola;
+    private final Thread hiloEscritor;
+    private final AtomicLong entradasEscritas = new AtomicLong();
+    private final AtomicLong entradasDescartadas = new AtomicLong();
+    private volatile boolean cerrado;
+    private volatile IOException errorEscritura;
+
+    public EscritorLogsAsincrono(Path archivo) throws IOException {
+        this(archivo, CAPACIDAD_COLA_POR_DEFECTO);
+    }
+
+    public EscritorLogsAsincrono(Path archivo, int capacidadCola) throws IOException {
+        if (capacidadCola <= 0) {
+            throw new IllegalArgumentException("La capacidad de la cola debe ser positiva: " + capacidadCola);
+        }
+        this.archivo = archivo;
+        this.cola = new ArrayBlockingQueue<>(capacidadCola);
+
+        Writer salida = abrirSalida(archivo);
+        this.hiloEscritor = new Thread(() -> ejecutarEscritura(salida), "escritor-logs");
+        this.hiloEscritor.setDaemon(true);
+        this.hiloEscritor.start();
+    }
+
+    /**
+     * Abre el archivo como canal con buffer, comprimido si termina en ".gz"
+     */
+    static Writer abrirSalida(Path archivo) throws IOException {
+        Path padre = archivo.toAbsolutePath().getParent();
+        if (padre != null) {
+            Files.createDirectories(padre);
+        }
+        FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        OutputStream flujo = Channels.newOutputStream(canal);
+        if (archivo.getFileName().toString().endsWith(".gz")) {
+            flujo = new GZIPOutputStream(flujo, TAMAÑO_BUFFER);
+        }
+        return new BufferedWriter(new OutputStreamWriter(flujo, StandardCharsets.UTF_8), TAMAÑO_BUFFER);
+    }
+
+    /**
+     * Encola una entrada sin bloquear. Devuelve false si se descartó.
+     */
+    public boolean escribir(String entrada) {
+        if (cerrado || !cola.offer(entrada)) {
+            entradasDescartadas.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Bucle del hilo escritor: vacía la cola por lotes hasta recibir la marca de
+     * fin
+     */
+    private void ejecutarEscritura(Writer salida) {
+        List<String> lote = new ArrayList<>(TAMAÑO_LOTE);
+        boolean fin = false;
+        try (Writer w = salida) {
+            while (!fin) {
+                String primera = cola.poll(200, TimeUnit.MILLISECONDS);
+                if (primera == null) {
+                    w.flush();
+                    continue;
+                }
+                lote.add(primera);
+                cola.drainTo(lote, TAMAÑO_LOTE - 1);
+
+                for (String entrada : lote) {
+                    if (entrada == FIN) {
+                        fin = true;
+                        continue;
+                    }
+                    w.write(entrada);
+                    w.write('\n');
+                    entradasEscritas.incrementAndGet();
+                }
+                lote.clear();
+            }
+        } catch (IOException e) {
+            errorEscritura = e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Si la escritura falló, lo pendiente ya no llegará al archivo
+            entradasDescartadas.addAndGet(cola.size());
+            cola.clear();
+        }
+    }
+
+    /**
+     * Vacía lo pendiente, cierra el archivo y espera al hilo escritor
+     */
+    @Override
+    public void close() throws IOException {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+        try {
+            if (hiloEscritor.isAlive()) {
+                cola.put(FIN);
+                hiloEscritor.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (errorEscritura != null) {
+            throw new IOException("Error escribiendo logs en " + archivo + ": " + errorEscritura.getMessage(),
+                    errorEscritura);
+        }
+    }
+
+    // Getters
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    public long getEntradasEscritas() {
+        return entradasEscritas.get();
+    }
+
+    public long getEntradasDescartadas() {
+        return entradasDescartadas.get();
+    }
+
+    public boolean isCerrado() {
+        return cerrado;
+    }
+}
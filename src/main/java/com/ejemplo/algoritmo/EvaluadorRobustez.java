@@ -0,0 +1,452 @@
+package com.ejemplo.algoritmo;
+
+import com.ejemplo.model.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Evaluación Monte Carlo de la robustez de una planificación: genera N
+ * escenarios perturbados a partir de un TestSystem (llegadas y salidas
+ * desplazadas, demanda de energía y precios con ruido) y reproduce la
+ * planificación en todos ellos en paralelo sobre un ForkJoinPool.
+ *
+ * La reproducción de un plan conserva el cargador y el orden de atención de
+ * cada vehículo y usa la misma discretización que el constructivo (se carga un
+ * paso completo de resolucionTiempo con el precio del instante), pero no
+ * modela la reducción por límite del transformador ni las preempciones. Cada
+ * vehículo cuesta O(1) gracias a sumas acumuladas de precios por escenario.
+ */
+public class EvaluadorRobustez {
+
+    public static class ParametrosEscenarios {
+        public double desviacionLlegada = 0.25; // Horas (normal)
+        public double desviacionSalida = 0.25; // Horas (normal)
+        public double ruidoEnergia = 0.10; // Desviación relativa de la energía requerida
+        public double ruidoPrecio = 0.10; // Desviación relativa de cada precio
+        public double alfaCvar = 0.95; // CVaR: media del 5% de peores escenarios
+        public long semilla = 42;
+        public int hilos = Runtime.getRuntime().availableProcessors();
+
+        public static ParametrosEscenarios porDefecto() {
+            return new ParametrosEscenarios();
+        }
+
+        /**
+         * Sin ruido: todos los escenarios coinciden con el nominal
+         */
+        public static ParametrosEscenarios nominal() {
+            ParametrosEscenarios parametros = new ParametrosEscenarios();
+            parametros.desviacionLlegada = 0.0;
+            parametros.desviacionSalida = 0.0;
+            parametros.ruidoEnergia = 0.0;
+            parametros.ruidoPrecio = 0.0;
+            return parametros;
+        }
+    }
+
+    // Escenarios por tarea hoja del fork-join
+    private static final int UMBRAL_DIVISION = 16;
+
+    private final TestSystem testSystem;
+    private final ParametrosEscenarios parametros;
+    private final double resolucionTiempo;
+
+    // Precios nominales y, por paso de la rejilla, el índice del precio más cercano
+    private final double[] precios;
+    private final double[] tiemposPrecio;
+
+    public EvaluadorRobustez(TestSystem testSystem, ParametrosEscenarios parametros) {
+        this.testSystem = testSystem;
+        this.parametros = parametros;
+        this.resolucionTiempo = testSystem.getParkingConfig().getTimeResolution();
+        List<EnergyPrice> listaPrecios = testSystem.getEnergyPrices();
+        this.precios = new double[listaPrecios.size()];
+        this.tiemposPrecio = new double[listaPrecios.size()];
+        for (int i = 0; i < listaPrecios.size(); i++) {
+            precios[i] = listaPrecios.get(i).getPrice();
+            tiemposPrecio[i] = listaPrecios.get(i).getTime();
+        }
+    }
+
+    /**
+     * Reproduce el plan de una solución del constructivo en N escenarios. La
+     * solución debe conservar el estado final de todos los vehículos: con
+     * setRetenerVehiculosFinalizados(false) el constructivo descarta los que
+     * ya salieron y se lanza IllegalStateException.
+     */
+    public ResultadoRobustez evaluarPlan(SolucionConstructiva solucion, int escenarios) {
+        long inicio = System.nanoTime();
+        Plan plan = new Plan(solucion);
+        ResultadoRobustez resultado = new ResultadoRobustez(escenarios, parametros.alfaCvar);
+        ejecutarEnParalelo(escenarios, i -> reproducirPlan(plan, i, resultado));
+        resultado.milisegundos = (System.nanoTime() - inicio) / 1e6;
+        return resultado;
+    }
+
+    /**
+     * Ejecuta una política completa (p. ej. el constructivo) sobre cada
+     * escenario perturbado. Mucho más costoso que evaluarPlan: la política se
+     * reejecuta desde cero en cada escenario.
+     */
+    public ResultadoRobustez evaluarPolitica(Function<TestSystem, SolucionConstructiva> politica, int escenarios) {
+        long inicio = System.nanoTime();
+        ResultadoRobustez resultado = new ResultadoRobustez(escenarios, parametros.alfaCvar);
+        ejecutarEnParalelo(escenarios, i -> {
+            SolucionConstructiva solucion = politica.apply(generarEscenario(i));
+            resultado.costo[i] = solucion.getCostoTotalOperacion();
+            resultado.porcentajeEnergia[i] = solucion.getPorcentajeCargaEntregado();
+            resultado.completados[i] = solucion.getVehiculosCompletados();
+        });
+        resultado.milisegundos = (System.nanoTime() - inicio) / 1e6;
+        return resultado;
+    }
+
+    /**
+     * Materializa el escenario i como un TestSystem (misma configuración del
+     * estacionamiento, llegadas y precios perturbados)
+     */
+    public TestSystem generarEscenario(int indice) {
+        SplittableRandom aleatorio = aleatorioEscenario(indice);
+        List<VehicleArrival> llegadas = new ArrayList<>();
+        for (VehicleArrival original : testSystem.getArrivals()) {
+            double[] perturbado = perturbarVehiculo(original, aleatorio);
+            llegadas.add(new VehicleArrival(original.getId(), perturbado[0], perturbado[1], original.getBrand(),
+                    original.getBatteryCapacity(), perturbado[2], original.getMinChargeRate(),
+                    original.getMaxChargeRate(), original.getAcChargeRate(), original.getDcChargeRate(),
+                    original.getPriority(), original.getWillingnessToPay(), original.getEfficiency()));
+        }
+        llegadas.sort(Comparator.comparingDouble(VehicleArrival::getArrivalTime));
+
+        double[] factores = factoresPrecio(aleatorio);
+        List<EnergyPrice> listaPrecios = new ArrayList<>();
+        for (int i = 0; i < precios.length; i++) {
+            listaPrecios.add(new EnergyPrice(tiemposPrecio[i], precios[i] * factores[i]));
+        }
+        return new TestSystem(testSystem.getTestNumber(), listaPrecios, llegadas, testSystem.getParkingConfig(),
+                testSystem.getCarBrands(), testSystem.getChargerTypes());
+    }
+
+    private interface TareaEscenario {
+        void ejecutar(int indice);
+    }
+
+    private void ejecutarEnParalelo(int escenarios, TareaEscenario tarea) {
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parametros.hilos));
+        try {
+            pool.invoke(new RangoEscenarios(0, escenarios, tarea));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Divide el rango de escenarios a la mitad hasta el umbral
+     */
+    private static class RangoEscenarios extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int desde;
+        private final int hasta;
+        private final TareaEscenario tarea;
+
+        RangoEscenarios(int desde, int hasta, TareaEscenario tarea) {
+            this.desde = desde;
+            this.hasta = hasta;
+            this.tarea = tarea;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= UMBRAL_DIVISION) {
+                for (int i = desde; i < hasta; i++) {
+                    tarea.ejecutar(i);
+                }
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new RangoEscenarios(desde, medio, tarea), new RangoEscenarios(medio, hasta, tarea));
+        }
+    }
+
+    /**
+     * Generador del escenario i: depende solo de la semilla y del índice, así
+     * que el resultado no cambia con el número de hilos
+     */
+    private SplittableRandom aleatorioEscenario(int indice) {
+        return new SplittableRandom(parametros.semilla * 0x9E3779B97F4A7C15L + indice);
+    }
+
+    /**
+     * {llegada, salida, energía requerida} perturbados de un vehículo
+     */
+    private double[] perturbarVehiculo(VehicleArrival original, SplittableRandom aleatorio) {
+        double llegada = Math.max(0.0, original.getArrivalTime() + parametros.desviacionLlegada * normal(aleatorio));
+        double salida = original.getDepartureTime() + parametros.desviacionSalida * normal(aleatorio);
+        // Estancia mínima de un paso, sin alargar las que ya eran más cortas
+        double estanciaMinima = Math.min(resolucionTiempo, original.getDepartureTime() - original.getArrivalTime());
+        salida = Math.max(salida, llegada + Math.max(0.0, estanciaMinima));
+        double energia = Math.max(0.0, original.getRequiredEnergy() * (1.0 + parametros.ruidoEnergia * normal(aleatorio)));
+        return new double[] { llegada, salida, energia };
+    }
+
+    private double[] factoresPrecio(SplittableRandom aleatorio) {
+        double[] factores = new double[precios.length];
+        for (int i = 0; i < factores.length; i++) {
+            factores[i] = Math.max(0.0, 1.0 + parametros.ruidoPrecio * normal(aleatorio));
+        }
+        return factores;
+    }
+
+    private static double normal(SplittableRandom aleatorio) {
+        // Box-Muller (SplittableRandom no tiene nextGaussian)
+        double u1 = 1.0 - aleatorio.nextDouble();
+        double u2 = aleatorio.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
+    }
+
+    /**
+     * Plan extraído de una solución: vehículos agrupados por cargador en el
+     * orden en que empezaron a cargar, con los datos del par ya resueltos
+     */
+    private final class Plan {
+        final VehicleArrival[] vehiculos; // Índice = posición en testSystem.getArrivals()
+        final int[] orden; // Índices de vehículo agrupados por cargador
+        final int[] inicioGrupo; // orden[inicioGrupo[c] .. inicioGrupo[c + 1]) es la cola del cargador c
+        final double[] potencia;
+        final double[] eficiencia;
+        final double[] costoOperacionHora;
+        final int pasosRejilla;
+        final int[] indicePrecio; // Precio más cercano a cada paso de la rejilla
+
+        Plan(SolucionConstructiva solucion) {
+            List<VehicleArrival> llegadas = testSystem.getArrivals();
+            vehiculos = llegadas.toArray(new VehicleArrival[0]);
+            Map<Integer, Integer> indicePorId = new HashMap<>();
+            for (int i = 0; i < vehiculos.length; i++) {
+                indicePorId.put(vehiculos[i].getId(), i);
+            }
+            Map<Integer, Charger> cargadores = new HashMap<>();
+            for (Charger cargador : testSystem.getParkingConfig().getChargers()) {
+                cargadores.put(cargador.getChargerId(), cargador);
+            }
+
+            potencia = new double[vehiculos.length];
+            eficiencia = new double[vehiculos.length];
+            costoOperacionHora = new double[vehiculos.length];
+            Map<Integer, List<VehiculoSimulacion>> colas = new TreeMap<>();
+            boolean[] presentes = new boolean[vehiculos.length];
+            for (VehiculoSimulacion vehiculo : solucion.getEstadoFinalVehiculos()) {
+                Integer indice = indicePorId.get(vehiculo.getVehiculoOriginal().getId());
+                if (indice != null) {
+                    presentes[indice] = true;
+                }
+                Charger cargador = vehiculo.getCargadorAsignado() != null
+                        ? cargadores.get(vehiculo.getCargadorAsignado())
+                        : null;
+                if (indice == null || cargador == null) {
+                    continue;
+                }
+                VehicleArrival v = vehiculos[indice];
+                potencia[indice] = Math.min(cargador.getPower(), v.getMaxChargeRate());
+                eficiencia[indice] = cargador.getEfficiency() * v.getEfficiency();
+                costoOperacionHora[indice] = cargador.getOperationCostPerHour();
+                colas.computeIfAbsent(cargador.getChargerId(), id -> new ArrayList<>()).add(vehiculo);
+            }
+
+            int faltantes = 0;
+            for (boolean presente : presentes) {
+                faltantes += presente ? 0 : 1;
+            }
+            if (faltantes > 0) {
+                throw new IllegalStateException(String.format(
+                        "La solución no incluye el estado final de %d de %d vehículos; el plan solo puede "
+                                + "reproducirse si el constructivo retiene los vehículos finalizados "
+                                + "(setRetenerVehiculosFinalizados(true))",
+                        faltantes, vehiculos.length));
+            }
+
+            int total = colas.values().stream().mapToInt(List::size).sum();
+            orden = new int[total];
+            inicioGrupo = new int[colas.size() + 1];
+            int posicion = 0;
+            int grupo = 0;
+            for (List<VehiculoSimulacion> cola : colas.values()) {
+                cola.sort(Comparator.comparingDouble(VehiculoSimulacion::getTiempoInicioCarga));
+                inicioGrupo[grupo++] = posicion;
+                for (VehiculoSimulacion vehiculo : cola) {
+                    orden[posicion++] = indicePorId.get(vehiculo.getVehiculoOriginal().getId());
+                }
+            }
+            inicioGrupo[grupo] = posicion;
+
+            // Rejilla hasta la última salida posible con margen para el desplazamiento
+            double horizonte = 0.0;
+            for (VehicleArrival v : vehiculos) {
+                horizonte = Math.max(horizonte, v.getDepartureTime());
+            }
+            horizonte += 6.0 * parametros.desviacionSalida + resolucionTiempo;
+            pasosRejilla = (int) Math.ceil(horizonte / resolucionTiempo) + 2;
+            indicePrecio = new int[pasosRejilla];
+            for (int j = 0; j < pasosRejilla; j++) {
+                indicePrecio[j] = precioMasCercano(j * resolucionTiempo);
+            }
+        }
+
+        private int precioMasCercano(double tiempo) {
+            int mejor = 0;
+            for (int i = 1; i < tiemposPrecio.length; i++) {
+                if (Math.abs(tiemposPrecio[i] - tiempo) < Math.abs(tiemposPrecio[mejor] - tiempo)) {
+                    mejor = i;
+                }
+            }
+            return mejor;
+        }
+    }
+
+    /**
+     * Reproduce el plan en el escenario i. Para cada cargador se atiende su
+     * cola en orden: un vehículo empieza en cuanto ha llegado y el cargador
+     * está libre, y carga pasos completos hasta cubrir su demanda o hasta el
+     * primer paso en que ya debe salir (como en el constructivo).
+     */
+    private void reproducirPlan(Plan plan, int indice, ResultadoRobustez resultado) {
+        SplittableRandom aleatorio = aleatorioEscenario(indice);
+        int n = plan.vehiculos.length;
+        double[] llegada = new double[n];
+        double[] salida = new double[n];
+        double[] energiaRequerida = new double[n];
+        double requeridaTotal = 0.0;
+        for (int i = 0; i < n; i++) {
+            double[] perturbado = perturbarVehiculo(plan.vehiculos[i], aleatorio);
+            llegada[i] = perturbado[0];
+            salida[i] = perturbado[1];
+            energiaRequerida[i] = perturbado[2];
+            requeridaTotal += perturbado[2];
+        }
+
+        // Precio acumulado por paso: acumulado[j] = suma de precios de los pasos 1..j
+        double[] factores = factoresPrecio(aleatorio);
+        double[] acumulado = new double[plan.pasosRejilla];
+        for (int j = 1; j < plan.pasosRejilla; j++) {
+            int p = plan.indicePrecio[j];
+            acumulado[j] = acumulado[j - 1] + precios[p] * factores[p];
+        }
+        int ultimoPaso = plan.pasosRejilla - 1;
+
+        double costo = 0.0;
+        double entregada = 0.0;
+        int completados = 0;
+        for (int grupo = 0; grupo + 1 < plan.inicioGrupo.length; grupo++) {
+            int libre = 0; // Paso desde el que el cargador está libre
+            for (int k = plan.inicioGrupo[grupo]; k < plan.inicioGrupo[grupo + 1]; k++) {
+                int v = plan.orden[k];
+                int inicio = Math.max(libre, (int) Math.ceil(llegada[v] / resolucionTiempo - 1e-9));
+                int pasosHastaSalida = Math.min((int) Math.ceil(salida[v] / resolucionTiempo - 1e-9), ultimoPaso)
+                        - inicio;
+                if (pasosHastaSalida <= 0) {
+                    continue; // Se fue antes de que el cargador quedara libre
+                }
+                double energiaPorPaso = plan.potencia[v] * resolucionTiempo * plan.eficiencia[v];
+                int pasosNecesarios = energiaPorPaso > 0.0
+                        ? (int) Math.ceil(energiaRequerida[v] / energiaPorPaso - 1e-9)
+                        : pasosHastaSalida;
+                int pasos = Math.min(pasosNecesarios, pasosHastaSalida);
+
+                double energia = pasos * energiaPorPaso;
+                costo += plan.potencia[v] * resolucionTiempo * (acumulado[inicio + pasos] - acumulado[inicio])
+                        + pasos * resolucionTiempo * plan.costoOperacionHora[v];
+                // Igual que SolucionConstructiva: la energía del último paso cuenta entera
+                entregada += energia;
+                if (energia >= energiaRequerida[v]) {
+                    completados++;
+                }
+                libre = inicio + pasos;
+            }
+        }
+
+        resultado.costo[indice] = costo;
+        resultado.porcentajeEnergia[indice] = requeridaTotal > 0.0 ? entregada / requeridaTotal * 100.0 : 100.0;
+        resultado.completados[indice] = completados;
+    }
+
+    /**
+     * Métricas por escenario y su distribución
+     */
+    public static class ResultadoRobustez {
+        public final double[] costo;
+        public final double[] porcentajeEnergia;
+        public final double[] completados;
+        public final double alfaCvar;
+        public double milisegundos;
+
+        ResultadoRobustez(int escenarios, double alfaCvar) {
+            this.costo = new double[escenarios];
+            this.porcentajeEnergia = new double[escenarios];
+            this.completados = new double[escenarios];
+            this.alfaCvar = alfaCvar;
+        }
+
+        public BenchmarkConfiguraciones.Estadistica getEstadisticaCosto() {
+            return BenchmarkConfiguraciones.Estadistica.de(costo);
+        }
+
+        public BenchmarkConfiguraciones.Estadistica getEstadisticaEnergia() {
+            return BenchmarkConfiguraciones.Estadistica.de(porcentajeEnergia);
+        }
+
+        /**
+         * Media del costo en la peor fracción (1 - alfa) de escenarios
+         */
+        public double getCvarCosto() {
+            return cvar(costo, alfaCvar, true);
+        }
+
+        /**
+         * Media del % de energía entregada en la peor fracción (1 - alfa)
+         */
+        public double getCvarEnergia() {
+            return cvar(porcentajeEnergia, alfaCvar, false);
+        }
+
+        /**
+         * CVaR de cola superior (peores = mayores) o inferior (peores = menores)
+         */
+        public static double cvar(double[] muestra, double alfa, boolean colaSuperior) {
+            if (muestra.length == 0) {
+                return Double.NaN;
+            }
+            double[] ordenada = muestra.clone();
+            Arrays.sort(ordenada);
+            int cola = Math.max(1, (int) Math.ceil((1.0 - alfa) * ordenada.length));
+            double suma = 0.0;
+            for (int i = 0; i < cola; i++) {
+                suma += colaSuperior ? ordenada[ordenada.length - 1 - i] : ordenada[i];
+            }
+            return suma / cola;
+        }
+
+        public String generarInforme() {
+            BenchmarkConfiguraciones.Estadistica c = getEstadisticaCosto();
+            BenchmarkConfiguraciones.Estadistica e = getEstadisticaEnergia();
+            BenchmarkConfiguraciones.Estadistica v = BenchmarkConfiguraciones.Estadistica.de(completados);
+            int porcentajeCola = (int) Math.round((1.0 - alfaCvar) * 100);
+            StringBuilder informe = new StringBuilder();
+            informe.append(String.format("🎲 ROBUSTEZ MONTE CARLO (%d escenarios, %.0f ms)%n", costo.length,
+                    milisegundos));
+            informe.append(String.format("   Costo total:        media %.2f ± %.2f | p50 %.2f | p90 %.2f | máx %.2f%n",
+                    c.media, c.desviacion, c.p50, c.p90, c.maximo));
+            informe.append(String.format("   CVaR %d%% del costo: %.2f (media del %d%% de peores escenarios)%n",
+                    Math.round(alfaCvar * 100), getCvarCosto(), porcentajeCola));
+            informe.append(String.format("   Energía entregada:  media %.1f%% ± %.1f | p50 %.1f%% | mín %.1f%%%n",
+                    e.media, e.desviacion, e.p50, e.minimo));
+            informe.append(String.format("   CVaR %d%% energía:   %.1f%% (media del %d%% de peores escenarios)%n",
+                    Math.round(alfaCvar * 100), getCvarEnergia(), porcentajeCola));
+            informe.append(String.format("   Vehículos completados: media %.1f | mín %.0f | máx %.0f%n", v.media,
+                    v.minimo, v.maximo));
+            return informe.toString();
+        }
+    }
+}
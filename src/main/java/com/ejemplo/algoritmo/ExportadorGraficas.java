@@ -0,0 +1,342 @@
+package com.ejemplo.algoritmo;
+
+import org.jfree.chart.ChartUtils;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.plot.ValueMarker;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.chart.ui.RectangleAnchor;
+import org.jfree.chart.ui.TextAnchor;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Exporta las gráficas de evolución temporal y del frente de Pareto a PNG
+ * (JFreeChart) o SVG sin abrir ventanas, para ejecuciones en nodos sin
+ * pantalla. Las series se reducen al ancho de la imagen antes de dibujarlas,
+ * así el coste no depende del número de pasos de la simulación.
+ */
+public class ExportadorGraficas {
+
+    public enum Formato {
+        PNG, SVG;
+
+        String extension() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public static final int ANCHO_POR_DEFECTO = 1200;
+    public static final int ALTO_POR_DEFECTO = 700;
+
+    private static final Color[] COLORES_VEHICULOS = { Color.BLUE, Color.ORANGE, new Color(0, 150, 0) };
+
+    /**
+     * Exporta las cuatro gráficas de evolución (transformador, ocupación,
+     * vehículos y energía) como prefijo_*.png|svg en el directorio dado
+     */
+    public static List<Path> exportarEvolucion(DatosTemporales datos, Path directorio, String prefijo,
+            Formato formato, int ancho, int alto) throws IOException {
+        if (datos.estaVacio()) {
+            throw new IOException("No hay datos temporales para exportar");
+        }
+        Files.createDirectories(directorio);
+        // Un punto por columna de píxeles (min-max genera hasta dos)
+        int puntos = Math.max(3, ancho);
+        List<Path> archivos = new ArrayList<>();
+
+        Grafica transformador = new Grafica("Carga del Transformador vs Tiempo", "Tiempo (h)", "Carga (kW)");
+        transformador.series.add(serie(datos, DatosTemporales.Serie.CARGA_TRANSFORMADOR, "Carga", Color.BLUE,
+                datos.reducirMinMax(DatosTemporales.Serie.CARGA_TRANSFORMADOR, puntos / 2)));
+        transformador.limite = (double) datos.getLimiteTransformador();
+        archivos.add(exportar(transformador, directorio.resolve(prefijo + "_transformador." + formato.extension()),
+                formato, ancho, alto));
+
+        Grafica ocupacion = new Grafica("Ocupación de Cargadores vs Tiempo", "Tiempo (h)", "Ocupación (%)");
+        ocupacion.series.add(serie(datos, DatosTemporales.Serie.PORCENTAJE_OCUPACION, "Ocupación", Color.GREEN,
+                datos.reducirLttb(DatosTemporales.Serie.PORCENTAJE_OCUPACION, puntos)));
+        archivos.add(exportar(ocupacion, directorio.resolve(prefijo + "_ocupacion." + formato.extension()),
+                formato, ancho, alto));
+
+        Grafica vehiculos = new Grafica("Estado de Vehículos vs Tiempo", "Tiempo (h)", "Vehículos");
+        DatosTemporales.Serie[] estados = { DatosTemporales.Serie.VEHICULOS_CARGANDO,
+                DatosTemporales.Serie.VEHICULOS_ESPERANDO, DatosTemporales.Serie.VEHICULOS_COMPLETADOS };
+        String[] nombres = { "Cargando", "Esperando", "Completados" };
+        for (int i = 0; i < estados.length; i++) {
+            vehiculos.series.add(serie(datos, estados[i], nombres[i], COLORES_VEHICULOS[i],
+                    datos.reducirLttb(estados[i], puntos)));
+        }
+        archivos.add(exportar(vehiculos, directorio.resolve(prefijo + "_vehiculos." + formato.extension()),
+                formato, ancho, alto));
+
+        Grafica energia = new Grafica("Energía Acumulada vs Tiempo", "Tiempo (h)", "Energía (kWh)");
+        energia.series.add(serie(datos, DatosTemporales.Serie.ENERGIA_TOTAL_ENTREGADA, "Energía", Color.MAGENTA,
+                datos.reducirLttb(DatosTemporales.Serie.ENERGIA_TOTAL_ENTREGADA, puntos)));
+        archivos.add(exportar(energia, directorio.resolve(prefijo + "_energia." + formato.extension()),
+                formato, ancho, alto));
+
+        return archivos;
+    }
+
+    /**
+     * Exporta el frente de Pareto como dispersión costo vs energía entregada
+     */
+    public static Path exportarFrentePareto(FrentePareto frente, Path directorio, String prefijo, Formato formato,
+            int ancho, int alto) throws IOException {
+        if (frente.estaVacio()) {
+            throw new IOException("El frente de Pareto está vacío");
+        }
+        Files.createDirectories(directorio);
+
+        List<SolucionPareto> soluciones = frente.getSolucionesComoLista();
+        double[] costos = new double[soluciones.size()];
+        double[] energias = new double[soluciones.size()];
+        for (int i = 0; i < soluciones.size(); i++) {
+            costos[i] = soluciones.get(i).getValorRealObjetivo(SolucionPareto.MINIMIZAR_COSTO);
+            energias[i] = soluciones.get(i).getValorRealObjetivo(SolucionPareto.MAXIMIZAR_ENERGIA);
+        }
+
+        Grafica grafica = new Grafica("Frente de Pareto: Costo vs Energía", "Costo (EUR)", "Energía (kWh)");
+        grafica.series.add(new SerieGrafica("Soluciones no dominadas", new Color(200, 0, 0), costos, energias));
+        grafica.puntos = true;
+        return exportar(grafica, directorio.resolve(prefijo + "_pareto." + formato.extension()), formato, ancho,
+                alto);
+    }
+
+    private static SerieGrafica serie(DatosTemporales datos, DatosTemporales.Serie serie, String nombre,
+            Color color, int[] indices) {
+        double[] x = new double[indices.length];
+        double[] y = new double[indices.length];
+        for (int k = 0; k < indices.length; k++) {
+            x[k] = datos.getTiempo(indices[k]);
+            y[k] = datos.getValor(serie, indices[k]);
+        }
+        return new SerieGrafica(nombre, color, x, y);
+    }
+
+    private static Path exportar(Grafica grafica, Path destino, Formato formato, int ancho, int alto)
+            throws IOException {
+        if (formato == Formato.PNG) {
+            ChartUtils.saveChartAsPNG(destino.toFile(), crearGraficoJFree(grafica), ancho, alto);
+        } else {
+            escribirSvg(grafica, destino, ancho, alto);
+        }
+        return destino;
+    }
+
+    private static JFreeChart crearGraficoJFree(Grafica grafica) {
+        XYSeriesCollection coleccion = new XYSeriesCollection();
+        // Sin autoOrdenar ni validar duplicados: los datos ya vienen ordenados
+        for (SerieGrafica serie : grafica.series) {
+            XYSeries xy = new XYSeries(serie.nombre, false, true);
+            for (int i = 0; i < serie.x.length; i++) {
+                xy.add(serie.x[i], serie.y[i], false);
+            }
+            coleccion.addSeries(xy);
+        }
+
+        XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer(!grafica.puntos, grafica.puntos);
+        for (int i = 0; i < grafica.series.size(); i++) {
+            renderer.setSeriesPaint(i, grafica.series.get(i).color);
+            renderer.setSeriesStroke(i, new BasicStroke(2f));
+        }
+
+        NumberAxis ejeX = new NumberAxis(grafica.etiquetaX);
+        NumberAxis ejeY = new NumberAxis(grafica.etiquetaY);
+        ejeX.setAutoRangeIncludesZero(!grafica.puntos);
+        ejeY.setAutoRangeIncludesZero(!grafica.puntos);
+        XYPlot plot = new XYPlot(coleccion, ejeX, ejeY, renderer);
+        plot.setBackgroundPaint(Color.WHITE);
+        plot.setDomainGridlinePaint(Color.LIGHT_GRAY);
+        plot.setRangeGridlinePaint(Color.LIGHT_GRAY);
+
+        if (grafica.limite != null) {
+            ValueMarker marcador = new ValueMarker(grafica.limite, Color.RED, new BasicStroke(2f,
+                    BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[] { 5, 5 }, 0));
+            marcador.setLabel("Límite: " + Math.round(grafica.limite) + " kW");
+            marcador.setLabelPaint(Color.RED);
+            marcador.setLabelAnchor(RectangleAnchor.TOP_RIGHT);
+            marcador.setLabelTextAnchor(TextAnchor.BOTTOM_RIGHT);
+            plot.addRangeMarker(marcador);
+            // Que el límite quede siempre dentro del rango visible
+            ejeY.setUpperBound(Math.max(grafica.maximoY(), grafica.limite) * 1.1);
+        }
+
+        JFreeChart chart = new JFreeChart(grafica.titulo, JFreeChart.DEFAULT_TITLE_FONT, plot,
+                grafica.series.size() > 1);
+        chart.setBackgroundPaint(Color.WHITE);
+        return chart;
+    }
+
+    /**
+     * Escribe la gráfica como SVG (ejes, marcas, polilíneas o puntos y leyenda)
+     */
+    private static void escribirSvg(Grafica grafica, Path destino, int ancho, int alto) throws IOException {
+        int margen = 70;
+        double areaAncho = ancho - 2.0 * margen;
+        double areaAlto = alto - 2.0 * margen;
+
+        double minX = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double minY = grafica.puntos ? Double.POSITIVE_INFINITY : 0.0;
+        double maxY = grafica.maximoY();
+        for (SerieGrafica serie : grafica.series) {
+            for (int i = 0; i < serie.x.length; i++) {
+                minX = Math.min(minX, serie.x[i]);
+                maxX = Math.max(maxX, serie.x[i]);
+                minY = Math.min(minY, serie.y[i]);
+            }
+        }
+        if (!grafica.puntos) {
+            minX = Math.min(minX, 0.0);
+        }
+        if (grafica.limite != null) {
+            maxY = Math.max(maxY, grafica.limite) * 1.1;
+        }
+        if (maxX - minX < 1e-12) {
+            maxX = minX + 1.0;
+        }
+        if (maxY - minY < 1e-12) {
+            maxY = minY + 1.0;
+        }
+
+        try (Writer w = Files.newBufferedWriter(destino, StandardCharsets.UTF_8)) {
+            w.write(String.format(Locale.US,
+                    "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\" viewBox=\"0 0 %d %d\" "
+                            + "font-family=\"Arial, sans-serif\">%n",
+                    ancho, alto, ancho, alto));
+            w.write(String.format("<rect width=\"%d\" height=\"%d\" fill=\"white\"/>%n", ancho, alto));
+            w.write(String.format(Locale.US,
+                    "<text x=\"%d\" y=\"35\" font-size=\"18\" font-weight=\"bold\" text-anchor=\"middle\">%s</text>%n",
+                    ancho / 2, escaparXml(grafica.titulo)));
+
+            // Cuadrícula, marcas y etiquetas de los ejes
+            for (int i = 0; i <= 10; i++) {
+                double x = margen + areaAncho * i / 10.0;
+                double y = alto - margen - areaAlto * i / 10.0;
+                w.write(String.format(Locale.US,
+                        "<line x1=\"%.1f\" y1=\"%d\" x2=\"%.1f\" y2=\"%d\" stroke=\"#e0e0e0\"/>%n", x, margen, x,
+                        alto - margen));
+                w.write(String.format(Locale.US,
+                        "<line x1=\"%d\" y1=\"%.1f\" x2=\"%d\" y2=\"%.1f\" stroke=\"#e0e0e0\"/>%n", margen, y,
+                        ancho - margen, y));
+                w.write(String.format(Locale.US,
+                        "<text x=\"%.1f\" y=\"%d\" font-size=\"10\" fill=\"gray\" text-anchor=\"middle\">%.1f</text>%n",
+                        x, alto - margen + 15, minX + (maxX - minX) * i / 10.0));
+                w.write(String.format(Locale.US,
+                        "<text x=\"%d\" y=\"%.1f\" font-size=\"10\" fill=\"gray\" text-anchor=\"end\">%.1f</text>%n",
+                        margen - 5, y + 3, minY + (maxY - minY) * i / 10.0));
+            }
+            w.write(String.format(
+                    "<path d=\"M%d %d V%d H%d\" fill=\"none\" stroke=\"black\" stroke-width=\"2\"/>%n",
+                    margen, margen, alto - margen, ancho - margen));
+            w.write(String.format(Locale.US,
+                    "<text x=\"%d\" y=\"%d\" font-size=\"12\" text-anchor=\"middle\">%s</text>%n", ancho / 2,
+                    alto - 20, escaparXml(grafica.etiquetaX)));
+            w.write(String.format(Locale.US,
+                    "<text x=\"20\" y=\"%d\" font-size=\"12\" text-anchor=\"middle\" transform=\"rotate(-90 20 %d)\">"
+                            + "%s</text>%n",
+                    alto / 2, alto / 2, escaparXml(grafica.etiquetaY)));
+
+            if (grafica.limite != null) {
+                double y = alto - margen - (grafica.limite - minY) / (maxY - minY) * areaAlto;
+                w.write(String.format(Locale.US,
+                        "<line x1=\"%d\" y1=\"%.1f\" x2=\"%d\" y2=\"%.1f\" stroke=\"red\" stroke-width=\"2\" "
+                                + "stroke-dasharray=\"5,5\"/>%n",
+                        margen, y, ancho - margen, y));
+                w.write(String.format(Locale.US,
+                        "<text x=\"%d\" y=\"%.1f\" font-size=\"12\" fill=\"red\" text-anchor=\"end\">"
+                                + "Límite: %d kW</text>%n",
+                        ancho - margen, y - 5, Math.round(grafica.limite)));
+            }
+
+            for (int s = 0; s < grafica.series.size(); s++) {
+                SerieGrafica serie = grafica.series.get(s);
+                String color = String.format("#%02x%02x%02x", serie.color.getRed(), serie.color.getGreen(),
+                        serie.color.getBlue());
+                StringBuilder coordenadas = new StringBuilder(serie.x.length * 16);
+                for (int i = 0; i < serie.x.length; i++) {
+                    double x = margen + (serie.x[i] - minX) / (maxX - minX) * areaAncho;
+                    double y = alto - margen - (serie.y[i] - minY) / (maxY - minY) * areaAlto;
+                    if (grafica.puntos) {
+                        w.write(String.format(Locale.US, "<circle cx=\"%.1f\" cy=\"%.1f\" r=\"4\" fill=\"%s\"/>%n",
+                                x, y, color));
+                    } else {
+                        coordenadas.append(String.format(Locale.US, "%.1f,%.1f ", x, y));
+                    }
+                }
+                if (!grafica.puntos) {
+                    w.write(String.format(
+                            "<polyline points=\"%s\" fill=\"none\" stroke=\"%s\" stroke-width=\"2\"/>%n",
+                            coordenadas.toString().trim(), color));
+                }
+
+                // Leyenda
+                int yLeyenda = margen + 10 + s * 20;
+                w.write(String.format("<rect x=\"%d\" y=\"%d\" width=\"15\" height=\"10\" fill=\"%s\"/>%n",
+                        ancho - margen - 150, yLeyenda, color));
+                w.write(String.format("<text x=\"%d\" y=\"%d\" font-size=\"12\">%s</text>%n",
+                        ancho - margen - 130, yLeyenda + 10, escaparXml(serie.nombre)));
+            }
+            w.write("</svg>\n");
+        }
+    }
+
+    private static String escaparXml(String texto) {
+        return texto.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    /**
+     * Descripción de una gráfica independiente del formato de salida
+     */
+    private static class Grafica {
+        private final String titulo;
+        private final String etiquetaX;
+        private final String etiquetaY;
+        private final List<SerieGrafica> series = new ArrayList<>();
+        private Double limite; // Línea horizontal de referencia (p. ej. límite del transformador)
+        private boolean puntos; // Dispersión en lugar de líneas
+
+        Grafica(String titulo, String etiquetaX, String etiquetaY) {
+            this.titulo = titulo;
+            this.etiquetaX = etiquetaX;
+            this.etiquetaY = etiquetaY;
+        }
+
+        double maximoY() {
+            double maximo = Double.NEGATIVE_INFINITY;
+            for (SerieGrafica serie : series) {
+                for (double y : serie.y) {
+                    maximo = Math.max(maximo, y);
+                }
+            }
+            return maximo;
+        }
+    }
+
+    private static class SerieGrafica {
+        private final String nombre;
+        private final Color color;
+        private final double[] x;
+        private final double[] y;
+
+        SerieGrafica(String nombre, Color color, double[] x, double[] y) {
+            this.nombre = nombre;
+            this.color = color;
+            this.x = x;
+            this.y = y;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.ejemplo.algoritmo;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Flujo de costo mínimo primal-dual con capacidades y costos reales. No fija
+ * la cantidad de flujo: aumenta mientras exista un camino de costo negativo,
+ * así que el resultado es el flujo de costo mínimo entre todos los valores
+ * posibles. Cada fase calcula potenciales con Dijkstra (costos reducidos) y
+ * empuja un flujo bloqueante de Dinic por los arcos de costo reducido cero.
+ * Los costos negativos iniciales requieren una red sin ciclos negativos.
+ */
+final class FlujoCostoMinimo {
+
+    private static final double EPSILON = 1e-9;
+
+    private final int nodos;
+    private final int[] primero;
+    private int[] destino;
+    private int[] siguiente;
+    private double[] capacidad; // Capacidad residual
+    private double[] capacidadOriginal;
+    private double[] costo;
+    private int arcos = 0;
+
+    private final double[] potencial;
+    private final double[] distancia;
+    private final int[] nivel;
+    private final int[] actual;
+    private final int[] cola;
+    private int fases = 0;
+    private double costoTotal = 0.0;
+
+    FlujoCostoMinimo(int nodos, int arcosEstimados) {
+        this.nodos = nodos;
+        this.primero = new int[nodos];
+        Arrays.fill(primero, -1);
+        int capacidadInicial = Math.max(16, 2 * arcosEstimados);
+        this.destino = new int[capacidadInicial];
+        this.siguiente = new int[capacidadInicial];
+        this.capacidad = new double[capacidadInicial];
+        this.capacidadOriginal = new double[capacidadInicial];
+        this.costo = new double[capacidadInicial];
+        this.potencial = new double[nodos];
+        this.distancia = new double[nodos];
+        this.nivel = new int[nodos];
+        this.actual = new int[nodos];
+        this.cola = new int[nodos];
+    }
+
+    /**
+     * Agrega el arco u → v con costo por unidad de flujo y retorna su índice
+     */
+    int agregarArco(int u, int v, double cap, double costoUnitario) {
+        if (arcos + 2 > destino.length) {
+            int nueva = destino.length * 2;
+            destino = Arrays.copyOf(destino, nueva);
+            siguiente = Arrays.copyOf(siguiente, nueva);
+            capacidad = Arrays.copyOf(capacidad, nueva);
+            capacidadOriginal = Arrays.copyOf(capacidadOriginal, nueva);
+            costo = Arrays.copyOf(costo, nueva);
+        }
+        int arco = arcos;
+        enlazar(u, v, cap, costoUnitario);
+        enlazar(v, u, 0.0, -costoUnitario);
+        return arco;
+    }
+
+    private void enlazar(int u, int v, double cap, double costoUnitario) {
+        destino[arcos] = v;
+        capacidad[arcos] = cap;
+        capacidadOriginal[arcos] = cap;
+        costo[arcos] = costoUnitario;
+        siguiente[arcos] = primero[u];
+        primero[u] = arcos;
+        arcos++;
+    }
+
+    /**
+     * Resuelve y retorna el costo total del flujo óptimo
+     */
+    double calcular(int fuente, int sumidero) {
+        inicializarPotenciales(fuente);
+        while (actualizarPotenciales(fuente, sumidero)
+                && potencial[sumidero] - potencial[fuente] < -EPSILON) {
+            fases++;
+            while (construirNiveles(fuente, sumidero)) {
+                System.arraycopy(primero, 0, actual, 0, nodos);
+                while (empujar(fuente, sumidero, Double.POSITIVE_INFINITY) > EPSILON) {
+                    // Flujo bloqueante de la fase
+                }
+            }
+        }
+
+        costoTotal = 0.0;
+        for (int a = 0; a < arcos; a += 2) {
+            costoTotal += getFlujo(a) * costo[a];
+        }
+        return costoTotal;
+    }
+
+    /**
+     * Bellman-Ford (cola FIFO) desde la fuente: admite los costos negativos de
+     * la red inicial
+     */
+    private void inicializarPotenciales(int fuente) {
+        Arrays.fill(potencial, Double.POSITIVE_INFINITY);
+        boolean[] enCola = new boolean[nodos];
+        int[] circular = new int[nodos];
+        int cabeza = 0;
+        int tamaño = 0;
+        potencial[fuente] = 0.0;
+        circular[(cabeza + tamaño++) % nodos] = fuente;
+        enCola[fuente] = true;
+        while (tamaño > 0) {
+            int u = circular[cabeza];
+            cabeza = (cabeza + 1) % nodos;
+            tamaño--;
+            enCola[u] = false;
+            for (int a = primero[u]; a >= 0; a = siguiente[a]) {
+                int v = destino[a];
+                if (capacidad[a] > EPSILON && potencial[u] + costo[a] < potencial[v] - EPSILON) {
+                    potencial[v] = potencial[u] + costo[a];
+                    if (!enCola[v]) {
+                        enCola[v] = true;
+                        circular[(cabeza + tamaño++) % nodos] = v;
+                    }
+                }
+            }
+        }
+        for (int v = 0; v < nodos; v++) {
+            if (potencial[v] == Double.POSITIVE_INFINITY) {
+                potencial[v] = 0.0;
+            }
+        }
+    }
+
+    /**
+     * Dijkstra con costos reducidos; suma las distancias a los potenciales.
+     * Retorna false si el sumidero ya no es alcanzable.
+     */
+    private boolean actualizarPotenciales(int fuente, int sumidero) {
+        Arrays.fill(distancia, Double.POSITIVE_INFINITY);
+        distancia[fuente] = 0.0;
+        PriorityQueue<double[]> pendientes = new PriorityQueue<>((x, y) -> Double.compare(x[0], y[0]));
+        pendientes.add(new double[] { 0.0, fuente });
+        while (!pendientes.isEmpty()) {
+            double[] entrada = pendientes.poll();
+            int u = (int) entrada[1];
+            if (entrada[0] > distancia[u]) {
+                continue;
+            }
+            for (int a = primero[u]; a >= 0; a = siguiente[a]) {
+                if (capacidad[a] <= EPSILON) {
+                    continue;
+                }
+                int v = destino[a];
+                double reducido = Math.max(0.0, costo[a] + potencial[u] - potencial[v]);
+                if (distancia[u] + reducido < distancia[v]) {
+                    distancia[v] = distancia[u] + reducido;
+                    pendientes.add(new double[] { distancia[v], v });
+                }
+            }
+        }
+        if (distancia[sumidero] == Double.POSITIVE_INFINITY) {
+            return false;
+        }
+        for (int v = 0; v < nodos; v++) {
+            potencial[v] += Math.min(distancia[v], distancia[sumidero]);
+        }
+        return true;
+    }
+
+    private boolean admisible(int a, int u) {
+        return capacidad[a] > EPSILON && Math.abs(costo[a] + potencial[u] - potencial[destino[a]]) <= EPSILON;
+    }
+
+    private boolean construirNiveles(int fuente, int sumidero) {
+        Arrays.fill(nivel, -1);
+        int cabeza = 0;
+        int fin = 0;
+        cola[fin++] = fuente;
+        nivel[fuente] = 0;
+        while (cabeza < fin) {
+            int u = cola[cabeza++];
+            for (int a = primero[u]; a >= 0; a = siguiente[a]) {
+                if (nivel[destino[a]] < 0 && admisible(a, u)) {
+                    nivel[destino[a]] = nivel[u] + 1;
+                    cola[fin++] = destino[a];
+                }
+            }
+        }
+        return nivel[sumidero] >= 0;
+    }
+
+    private double empujar(int u, int sumidero, double limite) {
+        if (u == sumidero) {
+            return limite;
+        }
+        for (; actual[u] >= 0; actual[u] = siguiente[actual[u]]) {
+            int a = actual[u];
+            int v = destino[a];
+            if (nivel[v] == nivel[u] + 1 && admisible(a, u)) {
+                double empujado = empujar(v, sumidero, Math.min(limite, capacidad[a]));
+                if (empujado > EPSILON) {
+                    capacidad[a] -= empujado;
+                    capacidad[a ^ 1] += empujado;
+                    return empujado;
+                }
+            }
+        }
+        return 0.0;
+    }
+
+    double getFlujo(int arco) {
+        return capacidadOriginal[arco] - capacidad[arco];
+    }
+
+    double getCostoTotal() {
+        return costoTotal;
+    }
+
+    int getFases() {
+        return fases;
+    }
+
+    int getNumeroArcos() {
+        return arcos / 2;
+    }
+
+    int getNumeroNodos() {
+        return nodos;
+    }
+}
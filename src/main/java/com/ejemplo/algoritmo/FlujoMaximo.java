@@ -0,0 +1,131 @@
+package com.ejemplo.algoritmo;
+
+import java.util.Arrays;
+
+/**
+ * Flujo máximo de Dinic sobre una red con capacidades reales. Los arcos se
+ * guardan en arreglos paralelos con su arco inverso en la posición contigua
+ * (índice ^ 1).
+ */
+final class FlujoMaximo {
+
+    private static final double EPSILON = 1e-9;
+
+    private final int nodos;
+    private final int[] primero;
+    private int[] destino;
+    private int[] siguiente;
+    private double[] capacidad; // Capacidad residual
+    private double[] capacidadOriginal;
+    private int arcos = 0;
+
+    // Estado de cada fase
+    private final int[] nivel;
+    private final int[] actual;
+    private final int[] cola;
+
+    FlujoMaximo(int nodos, int arcosEstimados) {
+        this.nodos = nodos;
+        this.primero = new int[nodos];
+        Arrays.fill(primero, -1);
+        int capacidadInicial = Math.max(16, 2 * arcosEstimados);
+        this.destino = new int[capacidadInicial];
+        this.siguiente = new int[capacidadInicial];
+        this.capacidad = new double[capacidadInicial];
+        this.capacidadOriginal = new double[capacidadInicial];
+        this.nivel = new int[nodos];
+        this.actual = new int[nodos];
+        this.cola = new int[nodos];
+    }
+
+    /**
+     * Agrega el arco u → v y retorna su índice (ver getFlujo)
+     */
+    int agregarArco(int u, int v, double cap) {
+        if (arcos + 2 > destino.length) {
+            int nueva = destino.length * 2;
+            destino = Arrays.copyOf(destino, nueva);
+            siguiente = Arrays.copyOf(siguiente, nueva);
+            capacidad = Arrays.copyOf(capacidad, nueva);
+            capacidadOriginal = Arrays.copyOf(capacidadOriginal, nueva);
+        }
+        int arco = arcos;
+        enlazar(u, v, cap);
+        enlazar(v, u, 0.0);
+        return arco;
+    }
+
+    private void enlazar(int u, int v, double cap) {
+        destino[arcos] = v;
+        capacidad[arcos] = cap;
+        capacidadOriginal[arcos] = cap;
+        siguiente[arcos] = primero[u];
+        primero[u] = arcos;
+        arcos++;
+    }
+
+    double calcular(int fuente, int sumidero) {
+        double total = 0.0;
+        while (construirNiveles(fuente, sumidero)) {
+            System.arraycopy(primero, 0, actual, 0, nodos);
+            double empujado;
+            while ((empujado = empujar(fuente, sumidero, Double.POSITIVE_INFINITY)) > EPSILON) {
+                total += empujado;
+            }
+        }
+        return total;
+    }
+
+    private boolean construirNiveles(int fuente, int sumidero) {
+        Arrays.fill(nivel, -1);
+        int cabeza = 0;
+        int fin = 0;
+        cola[fin++] = fuente;
+        nivel[fuente] = 0;
+        while (cabeza < fin) {
+            int u = cola[cabeza++];
+            for (int a = primero[u]; a >= 0; a = siguiente[a]) {
+                if (capacidad[a] > EPSILON && nivel[destino[a]] < 0) {
+                    nivel[destino[a]] = nivel[u] + 1;
+                    cola[fin++] = destino[a];
+                }
+            }
+        }
+        return nivel[sumidero] >= 0;
+    }
+
+    /**
+     * Camino aumentante en la red de niveles. La profundidad está acotada por
+     * la longitud de los caminos, que en las redes temporales es pequeña.
+     */
+    private double empujar(int u, int sumidero, double limite) {
+        if (u == sumidero) {
+            return limite;
+        }
+        for (; actual[u] >= 0; actual[u] = siguiente[actual[u]]) {
+            int a = actual[u];
+            int v = destino[a];
+            if (capacidad[a] > EPSILON && nivel[v] == nivel[u] + 1) {
+                double empujado = empujar(v, sumidero, Math.min(limite, capacidad[a]));
+                if (empujado > EPSILON) {
+                    capacidad[a] -= empujado;
+                    capacidad[a ^ 1] += empujado;
+                    return empujado;
+                }
+            }
+        }
+        return 0.0;
+    }
+
+    double getFlujo(int arco) {
+        return capacidadOriginal[arco] - capacidad[arco];
+    }
+
+    int getNumeroArcos() {
+        return arcos / 2;
+    }
+
+    int getNumeroNodos() {
+        return nodos;
+    }
+}
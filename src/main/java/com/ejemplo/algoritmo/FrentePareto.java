@@ -1,7 +1,6 @@
 package com.ejemplo.algoritmo;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Implementa el frente de Pareto para mantener un conjunto de soluciones no
@@ -10,16 +9,33 @@ import java.util.stream.Collectors;
  */
 public class FrentePareto {
 
-    private final Set<SolucionPareto> solucionesNoDominadas;
+    private static final int M = SolucionPareto.NUM_OBJETIVOS;
+
+    // Miembros del frente en orden de inserción; la fila i de la matriz
+    // contiene los objetivos del miembro i (desplazamiento i * M)
+    private final List<SolucionPareto> miembros;
+    private double[] matrizObjetivos;
     private final int capacidadMaxima;
 
+    // Espacio de trabajo reutilizado por los kernels para no asignar memoria
+    private final double[] filaCandidata = new double[M];
+    private final double[] puntoIdeal = new double[M];
+    private double[] distanciasMinimas;
+    private int[] seleccion;
+    private boolean[] seleccionada;
+
     public FrentePareto() {
         this(50); // Capacidad por defecto
     }
 
     public FrentePareto(int capacidadMaxima) {
-        this.solucionesNoDominadas = new LinkedHashSet<>();
         this.capacidadMaxima = capacidadMaxima;
+        int capacidadInicial = Math.max(capacidadMaxima + 1, 8);
+        this.miembros = new ArrayList<>(capacidadInicial);
+        this.matrizObjetivos = new double[capacidadInicial * M];
+        this.distanciasMinimas = new double[capacidadInicial];
+        this.seleccion = new int[capacidadInicial];
+        this.seleccionada = new boolean[capacidadInicial];
     }
 
     /**
@@ -32,21 +48,48 @@ public class FrentePareto {
         if (nuevaSolucion == null)
             return false;
 
+        nuevaSolucion.copiarObjetivos(filaCandidata, 0);
+        int n = miembros.size();
+
         // Verificar si la nueva solución es dominada por alguna existente
-        for (SolucionPareto existente : solucionesNoDominadas) {
-            if (existente.domina(nuevaSolucion)) {
+        for (int i = 0; i < n; i++) {
+            if (dominaFila(matrizObjetivos, i * M, filaCandidata, 0)) {
                 return false; // La nueva solución es dominada, no se agrega
             }
         }
 
-        // Remover soluciones dominadas por la nueva
-        solucionesNoDominadas.removeIf(existente -> nuevaSolucion.domina(existente));
+        // Remover soluciones dominadas por la nueva compactando filas en sitio
+        int escritura = 0;
+        boolean duplicada = false;
+        for (int i = 0; i < n; i++) {
+            if (dominaFila(filaCandidata, 0, matrizObjetivos, i * M)) {
+                continue;
+            }
+            if (!duplicada && filasIguales(matrizObjetivos, i * M, filaCandidata, 0)) {
+                duplicada = true;
+            }
+            if (escritura != i) {
+                System.arraycopy(matrizObjetivos, i * M, matrizObjetivos, escritura * M, M);
+                miembros.set(escritura, miembros.get(i));
+            }
+            escritura++;
+        }
+        for (int i = n - 1; i >= escritura; i--) {
+            miembros.remove(i);
+        }
+
+        // Una solución con objetivos idénticos ya está en el frente
+        if (duplicada) {
+            return true;
+        }
 
         // Agregar la nueva solución al frente
-        solucionesNoDominadas.add(nuevaSolucion);
+        asegurarCapacidad(escritura + 1);
+        System.arraycopy(filaCandidata, 0, matrizObjetivos, escritura * M, M);
+        miembros.add(nuevaSolucion);
 
         // Si excede la capacidad, aplicar reducción por diversidad
-        if (solucionesNoDominadas.size() > capacidadMaxima) {
+        if (miembros.size() > capacidadMaxima) {
             reducirPorDiversidad();
         }
 
@@ -63,75 +106,156 @@ public class FrentePareto {
     }
 
     /**
-     * Reduce el tamaño del frente manteniendo diversidad
+     * Amplía la matriz y los arreglos de trabajo cuando se requieren más filas
      */
-    private void reducirPorDiversidad() {
-        if (solucionesNoDominadas.size() <= capacidadMaxima) {
+    private void asegurarCapacidad(int filas) {
+        if (filas <= distanciasMinimas.length) {
             return;
         }
+        int nuevaCapacidad = Math.max(filas, distanciasMinimas.length * 2);
+        matrizObjetivos = Arrays.copyOf(matrizObjetivos, nuevaCapacidad * M);
+        distanciasMinimas = new double[nuevaCapacidad];
+        seleccion = new int[nuevaCapacidad];
+        seleccionada = new boolean[nuevaCapacidad];
+    }
 
-        List<SolucionPareto> lista = new ArrayList<>(solucionesNoDominadas);
-        List<SolucionPareto> mantener = new ArrayList<>();
-
-        // Mantener siempre las soluciones extremas (mejores en cada objetivo)
-        for (int obj = 0; obj < 6; obj++) {
-            final int objetivoActual = obj;
-            SolucionPareto mejor = lista.stream()
-                    .max((s1, s2) -> Double.compare(s1.getObjetivo(objetivoActual), s2.getObjetivo(objetivoActual)))
-                    .orElse(null);
-
-            if (mejor != null && !mantener.contains(mejor)) {
-                mantener.add(mejor);
+    /**
+     * Dominancia de Pareto entre dos filas (maximización en todos los objetivos)
+     */
+    private static boolean dominaFila(double[] a, int offA, double[] b, int offB) {
+        boolean alMenosUnMejor = false;
+        for (int k = 0; k < M; k++) {
+            double va = a[offA + k];
+            double vb = b[offB + k];
+            if (va < vb) {
+                return false;
+            }
+            if (va > vb) {
+                alMenosUnMejor = true;
             }
         }
+        return alMenosUnMejor;
+    }
 
-        // Completar con soluciones más diversas
-        while (mantener.size() < capacidadMaxima && mantener.size() < lista.size()) {
-            SolucionPareto masDiversa = encontrarMasDiversa(lista, mantener);
-            if (masDiversa != null && !mantener.contains(masDiversa)) {
-                mantener.add(masDiversa);
-            } else {
-                break;
+    /**
+     * Igualdad exacta de dos filas con la misma semántica que Arrays.equals
+     */
+    private static boolean filasIguales(double[] a, int offA, double[] b, int offB) {
+        for (int k = 0; k < M; k++) {
+            if (Double.doubleToLongBits(a[offA + k]) != Double.doubleToLongBits(b[offB + k])) {
+                return false;
             }
         }
+        return true;
+    }
 
-        solucionesNoDominadas.clear();
-        solucionesNoDominadas.addAll(mantener);
+    /**
+     * Distancia euclidiana entre dos filas de objetivos
+     */
+    private static double distanciaFilas(double[] a, int offA, double[] b, int offB) {
+        double suma = 0.0;
+        for (int k = 0; k < M; k++) {
+            double diff = a[offA + k] - b[offB + k];
+            suma += diff * diff;
+        }
+        return Math.sqrt(suma);
     }
 
     /**
-     * Encuentra la solución más diversa respecto a un conjunto dado
+     * Índice de la primera fila con el mayor valor en un objetivo, o -1 si está
+     * vacío
      */
-    private SolucionPareto encontrarMasDiversa(List<SolucionPareto> candidatas, List<SolucionPareto> referencia) {
-        SolucionPareto masDiversa = null;
-        double maxDistanciaMinima = -1;
+    private int indiceMejorEnObjetivo(int objetivo) {
+        int mejor = -1;
+        double mejorValor = 0.0;
+        for (int i = 0, n = miembros.size(); i < n; i++) {
+            double valor = matrizObjetivos[i * M + objetivo];
+            if (mejor < 0 || valor > mejorValor) {
+                mejor = i;
+                mejorValor = valor;
+            }
+        }
+        return mejor;
+    }
 
-        for (SolucionPareto candidata : candidatas) {
-            if (referencia.contains(candidata))
-                continue;
+    /**
+     * Reduce el tamaño del frente manteniendo diversidad
+     */
+    private void reducirPorDiversidad() {
+        int n = miembros.size();
+        if (n <= capacidadMaxima) {
+            return;
+        }
+
+        Arrays.fill(seleccionada, 0, n, false);
+        int seleccionadas = 0;
+
+        // Mantener siempre las soluciones extremas (mejores en cada objetivo)
+        for (int obj = 0; obj < M; obj++) {
+            int mejor = indiceMejorEnObjetivo(obj);
+            if (mejor >= 0 && !seleccionada[mejor]) {
+                seleccionada[mejor] = true;
+                seleccion[seleccionadas++] = mejor;
+            }
+        }
+
+        // Distancia mínima de cada candidata al conjunto mantenido
+        for (int i = 0; i < n; i++) {
+            double minima = Double.MAX_VALUE;
+            for (int s = 0; s < seleccionadas; s++) {
+                minima = Math.min(minima, distanciaFilas(matrizObjetivos, i * M, matrizObjetivos, seleccion[s] * M));
+            }
+            distanciasMinimas[i] = minima;
+        }
 
-            double distanciaMinima = Double.MAX_VALUE;
-            for (SolucionPareto ref : referencia) {
-                double distancia = candidata.calcularDistancia(ref);
-                distanciaMinima = Math.min(distanciaMinima, distancia);
+        // Completar con soluciones más diversas (máximo de la distancia mínima)
+        while (seleccionadas < capacidadMaxima && seleccionadas < n) {
+            int masDiversa = -1;
+            double maxDistanciaMinima = -1;
+            for (int i = 0; i < n; i++) {
+                if (!seleccionada[i] && distanciasMinimas[i] > maxDistanciaMinima) {
+                    maxDistanciaMinima = distanciasMinimas[i];
+                    masDiversa = i;
+                }
+            }
+            if (masDiversa < 0) {
+                break;
             }
 
-            if (distanciaMinima > maxDistanciaMinima) {
-                maxDistanciaMinima = distanciaMinima;
-                masDiversa = candidata;
+            seleccionada[masDiversa] = true;
+            seleccion[seleccionadas++] = masDiversa;
+            int offNueva = masDiversa * M;
+            for (int i = 0; i < n; i++) {
+                if (!seleccionada[i]) {
+                    double d = distanciaFilas(matrizObjetivos, i * M, matrizObjetivos, offNueva);
+                    if (d < distanciasMinimas[i]) {
+                        distanciasMinimas[i] = d;
+                    }
+                }
             }
         }
 
-        return masDiversa;
+        // Reconstruir matriz y miembros en el orden de selección
+        double[] nuevaMatriz = new double[matrizObjetivos.length];
+        List<SolucionPareto> nuevosMiembros = new ArrayList<>(seleccionadas);
+        for (int s = 0; s < seleccionadas; s++) {
+            System.arraycopy(matrizObjetivos, seleccion[s] * M, nuevaMatriz, s * M, M);
+            nuevosMiembros.add(miembros.get(seleccion[s]));
+        }
+        matrizObjetivos = nuevaMatriz;
+        miembros.clear();
+        miembros.addAll(nuevosMiembros);
     }
 
     /**
      * Obtiene la mejor solución según un objetivo específico
      */
     public SolucionPareto getMejorEnObjetivo(int indiceObjetivo) {
-        return solucionesNoDominadas.stream()
-                .max((s1, s2) -> Double.compare(s1.getObjetivo(indiceObjetivo), s2.getObjetivo(indiceObjetivo)))
-                .orElse(null);
+        if (indiceObjetivo < 0 || indiceObjetivo >= M) {
+            throw new IndexOutOfBoundsException("Índice de objetivo inválido: " + indiceObjetivo);
+        }
+        int mejor = indiceMejorEnObjetivo(indiceObjetivo);
+        return mejor >= 0 ? miembros.get(mejor) : null;
     }
 
     /**
@@ -139,63 +263,50 @@ public class FrentePareto {
      * usando la distancia mínima al punto ideal
      */
     public SolucionPareto getSolucionCompromiso() {
-        if (solucionesNoDominadas.isEmpty())
+        int n = miembros.size();
+        if (n == 0)
             return null;
 
         // Calcular punto ideal (máximo en cada objetivo)
-        double[] puntoIdeal = new double[6];
-        for (int i = 0; i < 6; i++) {
-            final int obj = i;
-            puntoIdeal[i] = solucionesNoDominadas.stream()
-                    .mapToDouble(s -> s.getObjetivo(obj))
-                    .max()
-                    .orElse(0.0);
+        System.arraycopy(matrizObjetivos, 0, puntoIdeal, 0, M);
+        for (int i = 1; i < n; i++) {
+            for (int k = 0; k < M; k++) {
+                puntoIdeal[k] = Math.max(puntoIdeal[k], matrizObjetivos[i * M + k]);
+            }
         }
 
         // Encontrar la solución más cercana al punto ideal
-        return solucionesNoDominadas.stream()
-                .min((s1, s2) -> {
-                    double dist1 = calcularDistanciaAPunto(s1, puntoIdeal);
-                    double dist2 = calcularDistanciaAPunto(s2, puntoIdeal);
-                    return Double.compare(dist1, dist2);
-                })
-                .orElse(null);
-    }
-
-    /**
-     * Calcula la distancia euclidiana de una solución a un punto específico
-     */
-    private double calcularDistanciaAPunto(SolucionPareto solucion, double[] punto) {
-        double suma = 0.0;
-        double[] objetivos = solucion.getObjetivos();
-
-        for (int i = 0; i < objetivos.length; i++) {
-            double diff = objetivos[i] - punto[i];
-            suma += diff * diff;
+        int mejor = 0;
+        double mejorDistancia = distanciaFilas(matrizObjetivos, 0, puntoIdeal, 0);
+        for (int i = 1; i < n; i++) {
+            double distancia = distanciaFilas(matrizObjetivos, i * M, puntoIdeal, 0);
+            if (distancia < mejorDistancia) {
+                mejorDistancia = distancia;
+                mejor = i;
+            }
         }
-
-        return Math.sqrt(suma);
+        return miembros.get(mejor);
     }
 
     /**
      * Calcula métricas de calidad del frente de Pareto
      */
     public EstadisticasFrente calcularEstadisticas() {
-        if (solucionesNoDominadas.isEmpty()) {
+        int n = miembros.size();
+        if (n == 0) {
             return new EstadisticasFrente();
         }
 
         EstadisticasFrente stats = new EstadisticasFrente();
-        stats.tamaño = solucionesNoDominadas.size();
+        stats.tamaño = n;
 
         // Calcular diversidad (distancia promedio entre soluciones)
         double sumaDistancias = 0.0;
         int contador = 0;
 
-        List<SolucionPareto> lista = new ArrayList<>(solucionesNoDominadas);
-        for (int i = 0; i < lista.size(); i++) {
-            for (int j = i + 1; j < lista.size(); j++) {
-                sumaDistancias += lista.get(i).calcularDistancia(lista.get(j));
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                sumaDistancias += distanciaFilas(matrizObjetivos, i * M, matrizObjetivos, j * M);
                 contador++;
             }
         }
@@ -203,19 +314,16 @@ public class FrentePareto {
         stats.diversidadPromedio = contador > 0 ? sumaDistancias / contador : 0.0;
 
         // Calcular rangos en cada objetivo
-        stats.rangosObjetivos = new double[6];
-        for (int obj = 0; obj < 6; obj++) {
-            final int objetivoActual = obj;
-            OptionalDouble min = solucionesNoDominadas.stream()
-                    .mapToDouble(s -> s.getObjetivo(objetivoActual))
-                    .min();
-            OptionalDouble max = solucionesNoDominadas.stream()
-                    .mapToDouble(s -> s.getObjetivo(objetivoActual))
-                    .max();
-
-            if (min.isPresent() && max.isPresent()) {
-                stats.rangosObjetivos[obj] = max.getAsDouble() - min.getAsDouble();
+        stats.rangosObjetivos = new double[M];
+        for (int obj = 0; obj < M; obj++) {
+            double min = matrizObjetivos[obj];
+            double max = min;
+            for (int i = 1; i < n; i++) {
+                double valor = matrizObjetivos[i * M + obj];
+                min = Math.min(min, valor);
+                max = Math.max(max, valor);
             }
+            stats.rangosObjetivos[obj] = max - min;
         }
 
         return stats;
@@ -227,9 +335,9 @@ public class FrentePareto {
     public String generarResumen() {
         StringBuilder sb = new StringBuilder();
         sb.append("=== FRENTE DE PARETO ===\n");
-        sb.append(String.format("Número de soluciones no dominadas: %d\n", solucionesNoDominadas.size()));
+        sb.append(String.format("Número de soluciones no dominadas: %d\n", miembros.size()));
 
-        if (solucionesNoDominadas.isEmpty()) {
+        if (miembros.isEmpty()) {
             sb.append("No hay soluciones en el frente.\n");
             return sb.toString();
         }
@@ -241,7 +349,7 @@ public class FrentePareto {
         String[] nombresObj = { "Menor Costo", "Mayor Energía", "Más Vehículos",
                 "Menor Espera", "Mayor Eficiencia", "Mayor % Carga" };
 
-        for (int i = 0; i < 6; i++) {
+        for (int i = 0; i < M; i++) {
             SolucionPareto mejor = getMejorEnObjetivo(i);
             if (mejor != null) {
                 sb.append(String.format("• %s: %.2f\n", nombresObj[i], mejor.getValorRealObjetivo(i)));
@@ -264,12 +372,12 @@ public class FrentePareto {
         StringBuilder sb = new StringBuilder();
         sb.append("=== TODAS LAS SOLUCIONES DEL FRENTE DE PARETO ===\n");
 
-        if (solucionesNoDominadas.isEmpty()) {
+        if (miembros.isEmpty()) {
             sb.append("No hay soluciones en el frente.\n");
             return sb.toString();
         }
 
-        List<SolucionPareto> lista = new ArrayList<>(solucionesNoDominadas);
+        List<SolucionPareto> lista = new ArrayList<>(miembros);
 
         // Ordenar por valor objetivo agregado para mostrar
         lista.sort((s1, s2) -> Double.compare(
@@ -285,23 +393,23 @@ public class FrentePareto {
 
     // Getters
     public Set<SolucionPareto> getSolucionesNoDominadas() {
-        return new LinkedHashSet<>(solucionesNoDominadas);
+        return new LinkedHashSet<>(miembros);
     }
 
     public List<SolucionPareto> getSolucionesComoLista() {
-        return new ArrayList<>(solucionesNoDominadas);
+        return new ArrayList<>(miembros);
     }
 
     public int getTamaño() {
-        return solucionesNoDominadas.size();
+        return miembros.size();
     }
 
     public boolean estaVacio() {
-        return solucionesNoDominadas.isEmpty();
+        return miembros.isEmpty();
     }
 
     public void limpiar() {
-        solucionesNoDominadas.clear();
+        miembros.clear();
     }
 
     /**
@@ -310,7 +418,7 @@ public class FrentePareto {
     public static class EstadisticasFrente {
         public int tamaño = 0;
         public double diversidadPromedio = 0.0;
-        public double[] rangosObjetivos = new double[6];
+        public double[] rangosObjetivos = new double[M];
 
         @Override
         public String toString() {
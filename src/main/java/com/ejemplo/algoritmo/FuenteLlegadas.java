@@ -0,0 +1,44 @@
+package com.ejemplo.algoritmo;
+
+import com.ejemplo.model.VehicleArrival;
+
+import java.util.List;
+
+/**
+ * Fuente de llegadas de vehículos en orden de tiempo de llegada. La simulación
+ * consume las llegadas a medida que avanza el tiempo, de modo que la fuente
+ * puede leerlas de un archivo o generarlas sin tenerlas todas en memoria.
+ *
+ * Las implementaciones respaldadas por archivos señalan los errores de lectura
+ * con {@link java.io.UncheckedIOException}.
+ */
+public interface FuenteLlegadas extends AutoCloseable {
+
+    /**
+     * Indica si quedan llegadas por entregar
+     */
+    boolean hayMas();
+
+    /**
+     * Tiempo de llegada de la próxima llegada, sin consumirla
+     */
+    double proximaLlegada();
+
+    /**
+     * Entrega la próxima llegada; sus tiempos de llegada no decrecen
+     */
+    VehicleArrival siguiente();
+
+    @Override
+    default void close() {
+        // Sin recursos por defecto
+    }
+
+    /**
+     * Fuente sobre una lista ya cargada, ordenada de forma estable por tiempo de
+     * llegada (la lista original no se modifica)
+     */
+    static FuenteLlegadas desdeLista(List<VehicleArrival> llegadas) {
+        return new FuenteLlegadasLista(llegadas);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ejemplo.algoritmo;
+
+import com.ejemplo.model.VehicleArrival;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Fuente de llegadas sobre una lista en memoria
+ */
+class FuenteLlegadasLista implements FuenteLlegadas {
+
+    private final List<VehicleArrival> llegadas;
+    private int indice;
+
+    FuenteLlegadasLista(List<VehicleArrival> llegadas) {
+        this.llegadas = new ArrayList<>(llegadas);
+        // Orden estable: a igual tiempo se respeta el orden de la instancia
+        this.llegadas.sort(Comparator.comparingDouble(VehicleArrival::getArrivalTime));
+    }
+
+    @Override
+    public boolean hayMas() {
+        return indice < llegadas.size();
+    }
+
+    @Override
+    public double proximaLlegada() {
+        if (!hayMas()) {
+            throw new NoSuchElementException("No quedan llegadas en la fuente");
+        }
+        return llegadas.get(indice).getArrivalTime();
+    }
+
+    @Override
+    public VehicleArrival siguiente() {
+        if (!hayMas()) {
+            throw new NoSuchElementException("No quedan llegadas en la fuente");
+        }
+        return llegadas.get(indice++);
+    }
+}
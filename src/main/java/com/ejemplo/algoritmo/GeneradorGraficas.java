@@ -3,7 +3,6 @@ package com.ejemplo.algoritmo;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.Line2D;
-import java.util.List;
 
 /**
  * Generador de gráficas para visualizar la evolución temporal del sistema
@@ -121,8 +120,7 @@ public class GeneradorGraficas {
      * Dibuja la gráfica de carga del transformador
      */
     private static void dibujarGraficaTransformador(Graphics2D g2d, DatosTemporales datos, int width, int height) {
-        List<DatosTemporales.PuntoTemporal> puntos = datos.getPuntosTemporales();
-        if (puntos.isEmpty())
+        if (datos.estaVacio())
             return;
 
         // Configurar área de dibujo
@@ -131,9 +129,9 @@ public class GeneradorGraficas {
         int areaHeight = height - 2 * margen;
 
         // Obtener rangos de datos
-        double tiempoMax = puntos.get(puntos.size() - 1).getTiempo();
+        double tiempoMax = datos.getTiempoFinal();
         double cargaMax = Math.max(datos.getLimiteTransformador() * 1.1,
-                puntos.stream().mapToDouble(DatosTemporales.PuntoTemporal::getCargaTransformador).max().orElse(0));
+                datos.getMaximo(DatosTemporales.Serie.CARGA_TRANSFORMADOR));
 
         // Dibujar ejes
         g2d.setColor(Color.BLACK);
@@ -157,17 +155,10 @@ public class GeneradorGraficas {
         g2d.setColor(Color.BLUE);
         g2d.setStroke(new BasicStroke(3));
 
-        for (int i = 1; i < puntos.size(); i++) {
-            DatosTemporales.PuntoTemporal p1 = puntos.get(i - 1);
-            DatosTemporales.PuntoTemporal p2 = puntos.get(i);
-
-            double x1 = margen + (p1.getTiempo() / tiempoMax) * areaWidth;
-            double y1 = height - margen - (p1.getCargaTransformador() / cargaMax) * areaHeight;
-            double x2 = margen + (p2.getTiempo() / tiempoMax) * areaWidth;
-            double y2 = height - margen - (p2.getCargaTransformador() / cargaMax) * areaHeight;
-
-            g2d.draw(new Line2D.Double(x1, y1, x2, y2));
-        }
+        // Min-max por columna de píxeles para no perder los picos de carga
+        dibujarSerie(g2d, datos, DatosTemporales.Serie.CARGA_TRANSFORMADOR,
+                datos.reducirMinMax(DatosTemporales.Serie.CARGA_TRANSFORMADOR, areaWidth),
+                margen, height, areaWidth, areaHeight, tiempoMax, cargaMax);
 
         // Títulos y etiquetas
         g2d.setColor(Color.BLACK);
@@ -191,15 +182,14 @@ public class GeneradorGraficas {
      * Dibuja la gráfica de ocupación de cargadores
      */
     private static void dibujarGraficaOcupacion(Graphics2D g2d, DatosTemporales datos, int width, int height) {
-        List<DatosTemporales.PuntoTemporal> puntos = datos.getPuntosTemporales();
-        if (puntos.isEmpty())
+        if (datos.estaVacio())
             return;
 
         int margen = 60;
         int areaWidth = width - 2 * margen;
         int areaHeight = height - 2 * margen;
 
-        double tiempoMax = puntos.get(puntos.size() - 1).getTiempo();
+        double tiempoMax = datos.getTiempoFinal();
         double ocupacionMax = 100.0;
 
         // Dibujar ejes
@@ -212,17 +202,9 @@ public class GeneradorGraficas {
         g2d.setColor(Color.GREEN);
         g2d.setStroke(new BasicStroke(3));
 
-        for (int i = 1; i < puntos.size(); i++) {
-            DatosTemporales.PuntoTemporal p1 = puntos.get(i - 1);
-            DatosTemporales.PuntoTemporal p2 = puntos.get(i);
-
-            double x1 = margen + (p1.getTiempo() / tiempoMax) * areaWidth;
-            double y1 = height - margen - (p1.getPorcentajeOcupacion() / ocupacionMax) * areaHeight;
-            double x2 = margen + (p2.getTiempo() / tiempoMax) * areaWidth;
-            double y2 = height - margen - (p2.getPorcentajeOcupacion() / ocupacionMax) * areaHeight;
-
-            g2d.draw(new Line2D.Double(x1, y1, x2, y2));
-        }
+        dibujarSerie(g2d, datos, DatosTemporales.Serie.PORCENTAJE_OCUPACION,
+                datos.reducirLttb(DatosTemporales.Serie.PORCENTAJE_OCUPACION, areaWidth),
+                margen, height, areaWidth, areaHeight, tiempoMax, ocupacionMax);
 
         // Títulos
         g2d.setColor(Color.BLACK);
@@ -244,18 +226,19 @@ public class GeneradorGraficas {
      * Dibuja la gráfica de vehículos por estado
      */
     private static void dibujarGraficaVehiculos(Graphics2D g2d, DatosTemporales datos, int width, int height) {
-        List<DatosTemporales.PuntoTemporal> puntos = datos.getPuntosTemporales();
-        if (puntos.isEmpty())
+        if (datos.estaVacio())
             return;
 
         int margen = 60;
         int areaWidth = width - 2 * margen;
         int areaHeight = height - 2 * margen;
 
-        double tiempoMax = puntos.get(puntos.size() - 1).getTiempo();
-        int vehiculosMax = puntos.stream()
-                .mapToInt(p -> p.getVehiculosCargando() + p.getVehiculosEsperando() + p.getVehiculosCompletados())
-                .max().orElse(0);
+        double tiempoMax = datos.getTiempoFinal();
+        int vehiculosMax = 0;
+        for (int i = 0; i < datos.getTamaño(); i++) {
+            vehiculosMax = Math.max(vehiculosMax, datos.getVehiculosCargando(i) + datos.getVehiculosEsperando(i)
+                    + datos.getVehiculosCompletados(i));
+        }
 
         // Dibujar ejes
         g2d.setColor(Color.BLACK);
@@ -266,25 +249,14 @@ public class GeneradorGraficas {
         // Dibujar líneas para cada estado
         String[] estados = { "Cargando", "Esperando", "Completados" };
         Color[] colores = { Color.BLUE, Color.ORANGE, Color.GREEN };
+        DatosTemporales.Serie[] series = { DatosTemporales.Serie.VEHICULOS_CARGANDO,
+                DatosTemporales.Serie.VEHICULOS_ESPERANDO, DatosTemporales.Serie.VEHICULOS_COMPLETADOS };
 
         for (int estado = 0; estado < 3; estado++) {
             g2d.setColor(colores[estado]);
             g2d.setStroke(new BasicStroke(2));
-
-            for (int i = 1; i < puntos.size(); i++) {
-                DatosTemporales.PuntoTemporal p1 = puntos.get(i - 1);
-                DatosTemporales.PuntoTemporal p2 = puntos.get(i);
-
-                int valor1 = obtenerValorEstado(p1, estado);
-                int valor2 = obtenerValorEstado(p2, estado);
-
-                double x1 = margen + (p1.getTiempo() / tiempoMax) * areaWidth;
-                double y1 = height - margen - (valor1 / (double) vehiculosMax) * areaHeight;
-                double x2 = margen + (p2.getTiempo() / tiempoMax) * areaWidth;
-                double y2 = height - margen - (valor2 / (double) vehiculosMax) * areaHeight;
-
-                g2d.draw(new Line2D.Double(x1, y1, x2, y2));
-            }
+            dibujarSerie(g2d, datos, series[estado], datos.reducirLttb(series[estado], areaWidth),
+                    margen, height, areaWidth, areaHeight, tiempoMax, vehiculosMax);
         }
 
         // Leyenda
@@ -305,18 +277,15 @@ public class GeneradorGraficas {
      * Dibuja la gráfica de energía acumulada
      */
     private static void dibujarGraficaEnergia(Graphics2D g2d, DatosTemporales datos, int width, int height) {
-        List<DatosTemporales.PuntoTemporal> puntos = datos.getPuntosTemporales();
-        if (puntos.isEmpty())
+        if (datos.estaVacio())
             return;
 
         int margen = 60;
         int areaWidth = width - 2 * margen;
         int areaHeight = height - 2 * margen;
 
-        double tiempoMax = puntos.get(puntos.size() - 1).getTiempo();
-        double energiaMax = puntos.stream()
-                .mapToDouble(DatosTemporales.PuntoTemporal::getEnergiaTotalEntregada)
-                .max().orElse(0);
+        double tiempoMax = datos.getTiempoFinal();
+        double energiaMax = datos.getMaximo(DatosTemporales.Serie.ENERGIA_TOTAL_ENTREGADA);
 
         // Dibujar ejes
         g2d.setColor(Color.BLACK);
@@ -328,17 +297,9 @@ public class GeneradorGraficas {
         g2d.setColor(Color.MAGENTA);
         g2d.setStroke(new BasicStroke(3));
 
-        for (int i = 1; i < puntos.size(); i++) {
-            DatosTemporales.PuntoTemporal p1 = puntos.get(i - 1);
-            DatosTemporales.PuntoTemporal p2 = puntos.get(i);
-
-            double x1 = margen + (p1.getTiempo() / tiempoMax) * areaWidth;
-            double y1 = height - margen - (p1.getEnergiaTotalEntregada() / energiaMax) * areaHeight;
-            double x2 = margen + (p2.getTiempo() / tiempoMax) * areaWidth;
-            double y2 = height - margen - (p2.getEnergiaTotalEntregada() / energiaMax) * areaHeight;
-
-            g2d.draw(new Line2D.Double(x1, y1, x2, y2));
-        }
+        dibujarSerie(g2d, datos, DatosTemporales.Serie.ENERGIA_TOTAL_ENTREGADA,
+                datos.reducirLttb(DatosTemporales.Serie.ENERGIA_TOTAL_ENTREGADA, areaWidth),
+                margen, height, areaWidth, areaHeight, tiempoMax, energiaMax);
 
         // Títulos
         g2d.setColor(Color.BLACK);
@@ -356,16 +317,22 @@ public class GeneradorGraficas {
         dibujarMarcasEjes(g2d, margen, width, height, areaWidth, areaHeight, tiempoMax, energiaMax);
     }
 
-    private static int obtenerValorEstado(DatosTemporales.PuntoTemporal punto, int estado) {
-        switch (estado) {
-            case 0:
-                return punto.getVehiculosCargando();
-            case 1:
-                return punto.getVehiculosEsperando();
-            case 2:
-                return punto.getVehiculosCompletados();
-            default:
-                return 0;
+    /**
+     * Dibuja la polilínea de una serie sobre los índices dados (ya reducidos al
+     * ancho disponible)
+     */
+    private static void dibujarSerie(Graphics2D g2d, DatosTemporales datos, DatosTemporales.Serie serie,
+            int[] indices, int margen, int height, int areaWidth, int areaHeight, double maxX, double maxY) {
+        for (int k = 1; k < indices.length; k++) {
+            int i1 = indices[k - 1];
+            int i2 = indices[k];
+
+            double x1 = margen + (datos.getTiempo(i1) / maxX) * areaWidth;
+            double y1 = height - margen - (datos.getValor(serie, i1) / maxY) * areaHeight;
+            double x2 = margen + (datos.getTiempo(i2) / maxX) * areaWidth;
+            double y2 = height - margen - (datos.getValor(serie, i2) / maxY) * areaHeight;
+
+            g2d.draw(new Line2D.Double(x1, y1, x2, y2));
         }
     }
 
@@ -0,0 +1,277 @@
+package com.ejemplo.algoritmo;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Historial acotado de entradas de log guardadas por campos (instante, nivel,
+ * categoría, mensaje) en un buffer circular. Cada entrada recibe un número de
+ * secuencia creciente; por cada nivel y categoría se mantiene un índice con
+ * las secuencias correspondientes, de modo que los filtros cuestan O(resultado).
+ * Los índices se recortan de forma perezosa cuando el buffer sobrescribe las
+ * entradas más antiguas. Los arreglos crecen por duplicación hasta la
+ * capacidad, así que un historial poco usado no reserva toda su memoria.
+ */
+class HistorialLogs {
+
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+    private static final ZoneId ZONA = ZoneId.systemDefault();
+
+    private static final int TAMAÑO_INICIAL = 1024;
+
+    private final int capacidad;
+    private long[] instantes;
+    private int[] niveles;
+    private int[] categorias;
+    private String[] mensajes;
+    private long totalEntradas;
+
+    // Diccionarios de niveles y categorías con su índice de secuencias
+    private final Map<String, Integer> idNiveles = new HashMap<>();
+    private final List<String> nombresNiveles = new ArrayList<>();
+    private final List<IndiceSecuencias> indicesNivel = new ArrayList<>();
+    private final Map<String, Integer> idCategorias = new HashMap<>();
+    private final List<String> nombresCategorias = new ArrayList<>();
+    private final List<IndiceSecuencias> indicesCategoria = new ArrayList<>();
+
+    HistorialLogs(int capacidad) {
+        this.capacidad = capacidad;
+        reservar(Math.min(capacidad, TAMAÑO_INICIAL));
+    }
+
+    private void reservar(int tamaño) {
+        this.instantes = new long[tamaño];
+        this.niveles = new int[tamaño];
+        this.categorias = new int[tamaño];
+        this.mensajes = new String[tamaño];
+    }
+
+    /**
+     * Duplica los arreglos (sin pasar de la capacidad). Solo ocurre antes de la
+     * primera vuelta del buffer, cuando la posición coincide con la secuencia.
+     */
+    private void crecer() {
+        int nuevo = (int) Math.min(capacidad, 2L * instantes.length);
+        instantes = Arrays.copyOf(instantes, nuevo);
+        niveles = Arrays.copyOf(niveles, nuevo);
+        categorias = Arrays.copyOf(categorias, nuevo);
+        mensajes = Arrays.copyOf(mensajes, nuevo);
+    }
+
+    /**
+     * Formatea una entrada con el formato histórico del logger
+     */
+    static String formatear(long instanteMillis, String nivel, String categoria, String mensaje) {
+        String marca = LocalDateTime.ofInstant(Instant.ofEpochMilli(instanteMillis), ZONA).format(TIME_FORMATTER);
+        return "[" + marca + "] " + nivel + " <" + categoria + "> " + mensaje;
+    }
+
+    void agregar(long instanteMillis, String nivel, String categoria, String mensaje) {
+        if (totalEntradas == instantes.length && instantes.length < capacidad) {
+            crecer();
+        }
+        long secuencia = totalEntradas++;
+        int posicion = (int) (secuencia % capacidad);
+        int nivelId = id(nivel, idNiveles, nombresNiveles, indicesNivel);
+        int categoriaId = id(categoria, idCategorias, nombresCategorias, indicesCategoria);
+
+        instantes[posicion] = instanteMillis;
+        niveles[posicion] = nivelId;
+        categorias[posicion] = categoriaId;
+        mensajes[posicion] = mensaje;
+
+        long primera = getPrimeraSecuencia();
+        indicesNivel.get(nivelId).agregar(secuencia, primera);
+        indicesCategoria.get(categoriaId).agregar(secuencia, primera);
+    }
+
+    private static int id(String nombre, Map<String, Integer> ids, List<String> nombres,
+            List<IndiceSecuencias> indices) {
+        Integer id = ids.get(nombre);
+        if (id == null) {
+            id = nombres.size();
+            ids.put(nombre, id);
+            nombres.add(nombre);
+            indices.add(new IndiceSecuencias());
+        }
+        return id;
+    }
+
+    int getTamaño() {
+        return (int) Math.min(totalEntradas, capacidad);
+    }
+
+    int getCapacidad() {
+        return capacidad;
+    }
+
+    long getDescartadas() {
+        return totalEntradas - getTamaño();
+    }
+
+    private long getPrimeraSecuencia() {
+        return totalEntradas - getTamaño();
+    }
+
+    /**
+     * Texto de la entrada i-ésima retenida (0 = la más antigua)
+     */
+    String entrada(int i) {
+        return porSecuencia(getPrimeraSecuencia() + i);
+    }
+
+    private String porSecuencia(long secuencia) {
+        int posicion = (int) (secuencia % capacidad);
+        return formatear(instantes[posicion], nombresNiveles.get(niveles[posicion]),
+                nombresCategorias.get(categorias[posicion]), mensajes[posicion]);
+    }
+
+    List<String> todas() {
+        return ultimas(getTamaño());
+    }
+
+    List<String> ultimas(int cantidad) {
+        int tamaño = getTamaño();
+        int desde = Math.max(0, tamaño - cantidad);
+        List<String> resultado = new ArrayList<>(tamaño - desde);
+        for (int i = desde; i < tamaño; i++) {
+            resultado.add(entrada(i));
+        }
+        return resultado;
+    }
+
+    List<String> porNiveles(String... nombres) {
+        return unir(indices(nombres, idNiveles, indicesNivel));
+    }
+
+    List<String> porCategorias(String... nombres) {
+        return unir(indices(nombres, idCategorias, indicesCategoria));
+    }
+
+    int contarCategoria(String categoria) {
+        Integer id = idCategorias.get(categoria);
+        if (id == null) {
+            return 0;
+        }
+        IndiceSecuencias indice = indicesCategoria.get(id);
+        indice.recortar(getPrimeraSecuencia());
+        return indice.tamaño;
+    }
+
+    List<String> getCategorias() {
+        return new ArrayList<>(nombresCategorias);
+    }
+
+    List<String> getNiveles() {
+        return new ArrayList<>(nombresNiveles);
+    }
+
+    private List<IndiceSecuencias> indices(String[] nombres, Map<String, Integer> ids,
+            List<IndiceSecuencias> todos) {
+        long primera = getPrimeraSecuencia();
+        List<IndiceSecuencias> seleccion = new ArrayList<>(nombres.length);
+        for (String nombre : nombres) {
+            Integer id = ids.get(nombre);
+            if (id != null && !seleccion.contains(todos.get(id))) {
+                IndiceSecuencias indice = todos.get(id);
+                indice.recortar(primera);
+                seleccion.add(indice);
+            }
+        }
+        return seleccion;
+    }
+
+    /**
+     * Mezcla ordenada por secuencia de varios índices ya recortados
+     */
+    private List<String> unir(List<IndiceSecuencias> seleccion) {
+        int total = 0;
+        for (IndiceSecuencias indice : seleccion) {
+            total += indice.tamaño;
+        }
+        List<String> resultado = new ArrayList<>(total);
+        int[] cursores = new int[seleccion.size()];
+
+        for (int n = 0; n < total; n++) {
+            int mejor = -1;
+            long menor = Long.MAX_VALUE;
+            for (int k = 0; k < cursores.length; k++) {
+                IndiceSecuencias indice = seleccion.get(k);
+                if (cursores[k] < indice.tamaño) {
+                    long secuencia = indice.get(cursores[k]);
+                    if (secuencia < menor) {
+                        menor = secuencia;
+                        mejor = k;
+                    }
+                }
+            }
+            cursores[mejor]++;
+            resultado.add(porSecuencia(menor));
+        }
+        return resultado;
+    }
+
+    void limpiar() {
+        reservar(Math.min(capacidad, TAMAÑO_INICIAL));
+        totalEntradas = 0;
+        for (IndiceSecuencias indice : indicesNivel) {
+            indice.vaciar();
+        }
+        for (IndiceSecuencias indice : indicesCategoria) {
+            indice.vaciar();
+        }
+    }
+
+    /**
+     * Cola circular creciente de números de secuencia en orden ascendente
+     */
+    private static final class IndiceSecuencias {
+        private long[] datos = new long[16];
+        private int inicio;
+        private int tamaño;
+
+        void agregar(long secuencia, long primeraVigente) {
+            if (tamaño == datos.length) {
+                // Antes de crecer se descartan las secuencias ya sobrescritas
+                recortar(primeraVigente);
+                if (tamaño == datos.length) {
+                    crecer();
+                }
+            }
+            datos[(inicio + tamaño) % datos.length] = secuencia;
+            tamaño++;
+        }
+
+        void recortar(long primeraVigente) {
+            while (tamaño > 0 && datos[inicio] < primeraVigente) {
+                inicio = (inicio + 1) % datos.length;
+                tamaño--;
+            }
+        }
+
+        long get(int i) {
+            return datos[(inicio + i) % datos.length];
+        }
+
+        private void crecer() {
+            long[] nuevos = new long[datos.length * 2];
+            for (int i = 0; i < tamaño; i++) {
+                nuevos[i] = get(i);
+            }
+            datos = nuevos;
+            inicio = 0;
+        }
+
+        void vaciar() {
+            inicio = 0;
+            tamaño = 0;
+        }
+    }
+}
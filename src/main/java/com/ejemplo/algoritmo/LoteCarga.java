@@ -0,0 +1,97 @@
+package com.ejemplo.algoritmo;
+
+import java.util.Arrays;
+
+/**
+ * Vehículos en carga de un paso de simulación dispuestos en columnas de
+ * primitivos (estructura de arreglos). El avance de un paso es un bucle sin
+ * ramas ni llamadas sobre arreglos contiguos, que C2 puede vectorizar; los
+ * acumulados se leen de los vehículos al agregarlos y se devuelven con
+ * {@link #volcar(int)}. Los arreglos se reutilizan entre pasos.
+ */
+final class LoteCarga {
+    private VehiculoSimulacion[] vehiculos = new VehiculoSimulacion[16];
+    private double[] potencia = new double[16]; // kW efectivos: min(cargador, vehículo)
+    private double[] eficienciaCargador = new double[16];
+    private double[] eficienciaVehiculo = new double[16];
+    private double[] costoOperacionHora = new double[16];
+    private double[] energia = new double[16];
+    private double[] costoEnergia = new double[16];
+    private double[] costoOperacion = new double[16];
+    private int tamaño = 0;
+
+    void limpiar() {
+        // Soltar las referencias para no retener vehículos ya liberados
+        Arrays.fill(vehiculos, 0, tamaño, null);
+        tamaño = 0;
+    }
+
+    int getTamaño() {
+        return tamaño;
+    }
+
+    VehiculoSimulacion getVehiculo(int i) {
+        return vehiculos[i];
+    }
+
+    void agregar(VehiculoSimulacion vehiculo, double potenciaEfectiva, double eficienciaDelCargador,
+            double costoOperacionPorHora) {
+        if (tamaño == vehiculos.length) {
+            crecer();
+        }
+        vehiculos[tamaño] = vehiculo;
+        potencia[tamaño] = potenciaEfectiva;
+        eficienciaCargador[tamaño] = eficienciaDelCargador;
+        eficienciaVehiculo[tamaño] = vehiculo.getVehiculoOriginal().getEfficiency();
+        costoOperacionHora[tamaño] = costoOperacionPorHora;
+        energia[tamaño] = vehiculo.getEnergiaActual();
+        costoEnergia[tamaño] = vehiculo.getCostoEnergiaAcumulado();
+        costoOperacion[tamaño] = vehiculo.getCostoOperacionAcumulado();
+        tamaño++;
+    }
+
+    /**
+     * Aplica un paso de carga a todo el lote con el mismo precio de energía.
+     * Las operaciones siguen el orden de VehiculoSimulacion.actualizarCarga para
+     * dar resultados idénticos bit a bit.
+     */
+    void aplicarPaso(double precioEnergia, double resolucionTiempo) {
+        avanzar(tamaño, potencia, eficienciaCargador, eficienciaVehiculo, costoOperacionHora, energia,
+                costoEnergia, costoOperacion, precioEnergia, resolucionTiempo);
+    }
+
+    /**
+     * Núcleo del paso: sin ramas, sin llamadas y con índices consecutivos para
+     * que el compilador JIT lo vectorice
+     */
+    static void avanzar(int n, double[] potencia, double[] eficienciaCargador, double[] eficienciaVehiculo,
+            double[] costoOperacionHora, double[] energia, double[] costoEnergia, double[] costoOperacion,
+            double precioEnergia, double resolucionTiempo) {
+        for (int i = 0; i < n; i++) {
+            double energiaIntervalo = potencia[i] * resolucionTiempo;
+            energia[i] += energiaIntervalo * eficienciaCargador[i] * eficienciaVehiculo[i];
+            costoEnergia[i] += energiaIntervalo * precioEnergia;
+            costoOperacion[i] += resolucionTiempo * costoOperacionHora[i];
+        }
+    }
+
+    /**
+     * Devuelve al vehículo i sus acumulados tras el paso y marca la carga como
+     * completa si alcanzó la energía requerida. Retorna true en ese caso.
+     */
+    boolean volcar(int i) {
+        return vehiculos[i].establecerAcumuladosCarga(energia[i], costoEnergia[i], costoOperacion[i]);
+    }
+
+    private void crecer() {
+        int capacidad = vehiculos.length * 2;
+        vehiculos = Arrays.copyOf(vehiculos, capacidad);
+        potencia = Arrays.copyOf(potencia, capacidad);
+        eficienciaCargador = Arrays.copyOf(eficienciaCargador, capacidad);
+        eficienciaVehiculo = Arrays.copyOf(eficienciaVehiculo, capacidad);
+        costoOperacionHora = Arrays.copyOf(costoOperacionHora, capacidad);
+        energia = Arrays.copyOf(energia, capacidad);
+        costoEnergia = Arrays.copyOf(costoEnergia, capacidad);
+        costoOperacion = Arrays.copyOf(costoOperacion, capacidad);
+    }
+}
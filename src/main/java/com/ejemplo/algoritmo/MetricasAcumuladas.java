@@ -0,0 +1,78 @@
+package com.ejemplo.algoritmo;
+
+/**
+ * Contribución acumulada de un conjunto de vehículos a las métricas finales de
+ * una {@link SolucionConstructiva}. Permite sacar de memoria los vehículos que
+ * ya salieron del estacionamiento sin perder su aporte.
+ */
+final class MetricasAcumuladas {
+    private double energiaRequerida;
+    private double energiaTotal; // Energía de todos los vehículos (para los resúmenes)
+    private int vehiculosAtendidos;
+    private double costoTotal;
+    private double costoEnergia;
+    private double energiaAtendidos;
+    private double bonificacionPrioridad;
+    private int vehiculosCompletados;
+    private double completitudTotal;
+
+    void agregar(VehiculoSimulacion vehiculo) {
+        energiaRequerida += vehiculo.getVehiculoOriginal().getRequiredEnergy();
+        energiaTotal += vehiculo.getEnergiaActual();
+
+        if (vehiculo.getCargadorAsignado() != null) {
+            vehiculosAtendidos++;
+            costoTotal += vehiculo.getCostoAcumulado();
+            costoEnergia += vehiculo.getCostoEnergiaAcumulado();
+            energiaAtendidos += vehiculo.getEnergiaActual();
+
+            // Python's bonificacion_prioridad: 0.1 * self.prioridades[i] * self.E[i]
+            bonificacionPrioridad += 0.1 * vehiculo.getPrioridadNormalizada() * vehiculo.getEnergiaActual();
+
+            if (vehiculo.isCargaCompleta()) {
+                vehiculosCompletados++;
+            }
+            completitudTotal += vehiculo.getPorcentajeCompletitud();
+        }
+    }
+
+    MetricasAcumuladas copia() {
+        MetricasAcumuladas copia = new MetricasAcumuladas();
+        copia.energiaRequerida = energiaRequerida;
+        copia.energiaTotal = energiaTotal;
+        copia.vehiculosAtendidos = vehiculosAtendidos;
+        copia.costoTotal = costoTotal;
+        copia.costoEnergia = costoEnergia;
+        copia.energiaAtendidos = energiaAtendidos;
+        copia.bonificacionPrioridad = bonificacionPrioridad;
+        copia.vehiculosCompletados = vehiculosCompletados;
+        copia.completitudTotal = completitudTotal;
+        return copia;
+    }
+
+    double getEnergiaTotal() {
+        return energiaTotal;
+    }
+
+    /**
+     * Vuelca las métricas acumuladas en la solución
+     */
+    void completarSolucion(SolucionConstructiva solucion) {
+        double porcentajeCargaEntregado = energiaRequerida > 0 ? (energiaAtendidos / energiaRequerida) * 100.0
+                : 0.0;
+
+        solucion.setCostoTotalOperacion(costoTotal); // total_cost in Python
+        solucion.setCostoEnergia(costoEnergia); // costo_energia in Python
+        solucion.setPenalizacionRetrasos(0.0); // Set to 0 for comparability with Python objective
+
+        // This will be equivalent to eficiencia_total in Python
+        solucion.setValorCargaEntregada(energiaAtendidos + bonificacionPrioridad);
+
+        solucion.setEnergiaTotalEntregada(energiaAtendidos);
+        solucion.setEnergiaTotalRequerida(energiaRequerida);
+        solucion.setPorcentajeCargaEntregado(porcentajeCargaEntregado);
+        solucion.setVehiculosAtendidos(vehiculosAtendidos);
+        solucion.setVehiculosCompletados(vehiculosCompletados);
+        solucion.setPorcentajeCompletitud(vehiculosAtendidos > 0 ? completitudTotal / vehiculosAtendidos : 0.0);
+    }
+}
@@ -0,0 +1,275 @@
+package com.ejemplo.algoritmo;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Métricas de rendimiento por fase del algoritmo: tiempo en nanosegundos y
+ * bytes asignados por el hilo actual. Cada fase acumula llamadas, totales,
+ * mínimo, máximo y un histograma logarítmico (potencias de 2) de duraciones.
+ *
+ * Uso típico:
+ *
+ * <pre>
+ * long t0 = metricas.marcaTiempo();
+ * long b0 = metricas.marcaBytes();
+ * ...
+ * metricas.registrar("Evaluacion", t0, b0);
+ * </pre>
+ */
+public class MetricasFases {
+
+    private static final int CUBETAS = 64;
+
+    // Contador de asignación por hilo (solo en JVMs HotSpot/OpenJ9 compatibles)
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN = obtenerThreadBean();
+
+    private final Map<String, Fase> fases = new LinkedHashMap<>();
+    private final boolean medirBytes;
+
+    public MetricasFases() {
+        this(true);
+    }
+
+    public MetricasFases(boolean medirBytes) {
+        this.medirBytes = medirBytes && THREAD_BEAN != null;
+    }
+
+    private static com.sun.management.ThreadMXBean obtenerThreadBean() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+                if (sunBean.isThreadAllocatedMemorySupported()) {
+                    if (!sunBean.isThreadAllocatedMemoryEnabled()) {
+                        sunBean.setThreadAllocatedMemoryEnabled(true);
+                    }
+                    return sunBean;
+                }
+            }
+        } catch (UnsupportedOperationException | SecurityException | LinkageError e) {
+            // Sin soporte: solo se medirán tiempos
+        }
+        return null;
+    }
+
+    /**
+     * Instante actual en nanosegundos
+     */
+    public long marcaTiempo() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Bytes asignados hasta ahora por el hilo actual (0 si no se miden)
+     */
+    public long marcaBytes() {
+        return medirBytes ? THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0L;
+    }
+
+    /**
+     * Registra una medición de la fase desde las marcas dadas hasta ahora
+     *
+     * @return duración medida en nanosegundos
+     */
+    public long registrar(String fase, long inicioNanos, long inicioBytes) {
+        long nanos = System.nanoTime() - inicioNanos;
+        long bytes = medirBytes ? marcaBytes() - inicioBytes : 0L;
+        registrarValores(fase, nanos, bytes);
+        return nanos;
+    }
+
+    /**
+     * Registra una medición con duración y bytes ya calculados
+     */
+    public void registrarValores(String fase, long nanos, long bytes) {
+        fases.computeIfAbsent(fase, Fase::new).agregar(nanos, bytes);
+    }
+
+    /**
+     * Acumula en esta instancia las mediciones de otra
+     */
+    public void combinar(MetricasFases otras) {
+        for (Fase otra : otras.fases.values()) {
+            fases.computeIfAbsent(otra.nombre, Fase::new).combinar(otra);
+        }
+    }
+
+    public Map<String, Fase> getFases() {
+        return fases;
+    }
+
+    public Fase getFase(String nombre) {
+        return fases.get(nombre);
+    }
+
+    public boolean isMidiendoBytes() {
+        return medirBytes;
+    }
+
+    /**
+     * Tiempo total acumulado en todas las fases, en nanosegundos
+     */
+    public long getTotalNanos() {
+        long total = 0;
+        for (Fase fase : fases.values()) {
+            total += fase.totalNanos;
+        }
+        return total;
+    }
+
+    /**
+     * Genera una tabla resumen ordenada por inserción de las fases
+     */
+    public String generarResumen() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== MÉTRICAS POR FASE ===\n");
+        if (fases.isEmpty()) {
+            sb.append("No hay mediciones registradas.\n");
+            return sb.toString();
+        }
+
+        long total = Math.max(1, getTotalNanos());
+        sb.append(String.format("%-28s %9s %11s %6s %10s %10s %10s %12s\n",
+                "Fase", "Llamadas", "Total ms", "%", "Media µs", "p90 µs", "Máx µs", "Bytes/llam."));
+        for (Fase fase : fases.values()) {
+            sb.append(String.format("%-28s %9d %11.2f %5.1f%% %10.1f %10.1f %10.1f %12s\n",
+                    fase.nombre, fase.llamadas, fase.totalNanos / 1e6, 100.0 * fase.totalNanos / total,
+                    fase.getMediaNanos() / 1e3, fase.getPercentilNanos(0.90) / 1e3, fase.maxNanos / 1e3,
+                    medirBytes ? String.format("%.0f", fase.getMediaBytes()) : "-"));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Exporta las métricas como CSV (una fila por fase)
+     */
+    public void exportarCsv(Writer salida) throws IOException {
+        salida.write("Fase,Llamadas,TotalNs,MediaNs,MinNs,MaxNs,P50Ns,P90Ns,P99Ns,TotalBytes,MediaBytes\n");
+        for (Fase fase : fases.values()) {
+            salida.write(String.format(Locale.US, "%s,%d,%d,%.1f,%d,%d,%d,%d,%d,%d,%.1f\n",
+                    fase.nombre, fase.llamadas, fase.totalNanos, fase.getMediaNanos(),
+                    fase.llamadas > 0 ? fase.minNanos : 0, fase.maxNanos,
+                    fase.getPercentilNanos(0.50), fase.getPercentilNanos(0.90), fase.getPercentilNanos(0.99),
+                    fase.totalBytes, fase.getMediaBytes()));
+        }
+        salida.flush();
+    }
+
+    /**
+     * Exporta los histogramas como CSV (fase, límite superior de la cubeta,
+     * frecuencia)
+     */
+    public void exportarHistogramasCsv(Writer salida) throws IOException {
+        salida.write("Fase,LimiteSuperiorNs,Frecuencia\n");
+        for (Fase fase : fases.values()) {
+            for (int i = 0; i < CUBETAS; i++) {
+                if (fase.histograma[i] > 0) {
+                    salida.write(String.format(Locale.US, "%s,%d,%d\n", fase.nombre, limiteSuperior(i),
+                            fase.histograma[i]));
+                }
+            }
+        }
+        salida.flush();
+    }
+
+    private static int cubeta(long nanos) {
+        return nanos <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    private static long limiteSuperior(int cubeta) {
+        return cubeta >= 63 ? Long.MAX_VALUE : (1L << cubeta) - 1;
+    }
+
+    /**
+     * Estadísticas acumuladas de una fase
+     */
+    public static class Fase {
+        private final String nombre;
+        private long llamadas;
+        private long totalNanos;
+        private long minNanos = Long.MAX_VALUE;
+        private long maxNanos;
+        private long totalBytes;
+        private final long[] histograma = new long[CUBETAS];
+
+        Fase(String nombre) {
+            this.nombre = nombre;
+        }
+
+        void agregar(long nanos, long bytes) {
+            llamadas++;
+            totalNanos += nanos;
+            minNanos = Math.min(minNanos, nanos);
+            maxNanos = Math.max(maxNanos, nanos);
+            totalBytes += bytes;
+            histograma[cubeta(nanos)]++;
+        }
+
+        void combinar(Fase otra) {
+            llamadas += otra.llamadas;
+            totalNanos += otra.totalNanos;
+            minNanos = Math.min(minNanos, otra.minNanos);
+            maxNanos = Math.max(maxNanos, otra.maxNanos);
+            totalBytes += otra.totalBytes;
+            for (int i = 0; i < CUBETAS; i++) {
+                histograma[i] += otra.histograma[i];
+            }
+        }
+
+        /**
+         * Percentil aproximado: límite superior de la cubeta que lo contiene
+         */
+        public long getPercentilNanos(double percentil) {
+            if (llamadas == 0) {
+                return 0;
+            }
+            long objetivo = (long) Math.ceil(percentil * llamadas);
+            long acumulado = 0;
+            for (int i = 0; i < CUBETAS; i++) {
+                acumulado += histograma[i];
+                if (acumulado >= objetivo) {
+                    return Math.min(limiteSuperior(i), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+
+        public double getMediaNanos() {
+            return llamadas > 0 ? (double) totalNanos / llamadas : 0.0;
+        }
+
+        public double getMediaBytes() {
+            return llamadas > 0 ? (double) totalBytes / llamadas : 0.0;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        public long getLlamadas() {
+            return llamadas;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public long getTotalBytes() {
+            return totalBytes;
+        }
+
+        public long[] getHistograma() {
+            return histograma.clone();
+        }
+    }
+}
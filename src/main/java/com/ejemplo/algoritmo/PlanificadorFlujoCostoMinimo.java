@@ -0,0 +1,629 @@
+package com.ejemplo.algoritmo;
+
+import com.ejemplo.model.Charger;
+import com.ejemplo.model.TestSystem;
+import com.ejemplo.model.VehicleArrival;
+
+import java.util.*;
+
+/**
+ * Plan de carga por flujo de costo mínimo sobre la red expandida en el tiempo
+ * (ver RedTemporal). El flujo maximiza el mismo objetivo que
+ * SolucionConstructiva.getValorObjetivo:
+ *
+ * 0.5 · (energía + 0.1 · prioridad · energía) − costo de energía − costo de
+ * operación
+ *
+ * fuente → vehículo → vehículo en el paso k → grupo de cargadores en el paso
+ * k → transformador en el paso k → sumidero. El flujo se mide en energía de
+ * red (kWh), así que el límite del transformador es exacto; cada opción
+ * (vehículo, paso, grupo) cuesta precio + costo de operación prorrateado menos
+ * el valor de la energía que llega a la batería. Solo se empuja flujo por
+ * caminos de costo negativo, es decir, mientras cargar mejore el objetivo.
+ *
+ * Es el modelo continuo del MILP de Python: la potencia es libre dentro de
+ * cada paso y un cargador puede repartirse en el tiempo entre vehículos, por
+ * lo que el costo de operación se cobra en proporción al tiempo usado. Dos
+ * restricciones no son de red y se manejan así:
+ * - La energía requerida se limita en energía de red con la mejor eficiencia
+ * del vehículo, de modo que nunca se excede.
+ * - El tiempo de cargador (un vehículo por cargador y un cargador por
+ * vehículo en cada paso) depende de la potencia de cada opción. Si el flujo
+ * lo excede, se ajusta la capacidad del nodo y se vuelve a resolver; tras el
+ * último ajuste se recortan los excesos.
+ *
+ * El flujo reparte cargadores en fracciones de paso, así que no es un plan
+ * ejecutable. La solución se obtiene redondeándolo a un plan entero (ver
+ * construirSolucion): en cada paso un vehículo usa un solo cargador y cada
+ * cargador atiende a un solo vehículo. El valor de la primera resolución
+ * queda como cota superior del modelo continuo y mide la brecha del plan.
+ */
+public class PlanificadorFlujoCostoMinimo {
+
+    private static final int RONDAS_AJUSTE = 3;
+    private static final double TOLERANCIA = 1e-6;
+
+    private final SolucionConstructiva solucion;
+    private final double[] potenciaRedPorPaso;
+    private final double limitePotencia;
+    private final boolean optimo;
+    private final double cotaModeloContinuo;
+    private final int rondasAjuste;
+    private final int fases;
+    private final int nodos;
+    private final int arcos;
+    private final long tiempoCalculoMs;
+
+    private PlanificadorFlujoCostoMinimo(SolucionConstructiva solucion, double[] potenciaRedPorPaso,
+            double limitePotencia, boolean optimo, double cotaModeloContinuo, int rondasAjuste, int fases, int nodos,
+            int arcos, long tiempoCalculoMs) {
+        this.solucion = solucion;
+        this.potenciaRedPorPaso = potenciaRedPorPaso;
+        this.limitePotencia = limitePotencia;
+        this.optimo = optimo;
+        this.cotaModeloContinuo = cotaModeloContinuo;
+        this.rondasAjuste = rondasAjuste;
+        this.fases = fases;
+        this.nodos = nodos;
+        this.arcos = arcos;
+        this.tiempoCalculoMs = tiempoCalculoMs;
+    }
+
+    public static PlanificadorFlujoCostoMinimo resolver(TestSystem testSystem) {
+        long inicio = System.currentTimeMillis();
+        RedTemporal red = RedTemporal.construir(testSystem);
+        int n = red.vehiculos.size();
+        int grupos = red.grupos.size();
+        double dt = red.resolucionTiempo;
+
+        // Prioridad normalizada y mejor eficiencia de cada vehículo
+        VehiculoSimulacion[] vehiculos = new VehiculoSimulacion[n];
+        double[] eficienciaMaxima = new double[n];
+        for (int i = 0; i < n; i++) {
+            vehiculos[i] = new VehiculoSimulacion(red.vehiculos.get(i));
+            ConstructivoAdaptativo.calcularPrioridadNormalizada(vehiculos[i]);
+        }
+        double[] costoOpcion = new double[red.opciones];
+        for (int o = 0; o < red.opciones; o++) {
+            int i = red.opcionVehiculo[o];
+            Charger cargador = red.grupos.get(red.opcionGrupo[o]).get(0);
+            double valor = 0.5 * (1.0 + 0.1 * vehiculos[i].getPrioridadNormalizada()) * red.opcionEficiencia[o];
+            costoOpcion[o] = red.precio[red.opcionPaso[o]] + cargador.getOperationCostPerHour() / red.opcionPotencia[o]
+                    - valor;
+            eficienciaMaxima[i] = Math.max(eficienciaMaxima[i], red.opcionEficiencia[o]);
+        }
+
+        // Nodos vehículo-paso: las opciones vienen ordenadas por vehículo y paso
+        int[] nodoVehiculoPaso = new int[red.opciones];
+        int vehiculoPasos = 0;
+        for (int o = 0; o < red.opciones; o++) {
+            if (o == 0 || red.opcionVehiculo[o] != red.opcionVehiculo[o - 1]
+                    || red.opcionPaso[o] != red.opcionPaso[o - 1]) {
+                vehiculoPasos++;
+            }
+            nodoVehiculoPaso[o] = vehiculoPasos - 1;
+        }
+
+        // Nodos con tiempo de cargador: vehículo-paso y, a continuación, grupo-paso
+        int nodosTiempo = vehiculoPasos + red.pasos * grupos;
+        int[][] nodoTiempoOpcion = new int[red.opciones][];
+        double[] capacidad = new double[nodosTiempo]; // Energía de red; el ajuste la reduce
+        double[] tiempoDisponible = new double[nodosTiempo];
+        double[] potenciaMinima = new double[nodosTiempo];
+        Arrays.fill(potenciaMinima, Double.POSITIVE_INFINITY);
+        for (int o = 0; o < red.opciones; o++) {
+            int tamañoGrupo = red.grupos.get(red.opcionGrupo[o]).size();
+            int grupoPaso = vehiculoPasos + red.opcionPaso[o] * grupos + red.opcionGrupo[o];
+            nodoTiempoOpcion[o] = new int[] { nodoVehiculoPaso[o], grupoPaso };
+            tiempoDisponible[nodoVehiculoPaso[o]] = dt;
+            tiempoDisponible[grupoPaso] = tamañoGrupo * dt;
+            for (int nodo : nodoTiempoOpcion[o]) {
+                int cargadores = nodo == grupoPaso ? tamañoGrupo : 1;
+                capacidad[nodo] = Math.max(capacidad[nodo], cargadores * red.opcionPotencia[o] * dt);
+                potenciaMinima[nodo] = Math.min(potenciaMinima[nodo], red.opcionPotencia[o]);
+            }
+        }
+
+        double[] flujoOpcion = new double[red.opciones];
+        int[] ajustes = new int[nodosTiempo];
+        FlujoCostoMinimo flujo = null;
+        int rondas = 0;
+        boolean factible = false;
+        int fasesTotales = 0;
+        double cotaModeloContinuo = 0.0;
+        while (!factible && rondas < RONDAS_AJUSTE) {
+            rondas++;
+            flujo = resolverRed(red, costoOpcion, eficienciaMaxima, nodoVehiculoPaso, vehiculoPasos, capacidad,
+                    flujoOpcion);
+            fasesTotales += flujo.getFases();
+            if (rondas == 1) {
+                cotaModeloContinuo = -flujo.getCostoTotal();
+            }
+            factible = ajustarTiempoCargador(red, nodoTiempoOpcion, flujoOpcion, capacidad, tiempoDisponible,
+                    potenciaMinima, ajustes);
+        }
+        if (!factible) {
+            recortarExcesos(red, nodoTiempoOpcion, flujoOpcion, tiempoDisponible, costoOpcion);
+        }
+
+        double[] energiaRedPorPaso = new double[red.pasos];
+        double[] energiaRedMaxima = new double[n];
+        for (int i = 0; i < n; i++) {
+            energiaRedMaxima[i] = eficienciaMaxima[i] > 0
+                    ? red.vehiculos.get(i).getRequiredEnergy() / eficienciaMaxima[i]
+                    : 0.0;
+        }
+        SolucionConstructiva solucion = construirSolucion(red, vehiculos, flujoOpcion, costoOpcion,
+                energiaRedMaxima, energiaRedPorPaso);
+        double[] potenciaRedPorPaso = new double[red.pasos];
+        for (int k = 0; k < red.pasos; k++) {
+            potenciaRedPorPaso[k] = energiaRedPorPaso[k] / dt;
+        }
+        long tiempo = System.currentTimeMillis() - inicio;
+        solucion.setTiempoTotalEjecucion(tiempo);
+        return new PlanificadorFlujoCostoMinimo(solucion, potenciaRedPorPaso, red.limitePotencia,
+                factible && rondas == 1, cotaModeloContinuo, rondas, fasesTotales, flujo.getNumeroNodos(),
+                flujo.getNumeroArcos(), tiempo);
+    }
+
+    private static FlujoCostoMinimo resolverRed(RedTemporal red, double[] costoOpcion, double[] eficienciaMaxima,
+            int[] nodoVehiculoPaso, int vehiculoPasos, double[] capacidad, double[] flujoOpcion) {
+        int n = red.vehiculos.size();
+        int grupos = red.grupos.size();
+        double dt = red.resolucionTiempo;
+
+        final int fuente = 0;
+        final int sumidero = 1;
+        final int baseVehiculos = 2;
+        final int baseVehiculoPaso = baseVehiculos + n;
+        final int baseGrupoPaso = baseVehiculoPaso + vehiculoPasos;
+        final int baseTransformador = baseGrupoPaso + red.pasos * grupos;
+
+        FlujoCostoMinimo flujo = new FlujoCostoMinimo(baseTransformador + red.pasos,
+                n + vehiculoPasos + red.opciones + red.pasos * (grupos + 1));
+
+        for (int i = 0; i < n; i++) {
+            if (eficienciaMaxima[i] > 0) {
+                flujo.agregarArco(fuente, baseVehiculos + i,
+                        red.vehiculos.get(i).getRequiredEnergy() / eficienciaMaxima[i], 0.0);
+            }
+        }
+        int[] arcoOpcion = new int[red.opciones];
+        boolean[] grupoPasoUsado = new boolean[red.pasos * grupos];
+        for (int o = 0; o < red.opciones; o++) {
+            int vehiculoPaso = nodoVehiculoPaso[o];
+            if (o == 0 || nodoVehiculoPaso[o - 1] != vehiculoPaso) {
+                flujo.agregarArco(baseVehiculos + red.opcionVehiculo[o], baseVehiculoPaso + vehiculoPaso,
+                        capacidad[vehiculoPaso], 0.0);
+            }
+            arcoOpcion[o] = -1;
+            if (costoOpcion[o] < 0) { // Solo se ofrecen las opciones que mejoran el objetivo
+                int grupoPaso = red.opcionPaso[o] * grupos + red.opcionGrupo[o];
+                arcoOpcion[o] = flujo.agregarArco(baseVehiculoPaso + vehiculoPaso, baseGrupoPaso + grupoPaso,
+                        red.opcionPotencia[o] * dt, costoOpcion[o]);
+                grupoPasoUsado[grupoPaso] = true;
+            }
+        }
+        for (int k = 0; k < red.pasos; k++) {
+            for (int g = 0; g < grupos; g++) {
+                if (grupoPasoUsado[k * grupos + g]) {
+                    flujo.agregarArco(baseGrupoPaso + k * grupos + g, baseTransformador + k,
+                            capacidad[vehiculoPasos + k * grupos + g], 0.0);
+                }
+            }
+            flujo.agregarArco(baseTransformador + k, sumidero, red.limitePotencia * dt, 0.0);
+        }
+
+        flujo.calcular(fuente, sumidero);
+        for (int o = 0; o < red.opciones; o++) {
+            flujoOpcion[o] = arcoOpcion[o] >= 0 ? flujo.getFlujo(arcoOpcion[o]) : 0.0;
+        }
+        return flujo;
+    }
+
+    /**
+     * Revisa el tiempo de cargador de cada nodo. La primera vez que un nodo
+     * lo excede, su capacidad en energía pasa a la que cabe con la mezcla de
+     * potencias actual; la segunda, a la que cabe aun si todo su flujo fuera a
+     * la potencia mínima, que ya no puede excederse. Retorna true si ningún
+     * nodo excedía su tiempo.
+     */
+    private static boolean ajustarTiempoCargador(RedTemporal red, int[][] nodoTiempoOpcion, double[] flujoOpcion,
+            double[] capacidad, double[] tiempoDisponible, double[] potenciaMinima, int[] ajustes) {
+        double[] tiempo = new double[capacidad.length];
+        double[] energia = new double[capacidad.length];
+        for (int o = 0; o < red.opciones; o++) {
+            for (int nodo : nodoTiempoOpcion[o]) {
+                tiempo[nodo] += flujoOpcion[o] / red.opcionPotencia[o];
+                energia[nodo] += flujoOpcion[o];
+            }
+        }
+
+        boolean factible = true;
+        for (int nodo = 0; nodo < capacidad.length; nodo++) {
+            if (tiempo[nodo] > tiempoDisponible[nodo] * (1.0 + TOLERANCIA)) {
+                factible = false;
+                capacidad[nodo] = ajustes[nodo]++ == 0 ? energia[nodo] * tiempoDisponible[nodo] / tiempo[nodo]
+                        : tiempoDisponible[nodo] * potenciaMinima[nodo];
+            }
+        }
+        return factible;
+    }
+
+    /**
+     * Deja factible el flujo de la última ronda: en cada nodo que excede su
+     * tiempo conserva las opciones de mayor ganancia por hora de cargador
+     * (mochila fraccionaria) y reduce el resto. Quitar flujo nunca viola otra
+     * restricción.
+     */
+    private static void recortarExcesos(RedTemporal red, int[][] nodoTiempoOpcion, double[] flujoOpcion,
+            double[] tiempoDisponible, double[] costoOpcion) {
+        List<List<Integer>> opcionesPorNodo = new ArrayList<>();
+        for (int nodo = 0; nodo < tiempoDisponible.length; nodo++) {
+            opcionesPorNodo.add(new ArrayList<>());
+        }
+        for (int o = 0; o < red.opciones; o++) {
+            if (flujoOpcion[o] > 0) {
+                for (int nodo : nodoTiempoOpcion[o]) {
+                    opcionesPorNodo.get(nodo).add(o);
+                }
+            }
+        }
+        Comparator<Integer> porGananciaHora = Comparator
+                .comparingDouble(o -> costoOpcion[o] * red.opcionPotencia[o]);
+        for (int nodo = 0; nodo < tiempoDisponible.length; nodo++) {
+            List<Integer> opciones = opcionesPorNodo.get(nodo);
+            double tiempo = 0.0;
+            for (int o : opciones) {
+                tiempo += flujoOpcion[o] / red.opcionPotencia[o];
+            }
+            if (tiempo <= tiempoDisponible[nodo] * (1.0 + TOLERANCIA)) {
+                continue;
+            }
+            opciones.sort(porGananciaHora);
+            double restante = tiempoDisponible[nodo];
+            for (int o : opciones) {
+                double usado = Math.min(flujoOpcion[o] / red.opcionPotencia[o], restante);
+                flujoOpcion[o] = usado * red.opcionPotencia[o];
+                restante -= usado;
+            }
+        }
+    }
+
+    /**
+     * Opciones de un vehículo en un paso (consecutivas en la red) y su flujo
+     */
+    private static final class Bloque {
+        final int vehiculo;
+        final int inicio;
+        final int fin;
+        final double flujo;
+
+        Bloque(int vehiculo, int inicio, int fin, double flujo) {
+            this.vehiculo = vehiculo;
+            this.inicio = inicio;
+            this.fin = fin;
+            this.flujo = flujo;
+        }
+    }
+
+    /**
+     * Estado del plan entero mientras se recorre la red paso a paso
+     */
+    private static final class PlanEntero {
+        final RedTemporal red;
+        final VehiculoSimulacion[] vehiculos;
+        final double[] energia;
+        final double[] costoEnergia;
+        final double[] costoOperacion;
+        final double[] energiaRed; // Energía de red usada por cada vehículo
+        final double[] energiaRedMaxima; // La del arco fuente → vehículo del flujo
+        final double[] energiaRedPorPaso;
+        final int[] ultimoPaso;
+        final Charger[] cargadorActual;
+        final Set<Integer> ocupados = new HashSet<>(); // Cargadores usados en el paso actual
+
+        PlanEntero(RedTemporal red, VehiculoSimulacion[] vehiculos, double[] energiaRedMaxima,
+                double[] energiaRedPorPaso) {
+            int n = vehiculos.length;
+            this.red = red;
+            this.vehiculos = vehiculos;
+            this.energia = new double[n];
+            this.costoEnergia = new double[n];
+            this.costoOperacion = new double[n];
+            this.energiaRed = new double[n];
+            this.energiaRedMaxima = energiaRedMaxima;
+            this.energiaRedPorPaso = energiaRedPorPaso;
+            this.ultimoPaso = new int[n];
+            Arrays.fill(ultimoPaso, -2);
+            this.cargadorActual = new Charger[n];
+        }
+
+        /**
+         * Carga al vehículo i durante el paso k con la opción y el cargador
+         * dados, hasta la energía de red indicada y sin superar el
+         * transformador ni la energía requerida. Retorna false, sin cambiar
+         * nada, si el paso no mejora el objetivo.
+         */
+        boolean cargar(int i, int k, int opcion, Charger cargador, double energiaRedDisponible) {
+            double dt = red.resolucionTiempo;
+            VehiculoSimulacion vehiculo = vehiculos[i];
+            double eficiencia = red.opcionEficiencia[opcion];
+            double disponible = Math.min(Math.min(energiaRedDisponible, red.opcionPotencia[opcion] * dt),
+                    Math.min(red.limitePotencia * dt - energiaRedPorPaso[k], energiaRedMaxima[i] - energiaRed[i]));
+            double bateria = Math.min(disponible * eficiencia,
+                    vehiculo.getVehiculoOriginal().getRequiredEnergy() - energia[i]);
+            if (bateria <= TOLERANCIA) {
+                return false;
+            }
+            double redUsada = bateria / eficiencia;
+            double operacion = cargador.getOperationCostPerHour() * dt;
+            double ganancia = 0.5 * (1.0 + 0.1 * vehiculo.getPrioridadNormalizada()) * bateria
+                    - redUsada * red.precio[k] - operacion;
+            if (ganancia <= 0) {
+                return false;
+            }
+
+            energia[i] += bateria;
+            energiaRed[i] += redUsada;
+            costoEnergia[i] += redUsada * red.precio[k];
+            costoOperacion[i] += operacion;
+            energiaRedPorPaso[k] += redUsada;
+            ocupados.add(cargador.getChargerId());
+            if (ultimoPaso[i] != k - 1 || cargadorActual[i] != cargador) {
+                if (ultimoPaso[i] >= 0) {
+                    vehiculo.finalizarCargador((ultimoPaso[i] + 1) * dt);
+                }
+                vehiculo.asignarCargador(cargador.getChargerId(), k * dt, "Flujo de costo mínimo");
+            }
+            vehiculo.setTiempoFinCarga((k + 1) * dt);
+            ultimoPaso[i] = k;
+            cargadorActual[i] = cargador;
+            return true;
+        }
+
+        /**
+         * Carga al vehículo con la primera opción de la lista que tenga un
+         * cargador libre
+         */
+        boolean cargarConCargadorLibre(Bloque bloque, int k, List<Integer> opciones, double energiaRedDisponible) {
+            for (int opcion : opciones) {
+                for (Charger cargador : red.grupos.get(red.opcionGrupo[opcion])) {
+                    if (!ocupados.contains(cargador.getChargerId())) {
+                        // Los cargadores del grupo son idénticos: si este no conviene, ninguno
+                        if (cargar(bloque.vehiculo, k, opcion, cargador, energiaRedDisponible)) {
+                            return true;
+                        }
+                        break;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Redondea el flujo a un plan entero y completa las métricas con
+     * MetricasAcumuladas, igual que el constructivo. En cada paso:
+     * - Quien venía cargando conserva su cargador si su grupo sigue con flujo
+     * (los cargadores del paso anterior son distintos entre sí).
+     * - El resto de los vehículos con flujo, de mayor a menor, toma un
+     * cargador libre del grupo con más flujo o de otro compatible.
+     * - Con los cargadores y la potencia que sobran se carga a los demás
+     * vehículos presentes, primero a los que el redondeo les quitó flujo.
+     * La energía de red de cada vehículo no supera su flujo del paso (salvo en
+     * el relleno) ni su arco fuente → vehículo, y el transformador se respeta
+     * paso a paso, así que el plan también es factible en el modelo continuo
+     * y su valor no supera la cota. El costo de operación se cobra por paso
+     * completo, como en la simulación, y se descartan los pasos que con ese
+     * costo ya no mejoran el objetivo. Un vehículo que deja de cargar cierra
+     * su intervalo en el historial y abre otro al retomar.
+     */
+    private static SolucionConstructiva construirSolucion(RedTemporal red, VehiculoSimulacion[] vehiculos,
+            double[] flujoOpcion, double[] costoOpcion, double[] energiaRedMaxima, double[] energiaRedPorPaso) {
+        int n = vehiculos.length;
+        PlanEntero plan = new PlanEntero(red, vehiculos, energiaRedMaxima, energiaRedPorPaso);
+
+        // Las opciones vienen ordenadas por vehículo y paso
+        List<List<Bloque>> bloquesPorPaso = new ArrayList<>();
+        for (int k = 0; k < red.pasos; k++) {
+            bloquesPorPaso.add(new ArrayList<>());
+        }
+        int o = 0;
+        while (o < red.opciones) {
+            int i = red.opcionVehiculo[o];
+            int k = red.opcionPaso[o];
+            int inicio = o;
+            double flujo = 0.0;
+            for (; o < red.opciones && red.opcionVehiculo[o] == i && red.opcionPaso[o] == k; o++) {
+                flujo += flujoOpcion[o];
+            }
+            bloquesPorPaso.get(k).add(new Bloque(i, inicio, o, flujo));
+        }
+
+        Map<Integer, Integer> grupoCargador = new HashMap<>();
+        for (int g = 0; g < red.grupos.size(); g++) {
+            for (Charger cargador : red.grupos.get(g)) {
+                grupoCargador.put(cargador.getChargerId(), g);
+            }
+        }
+        double[] flujoPerdido = new double[n];
+        for (int k = 0; k < red.pasos; k++) {
+            List<Bloque> bloques = bloquesPorPaso.get(k);
+            bloques.sort(Comparator.comparingDouble((Bloque b) -> -b.flujo));
+            plan.ocupados.clear();
+            boolean[] cargado = new boolean[bloques.size()];
+
+            for (int b = 0; b < bloques.size(); b++) {
+                Bloque bloque = bloques.get(b);
+                int i = bloque.vehiculo;
+                if (bloque.flujo <= TOLERANCIA || plan.ultimoPaso[i] != k - 1) {
+                    continue;
+                }
+                Charger actual = plan.cargadorActual[i];
+                int grupoActual = grupoCargador.get(actual.getChargerId());
+                for (int op = bloque.inicio; op < bloque.fin && !cargado[b]; op++) {
+                    if (flujoOpcion[op] > TOLERANCIA && red.opcionGrupo[op] == grupoActual) {
+                        cargado[b] = plan.cargar(i, k, op, actual, bloque.flujo);
+                    }
+                }
+            }
+
+            for (int b = 0; b < bloques.size(); b++) {
+                Bloque bloque = bloques.get(b);
+                if (cargado[b] || bloque.flujo <= TOLERANCIA) {
+                    continue;
+                }
+                List<Integer> opciones = opcionesConvenientes(bloque, costoOpcion);
+                opciones.sort(Comparator.comparingDouble((Integer op) -> -flujoOpcion[op])
+                        .thenComparingDouble(op -> costoOpcion[op]));
+                cargado[b] = plan.cargarConCargadorLibre(bloque, k, opciones, bloque.flujo);
+                if (!cargado[b]) {
+                    flujoPerdido[bloque.vehiculo] += bloque.flujo;
+                }
+            }
+
+            // Relleno: primero los vehículos que más flujo perdieron en pasos anteriores
+            List<Integer> relleno = new ArrayList<>();
+            for (int b = 0; b < bloques.size(); b++) {
+                if (!cargado[b]) {
+                    relleno.add(b);
+                }
+            }
+            relleno.sort(Comparator.comparingDouble((Integer b) -> -flujoPerdido[bloques.get(b).vehiculo]));
+            for (int b : relleno) {
+                Bloque bloque = bloques.get(b);
+                List<Integer> opciones = opcionesConvenientes(bloque, costoOpcion);
+                opciones.sort(Comparator.comparingDouble(op -> costoOpcion[op]));
+                double antes = plan.energiaRed[bloque.vehiculo];
+                if (plan.cargarConCargadorLibre(bloque, k, opciones, Double.POSITIVE_INFINITY)) {
+                    flujoPerdido[bloque.vehiculo] = Math.max(0.0,
+                            flujoPerdido[bloque.vehiculo] - (plan.energiaRed[bloque.vehiculo] - antes));
+                }
+            }
+        }
+
+        MetricasAcumuladas metricas = new MetricasAcumuladas();
+        Map<Integer, Integer> asignaciones = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            VehiculoSimulacion vehiculo = vehiculos[i];
+            VehicleArrival original = vehiculo.getVehiculoOriginal();
+            if (vehiculo.getCargadorAsignado() != null) {
+                // La energía requerida se alcanza salvo redondeo
+                double requerida = original.getRequiredEnergy();
+                double entregada = Math.abs(plan.energia[i] - requerida) <= TOLERANCIA * requerida ? requerida
+                        : plan.energia[i];
+                vehiculo.finalizarCargador(vehiculo.getTiempoFinCarga());
+                vehiculo.establecerAcumuladosCarga(entregada, plan.costoEnergia[i], plan.costoOperacion[i]);
+                asignaciones.put(original.getId(), cargadorPrincipal(vehiculo));
+            }
+            vehiculo.setEstado(vehiculo.isCargaCompleta() ? VehiculoSimulacion.EstadoVehiculo.COMPLETADO
+                    : VehiculoSimulacion.EstadoVehiculo.RETIRADO);
+            metricas.agregar(vehiculo);
+        }
+
+        SolucionConstructiva solucion = new SolucionConstructiva();
+        metricas.completarSolucion(solucion);
+        solucion.setAsignacionesFinal(asignaciones);
+        solucion.setEstadoFinalVehiculos(new ArrayList<>(Arrays.asList(vehiculos)));
+        solucion.setHeuristicaMasEfectiva("FlujoCostoMinimo");
+        return solucion;
+    }
+
+    /**
+     * Opciones del bloque que mejoran el objetivo (las únicas con arco en la
+     * red)
+     */
+    private static List<Integer> opcionesConvenientes(Bloque bloque, double[] costoOpcion) {
+        List<Integer> opciones = new ArrayList<>();
+        for (int op = bloque.inicio; op < bloque.fin; op++) {
+            if (costoOpcion[op] < 0) {
+                opciones.add(op);
+            }
+        }
+        return opciones;
+    }
+
+    /**
+     * Cargador con más tiempo de uso en el historial del vehículo
+     */
+    private static int cargadorPrincipal(VehiculoSimulacion vehiculo) {
+        Map<Integer, Double> duracion = new HashMap<>();
+        for (VehiculoSimulacion.HistorialCargador registro : vehiculo.getHistorialCargadores()) {
+            duracion.merge(registro.getCargadorId(), registro.getDuracion(), Double::sum);
+        }
+        return Collections.max(duracion.entrySet(), Map.Entry.comparingByValue()).getKey();
+    }
+
+    public SolucionConstructiva getSolucion() {
+        return solucion;
+    }
+
+    /**
+     * true si la primera resolución respetó el tiempo de cargador, es decir,
+     * si el plan se redondeó desde el óptimo del modelo continuo
+     */
+    public boolean esOptimo() {
+        return optimo;
+    }
+
+    /**
+     * Valor objetivo de la primera resolución: cota superior del modelo
+     * continuo
+     */
+    public double getCotaModeloContinuo() {
+        return cotaModeloContinuo;
+    }
+
+    /**
+     * Brecha de la solución contra la cota del modelo continuo, en porcentaje
+     */
+    public double getBrecha() {
+        return cotaModeloContinuo > 0
+                ? Math.max(0.0, (cotaModeloContinuo - solucion.getValorObjetivo()) / cotaModeloContinuo * 100.0)
+                : 0.0;
+    }
+
+    /**
+     * Potencia de red media (kW) del plan en cada paso de la red temporal
+     */
+    public double[] getPotenciaRedPorPaso() {
+        return potenciaRedPorPaso.clone();
+    }
+
+    /**
+     * Límite de potencia de red (kW) que respeta el plan en cada paso
+     */
+    public double getLimitePotencia() {
+        return limitePotencia;
+    }
+
+    public int getRondasAjuste() {
+        return rondasAjuste;
+    }
+
+    public long getTiempoCalculoMs() {
+        return tiempoCalculoMs;
+    }
+
+    public String generarResumen() {
+        StringBuilder resumen = new StringBuilder();
+        resumen.append("🧮 PLAN POR FLUJO DE COSTO MÍNIMO (red temporal)\n");
+        resumen.append(String.format("   Valor objetivo: %.4f | Energía: %.2f kWh | Costo: $%.2f%n",
+                solucion.getValorObjetivo(), solucion.getEnergiaTotalEntregada(), solucion.getCostoTotalOperacion()));
+        resumen.append(String.format("   Vehículos atendidos: %d | Completados: %d%n",
+                solucion.getVehiculosAtendidos(), solucion.getVehiculosCompletados()));
+        resumen.append(String.format("   Plan entero redondeado desde %s (%d ronda(s) de ajuste de cargadores)%n",
+                optimo ? "el óptimo del modelo continuo" : "un flujo factible ajustado", rondasAjuste));
+        resumen.append(String.format("   Cota del modelo continuo: %.4f (brecha %.2f%%)%n", cotaModeloContinuo,
+                getBrecha()));
+        double picoRed = 0.0;
+        for (double potencia : potenciaRedPorPaso) {
+            picoRed = Math.max(picoRed, potencia);
+        }
+        resumen.append(String.format("   Pico de potencia de red: %.2f kW de %.2f kW%n", picoRed, limitePotencia));
+        resumen.append(String.format("   Red: %d nodos, %d arcos, %d fases | Tiempo de cálculo: %d ms%n", nodos,
+                arcos, fases, tiempoCalculoMs));
+        return resumen.toString();
+    }
+}
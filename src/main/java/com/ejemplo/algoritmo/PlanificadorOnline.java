@@ -0,0 +1,707 @@
+package com.ejemplo.algoritmo;
+
+import com.ejemplo.model.*;
+
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Planificador incremental (horizonte rodante) con las heurísticas del
+ * {@link ConstructivoAdaptativo}. En lugar de simular el día completo, recibe
+ * los eventos a medida que ocurren:
+ *
+ * <pre>
+ * PlanificadorOnline planificador = new PlanificadorOnline(testSystem);
+ * planificador.registrarLlegada(vehiculo);      // onArrival
+ * planificador.actualizarPrecio(tiempo, precio); // onPriceUpdate
+ * ResultadoPaso resultado = planificador.paso(ahora); // step
+ * </pre>
+ *
+ * El estado se mantiene de forma incremental: los vehículos en espera están
+ * ordenados por hora de salida, los cargadores libres están indexados por
+ * perfil de compatibilidad, la carga del transformador es una suma corriente y
+ * la carga de cada vehículo se liquida solo cuando termina, sale o se consulta
+ * la solución (con sumas acumuladas de precios). Cada paso cuesta
+ * O(eventos del paso + ventana) en lugar de O(vehículos).
+ *
+ * En cada paso se generan los candidatos de las heurísticas EDF,
+ * HighestPriority, Fairness, SJF y PriceReactive sobre una ventana de los
+ * vehículos con salida más próxima, y se elige el mejor con la misma
+ * evaluación multiobjetivo del constructivo.
+ */
+public class PlanificadorOnline {
+
+    public static final String FASE_PASO = "PasoOnline";
+
+    private static final double EPSILON_TIEMPO = 1e-9;
+
+    /**
+     * Parámetros del planificador
+     */
+    public static class ParametrosPlanificador {
+        public int ventanaMinima = 32; // Vehículos en espera evaluados como mínimo en cada paso
+        public int factorVentana = 4; // Vehículos evaluados por cargador libre
+
+        public static ParametrosPlanificador porDefecto() {
+            return new ParametrosPlanificador();
+        }
+
+        /**
+         * Ventana ilimitada: se evalúan todos los vehículos en espera, como en el
+         * constructivo por lotes
+         */
+        public static ParametrosPlanificador sinVentana() {
+            ParametrosPlanificador parametros = new ParametrosPlanificador();
+            parametros.ventanaMinima = Integer.MAX_VALUE;
+            return parametros;
+        }
+    }
+
+    /**
+     * Cambios producidos por una llamada a {@link #paso(double)}
+     */
+    public static class ResultadoPaso {
+        private final double tiempo;
+        private final Map<Integer, Integer> asignaciones = new LinkedHashMap<>(); // vehiculoId -> cargadorId
+        private final List<Integer> vehiculosCompletados = new ArrayList<>();
+        private final List<Integer> vehiculosRetirados = new ArrayList<>();
+        private String heuristicaSeleccionada;
+        private double cargaTransformador;
+        private long tiempoComputo; // en nanosegundos
+
+        ResultadoPaso(double tiempo) {
+            this.tiempo = tiempo;
+        }
+
+        public double getTiempo() {
+            return tiempo;
+        }
+
+        public Map<Integer, Integer> getAsignaciones() {
+            return asignaciones;
+        }
+
+        public List<Integer> getVehiculosCompletados() {
+            return vehiculosCompletados;
+        }
+
+        public List<Integer> getVehiculosRetirados() {
+            return vehiculosRetirados;
+        }
+
+        public String getHeuristicaSeleccionada() {
+            return heuristicaSeleccionada;
+        }
+
+        public double getCargaTransformador() {
+            return cargaTransformador;
+        }
+
+        public long getTiempoComputo() {
+            return tiempoComputo;
+        }
+    }
+
+    private final TestSystem sistema;
+    private final ParametrosPlanificador parametros;
+    private final ConstructivoAdaptativoAuxiliar auxiliar;
+    private final Map<String, Double> pesosEvaluacion;
+    private final double resolucionTiempo;
+    private final int limiteTransformador;
+    private final GridConstraints restriccionesRed;
+    private final MetricasFases metricas = new MetricasFases(false);
+
+    // Cargadores
+    private final List<Charger> cargadores;
+    private final Map<Integer, Integer> indiceCargador = new HashMap<>(); // cargadorId -> índice
+    private final boolean[] cargadorLibre;
+    private int cargadoresLibres;
+    private final Map<String, PerfilCompatibilidad> perfiles = new HashMap<>();
+
+    // Precios: mapa tiempo -> precio y sumas acumuladas de los pasos ya simulados
+    private final TreeMap<Double, Double> precios = new TreeMap<>();
+    private double sumaPrecios;
+    private double[] preciosAcumulados = new double[64]; // [k] = suma de precios de los pasos 1..k
+
+    // Vehículos
+    private final PriorityQueue<EstadoVehiculo> llegadasPendientes = new PriorityQueue<>(
+            Comparator.comparingDouble((EstadoVehiculo e) -> e.llegada().getArrivalTime())
+                    .thenComparingLong(e -> e.secuencia));
+    private final TreeSet<EstadoVehiculo> enEspera = new TreeSet<>(
+            Comparator.comparingDouble((EstadoVehiculo e) -> e.llegada().getDepartureTime())
+                    .thenComparingDouble(e -> e.llegada().getArrivalTime())
+                    .thenComparingLong(e -> e.secuencia));
+    private final PriorityQueue<EstadoVehiculo> salidas = new PriorityQueue<>(
+            Comparator.comparingDouble((EstadoVehiculo e) -> e.llegada().getDepartureTime())
+                    .thenComparingLong(e -> e.secuencia));
+    private final PriorityQueue<long[]> finalizaciones = new PriorityQueue<>(
+            Comparator.<long[]>comparingLong(f -> f[0]).thenComparingLong(f -> f[1])); // {paso, secuencia}
+    private final Map<Long, EstadoVehiculo> cargandoPorSecuencia = new HashMap<>();
+    private final Map<Integer, VehiculoSimulacion> vehiculosPorId = new HashMap<>();
+    private final Map<Integer, EstadoVehiculo> estadosPorId = new HashMap<>();
+    private final MetricasAcumuladas metricasFinalizados = new MetricasAcumuladas();
+    private final Map<String, Integer> contadorHeuristicas = new LinkedHashMap<>();
+    private long siguienteSecuencia;
+
+    // Reloj de simulación
+    private int pasoActual;
+    private double tiempoActual;
+    private double cargaTransformador;
+    private ResultadoPaso resultadoEnCurso;
+
+    public PlanificadorOnline(TestSystem testSystem) {
+        this(testSystem, ParametrosPlanificador.porDefecto());
+    }
+
+    /**
+     * Crea un planificador con la configuración del estacionamiento y los
+     * precios iniciales del TestSystem; sus llegadas se ignoran.
+     */
+    public PlanificadorOnline(TestSystem testSystem, ParametrosPlanificador parametros) {
+        this.parametros = parametros;
+        ParkingConfig parking = testSystem.getParkingConfig();
+        this.resolucionTiempo = parking.getTimeResolution();
+        this.limiteTransformador = parking.getTransformerLimit();
+        this.restriccionesRed = parking.getGridConstraints();
+        this.cargadores = new ArrayList<>(parking.getChargers());
+        this.cargadorLibre = new boolean[cargadores.size()];
+        for (int i = 0; i < cargadores.size(); i++) {
+            indiceCargador.putIfAbsent(cargadores.get(i).getChargerId(), i);
+            cargadorLibre[i] = true;
+        }
+        this.cargadoresLibres = cargadores.size();
+
+        // Los precios viven solo en el mapa ordenado: las actualizaciones no
+        // modifican la instancia y el auxiliar los consulta en O(log precios)
+        this.sistema = new TestSystem(testSystem.getTestNumber(), new ArrayList<>(), new ArrayList<>(), parking,
+                testSystem.getCarBrands(), testSystem.getChargerTypes());
+        if (testSystem.getEnergyPrices() != null) {
+            for (EnergyPrice precio : testSystem.getEnergyPrices()) {
+                actualizarPrecio(precio.getTime(), precio.getPrice());
+            }
+        }
+
+        this.auxiliar = new ConstructivoAdaptativoAuxiliar(sistema);
+        this.auxiliar.setVehiculosSimulacionPorId(vehiculosPorId);
+        this.auxiliar.setConsultaPrecios(this::precioEn);
+        this.pesosEvaluacion = ConstructivoAdaptativo.pesosEvaluacionPorDefecto();
+        for (String heuristica : new String[] { "EDF", "HighestPriority", "Fairness", "SJF", "PriceReactive" }) {
+            contadorHeuristicas.put(heuristica, 0);
+        }
+    }
+
+    /**
+     * Registra la llegada (o el anuncio de una llegada futura) de un vehículo.
+     * Se incorpora a la cola en el primer paso con tiempo >= su hora de llegada.
+     */
+    public void registrarLlegada(VehicleArrival vehiculo) {
+        if (vehiculosPorId.containsKey(vehiculo.getId())) {
+            throw new IllegalArgumentException("El vehículo " + vehiculo.getId() + " ya está registrado");
+        }
+        VehiculoSimulacion vehiculoSim = new VehiculoSimulacion(vehiculo);
+        ConstructivoAdaptativo.calcularPrioridadNormalizada(vehiculoSim);
+        EstadoVehiculo estado = new EstadoVehiculo(vehiculoSim, siguienteSecuencia++);
+        vehiculosPorId.put(vehiculo.getId(), vehiculoSim);
+        estadosPorId.put(vehiculo.getId(), estado);
+        llegadasPendientes.add(estado);
+    }
+
+    /**
+     * Actualiza (o añade) el precio de la energía en un instante, en
+     * O(log precios). Solo afecta a los pasos que aún no se han simulado.
+     */
+    public void actualizarPrecio(double tiempo, double precio) {
+        Double anterior = precios.put(tiempo, precio);
+        sumaPrecios += precio - (anterior != null ? anterior : 0.0);
+    }
+
+    /**
+     * Sustituye la curva de precios a partir de los instantes dados
+     */
+    public void actualizarPrecios(List<EnergyPrice> nuevosPrecios) {
+        for (EnergyPrice precio : nuevosPrecios) {
+            actualizarPrecio(precio.getTime(), precio.getPrice());
+        }
+    }
+
+    /**
+     * Avanza la simulación hasta {@code ahora} (en pasos de la resolución
+     * temporal), procesa cargas completadas y salidas, y decide las nuevas
+     * asignaciones para el instante actual.
+     *
+     * @return asignaciones hechas en este paso y vehículos que completaron la
+     *         carga o salieron desde la llamada anterior
+     */
+    public ResultadoPaso paso(double ahora) {
+        long inicio = metricas.marcaTiempo();
+        resultadoEnCurso = new ResultadoPaso(ahora);
+
+        while (tiempoActual + resolucionTiempo <= ahora + EPSILON_TIEMPO) {
+            avanzarUnPaso();
+        }
+        incorporarLlegadas();
+        decidirAsignaciones();
+
+        ResultadoPaso resultado = resultadoEnCurso;
+        resultadoEnCurso = null;
+        resultado.cargaTransformador = cargaTransformador;
+        resultado.tiempoComputo = metricas.registrar(FASE_PASO, inicio, 0L);
+        return resultado;
+    }
+
+    private void incorporarLlegadas() {
+        while (!llegadasPendientes.isEmpty()
+                && llegadasPendientes.peek().llegada().getArrivalTime() <= tiempoActual) {
+            EstadoVehiculo estado = llegadasPendientes.poll();
+            enEspera.add(estado);
+            salidas.add(estado);
+        }
+    }
+
+    /**
+     * Avanza un paso de tiempo: fija el precio del paso, liquida las cargas que
+     * se completan y procesa las salidas (en el mismo orden que el constructivo)
+     */
+    private void avanzarUnPaso() {
+        tiempoActual += resolucionTiempo;
+        pasoActual++;
+        if (pasoActual >= preciosAcumulados.length) {
+            preciosAcumulados = Arrays.copyOf(preciosAcumulados, preciosAcumulados.length * 2);
+        }
+        preciosAcumulados[pasoActual] = preciosAcumulados[pasoActual - 1] + precioEn(tiempoActual);
+        incorporarLlegadas();
+
+        while (!finalizaciones.isEmpty() && finalizaciones.peek()[0] <= pasoActual) {
+            EstadoVehiculo estado = cargandoPorSecuencia.get(finalizaciones.poll()[1]);
+            if (estado != null && estado.pasoFin <= pasoActual) {
+                liquidarCarga(estado, estado.pasoFin);
+                VehiculoSimulacion vehiculo = estado.vehiculo;
+                vehiculo.setEstado(VehiculoSimulacion.EstadoVehiculo.COMPLETADO);
+                vehiculo.setTiempoFinCarga(tiempoActual);
+                liberarCargador(estado);
+                resultadoEnCurso.vehiculosCompletados.add(vehiculo.getVehiculoOriginal().getId());
+            }
+        }
+
+        while (!salidas.isEmpty() && salidas.peek().vehiculo.debeSalir(tiempoActual)) {
+            EstadoVehiculo estado = salidas.poll();
+            VehiculoSimulacion vehiculo = estado.vehiculo;
+            if (vehiculo.getEstado() == VehiculoSimulacion.EstadoVehiculo.CARGANDO) {
+                liquidarCarga(estado, pasoActual);
+                liberarCargador(estado);
+            } else if (vehiculo.getEstado() == VehiculoSimulacion.EstadoVehiculo.ESPERANDO) {
+                enEspera.remove(estado);
+            }
+            vehiculo.setEstado(VehiculoSimulacion.EstadoVehiculo.RETIRADO);
+            vehiculo.setTiempoFinCarga(tiempoActual);
+
+            metricasFinalizados.agregar(vehiculo);
+            vehiculosPorId.remove(vehiculo.getVehiculoOriginal().getId());
+            estadosPorId.remove(vehiculo.getVehiculoOriginal().getId());
+            resultadoEnCurso.vehiculosRetirados.add(vehiculo.getVehiculoOriginal().getId());
+        }
+    }
+
+    /**
+     * Precio más cercano al instante dado (a igual distancia, el anterior)
+     */
+    private double precioEn(double tiempo) {
+        Map.Entry<Double, Double> anterior = precios.floorEntry(tiempo);
+        Map.Entry<Double, Double> posterior = precios.ceilingEntry(tiempo);
+        if (anterior == null && posterior == null) {
+            return 50.0; // Precio por defecto, como en el auxiliar
+        }
+        if (anterior == null) {
+            return posterior.getValue();
+        }
+        if (posterior == null) {
+            return anterior.getValue();
+        }
+        return tiempo - anterior.getKey() <= posterior.getKey() - tiempo ? anterior.getValue() : posterior.getValue();
+    }
+
+    // ---------------------------------------------------------------------
+    // Decisiones
+    // ---------------------------------------------------------------------
+
+    private void decidirAsignaciones() {
+        if (enEspera.isEmpty() || cargadoresLibres == 0) {
+            return;
+        }
+
+        // Ventana acotada de los vehículos con salida más próxima, en orden de llegada
+        long tamañoVentana = Math.max((long) parametros.ventanaMinima,
+                (long) parametros.factorVentana * cargadoresLibres);
+        List<EstadoVehiculo> ventana = new ArrayList<>();
+        for (EstadoVehiculo estado : enEspera) {
+            if (ventana.size() >= tamañoVentana) {
+                break;
+            }
+            if (!estado.vehiculo.debeSalir(tiempoActual)) {
+                ventana.add(estado);
+            }
+        }
+        if (ventana.isEmpty()) {
+            return;
+        }
+        ventana.sort(Comparator.comparingLong(e -> e.secuencia));
+
+        double precioActual = precioEn(tiempoActual);
+        double precioPromedio = precios.isEmpty() ? 50.0 : sumaPrecios / precios.size();
+        double ventajaPrecio = Math.max(0, (precioPromedio - precioActual) / precioPromedio);
+
+        List<AsignacionCandidata> candidatos = new ArrayList<>();
+        List<EstadoVehiculo> porSalida = new ArrayList<>(ventana);
+        porSalida.sort(Comparator.comparingDouble((EstadoVehiculo e) -> e.llegada().getDepartureTime())
+                .thenComparingDouble(e -> e.llegada().getArrivalTime()));
+        candidatos.add(crearAsignacion(porSalida, "EDF"));
+        candidatos.add(crearAsignacion(ordenar(ventana,
+                e -> auxiliar.calcularPrioridadVehiculo(e.vehiculo, tiempoActual, precioActual), true),
+                "HighestPriority"));
+        candidatos.add(crearAsignacion(ordenar(ventana,
+                e -> auxiliar.calcularPorcentajeCompletitud(e.vehiculo), false), "Fairness"));
+        candidatos.add(crearAsignacion(ordenar(ventana, this::estimarTiempoCargaCompleta, false), "SJF"));
+        candidatos.add(crearAsignacion(ordenar(ventana,
+                e -> auxiliar.calcularPuntuacionReactivaPrecio(e.vehiculo, ventajaPrecio, tiempoActual), true),
+                "PriceReactive"));
+
+        AsignacionCandidata mejor = null;
+        double mejorPuntuacion = Double.NEGATIVE_INFINITY;
+        for (AsignacionCandidata candidato : candidatos) {
+            double puntuacion = evaluarAsignacion(candidato);
+            candidato.setValorEvaluacion(puntuacion);
+            if (puntuacion > mejorPuntuacion) {
+                mejorPuntuacion = puntuacion;
+                mejor = candidato;
+            }
+        }
+        if (mejor == null) {
+            return;
+        }
+        contadorHeuristicas.merge(mejor.getNombreHeuristica(), 1, Integer::sum);
+        resultadoEnCurso.heuristicaSeleccionada = mejor.getNombreHeuristica();
+        aplicarAsignacion(mejor);
+    }
+
+    /**
+     * Ordena la ventana (estable) de mayor a menor o de menor a mayor criterio,
+     * calculando el criterio una sola vez por vehículo
+     */
+    private List<EstadoVehiculo> ordenar(List<EstadoVehiculo> ventana, ToDoubleFunction<EstadoVehiculo> criterio,
+            boolean descendente) {
+        Map<EstadoVehiculo, Double> claves = new HashMap<>();
+        for (EstadoVehiculo estado : ventana) {
+            claves.put(estado, criterio.applyAsDouble(estado));
+        }
+        Comparator<EstadoVehiculo> comparador = Comparator.comparingDouble(claves::get);
+        List<EstadoVehiculo> ordenados = new ArrayList<>(ventana);
+        ordenados.sort(descendente ? comparador.reversed() : comparador);
+        return ordenados;
+    }
+
+    private double estimarTiempoCargaCompleta(EstadoVehiculo estado) {
+        double potenciaMaxima = perfil(estado.vehiculo).potenciaMaxima;
+        if (potenciaMaxima == 0) {
+            return Double.MAX_VALUE;
+        }
+        double tasaEfectiva = Math.min(potenciaMaxima, estado.llegada().getMaxChargeRate());
+        return estado.vehiculo.getEnergiaRestante() / tasaEfectiva;
+    }
+
+    /**
+     * Asignación voraz: cada vehículo, en orden, recibe el cargador libre
+     * compatible con mejor puntuación que no se haya usado ya en esta asignación.
+     * Cada perfil avanza un cursor sobre sus cargadores libres, así que un
+     * cargador se visita a lo sumo una vez por perfil y no una vez por vehículo.
+     */
+    private AsignacionCandidata crearAsignacion(List<EstadoVehiculo> ordenados, String nombreHeuristica) {
+        Map<Integer, Integer> asignaciones = new HashMap<>();
+        Set<Integer> usados = new HashSet<>();
+        Map<PerfilCompatibilidad, Iterator<Integer>> cursores = new HashMap<>();
+        int numAsignaciones = Math.min(ordenados.size(), cargadoresLibres);
+
+        for (int i = 0; i < numAsignaciones; i++) {
+            EstadoVehiculo estado = ordenados.get(i);
+            Iterator<Integer> cursor = cursores.computeIfAbsent(perfil(estado.vehiculo), p -> p.libres.iterator());
+            while (cursor.hasNext()) {
+                Integer indice = cursor.next();
+                if (usados.add(indice)) {
+                    asignaciones.put(estado.llegada().getId(), cargadores.get(indice).getChargerId());
+                    break;
+                }
+            }
+        }
+        return new AsignacionCandidata(nombreHeuristica, asignaciones);
+    }
+
+    /**
+     * Misma evaluación multiobjetivo que el constructivo
+     */
+    private double evaluarAsignacion(AsignacionCandidata asignacion) {
+        if (asignacion.getAsignaciones().isEmpty()) {
+            return 0.0;
+        }
+        double costoEnergia = auxiliar.calcularCostoEnergia(asignacion, tiempoActual);
+        double valorCargaEntregada = auxiliar.calcularValorCargaEntregada(asignacion, tiempoActual);
+        double equidad = auxiliar.calcularEquidad(asignacion);
+        double eficienciaCargadores = auxiliar.calcularEficienciaCargadores(asignacion);
+
+        return (costoEnergia * pesosEvaluacion.get("costo_energia")) +
+                (valorCargaEntregada * pesosEvaluacion.get("valor_carga_entregada")) +
+                (equidad * pesosEvaluacion.get("equidad")) +
+                (eficienciaCargadores * pesosEvaluacion.get("eficiencia_cargadores"));
+    }
+
+    private void aplicarAsignacion(AsignacionCandidata asignacion) {
+        for (Map.Entry<Integer, Integer> entry : asignacion.getAsignaciones().entrySet()) {
+            VehiculoSimulacion vehiculo = vehiculosPorId.get(entry.getKey());
+            Integer indice = indiceCargador.get(entry.getValue());
+            if (vehiculo == null || indice == null || !cargadorLibre[indice]) {
+                continue;
+            }
+            Charger cargador = cargadores.get(indice);
+            double potencia = Math.min(cargador.getPower(), vehiculo.getVehiculoOriginal().getMaxChargeRate());
+            if (!esFactible(vehiculo, potencia)) {
+                continue;
+            }
+
+            EstadoVehiculo estado = estadosPorId.get(entry.getKey());
+            enEspera.remove(estado);
+            vehiculo.setCargadorAsignado(cargador.getChargerId());
+            vehiculo.setEstado(VehiculoSimulacion.EstadoVehiculo.CARGANDO);
+            vehiculo.setTiempoInicioCarga(tiempoActual);
+            ocuparCargador(indice);
+            iniciarCarga(estado, cargador, potencia);
+            resultadoEnCurso.asignaciones.put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Mismas comprobaciones que el constructivo, con la carga del transformador
+     * mantenida como suma corriente (la compatibilidad la garantiza el perfil)
+     */
+    private boolean esFactible(VehiculoSimulacion vehiculo, double potenciaAdicional) {
+        if (vehiculo.debeSalir(tiempoActual)
+                || vehiculo.getVehiculoOriginal().getDepartureTime() - tiempoActual <= 0) {
+            return false;
+        }
+        if (cargaTransformador + potenciaAdicional > limiteTransformador) {
+            return false;
+        }
+        return restriccionesRed == null
+                || (cargaTransformador + potenciaAdicional) / 3.0 <= restriccionesRed.getMaxPowerPerPhase();
+    }
+
+    // ---------------------------------------------------------------------
+    // Carga diferida
+    // ---------------------------------------------------------------------
+
+    /**
+     * Programa la carga desde el paso actual: calcula la energía por paso y el
+     * paso en que se completará, sin tocar el vehículo en cada paso
+     */
+    private void iniciarCarga(EstadoVehiculo estado, Charger cargador, double potencia) {
+        VehicleArrival v = estado.llegada();
+        estado.cargador = cargador;
+        estado.potencia = potencia;
+        estado.pasoInicio = pasoActual;
+        estado.energiaPorPaso = potencia * resolucionTiempo * cargador.getEfficiency() * v.getEfficiency();
+        estado.pasoFin = pasoFinCarga(estado.vehiculo.getEnergiaActual(), estado.energiaPorPaso,
+                v.getRequiredEnergy());
+        cargaTransformador += potencia;
+        cargandoPorSecuencia.put(estado.secuencia, estado);
+        if (estado.pasoFin != Long.MAX_VALUE) {
+            finalizaciones.add(new long[] { estado.pasoFin, estado.secuencia });
+        }
+    }
+
+    private long pasoFinCarga(double energiaInicial, double energiaPorPaso, double energiaRequerida) {
+        if (energiaPorPaso <= 0) {
+            return Long.MAX_VALUE;
+        }
+        long pasos = Math.max(1, (long) Math.ceil((energiaRequerida - energiaInicial) / energiaPorPaso));
+        while (pasos > 1 && energiaInicial + (pasos - 1) * energiaPorPaso >= energiaRequerida) {
+            pasos--;
+        }
+        while (energiaInicial + pasos * energiaPorPaso < energiaRequerida) {
+            pasos++;
+        }
+        return pasoActual + pasos;
+    }
+
+    /**
+     * Aplica al vehículo la energía y los costes de los pasos cargados hasta
+     * {@code hastaPaso} (equivale a llamar a actualizarCarga en cada paso)
+     */
+    private void liquidarCarga(EstadoVehiculo estado, long hastaPaso) {
+        int pasos = (int) (hastaPaso - estado.pasoInicio);
+        if (pasos <= 0) {
+            return;
+        }
+        VehiculoSimulacion vehiculo = estado.vehiculo;
+        double sumaPreciosTramo = preciosAcumulados[(int) hastaPaso] - preciosAcumulados[estado.pasoInicio];
+        vehiculo.setEnergiaActual(vehiculo.getEnergiaActual() + pasos * estado.energiaPorPaso);
+        vehiculo.setCostoEnergiaAcumulado(vehiculo.getCostoEnergiaAcumulado()
+                + estado.potencia * resolucionTiempo * sumaPreciosTramo);
+        vehiculo.setCostoOperacionAcumulado(vehiculo.getCostoOperacionAcumulado()
+                + pasos * resolucionTiempo * estado.cargador.getOperationCostPerHour());
+        if (vehiculo.getEnergiaActual() >= vehiculo.getVehiculoOriginal().getRequiredEnergy()) {
+            vehiculo.setCargaCompleta(true);
+        }
+        estado.pasoInicio = (int) hastaPaso;
+    }
+
+    private void liberarCargador(EstadoVehiculo estado) {
+        cargaTransformador -= estado.potencia;
+        cargandoPorSecuencia.remove(estado.secuencia);
+        Integer indice = indiceCargador.get(estado.cargador.getChargerId());
+        cargadorLibre[indice] = true;
+        cargadoresLibres++;
+        for (PerfilCompatibilidad perfil : perfiles.values()) {
+            if (perfil.puntuaciones[indice] >= 0) {
+                perfil.libres.add(indice);
+            }
+        }
+    }
+
+    private void ocuparCargador(int indice) {
+        cargadorLibre[indice] = false;
+        cargadoresLibres--;
+        for (PerfilCompatibilidad perfil : perfiles.values()) {
+            perfil.libres.remove(indice);
+        }
+    }
+
+    /**
+     * Perfil de compatibilidad del vehículo; se construye una vez por
+     * combinación de marca y potencia máxima (O(cargadores))
+     */
+    private PerfilCompatibilidad perfil(VehiculoSimulacion vehiculo) {
+        VehicleArrival v = vehiculo.getVehiculoOriginal();
+        String clave = v.getBrand() + "|" + v.getMaxChargeRate();
+        PerfilCompatibilidad perfil = perfiles.get(clave);
+        if (perfil == null) {
+            perfil = new PerfilCompatibilidad(vehiculo);
+            perfiles.put(clave, perfil);
+        }
+        return perfil;
+    }
+
+    private final class PerfilCompatibilidad {
+        private final double[] puntuaciones; // -1 si el cargador no es compatible
+        private final TreeSet<Integer> libres; // Índices libres por puntuación descendente
+        private double potenciaMaxima;
+
+        PerfilCompatibilidad(VehiculoSimulacion vehiculo) {
+            puntuaciones = new double[cargadores.size()];
+            for (int i = 0; i < cargadores.size(); i++) {
+                Charger cargador = cargadores.get(i);
+                if (auxiliar.esCompatible(vehiculo, cargador)) {
+                    puntuaciones[i] = auxiliar.evaluarCompatibilidadCargador(vehiculo, cargador);
+                    potenciaMaxima = Math.max(potenciaMaxima, cargador.getPower());
+                } else {
+                    puntuaciones[i] = -1;
+                }
+            }
+            libres = new TreeSet<>((a, b) -> {
+                int comparacion = Double.compare(puntuaciones[b], puntuaciones[a]);
+                return comparacion != 0 ? comparacion : Integer.compare(a, b);
+            });
+            for (int i = 0; i < cargadores.size(); i++) {
+                if (puntuaciones[i] >= 0 && cargadorLibre[i]) {
+                    libres.add(i);
+                }
+            }
+        }
+    }
+
+    private static final class EstadoVehiculo {
+        private final VehiculoSimulacion vehiculo;
+        private final long secuencia; // Orden de registro
+        private Charger cargador;
+        private double potencia;
+        private double energiaPorPaso;
+        private int pasoInicio; // Último paso liquidado
+        private long pasoFin; // Paso en que se completa la carga
+
+        EstadoVehiculo(VehiculoSimulacion vehiculo, long secuencia) {
+            this.vehiculo = vehiculo;
+            this.secuencia = secuencia;
+        }
+
+        VehicleArrival llegada() {
+            return vehiculo.getVehiculoOriginal();
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Consultas
+    // ---------------------------------------------------------------------
+
+    /**
+     * Solución con las métricas acumuladas hasta ahora. Las cargas en curso se
+     * liquidan hasta el paso actual.
+     */
+    public SolucionConstructiva getSolucion() {
+        MetricasAcumuladas totales = metricasFinalizados.copia();
+        for (EstadoVehiculo estado : cargandoPorSecuencia.values()) {
+            liquidarCarga(estado, pasoActual);
+        }
+        for (VehiculoSimulacion vehiculo : vehiculosPorId.values()) {
+            if (vehiculo.getEstado() != VehiculoSimulacion.EstadoVehiculo.ESPERANDO
+                    || vehiculo.haLlegado(tiempoActual)) {
+                totales.agregar(vehiculo);
+            }
+        }
+        SolucionConstructiva solucion = new SolucionConstructiva();
+        totales.completarSolucion(solucion);
+        solucion.setUsoHeuristicas(new HashMap<>(contadorHeuristicas));
+        solucion.setHeuristicaMasEfectiva(contadorHeuristicas.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse("Ninguna"));
+        solucion.setMetricasFases(metricas);
+        return solucion;
+    }
+
+    /**
+     * true si no quedan llegadas pendientes ni vehículos esperando o cargando
+     */
+    public boolean estaInactivo() {
+        return llegadasPendientes.isEmpty() && enEspera.isEmpty() && cargandoPorSecuencia.isEmpty();
+    }
+
+    public double getTiempoActual() {
+        return tiempoActual;
+    }
+
+    public double getCargaTransformador() {
+        return cargaTransformador;
+    }
+
+    public int getCargadoresLibres() {
+        return cargadoresLibres;
+    }
+
+    public int getVehiculosEnEspera() {
+        return enEspera.size();
+    }
+
+    /**
+     * Vehículos registrados que aún no han salido
+     */
+    public int getVehiculosEnMemoria() {
+        return vehiculosPorId.size();
+    }
+
+    public Map<String, Integer> getContadorHeuristicas() {
+        return contadorHeuristicas;
+    }
+
+    /**
+     * Latencia de cada llamada a {@link #paso(double)} (fase {@link #FASE_PASO})
+     */
+    public MetricasFases getMetricas() {
+        return metricas;
+    }
+}
@@ -0,0 +1,488 @@
+package com.ejemplo.algoritmo;
+
+import com.ejemplo.model.TestSystem;
+import com.ejemplo.model.VehicleArrival;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Estado completo de un Scatter Search entre dos iteraciones y su formato
+ * binario comprimido con gzip. Los vehículos se referencian por ID del
+ * TestSystem y se escriben una sola vez aunque los compartan varias
+ * soluciones (clonar() comparte la lista y sus objetos). El generador
+ * aleatorio se guarda con su estado, así que reanudar reproduce exactamente la
+ * ejecución sin interrupción.
+ *
+ * No se guardan los logs ni las métricas por fase de las soluciones.
+ */
+final class PuntoControlScatterSearch {
+    private static final int MAGIA = 0x53534350; // "SSCP"
+    private static final int VERSION = 2; // 2: brechaEnergiaParada en los parámetros
+    private static final int MAXIMO_BYTES_ALEATORIO = 1024;
+
+    // Al leer el generador solo se acepta java.util.Random: un punto de control
+    // manipulado no puede instanciar otras clases serializables
+    private static final ObjectInputFilter FILTRO_ALEATORIO = ObjectInputFilter.Config.createFilter(
+            "maxdepth=1;maxrefs=8;maxbytes=" + MAXIMO_BYTES_ALEATORIO + ";java.util.Random;!*");
+
+    ScatterSearch.ParametrosScatterSearch parametros;
+    SolucionConstructiva solucionInicial;
+    List<SolucionConstructiva> conjuntoReferencia;
+    List<SolucionConstructiva> frentePareto; // Miembros en orden de inserción
+    SolucionConstructiva mejorSolucionGlobal;
+    Map<String, Integer> contadorOperaciones;
+    List<ScatterSearch.IteracionScatter> historialIteraciones;
+    int iteracionActual;
+    int iteracionesSinMejora;
+    long tiempoEjecucionMs; // Tiempo consumido antes del punto de control
+    Random aleatorio;
+    DatosTemporales datosTemporales;
+
+    /**
+     * Escribe en un archivo temporal y lo mueve sobre el destino, de modo que
+     * una interrupción a mitad de escritura conserva el punto de control anterior
+     */
+    void guardar(Path archivo, TestSystem testSystem) throws IOException {
+        Path padre = archivo.toAbsolutePath().getParent();
+        if (padre != null) {
+            Files.createDirectories(padre);
+        }
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        try (DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(temporal), 1 << 16), 1 << 16))) {
+            escribir(salida, testSystem);
+        }
+        try {
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    static PuntoControlScatterSearch cargar(Path archivo, TestSystem testSystem) throws IOException {
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(archivo), 1 << 16), 1 << 16))) {
+            return leer(entrada, testSystem);
+        }
+    }
+
+    private void escribir(DataOutputStream salida, TestSystem testSystem) throws IOException {
+        salida.writeInt(MAGIA);
+        salida.writeInt(VERSION);
+        salida.writeInt(testSystem.getTestNumber());
+        salida.writeInt(testSystem.getArrivals().size());
+
+        escribirParametros(salida, parametros);
+        salida.writeInt(iteracionActual);
+        salida.writeInt(iteracionesSinMejora);
+        salida.writeLong(tiempoEjecucionMs);
+
+        ByteArrayOutputStream bytesAleatorio = new ByteArrayOutputStream();
+        try (ObjectOutputStream objeto = new ObjectOutputStream(bytesAleatorio)) {
+            objeto.writeObject(aleatorio);
+        }
+        salida.writeInt(bytesAleatorio.size());
+        bytesAleatorio.writeTo(salida);
+
+        salida.writeInt(contadorOperaciones.size());
+        for (Map.Entry<String, Integer> contador : contadorOperaciones.entrySet()) {
+            salida.writeUTF(contador.getKey());
+            salida.writeInt(contador.getValue());
+        }
+
+        salida.writeInt(historialIteraciones.size());
+        for (ScatterSearch.IteracionScatter iteracion : historialIteraciones) {
+            salida.writeInt(iteracion.getNumero());
+            salida.writeDouble(iteracion.getMejorValor());
+            salida.writeBoolean(iteracion.isMejoroConjunto());
+            salida.writeInt(iteracion.getTamañoConjunto());
+        }
+
+        escribirDatosTemporales(salida, datosTemporales);
+
+        // Tablas de vehículos y de listas de vehículos compartidas por identidad
+        Map<VehiculoSimulacion, Integer> vehiculos = new IdentityHashMap<>();
+        Map<List<VehiculoSimulacion>, Integer> listas = new IdentityHashMap<>();
+        List<SolucionConstructiva> todas = new ArrayList<>();
+        todas.add(solucionInicial);
+        todas.add(mejorSolucionGlobal);
+        todas.addAll(conjuntoReferencia);
+        todas.addAll(frentePareto);
+        for (SolucionConstructiva solucion : todas) {
+            List<VehiculoSimulacion> lista = solucion.getEstadoFinalVehiculos();
+            if (lista != null && !listas.containsKey(lista)) {
+                listas.put(lista, listas.size());
+                for (VehiculoSimulacion vehiculo : lista) {
+                    vehiculos.putIfAbsent(vehiculo, vehiculos.size());
+                }
+            }
+        }
+
+        salida.writeInt(vehiculos.size());
+        VehiculoSimulacion[] porIndice = new VehiculoSimulacion[vehiculos.size()];
+        vehiculos.forEach((vehiculo, indice) -> porIndice[indice] = vehiculo);
+        for (VehiculoSimulacion vehiculo : porIndice) {
+            escribirVehiculo(salida, vehiculo);
+        }
+        salida.writeInt(listas.size());
+        for (List<VehiculoSimulacion> lista : listasEnOrden(listas)) {
+            salida.writeInt(lista.size());
+            for (VehiculoSimulacion vehiculo : lista) {
+                salida.writeInt(vehiculos.get(vehiculo));
+            }
+        }
+
+        escribirSolucion(salida, solucionInicial, listas);
+        escribirSolucion(salida, mejorSolucionGlobal, listas);
+        salida.writeInt(conjuntoReferencia.size());
+        for (SolucionConstructiva solucion : conjuntoReferencia) {
+            escribirSolucion(salida, solucion, listas);
+        }
+        salida.writeInt(frentePareto.size());
+        for (SolucionConstructiva solucion : frentePareto) {
+            escribirSolucion(salida, solucion, listas);
+        }
+    }
+
+    private static List<List<VehiculoSimulacion>> listasEnOrden(Map<List<VehiculoSimulacion>, Integer> listas) {
+        List<List<VehiculoSimulacion>> enOrden = new ArrayList<>(Collections.nCopies(listas.size(), null));
+        listas.forEach((lista, indice) -> enOrden.set(indice, lista));
+        return enOrden;
+    }
+
+    /**
+     * Restaura el generador aleatorio serializado con el filtro que solo
+     * admite java.util.Random
+     */
+    static Random leerAleatorio(byte[] bytes) throws IOException {
+        try (ObjectInputStream objeto = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            objeto.setObjectInputFilter(FILTRO_ALEATORIO);
+            Object leido = objeto.readObject();
+            if (leido == null || leido.getClass() != Random.class) {
+                throw new IOException("El estado del generador aleatorio no es un java.util.Random");
+            }
+            return (Random) leido;
+        } catch (ClassNotFoundException | InvalidClassException e) {
+            throw new IOException("Estado del generador aleatorio ilegible o no permitido", e);
+        }
+    }
+
+    private static PuntoControlScatterSearch leer(DataInputStream entrada, TestSystem testSystem) throws IOException {
+        if (entrada.readInt() != MAGIA) {
+            throw new IOException("El archivo no es un punto de control de Scatter Search");
+        }
+        int version = entrada.readInt();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Versión de punto de control no soportada: " + version);
+        }
+        int numeroInstancia = entrada.readInt();
+        int numeroLlegadas = entrada.readInt();
+        if (numeroInstancia != testSystem.getTestNumber() || numeroLlegadas != testSystem.getArrivals().size()) {
+            throw new IOException(String.format(
+                    "El punto de control es de la instancia %d (%d llegadas), no de la %d (%d llegadas)",
+                    numeroInstancia, numeroLlegadas, testSystem.getTestNumber(), testSystem.getArrivals().size()));
+        }
+
+        PuntoControlScatterSearch punto = new PuntoControlScatterSearch();
+        punto.parametros = leerParametros(entrada, version);
+        punto.iteracionActual = entrada.readInt();
+        punto.iteracionesSinMejora = entrada.readInt();
+        punto.tiempoEjecucionMs = entrada.readLong();
+
+        int longitudAleatorio = entrada.readInt();
+        if (longitudAleatorio <= 0 || longitudAleatorio > MAXIMO_BYTES_ALEATORIO) {
+            throw new IOException("Tamaño inválido del estado del generador aleatorio: " + longitudAleatorio);
+        }
+        byte[] bytesAleatorio = new byte[longitudAleatorio];
+        entrada.readFully(bytesAleatorio);
+        punto.aleatorio = leerAleatorio(bytesAleatorio);
+
+        int contadores = entrada.readInt();
+        punto.contadorOperaciones = new HashMap<>();
+        for (int i = 0; i < contadores; i++) {
+            punto.contadorOperaciones.put(entrada.readUTF(), entrada.readInt());
+        }
+
+        int iteraciones = entrada.readInt();
+        punto.historialIteraciones = new ArrayList<>(iteraciones);
+        for (int i = 0; i < iteraciones; i++) {
+            ScatterSearch.IteracionScatter iteracion = new ScatterSearch.IteracionScatter(entrada.readInt());
+            iteracion.setMejorValor(entrada.readDouble());
+            iteracion.setMejoroConjunto(entrada.readBoolean());
+            iteracion.setTamañoConjunto(entrada.readInt());
+            punto.historialIteraciones.add(iteracion);
+        }
+
+        punto.datosTemporales = leerDatosTemporales(entrada, testSystem);
+
+        Map<Integer, VehicleArrival> llegadasPorId = new HashMap<>();
+        for (VehicleArrival llegada : testSystem.getArrivals()) {
+            llegadasPorId.put(llegada.getId(), llegada);
+        }
+        VehiculoSimulacion[] vehiculos = new VehiculoSimulacion[entrada.readInt()];
+        for (int i = 0; i < vehiculos.length; i++) {
+            vehiculos[i] = leerVehiculo(entrada, llegadasPorId);
+        }
+        List<List<VehiculoSimulacion>> listas = new ArrayList<>();
+        int numeroListas = entrada.readInt();
+        for (int i = 0; i < numeroListas; i++) {
+            int tamaño = entrada.readInt();
+            List<VehiculoSimulacion> lista = new ArrayList<>(tamaño);
+            for (int j = 0; j < tamaño; j++) {
+                lista.add(vehiculos[entrada.readInt()]);
+            }
+            listas.add(lista);
+        }
+
+        punto.solucionInicial = leerSolucion(entrada, listas);
+        punto.mejorSolucionGlobal = leerSolucion(entrada, listas);
+        int referencia = entrada.readInt();
+        punto.conjuntoReferencia = new ArrayList<>(referencia);
+        for (int i = 0; i < referencia; i++) {
+            punto.conjuntoReferencia.add(leerSolucion(entrada, listas));
+        }
+        int frente = entrada.readInt();
+        punto.frentePareto = new ArrayList<>(frente);
+        for (int i = 0; i < frente; i++) {
+            punto.frentePareto.add(leerSolucion(entrada, listas));
+        }
+        return punto;
+    }
+
+    private static void escribirParametros(DataOutputStream salida, ScatterSearch.ParametrosScatterSearch p)
+            throws IOException {
+        salida.writeInt(p.tamañoConjuntoReferencia);
+        salida.writeInt(p.tamañoConjuntoCalidad);
+        salida.writeInt(p.tamañoConjuntoDiverso);
+        salida.writeInt(p.maxIteracionesTotal);
+        salida.writeInt(p.maxIteracionesSinMejora);
+        salida.writeInt(p.maxEjecucionesDiversificacion);
+        salida.writeInt(p.maxIteracionesBusquedaLocal);
+        salida.writeDouble(p.umbralSimilitud);
+        salida.writeDouble(p.umbralDiversidad);
+        salida.writeInt(p.capacidadFrentePareto);
+        salida.writeDouble(p.brechaEnergiaParada);
+    }
+
+    private static ScatterSearch.ParametrosScatterSearch leerParametros(DataInputStream entrada, int version)
+            throws IOException {
+        ScatterSearch.ParametrosScatterSearch p = new ScatterSearch.ParametrosScatterSearch();
+        p.tamañoConjuntoReferencia = entrada.readInt();
+        p.tamañoConjuntoCalidad = entrada.readInt();
+        p.tamañoConjuntoDiverso = entrada.readInt();
+        p.maxIteracionesTotal = entrada.readInt();
+        p.maxIteracionesSinMejora = entrada.readInt();
+        p.maxEjecucionesDiversificacion = entrada.readInt();
+        p.maxIteracionesBusquedaLocal = entrada.readInt();
+        p.umbralSimilitud = entrada.readDouble();
+        p.umbralDiversidad = entrada.readDouble();
+        p.capacidadFrentePareto = entrada.readInt();
+        if (version >= 2) {
+            p.brechaEnergiaParada = entrada.readDouble();
+        }
+        return p;
+    }
+
+    private static void escribirDatosTemporales(DataOutputStream salida, DatosTemporales datos) throws IOException {
+        salida.writeInt(datos.getTamaño());
+        for (int i = 0; i < datos.getTamaño(); i++) {
+            salida.writeDouble(datos.getTiempo(i));
+            for (DatosTemporales.Serie serie : DatosTemporales.Serie.values()) {
+                salida.writeDouble(datos.getValor(serie, i));
+            }
+        }
+    }
+
+    private static DatosTemporales leerDatosTemporales(DataInputStream entrada, TestSystem testSystem)
+            throws IOException {
+        DatosTemporales datos = new DatosTemporales(testSystem.getParkingConfig().getTransformerLimit(),
+                testSystem.getParkingConfig().getChargers().size());
+        int puntos = entrada.readInt();
+        double[] valores = new double[DatosTemporales.Serie.values().length];
+        for (int i = 0; i < puntos; i++) {
+            double tiempo = entrada.readDouble();
+            for (int s = 0; s < valores.length; s++) {
+                valores[s] = entrada.readDouble();
+            }
+            datos.registrarPunto(tiempo,
+                    valores[DatosTemporales.Serie.CARGA_TRANSFORMADOR.ordinal()],
+                    (int) valores[DatosTemporales.Serie.CARGADORES_OCUPADOS.ordinal()],
+                    (int) valores[DatosTemporales.Serie.VEHICULOS_CARGANDO.ordinal()],
+                    (int) valores[DatosTemporales.Serie.VEHICULOS_ESPERANDO.ordinal()],
+                    (int) valores[DatosTemporales.Serie.VEHICULOS_COMPLETADOS.ordinal()],
+                    valores[DatosTemporales.Serie.ENERGIA_TOTAL_ENTREGADA.ordinal()]);
+        }
+        return datos;
+    }
+
+    private static void escribirVehiculo(DataOutputStream salida, VehiculoSimulacion v) throws IOException {
+        salida.writeInt(v.getVehiculoOriginal().getId());
+        salida.writeByte(v.getEstado().ordinal());
+        salida.writeDouble(v.getEnergiaActual());
+        salida.writeInt(v.getCargadorAsignado() != null ? v.getCargadorAsignado() : -1);
+        salida.writeDouble(v.getTiempoInicioEspera());
+        salida.writeDouble(v.getTiempoInicioCarga());
+        salida.writeDouble(v.getTiempoFinCarga());
+        salida.writeBoolean(v.isCargaCompleta());
+        salida.writeDouble(v.getCostoEnergiaAcumulado());
+        salida.writeDouble(v.getCostoOperacionAcumulado());
+        salida.writeDouble(v.getUrgenciaCarga());
+        salida.writeDouble(v.getPrioridadNormalizada());
+        salida.writeInt(v.getNumeroPreempciones());
+        salida.writeInt(v.getHistorialCargadores().size());
+        for (VehiculoSimulacion.HistorialCargador historial : v.getHistorialCargadores()) {
+            salida.writeInt(historial.getCargadorId());
+            salida.writeDouble(historial.getTiempoInicio());
+            salida.writeDouble(historial.getTiempoFin());
+            escribirTextoOpcional(salida, historial.getRazonCambio());
+            salida.writeBoolean(historial.isFuePreemptado());
+        }
+    }
+
+    private static VehiculoSimulacion leerVehiculo(DataInputStream entrada, Map<Integer, VehicleArrival> llegadasPorId)
+            throws IOException {
+        int id = entrada.readInt();
+        VehicleArrival llegada = llegadasPorId.get(id);
+        if (llegada == null) {
+            throw new IOException("El punto de control referencia un vehículo inexistente: " + id);
+        }
+        VehiculoSimulacion v = new VehiculoSimulacion(llegada);
+        v.setEstado(VehiculoSimulacion.EstadoVehiculo.values()[entrada.readByte()]);
+        v.setEnergiaActual(entrada.readDouble());
+        int cargador = entrada.readInt();
+        v.setCargadorAsignado(cargador >= 0 ? cargador : null);
+        v.setTiempoInicioEspera(entrada.readDouble());
+        v.setTiempoInicioCarga(entrada.readDouble());
+        v.setTiempoFinCarga(entrada.readDouble());
+        v.setCargaCompleta(entrada.readBoolean());
+        v.setCostoEnergiaAcumulado(entrada.readDouble());
+        v.setCostoOperacionAcumulado(entrada.readDouble());
+        v.setUrgenciaCarga(entrada.readDouble());
+        v.setPrioridadNormalizada(entrada.readDouble());
+        v.setNumeroPreempciones(entrada.readInt());
+        int historiales = entrada.readInt();
+        for (int i = 0; i < historiales; i++) {
+            int cargadorId = entrada.readInt();
+            double tiempoInicio = entrada.readDouble();
+            double tiempoFin = entrada.readDouble();
+            VehiculoSimulacion.HistorialCargador historial = new VehiculoSimulacion.HistorialCargador(cargadorId,
+                    tiempoInicio, leerTextoOpcional(entrada));
+            historial.setTiempoFin(tiempoFin);
+            historial.setFuePreemptado(entrada.readBoolean());
+            v.getHistorialCargadores().add(historial);
+        }
+        return v;
+    }
+
+    private static void escribirSolucion(DataOutputStream salida, SolucionConstructiva s,
+            Map<List<VehiculoSimulacion>, Integer> listas) throws IOException {
+        escribirResumenSolucion(salida, s);
+        List<VehiculoSimulacion> vehiculos = s.getEstadoFinalVehiculos();
+        salida.writeInt(vehiculos != null ? listas.get(vehiculos) : -1);
+    }
+
+    private static SolucionConstructiva leerSolucion(DataInputStream entrada, List<List<VehiculoSimulacion>> listas)
+            throws IOException {
+        SolucionConstructiva s = leerResumenSolucion(entrada);
+        int lista = entrada.readInt();
+        if (lista >= 0) {
+            s.setEstadoFinalVehiculos(listas.get(lista));
+        }
+        return s;
+    }
+
+    /**
+     * Métricas, uso de heurísticas y asignaciones de una solución, sin el
+     * estado final de los vehículos. También es el resumen que los
+     * trabajadores (TrabajadorScatterSearch) devuelven al
+     * CoordinadorScatterSearch.
+     */
+    static void escribirResumenSolucion(DataOutputStream salida, SolucionConstructiva s) throws IOException {
+        salida.writeDouble(s.getCostoTotalOperacion());
+        salida.writeDouble(s.getValorCargaEntregada());
+        salida.writeDouble(s.getEnergiaTotalEntregada());
+        salida.writeDouble(s.getEnergiaTotalRequerida());
+        salida.writeDouble(s.getPorcentajeCargaEntregado());
+        salida.writeDouble(s.getTiempoTotalEjecucion());
+        salida.writeInt(s.getVehiculosAtendidos());
+        salida.writeInt(s.getVehiculosCompletados());
+        salida.writeDouble(s.getPorcentajeCompletitud());
+        salida.writeDouble(s.getCostoEnergia());
+        salida.writeDouble(s.getPenalizacionRetrasos());
+        salida.writeDouble(s.getEficienciaPromedio());
+        salida.writeDouble(s.getTiempoEsperaPromedio());
+        salida.writeDouble(s.getUtilizacionCargadores());
+        escribirTextoOpcional(salida, s.getHeuristicaMasEfectiva());
+
+        Map<String, Integer> usoHeuristicas = s.getUsoHeuristicas();
+        salida.writeInt(usoHeuristicas != null ? usoHeuristicas.size() : -1);
+        if (usoHeuristicas != null) {
+            for (Map.Entry<String, Integer> uso : usoHeuristicas.entrySet()) {
+                salida.writeUTF(uso.getKey());
+                salida.writeInt(uso.getValue());
+            }
+        }
+
+        Map<Integer, Integer> asignaciones = s.getAsignacionesFinal();
+        salida.writeInt(asignaciones != null ? asignaciones.size() : -1);
+        if (asignaciones != null) {
+            for (Map.Entry<Integer, Integer> asignacion : asignaciones.entrySet()) {
+                salida.writeInt(asignacion.getKey());
+                salida.writeInt(asignacion.getValue());
+            }
+        }
+    }
+
+    static SolucionConstructiva leerResumenSolucion(DataInputStream entrada) throws IOException {
+        SolucionConstructiva s = new SolucionConstructiva();
+        s.setCostoTotalOperacion(entrada.readDouble());
+        s.setValorCargaEntregada(entrada.readDouble());
+        s.setEnergiaTotalEntregada(entrada.readDouble());
+        s.setEnergiaTotalRequerida(entrada.readDouble());
+        s.setPorcentajeCargaEntregado(entrada.readDouble());
+        s.setTiempoTotalEjecucion(entrada.readDouble());
+        s.setVehiculosAtendidos(entrada.readInt());
+        s.setVehiculosCompletados(entrada.readInt());
+        s.setPorcentajeCompletitud(entrada.readDouble());
+        s.setCostoEnergia(entrada.readDouble());
+        s.setPenalizacionRetrasos(entrada.readDouble());
+        s.setEficienciaPromedio(entrada.readDouble());
+        s.setTiempoEsperaPromedio(entrada.readDouble());
+        s.setUtilizacionCargadores(entrada.readDouble());
+        s.setHeuristicaMasEfectiva(leerTextoOpcional(entrada));
+
+        int usos = entrada.readInt();
+        if (usos >= 0) {
+            Map<String, Integer> usoHeuristicas = new HashMap<>();
+            for (int i = 0; i < usos; i++) {
+                usoHeuristicas.put(entrada.readUTF(), entrada.readInt());
+            }
+            s.setUsoHeuristicas(usoHeuristicas);
+        }
+
+        int asignaciones = entrada.readInt();
+        if (asignaciones >= 0) {
+            Map<Integer, Integer> asignacionesFinal = new HashMap<>();
+            for (int i = 0; i < asignaciones; i++) {
+                asignacionesFinal.put(entrada.readInt(), entrada.readInt());
+            }
+            s.setAsignacionesFinal(asignacionesFinal);
+        }
+        return s;
+    }
+
+    private static void escribirTextoOpcional(DataOutputStream salida, String texto) throws IOException {
+        salida.writeBoolean(texto != null);
+        if (texto != null) {
+            salida.writeUTF(texto);
+        }
+    }
+
+    private static String leerTextoOpcional(DataInputStream entrada) throws IOException {
+        return entrada.readBoolean() ? entrada.readUTF() : null;
+    }
+}
@@ -0,0 +1,158 @@
+package com.ejemplo.algoritmo;
+
+import com.ejemplo.model.*;
+
+import java.util.*;
+
+/**
+ * Red expandida en el tiempo del sistema de carga. El paso k es el intervalo
+ * [k·Δt, (k+1)·Δt) y, como en la simulación del constructivo, un vehículo
+ * puede cargar en él si llegó a más tardar en k·Δt y sale después de k·Δt.
+ * En cada paso un vehículo usa a lo sumo un cargador, cada cargador atiende a
+ * un vehículo y el transformador limita la potencia total.
+ *
+ * Los cargadores idénticos (potencia, eficiencia, costo de operación y
+ * compatibilidad) se agrupan: un grupo atiende en cada paso a tantos
+ * vehículos como cargadores tiene. Las opciones de carga (vehículo, paso,
+ * grupo) se guardan en columnas para que los modelos de flujo construyan sus
+ * arcos sin volver a consultar el TestSystem.
+ */
+final class RedTemporal {
+
+    private static final double TOLERANCIA_TIEMPO = 1e-9;
+
+    final double resolucionTiempo;
+    final int pasos;
+    final double limitePotencia; // kW de red por paso (transformador y, si existe, límite por fase)
+    final double[] precio; // Precio del paso, consultado al final del intervalo como en avanzarTiempo
+    final List<VehicleArrival> vehiculos;
+    final List<List<Charger>> grupos;
+
+    // Opciones de carga en columnas
+    final int opciones;
+    final int[] opcionVehiculo;
+    final int[] opcionPaso;
+    final int[] opcionGrupo;
+    final double[] opcionPotencia; // kW de red: min(cargador, vehículo)
+    final double[] opcionEficiencia; // Eficiencia del cargador por la del vehículo
+
+    private RedTemporal(double resolucionTiempo, int pasos, double limitePotencia, double[] precio,
+            List<VehicleArrival> vehiculos, List<List<Charger>> grupos, int opciones, int[] opcionVehiculo,
+            int[] opcionPaso, int[] opcionGrupo, double[] opcionPotencia, double[] opcionEficiencia) {
+        this.resolucionTiempo = resolucionTiempo;
+        this.pasos = pasos;
+        this.limitePotencia = limitePotencia;
+        this.precio = precio;
+        this.vehiculos = vehiculos;
+        this.grupos = grupos;
+        this.opciones = opciones;
+        this.opcionVehiculo = opcionVehiculo;
+        this.opcionPaso = opcionPaso;
+        this.opcionGrupo = opcionGrupo;
+        this.opcionPotencia = opcionPotencia;
+        this.opcionEficiencia = opcionEficiencia;
+    }
+
+    static RedTemporal construir(TestSystem testSystem) {
+        ParkingConfig configuracion = testSystem.getParkingConfig();
+        double dt = configuracion.getTimeResolution();
+        List<VehicleArrival> vehiculos = testSystem.getArrivals();
+
+        double limite = configuracion.getTransformerLimit();
+        GridConstraints red = configuracion.getGridConstraints();
+        if (red != null && red.getMaxPowerPerPhase() > 0) {
+            limite = Math.min(limite, 3.0 * red.getMaxPowerPerPhase()); // Tres fases, como verificarFactibilidad
+        }
+
+        double salidaMaxima = 0.0;
+        for (VehicleArrival v : vehiculos) {
+            salidaMaxima = Math.max(salidaMaxima, v.getDepartureTime());
+        }
+        int pasos = (int) Math.ceil(salidaMaxima / dt - TOLERANCIA_TIEMPO);
+
+        ConstructivoAdaptativoAuxiliar auxiliar = new ConstructivoAdaptativoAuxiliar(testSystem);
+        double[] precio = new double[pasos];
+        for (int k = 0; k < pasos; k++) {
+            precio[k] = auxiliar.obtenerPrecioEnergia((k + 1) * dt);
+        }
+
+        List<List<Charger>> grupos = agruparCargadores(configuracion.getChargers());
+
+        // Compatibilidad vehículo-grupo con la misma regla que el constructivo
+        int n = vehiculos.size();
+        int[] conteo = new int[n];
+        boolean[][] compatible = new boolean[n][grupos.size()];
+        for (int i = 0; i < n; i++) {
+            VehiculoSimulacion vehiculo = new VehiculoSimulacion(vehiculos.get(i));
+            for (int g = 0; g < grupos.size(); g++) {
+                compatible[i][g] = auxiliar.esCompatible(vehiculo, grupos.get(g).get(0));
+                if (compatible[i][g]) {
+                    conteo[i]++;
+                }
+            }
+        }
+
+        int total = 0;
+        int[] primerPaso = new int[n];
+        int[] finPaso = new int[n];
+        for (int i = 0; i < n; i++) {
+            VehicleArrival v = vehiculos.get(i);
+            primerPaso[i] = Math.max(0, (int) Math.ceil(v.getArrivalTime() / dt - TOLERANCIA_TIEMPO));
+            // Último paso k con k·Δt < salida
+            finPaso[i] = Math.min(pasos, (int) Math.ceil(v.getDepartureTime() / dt - TOLERANCIA_TIEMPO));
+            total += Math.max(0, finPaso[i] - primerPaso[i]) * conteo[i];
+        }
+
+        int[] opcionVehiculo = new int[total];
+        int[] opcionPaso = new int[total];
+        int[] opcionGrupo = new int[total];
+        double[] opcionPotencia = new double[total];
+        double[] opcionEficiencia = new double[total];
+        int o = 0;
+        for (int i = 0; i < n; i++) {
+            VehicleArrival v = vehiculos.get(i);
+            for (int k = primerPaso[i]; k < finPaso[i]; k++) {
+                for (int g = 0; g < grupos.size(); g++) {
+                    if (!compatible[i][g]) {
+                        continue;
+                    }
+                    Charger cargador = grupos.get(g).get(0);
+                    opcionVehiculo[o] = i;
+                    opcionPaso[o] = k;
+                    opcionGrupo[o] = g;
+                    opcionPotencia[o] = Math.min(cargador.getPower(), v.getMaxChargeRate());
+                    opcionEficiencia[o] = cargador.getEfficiency() * v.getEfficiency();
+                    o++;
+                }
+            }
+        }
+
+        return new RedTemporal(dt, pasos, limite, precio, vehiculos, grupos, total, opcionVehiculo, opcionPaso,
+                opcionGrupo, opcionPotencia, opcionEficiencia);
+    }
+
+    /**
+     * Agrupa cargadores idénticos. Los IDs repetidos cuentan una sola vez,
+     * igual que en el índice de cargadores del auxiliar.
+     */
+    private static List<List<Charger>> agruparCargadores(List<Charger> cargadores) {
+        Map<List<Object>, List<Charger>> grupos = new LinkedHashMap<>();
+        Set<Integer> ids = new HashSet<>();
+        for (Charger cargador : cargadores) {
+            if (!ids.add(cargador.getChargerId())) {
+                continue;
+            }
+            List<Object> clave = Arrays.asList(cargador.getPower(), cargador.getEfficiency(),
+                    cargador.getOperationCostPerHour(), cargador.getCompatibleVehicles());
+            grupos.computeIfAbsent(clave, c -> new ArrayList<>()).add(cargador);
+        }
+        return new ArrayList<>(grupos.values());
+    }
+
+    /**
+     * Energía que llega a la batería con la opción o durante un paso completo
+     */
+    double energiaPaso(int o) {
+        return opcionPotencia[o] * resolucionTiempo * opcionEficiencia[o];
+    }
+}
@@ -1,6 +1,8 @@
 package com.ejemplo.algoritmo;
 
 import com.ejemplo.model.*;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -28,6 +30,7 @@ public class ScatterSearch {
         public double umbralSimilitud = 0.03; // Balanceado para diversidad
         public double umbralDiversidad = 0.4; // Relajado para inclusión
         public int capacidadFrentePareto = 20; // Aumentado para más soluciones
+        public double brechaEnergiaParada = 0.0; // Parar con brecha (%) a la cota de energía ≤ este valor (0 = nunca)
 
         // Configuraciones predefinidas
         public static ParametrosScatterSearch configuracionRapida() {
@@ -64,6 +67,22 @@ public class ScatterSearch {
             return params;
         }
 
+        public ParametrosScatterSearch copia() {
+            ParametrosScatterSearch params = new ParametrosScatterSearch();
+            params.tamañoConjuntoReferencia = tamañoConjuntoReferencia;
+            params.tamañoConjuntoCalidad = tamañoConjuntoCalidad;
+            params.tamañoConjuntoDiverso = tamañoConjuntoDiverso;
+            params.maxIteracionesTotal = maxIteracionesTotal;
+            params.maxIteracionesSinMejora = maxIteracionesSinMejora;
+            params.maxEjecucionesDiversificacion = maxEjecucionesDiversificacion;
+            params.maxIteracionesBusquedaLocal = maxIteracionesBusquedaLocal;
+            params.umbralSimilitud = umbralSimilitud;
+            params.umbralDiversidad = umbralDiversidad;
+            params.capacidadFrentePareto = capacidadFrentePareto;
+            params.brechaEnergiaParada = brechaEnergiaParada;
+            return params;
+        }
+
         @Override
         public String toString() {
             return String.format(
@@ -77,11 +96,14 @@ public class ScatterSearch {
     private final SolucionConstructiva solucionInicial;
     private final ConstructivoAdaptativoAuxiliar auxiliar;
     private final ChargingLogger logger;
-    private final DatosTemporales datosTemporales;
+    private DatosTemporales datosTemporales;
 
     // Parámetros configurables (ahora usando la clase de parámetros)
     private ParametrosScatterSearch parametros;
 
+    // Semillas de las ejecuciones del constructivo (ver setSemilla)
+    private Random aleatorio = new Random();
+
     // Estado del algoritmo
     private List<SolucionConstructiva> conjuntoReferencia;
     private FrentePareto frentePareto;
@@ -95,6 +117,17 @@ public class ScatterSearch {
     private double mejoraObtenida;
     private int iteracionesSinMejora;
 
+    // Puntos de control periódicos (ver setPuntoControl)
+    private Path archivoPuntoControl;
+    private int iteracionesEntrePuntosControl = 1;
+    private long tiempoEjecucionPrevio; // ms consumidos antes de reanudar
+
+    // Ejecución distribuida de las construcciones (null = en este proceso)
+    private CoordinadorScatterSearch coordinador;
+
+    // Cota de energía para la parada por brecha (se calcula al primer uso)
+    private CotaEnergia cotaEnergia;
+
     public ScatterSearch(TestSystem testSystem, SolucionConstructiva solucionInicial) {
         this(testSystem, solucionInicial, ParametrosScatterSearch.configuracionBalanceada());
     }
@@ -133,7 +166,18 @@ public class ScatterSearch {
         logger.log("INFO", "SCATTER_START", "Iniciando algoritmo Scatter Search");
 
         long tiempoInicio = System.currentTimeMillis();
+        tiempoEjecucionPrevio = 0;
 
+        inicializarBusqueda();
+        guardarPuntoControlSiCorresponde(tiempoInicio, true);
+
+        return completarBusqueda(tiempoInicio);
+    }
+
+    /**
+     * Fases 1 a 3: población diversa, mejora inicial y conjunto de referencia
+     */
+    void inicializarBusqueda() {
         // Fase 1: Generación por Diversificación
         List<SolucionConstructiva> poblacionInicial = generacionDiversificacion();
 
@@ -142,50 +186,228 @@ public class ScatterSearch {
 
         // Fase 3: Inicializar Conjunto de Referencia
         inicializarConjuntoReferencia(poblacionInicial);
+    }
 
-        // Ciclo principal del Scatter Search
+    /**
+     * Continúa una búsqueda restaurada con desdePuntoControl hasta el criterio
+     * de parada. Con la misma semilla el resultado es idéntico al de una
+     * ejecución sin interrupciones.
+     */
+    public SolucionConstructiva reanudar() {
+        System.out.printf("🔍 Reanudando Scatter Search desde la iteración %d...%n", iteracionActual);
+        logger.log("INFO", "SCATTER_START",
+                String.format("Reanudando Scatter Search desde la iteración %d", iteracionActual));
+        return completarBusqueda(System.currentTimeMillis());
+    }
+
+    /**
+     * Ciclo principal del Scatter Search desde el estado actual
+     */
+    private SolucionConstructiva completarBusqueda(long tiempoInicio) {
         while (!criterioParada()) {
-            iteracionActual++;
+            ejecutarIteracion();
+            guardarPuntoControlSiCorresponde(tiempoInicio, false);
+        }
+
+        this.tiempoEjecucion = tiempoEjecucionPrevio + System.currentTimeMillis() - tiempoInicio;
+        this.mejoraObtenida = calcularMejoraObtenida();
+
+        logger.log("SUCCESS", "SCATTER_END",
+                String.format("Scatter Search completado. Mejora: %.2f%%, Tiempo: %d ms",
+                        mejoraObtenida, tiempoEjecucion));
+
+        System.out.println("✅ Scatter Search completado!");
 
-            logger.log("INFO", "SCATTER_ITERATION",
-                    String.format("Iteración %d - Mejor valor: %.2f",
-                            iteracionActual, mejorSolucionGlobal.getValorObjetivo()));
+        return mejorSolucionGlobal;
+    }
 
-            // Fase 4: Generación de Subconjuntos
-            List<List<SolucionConstructiva>> subconjuntos = generarSubconjuntos();
+    /**
+     * Una iteración completa: subconjuntos, combinación, mejora y actualización
+     */
+    void ejecutarIteracion() {
+        iteracionActual++;
 
-            // Fase 5: Método de Combinación de Soluciones
-            List<SolucionConstructiva> nuevasSoluciones = combinarSoluciones(subconjuntos);
+        logger.log("INFO", "SCATTER_ITERATION",
+                String.format("Iteración %d - Mejor valor: %.2f",
+                        iteracionActual, mejorSolucionGlobal.getValorObjetivo()));
 
-            // Fase 6: Método de Mejora
-            nuevasSoluciones = aplicarMejoraLocal(nuevasSoluciones);
+        // Fase 4: Generación de Subconjuntos
+        List<List<SolucionConstructiva>> subconjuntos = generarSubconjuntos();
 
-            // Fase 7: Actualización del Conjunto de Referencia
-            boolean mejoroConjunto = actualizarConjuntoReferencia(nuevasSoluciones);
+        // Fase 5: Método de Combinación de Soluciones
+        List<SolucionConstructiva> nuevasSoluciones = combinarSoluciones(subconjuntos);
 
-            // Registrar iteración
-            registrarIteracion(mejoroConjunto);
+        // Fase 6: Método de Mejora
+        nuevasSoluciones = aplicarMejoraLocal(nuevasSoluciones);
 
-            // Capturar datos temporales
-            capturarDatosTemporales();
+        // Fase 7: Actualización del Conjunto de Referencia
+        boolean mejoroConjunto = actualizarConjuntoReferencia(nuevasSoluciones);
 
-            if (!mejoroConjunto) {
-                iteracionesSinMejora++;
-            } else {
-                iteracionesSinMejora = 0;
+        // Registrar iteración
+        registrarIteracion(mejoroConjunto);
+
+        // Capturar datos temporales
+        capturarDatosTemporales();
+
+        if (!mejoroConjunto) {
+            iteracionesSinMejora++;
+        } else {
+            iteracionesSinMejora = 0;
+        }
+    }
+
+    boolean haTerminado() {
+        return criterioParada();
+    }
+
+    /**
+     * Soluciones que esta búsqueda envía a otra en el modelo de islas: la mejor
+     * del conjunto de referencia y, para diversidad, las mejores del frente en
+     * cada objetivo. Se devuelven clones.
+     */
+    List<SolucionConstructiva> seleccionarMigrantes(int cantidad) {
+        List<SolucionConstructiva> migrantes = new ArrayList<>();
+        if (cantidad <= 0) {
+            return migrantes;
+        }
+        if (!conjuntoReferencia.isEmpty()) {
+            migrantes.add(conjuntoReferencia.get(0).clonar());
+        }
+        for (int objetivo = 0; migrantes.size() < cantidad && objetivo < SolucionPareto.NUM_OBJETIVOS; objetivo++) {
+            SolucionPareto extremo = frentePareto.getMejorEnObjetivo(objetivo);
+            if (extremo != null && migrantes.stream().noneMatch(m -> m.getValorObjetivo() == extremo.getSolucion()
+                    .getValorObjetivo())) {
+                migrantes.add(extremo.getSolucion().clonar());
             }
         }
+        return migrantes;
+    }
 
-        this.tiempoEjecucion = System.currentTimeMillis() - tiempoInicio;
+    /**
+     * Incorpora soluciones llegadas de otra isla como si fueran combinaciones
+     * propias. Retorna true si mejoraron el conjunto o el frente.
+     */
+    boolean recibirMigrantes(List<SolucionConstructiva> migrantes) {
+        contadorOperaciones.merge("migrantes_recibidos", migrantes.size(), Integer::sum);
+        return actualizarConjuntoReferencia(migrantes);
+    }
+
+    /**
+     * Cierra una búsqueda conducida desde fuera (modelo de islas)
+     */
+    void finalizarBusqueda(long tiempoEjecucionMs) {
+        this.tiempoEjecucion = tiempoEjecucionMs;
         this.mejoraObtenida = calcularMejoraObtenida();
+    }
 
-        logger.log("SUCCESS", "SCATTER_END",
-                String.format("Scatter Search completado. Mejora: %.2f%%, Tiempo: %d ms",
-                        mejoraObtenida, tiempoEjecucion));
+    /**
+     * Guarda el punto de control tras la inicialización, cada
+     * iteracionesEntrePuntosControl iteraciones y al terminar. Un fallo de
+     * escritura se registra pero no detiene la búsqueda.
+     */
+    private void guardarPuntoControlSiCorresponde(long tiempoInicio, boolean forzar) {
+        if (archivoPuntoControl == null) {
+            return;
+        }
+        if (!forzar && iteracionActual % iteracionesEntrePuntosControl != 0 && !criterioParada()) {
+            return;
+        }
+        try {
+            crearPuntoControl(tiempoEjecucionPrevio + System.currentTimeMillis() - tiempoInicio)
+                    .guardar(archivoPuntoControl, testSystem);
+            logger.log("INFO", "SCATTER_CHECKPOINT",
+                    String.format("Punto de control guardado en %s (iteración %d)", archivoPuntoControl,
+                            iteracionActual));
+        } catch (IOException e) {
+            logger.log("ERROR", "SCATTER_CHECKPOINT", "No se pudo guardar el punto de control: " + e.getMessage());
+        }
+    }
 
-        System.out.println("✅ Scatter Search completado!");
+    /**
+     * Guarda el estado actual de la búsqueda en un archivo (gzip)
+     */
+    public void guardarPuntoControl(Path archivo) throws IOException {
+        crearPuntoControl(tiempoEjecucion).guardar(archivo, testSystem);
+    }
 
-        return mejorSolucionGlobal;
+    private PuntoControlScatterSearch crearPuntoControl(long tiempoConsumidoMs) {
+        PuntoControlScatterSearch punto = new PuntoControlScatterSearch();
+        punto.parametros = parametros;
+        punto.solucionInicial = solucionInicial;
+        punto.conjuntoReferencia = conjuntoReferencia;
+        punto.frentePareto = new ArrayList<>();
+        for (SolucionPareto miembro : frentePareto.getSolucionesComoLista()) {
+            punto.frentePareto.add(miembro.getSolucion());
+        }
+        punto.mejorSolucionGlobal = mejorSolucionGlobal;
+        punto.contadorOperaciones = contadorOperaciones;
+        punto.historialIteraciones = historialIteraciones;
+        punto.iteracionActual = iteracionActual;
+        punto.iteracionesSinMejora = iteracionesSinMejora;
+        punto.tiempoEjecucionMs = tiempoConsumidoMs;
+        punto.aleatorio = aleatorio;
+        punto.datosTemporales = datosTemporales;
+        return punto;
+    }
+
+    /**
+     * Restaura una búsqueda desde un punto de control del mismo TestSystem. Los
+     * puntos de control siguientes se siguen escribiendo en el mismo archivo;
+     * continuar con reanudar().
+     */
+    public static ScatterSearch desdePuntoControl(TestSystem testSystem, Path archivo) throws IOException {
+        PuntoControlScatterSearch punto = PuntoControlScatterSearch.cargar(archivo, testSystem);
+        ScatterSearch busqueda = new ScatterSearch(testSystem, punto.solucionInicial, punto.parametros);
+        busqueda.conjuntoReferencia = punto.conjuntoReferencia;
+        for (SolucionConstructiva miembro : punto.frentePareto) {
+            busqueda.frentePareto.agregarSolucion(new SolucionPareto(miembro));
+        }
+        busqueda.mejorSolucionGlobal = punto.mejorSolucionGlobal;
+        busqueda.contadorOperaciones = punto.contadorOperaciones;
+        busqueda.historialIteraciones = punto.historialIteraciones;
+        busqueda.iteracionActual = punto.iteracionActual;
+        busqueda.iteracionesSinMejora = punto.iteracionesSinMejora;
+        busqueda.tiempoEjecucionPrevio = punto.tiempoEjecucionMs;
+        busqueda.aleatorio = punto.aleatorio;
+        busqueda.datosTemporales = punto.datosTemporales;
+        busqueda.archivoPuntoControl = archivo;
+        return busqueda;
+    }
+
+    /**
+     * Reparte las ejecuciones del constructivo (diversificación y
+     * combinación) entre los trabajadores del coordinador. El conjunto de
+     * referencia y el frente se mantienen aquí.
+     */
+    public void setCoordinador(CoordinadorScatterSearch coordinador) {
+        this.coordinador = coordinador;
+    }
+
+    public CotaEnergia getCotaEnergia() {
+        if (cotaEnergia == null) {
+            cotaEnergia = CotaEnergia.calcular(testSystem);
+        }
+        return cotaEnergia;
+    }
+
+    /**
+     * Reutiliza una cota ya calculada para esta instancia
+     */
+    public void setCotaEnergia(CotaEnergia cotaEnergia) {
+        this.cotaEnergia = cotaEnergia;
+    }
+
+    /**
+     * Activa puntos de control periódicos en el archivo indicado (null los
+     * desactiva)
+     */
+    public void setPuntoControl(Path archivo, int cadaIteraciones) {
+        this.archivoPuntoControl = archivo;
+        this.iteracionesEntrePuntosControl = Math.max(1, cadaIteraciones);
+    }
+
+    public int getIteracionActual() {
+        return iteracionActual;
     }
 
     /**
@@ -205,8 +427,7 @@ public class ScatterSearch {
         poblacion.addAll(generarSolucionesSistematicas());
 
         // Generar soluciones adicionales con variaciones aleatorias controladas
-        for (int i = 0; i < 10; i++) {
-            SolucionConstructiva nuevaSolucion = generarSolucionConConfiguracion(i + 1);
+        for (SolucionConstructiva nuevaSolucion : generarSolucionesConConfiguracion(10)) {
             if (nuevaSolucion != null && !esSolucionDuplicada(nuevaSolucion, poblacion)) {
                 poblacion.add(nuevaSolucion);
             }
@@ -234,41 +455,36 @@ public class ScatterSearch {
         int solucionesObjetivo = Math.max(15, parametros.capacidadFrentePareto * 3 / 4); // 75% de la capacidad del
                                                                                          // frente
 
-        for (int ejecucion = 1; ejecucion <= maxEjecuciones && soluciones.size() < solucionesObjetivo; ejecucion++) {
-            try {
-                // Crear nueva instancia completamente independiente
-                ConstructivoAdaptativo algoritmo = new ConstructivoAdaptativo(testSystem);
-                algoritmo.getLogger().setShowLogs(false);
-
-                // Introducir pequeñas variaciones para aumentar diversidad
-                if (ejecucion > 1) {
-                    // Hacer una pausa variable para permitir diferentes semillas de tiempo
-                    Thread.sleep(ejecucion * 5);
-                }
+        // Las ejecuciones se lanzan por lotes (de una en una sin coordinador) y se
+        // procesan en orden hasta alcanzar el objetivo
+        int tamañoLote = coordinador != null ? coordinador.getTamañoLote() : 1;
+        int ejecucion = 1;
+        while (ejecucion <= maxEjecuciones && soluciones.size() < solucionesObjetivo) {
+            List<Long> semillas = new ArrayList<>();
+            for (int i = 0; i < tamañoLote && ejecucion + i <= maxEjecuciones; i++) {
+                semillas.add(aleatorio.nextLong());
+            }
+            List<SolucionConstructiva> resultados = ejecutarConstructivos(semillas);
 
-                // Ejecutar el algoritmo
-                SolucionConstructiva solucion = algoritmo.ejecutar();
-
-                if (solucion != null) {
-                    // Verificar que no sea muy parecida usando umbral más relajado
-                    if (!esSolucionMuyPareceida(solucion, soluciones)) {
-                        soluciones.add(solucion);
-
-                        logger.log("INFO", "SCATTER_DIVERSIFICATION",
-                                String.format(
-                                        "Ejecución %d: ✅ ÚNICA - valor=%.2f, energía=%.1f, vehículos=%d, costo=%.1f, %%carga=%.1f",
-                                        ejecucion, solucion.getValorObjetivo(), solucion.getEnergiaTotalEntregada(),
-                                        solucion.getVehiculosAtendidos(), solucion.getCostoTotalOperacion(),
-                                        solucion.getPorcentajeCargaEntregado()));
-                    } else {
-                        logger.log("DEBUG", "SCATTER_DIVERSIFICATION",
-                                String.format("Ejecución %d: ❌ SIMILAR - descartada", ejecucion));
-                    }
+            for (int i = 0; i < resultados.size() && soluciones.size() < solucionesObjetivo; i++, ejecucion++) {
+                SolucionConstructiva solucion = resultados.get(i);
+                if (solucion == null) {
+                    continue;
+                }
+                // Verificar que no sea muy parecida usando umbral más relajado
+                if (!esSolucionMuyPareceida(solucion, soluciones)) {
+                    soluciones.add(solucion);
+
+                    logger.log("INFO", "SCATTER_DIVERSIFICATION",
+                            String.format(
+                                    "Ejecución %d: ✅ ÚNICA - valor=%.2f, energía=%.1f, vehículos=%d, costo=%.1f, %%carga=%.1f",
+                                    ejecucion, solucion.getValorObjetivo(), solucion.getEnergiaTotalEntregada(),
+                                    solucion.getVehiculosAtendidos(), solucion.getCostoTotalOperacion(),
+                                    solucion.getPorcentajeCargaEntregado()));
+                } else {
+                    logger.log("DEBUG", "SCATTER_DIVERSIFICATION",
+                            String.format("Ejecución %d: ❌ SIMILAR - descartada", ejecucion));
                 }
-
-            } catch (Exception e) {
-                logger.log("WARN", "SCATTER_DIVERSIFICATION",
-                        "Error en ejecución " + ejecucion + ": " + e.getMessage());
             }
         }
 
@@ -409,35 +625,52 @@ public class ScatterSearch {
     }
 
     /**
-     * Genera una solución con configuración específica
+     * Genera soluciones con configuraciones específicas (una semilla nueva por
+     * configuración)
      */
-    private SolucionConstructiva generarSolucionConConfiguracion(int configuracion) {
-        try {
-            // Crear nueva instancia independiente para cada configuración
-            ConstructivoAdaptativo algoritmo = new ConstructivoAdaptativo(testSystem);
-            algoritmo.getLogger().setShowLogs(false);
-
-            // Ejecutar el algoritmo - cada ejecución puede tener variabilidad natural
-            SolucionConstructiva solucion = algoritmo.ejecutar();
+    private List<SolucionConstructiva> generarSolucionesConConfiguracion(int cantidad) {
+        List<Long> semillas = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            semillas.add(aleatorio.nextLong());
+        }
+        List<SolucionConstructiva> soluciones = ejecutarConstructivos(semillas);
 
+        for (int i = 0; i < soluciones.size(); i++) {
+            SolucionConstructiva solucion = soluciones.get(i);
             if (solucion != null) {
                 logger.log("DEBUG", "SCATTER_DIVERSIFICATION",
                         String.format("Configuración %d: valor=%.2f, energía=%.1f, vehículos=%d",
-                                configuracion, solucion.getValorObjetivo(),
+                                i + 1, solucion.getValorObjetivo(),
                                 solucion.getEnergiaTotalEntregada(), solucion.getVehiculosAtendidos()));
-            }
 
-            // Incrementar contador de operaciones
-            contadorOperaciones.put("diversificacion",
-                    contadorOperaciones.getOrDefault("diversificacion", 0) + 1);
-
-            return solucion;
+                // Incrementar contador de operaciones
+                contadorOperaciones.put("diversificacion",
+                        contadorOperaciones.getOrDefault("diversificacion", 0) + 1);
+            }
+        }
+        return soluciones;
+    }
 
-        } catch (Exception e) {
-            logger.log("WARN", "SCATTER_DIVERSIFICATION",
-                    "Error generando solución con configuración " + configuracion + ": " + e.getMessage());
-            return null;
+    /**
+     * Ejecuta el constructivo con cada semilla, en este proceso o repartido
+     * entre los trabajadores del coordinador. Devuelve null donde la ejecución
+     * falló.
+     */
+    private List<SolucionConstructiva> ejecutarConstructivos(List<Long> semillas) {
+        if (coordinador != null) {
+            return coordinador.ejecutarConstructivos(semillas);
         }
+        List<SolucionConstructiva> soluciones = new ArrayList<>();
+        for (long semilla : semillas) {
+            try {
+                soluciones.add(TrabajadorScatterSearch.ejecutarTarea(testSystem, semilla));
+            } catch (Exception e) {
+                logger.log("WARN", "SCATTER_CONSTRUCTION",
+                        "Error ejecutando el constructivo: " + e.getMessage());
+                soluciones.add(null);
+            }
+        }
+        return soluciones;
     }
 
     /**
@@ -603,28 +836,25 @@ public class ScatterSearch {
 
     /**
      * Fase 5: Método de Combinación de Soluciones
+     * Cada par o trío produce una nueva ejecución sembrada del constructivo
+     * (implementación simplificada: aún no se interpolan características de
+     * las soluciones del subconjunto)
      */
     private List<SolucionConstructiva> combinarSoluciones(List<List<SolucionConstructiva>> subconjuntos) {
         logger.log("INFO", "SCATTER_COMBINATION",
                 String.format("Combinando %d subconjuntos", subconjuntos.size()));
 
-        List<SolucionConstructiva> nuevasSoluciones = new ArrayList<>();
-
+        List<Long> semillas = new ArrayList<>();
         for (List<SolucionConstructiva> subconjunto : subconjuntos) {
-            if (subconjunto.size() == 2) {
-                // Combinación de pares
-                SolucionConstructiva combinada = combinarPar(subconjunto.get(0), subconjunto.get(1));
-                if (combinada != null) {
-                    nuevasSoluciones.add(combinada);
-                }
-            } else if (subconjunto.size() == 3) {
-                // Combinación de tríos
-                SolucionConstructiva combinada = combinarTrio(subconjunto.get(0),
-                        subconjunto.get(1),
-                        subconjunto.get(2));
-                if (combinada != null) {
-                    nuevasSoluciones.add(combinada);
-                }
+            if (subconjunto.size() == 2 || subconjunto.size() == 3) {
+                semillas.add(aleatorio.nextLong());
+            }
+        }
+
+        List<SolucionConstructiva> nuevasSoluciones = new ArrayList<>();
+        for (SolucionConstructiva combinada : ejecutarConstructivos(semillas)) {
+            if (combinada != null) {
+                nuevasSoluciones.add(combinada);
             }
         }
 
@@ -634,35 +864,6 @@ public class ScatterSearch {
         return nuevasSoluciones;
     }
 
-    /**
-     * Combina un par de soluciones para crear una nueva
-     */
-    private SolucionConstructiva combinarPar(SolucionConstructiva s1, SolucionConstructiva s2) {
-        // Implementación de combinación basada en características promedio
-        // Por simplicidad, crear una nueva solución constructiva con parámetros
-        // interpolados
-        try {
-            ConstructivoAdaptativo nuevoAlgoritmo = new ConstructivoAdaptativo(testSystem);
-            SolucionConstructiva combinada = nuevoAlgoritmo.ejecutar();
-
-            // Aplicar características híbridas (implementación simplificada)
-            return combinada;
-
-        } catch (Exception e) {
-            logger.log("WARN", "SCATTER_COMBINATION", "Error combinando par: " + e.getMessage());
-            return null;
-        }
-    }
-
-    /**
-     * Combina un trío de soluciones para crear una nueva
-     */
-    private SolucionConstructiva combinarTrio(SolucionConstructiva s1, SolucionConstructiva s2,
-            SolucionConstructiva s3) {
-        // Implementación similar a combinarPar pero considerando tres soluciones
-        return combinarPar(s1, s2); // Simplificación
-    }
-
     /**
      * Fase 7: Actualización del Conjunto de Referencia (Con Frente de Pareto)
      */
@@ -777,7 +978,26 @@ public class ScatterSearch {
      */
     private boolean criterioParada() {
         return iteracionActual >= parametros.maxIteracionesTotal ||
-                iteracionesSinMejora >= parametros.maxIteracionesSinMejora;
+                iteracionesSinMejora >= parametros.maxIteracionesSinMejora ||
+                alcanzoBrechaEnergia();
+    }
+
+    /**
+     * Parada temprana: la mejor solución ya está a la brecha pedida de la cota
+     * superior de energía entregable
+     */
+    private boolean alcanzoBrechaEnergia() {
+        if (parametros.brechaEnergiaParada <= 0 || mejorSolucionGlobal == null) {
+            return false;
+        }
+        double brecha = getCotaEnergia().calcularBrecha(mejorSolucionGlobal);
+        if (brecha <= parametros.brechaEnergiaParada) {
+            logger.log("SUCCESS", "SCATTER_END",
+                    String.format("Brecha de energía %.2f%% ≤ %.2f%%: parada temprana", brecha,
+                            parametros.brechaEnergiaParada));
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -865,6 +1085,14 @@ public class ScatterSearch {
         return frentePareto;
     }
 
+    /**
+     * Fija la semilla de la que se derivan las semillas de cada ejecución del
+     * constructivo, para obtener resultados reproducibles
+     */
+    public void setSemilla(long semilla) {
+        this.aleatorio = new Random(semilla);
+    }
+
     public ParametrosScatterSearch getParametros() {
         return parametros;
     }
@@ -0,0 +1,233 @@
+package com.ejemplo.algoritmo;
+
+import com.ejemplo.model.TestSystem;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Modelo de islas para Scatter Search: K búsquedas independientes, cada una
+ * con su propio conjunto de referencia, semilla y parámetros, que avanzan en
+ * paralelo y cada cierto número de iteraciones intercambian soluciones en
+ * anillo (la isla i envía a la i + 1). Los frentes de todas las islas se
+ * fusionan en un frente de Pareto global.
+ *
+ * Las islas solo se comunican en las barreras de migración y la migración se
+ * hace en orden fijo, así que con las mismas semillas el resultado no depende
+ * del número de hilos ni de la planificación.
+ */
+public class ScatterSearchIslas {
+
+    public static class ParametrosIslas {
+        public int numeroIslas = Math.max(2, Runtime.getRuntime().availableProcessors());
+        public int iteracionesEntreMigraciones = 3;
+        public int migrantesPorIsla = 2; // La mejor del conjunto más extremos del frente
+        public int capacidadFrenteGlobal = 40;
+        public long semilla = 1;
+        public int hilos = Runtime.getRuntime().availableProcessors();
+
+        public static ParametrosIslas porDefecto() {
+            return new ParametrosIslas();
+        }
+    }
+
+    private final TestSystem testSystem;
+    private final SolucionConstructiva solucionInicial;
+    private final ParametrosIslas parametros;
+    private final List<ScatterSearch.ParametrosScatterSearch> parametrosPorIsla = new ArrayList<>();
+
+    private final List<ScatterSearch> islas = new ArrayList<>();
+    private FrentePareto frenteGlobal;
+    // Miembros de cada frente de isla ya fusionados (por identidad)
+    private final List<Set<SolucionPareto>> fusionadosPorIsla = new ArrayList<>();
+    private SolucionConstructiva mejorSolucionGlobal;
+    private int migraciones;
+    private int enviosConMejora; // Envíos que mejoraron el conjunto o el frente de destino
+    private long tiempoEjecucion;
+
+    /**
+     * Todas las islas empiezan con una copia de los mismos parámetros;
+     * setParametrosIsla permite diferenciarlas
+     */
+    public ScatterSearchIslas(TestSystem testSystem, SolucionConstructiva solucionInicial,
+            ScatterSearch.ParametrosScatterSearch parametrosBase, ParametrosIslas parametros) {
+        this.testSystem = testSystem;
+        this.solucionInicial = solucionInicial;
+        this.parametros = parametros;
+        for (int i = 0; i < parametros.numeroIslas; i++) {
+            parametrosPorIsla.add(parametrosBase.copia());
+        }
+    }
+
+    public void setParametrosIsla(int isla, ScatterSearch.ParametrosScatterSearch parametrosIsla) {
+        parametrosPorIsla.set(isla, parametrosIsla);
+    }
+
+    public SolucionConstructiva ejecutar() {
+        System.out.printf("🏝️ Iniciando Scatter Search con %d islas (%d hilos)...%n", parametros.numeroIslas,
+                parametros.hilos);
+        long inicio = System.currentTimeMillis();
+
+        islas.clear();
+        fusionadosPorIsla.clear();
+        frenteGlobal = new FrentePareto(parametros.capacidadFrenteGlobal);
+        migraciones = 0;
+        enviosConMejora = 0;
+        Random semillas = new Random(parametros.semilla);
+        for (int i = 0; i < parametros.numeroIslas; i++) {
+            ScatterSearch isla = new ScatterSearch(testSystem, solucionInicial, parametrosPorIsla.get(i));
+            isla.getLogger().setShowLogs(false);
+            isla.getLogger().setHistorialTexto(false);
+            isla.setSemilla(semillas.nextLong());
+            islas.add(isla);
+            fusionadosPorIsla.add(Collections.newSetFromMap(new IdentityHashMap<>()));
+        }
+
+        ExecutorService ejecutor = Executors.newFixedThreadPool(Math.max(1, parametros.hilos));
+        try {
+            ejecutarEnTodas(ejecutor, ScatterSearch::inicializarBusqueda);
+
+            while (islas.stream().anyMatch(isla -> !isla.haTerminado())) {
+                ejecutarEnTodas(ejecutor, isla -> {
+                    for (int i = 0; i < parametros.iteracionesEntreMigraciones && !isla.haTerminado(); i++) {
+                        isla.ejecutarIteracion();
+                    }
+                });
+                migrar();
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+
+        tiempoEjecucion = System.currentTimeMillis() - inicio;
+        for (ScatterSearch isla : islas) {
+            isla.finalizarBusqueda(tiempoEjecucion);
+        }
+        fusionarFrentes();
+
+        System.out.println("✅ Scatter Search con islas completado!");
+        return mejorSolucionGlobal;
+    }
+
+    private interface TareaIsla {
+        void ejecutar(ScatterSearch isla);
+    }
+
+    /**
+     * Ejecuta la tarea en todas las islas y espera a que terminen (barrera)
+     */
+    private void ejecutarEnTodas(ExecutorService ejecutor, TareaIsla tarea) {
+        List<Future<?>> pendientes = new ArrayList<>();
+        for (ScatterSearch isla : islas) {
+            pendientes.add(ejecutor.submit(() -> tarea.ejecutar(isla)));
+        }
+        try {
+            for (Future<?> pendiente : pendientes) {
+                pendiente.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ejecución de islas interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error en una isla: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Migración en anillo. Se seleccionan primero todos los migrantes para que
+     * ninguna isla reenvíe en la misma ronda lo que acaba de recibir.
+     */
+    private void migrar() {
+        int k = islas.size();
+        if (k < 2) {
+            fusionarFrentes();
+            return;
+        }
+        List<List<SolucionConstructiva>> salientes = new ArrayList<>();
+        for (ScatterSearch isla : islas) {
+            salientes.add(isla.seleccionarMigrantes(parametros.migrantesPorIsla));
+        }
+        for (int i = 0; i < k; i++) {
+            ScatterSearch destino = islas.get((i + 1) % k);
+            if (!destino.haTerminado() && destino.recibirMigrantes(salientes.get(i))) {
+                enviosConMejora++;
+            }
+        }
+        migraciones++;
+        fusionarFrentes();
+    }
+
+    /**
+     * Fusiona en el frente global solo los miembros que entraron a cada frente
+     * de isla desde la fusión anterior; los que siguen ahí ya se clonaron
+     */
+    private void fusionarFrentes() {
+        for (int i = 0; i < islas.size(); i++) {
+            ScatterSearch isla = islas.get(i);
+            Set<SolucionPareto> anteriores = fusionadosPorIsla.get(i);
+            Set<SolucionPareto> actuales = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (SolucionPareto miembro : isla.getFrentePareto().getSolucionesComoLista()) {
+                actuales.add(miembro);
+                if (!anteriores.contains(miembro)) {
+                    frenteGlobal.agregarSolucion(new SolucionPareto(miembro.getSolucion().clonar()));
+                }
+            }
+            fusionadosPorIsla.set(i, actuales);
+            SolucionConstructiva mejorIsla = isla.getMejorSolucion();
+            if (mejorIsla != null && (mejorSolucionGlobal == null
+                    || mejorIsla.getValorObjetivo() > mejorSolucionGlobal.getValorObjetivo())) {
+                mejorSolucionGlobal = mejorIsla.clonar();
+            }
+        }
+    }
+
+    /**
+     * Soluciones generadas (diversificación y combinaciones) de todas las islas
+     */
+    public long getSolucionesExploradas() {
+        long total = 0;
+        for (ScatterSearch isla : islas) {
+            Map<String, Integer> contador = isla.getContadorOperaciones();
+            total += contador.getOrDefault("diversificacion", 0) + contador.getOrDefault("combinaciones", 0);
+        }
+        return total;
+    }
+
+    public double getSolucionesPorSegundo() {
+        return tiempoEjecucion > 0 ? getSolucionesExploradas() * 1000.0 / tiempoEjecucion : 0.0;
+    }
+
+    public SolucionConstructiva getMejorSolucion() {
+        return mejorSolucionGlobal;
+    }
+
+    public FrentePareto getFrenteGlobal() {
+        return frenteGlobal;
+    }
+
+    public List<ScatterSearch> getIslas() {
+        return Collections.unmodifiableList(islas);
+    }
+
+    public long getTiempoEjecucion() {
+        return tiempoEjecucion;
+    }
+
+    public String generarResumen() {
+        StringBuilder resumen = new StringBuilder();
+        resumen.append(String.format("🏝️ SCATTER SEARCH CON %d ISLAS%n", islas.size()));
+        resumen.append(String.format("   Tiempo: %d ms | Soluciones exploradas: %d (%.1f/s)%n", tiempoEjecucion,
+                getSolucionesExploradas(), getSolucionesPorSegundo()));
+        resumen.append(String.format("   Migraciones: %d rondas, %d envíos mejoraron la isla de destino%n",
+                migraciones, enviosConMejora));
+        resumen.append(String.format("   Frente global: %d soluciones | Mejor valor objetivo: %.2f%n",
+                frenteGlobal.getTamaño(), mejorSolucionGlobal != null ? mejorSolucionGlobal.getValorObjetivo() : 0.0));
+        for (int i = 0; i < islas.size(); i++) {
+            ScatterSearch isla = islas.get(i);
+            resumen.append(String.format("   Isla %d: %d iteraciones, mejor %.2f, frente %d%n", i + 1,
+                    isla.getIteracionActual(), isla.getMejorSolucion().getValorObjetivo(),
+                    isla.getFrentePareto().getTamaño()));
+        }
+        return resumen.toString();
+    }
+}
@@ -0,0 +1,203 @@
+package com.ejemplo.algoritmo;
+
+import java.util.*;
+
+/**
+ * Selector adaptativo de heurísticas (bandit multibrazo con UCB descontado)
+ * para el constructivo: en cada paso elige solo las heurísticas más
+ * prometedoras en lugar de generar y evaluar todas. La recompensa de una
+ * heurística es su puntuación normalizada entre las evaluadas en el paso (1 =
+ * la mejor, 0 = la peor), y el descuento olvida gradualmente los pasos
+ * antiguos para seguir los cambios de la simulación. Cada cierto número de
+ * pasos se evalúan todas (exploración periódica).
+ */
+public class SelectorHeuristicas {
+
+    public static class ParametrosSelector {
+        public int heuristicasPorPaso = 3; // Heurísticas evaluadas en un paso normal
+        public int periodoExploracion = 10; // Cada cuántos pasos se evalúan todas
+        public double descuento = 0.95; // Peso de la historia en cada paso (1 = sin olvido)
+        public double coeficienteExploracion = 0.5; // Constante c del término de confianza de UCB
+
+        public static ParametrosSelector porDefecto() {
+            return new ParametrosSelector();
+        }
+    }
+
+    private final List<String> heuristicas;
+    private final Map<String, Integer> indices = new HashMap<>();
+    private final ParametrosSelector parametros;
+
+    // Estadísticos descontados por heurística
+    private final double[] evaluacionesDescontadas;
+    private final double[] recompensasDescontadas;
+
+    // Contabilidad del trabajo evitado
+    private final long[] evaluaciones;
+    private final long[] omitidas;
+    private final long[] nanosAcumulados;
+    private final long[] victorias;
+    private long pasos = 0;
+    private long pasosExploracion = 0;
+
+    public SelectorHeuristicas(List<String> heuristicas, ParametrosSelector parametros) {
+        this.heuristicas = new ArrayList<>(heuristicas);
+        this.parametros = parametros;
+        for (int i = 0; i < heuristicas.size(); i++) {
+            indices.put(heuristicas.get(i), i);
+        }
+        int n = heuristicas.size();
+        this.evaluacionesDescontadas = new double[n];
+        this.recompensasDescontadas = new double[n];
+        this.evaluaciones = new long[n];
+        this.omitidas = new long[n];
+        this.nanosAcumulados = new long[n];
+        this.victorias = new long[n];
+    }
+
+    /**
+     * Heurísticas a evaluar en el siguiente paso, en el orden en que se
+     * registraron. Las nunca evaluadas tienen prioridad máxima.
+     */
+    public Set<String> seleccionar() {
+        pasos++;
+        int n = heuristicas.size();
+        Set<String> seleccion = new LinkedHashSet<>();
+        boolean exploracion = parametros.periodoExploracion > 0 && (pasos - 1) % parametros.periodoExploracion == 0;
+
+        if (exploracion || parametros.heuristicasPorPaso >= n) {
+            pasosExploracion += exploracion ? 1 : 0;
+            seleccion.addAll(heuristicas);
+            return seleccion;
+        }
+
+        double total = 0.0;
+        for (double valor : evaluacionesDescontadas) {
+            total += valor;
+        }
+        double logTotal = Math.log(Math.max(total, 1.0));
+
+        Integer[] orden = new Integer[n];
+        double[] indiceUcb = new double[n];
+        for (int i = 0; i < n; i++) {
+            orden[i] = i;
+            indiceUcb[i] = evaluacionesDescontadas[i] < 1e-9 ? Double.POSITIVE_INFINITY
+                    : recompensasDescontadas[i] / evaluacionesDescontadas[i]
+                            + parametros.coeficienteExploracion
+                                    * Math.sqrt(logTotal / evaluacionesDescontadas[i]);
+        }
+        // Orden estable: ante empates gana la heurística registrada antes
+        Arrays.sort(orden, (a, b) -> Double.compare(indiceUcb[b], indiceUcb[a]));
+
+        boolean[] elegida = new boolean[n];
+        for (int k = 0; k < parametros.heuristicasPorPaso; k++) {
+            elegida[orden[k]] = true;
+        }
+        for (int i = 0; i < n; i++) {
+            if (elegida[i]) {
+                seleccion.add(heuristicas.get(i));
+            } else {
+                omitidas[i]++;
+            }
+        }
+        return seleccion;
+    }
+
+    /**
+     * Actualiza los estadísticos con las candidatas evaluadas en el paso (ya
+     * puntuadas). Las heurísticas que no pertenecen al portafolio se ignoran.
+     */
+    public void registrarResultados(List<AsignacionCandidata> candidatos) {
+        double minimo = Double.POSITIVE_INFINITY;
+        double maximo = Double.NEGATIVE_INFINITY;
+        int mejor = -1;
+        for (AsignacionCandidata candidato : candidatos) {
+            Integer i = indices.get(candidato.getNombreHeuristica());
+            if (i == null) {
+                continue;
+            }
+            double valor = candidato.getValorEvaluacion();
+            if (valor > maximo) {
+                maximo = valor;
+                mejor = i;
+            }
+            minimo = Math.min(minimo, valor);
+        }
+        if (mejor < 0) {
+            return;
+        }
+
+        for (int i = 0; i < evaluacionesDescontadas.length; i++) {
+            evaluacionesDescontadas[i] *= parametros.descuento;
+            recompensasDescontadas[i] *= parametros.descuento;
+        }
+        victorias[mejor]++;
+
+        double rango = maximo - minimo;
+        for (AsignacionCandidata candidato : candidatos) {
+            Integer i = indices.get(candidato.getNombreHeuristica());
+            if (i == null) {
+                continue;
+            }
+            double recompensa = rango > 1e-12 ? (candidato.getValorEvaluacion() - minimo) / rango : 1.0;
+            evaluacionesDescontadas[i] += 1.0;
+            recompensasDescontadas[i] += recompensa;
+            evaluaciones[i]++;
+            nanosAcumulados[i] += candidato.getTiempoComputo();
+        }
+    }
+
+    public long getEvaluacionesRealizadas() {
+        return Arrays.stream(evaluaciones).sum();
+    }
+
+    public long getEvaluacionesOmitidas() {
+        return Arrays.stream(omitidas).sum();
+    }
+
+    /**
+     * Fracción de evaluaciones evitadas respecto a evaluar todas en cada paso
+     */
+    public double getFraccionOmitida() {
+        long total = getEvaluacionesRealizadas() + getEvaluacionesOmitidas();
+        return total > 0 ? (double) getEvaluacionesOmitidas() / total : 0.0;
+    }
+
+    /**
+     * Tiempo de generación evitado, estimado con el tiempo medio de cada
+     * heurística cuando sí se evaluó
+     */
+    public double getMilisegundosOmitidosEstimados() {
+        double nanos = 0.0;
+        for (int i = 0; i < evaluaciones.length; i++) {
+            if (evaluaciones[i] > 0) {
+                nanos += omitidas[i] * ((double) nanosAcumulados[i] / evaluaciones[i]);
+            }
+        }
+        return nanos / 1e6;
+    }
+
+    public long getPasos() {
+        return pasos;
+    }
+
+    public String generarResumen() {
+        StringBuilder resumen = new StringBuilder();
+        resumen.append("🎰 SELECCIÓN ADAPTATIVA DE HEURÍSTICAS (UCB descontado)\n");
+        resumen.append(String.format("   Pasos: %d (%d de exploración completa)%n", pasos, pasosExploracion));
+        resumen.append(String.format("   Evaluaciones realizadas: %d, omitidas: %d (%.1f%% del trabajo)%n",
+                getEvaluacionesRealizadas(), getEvaluacionesOmitidas(), getFraccionOmitida() * 100.0));
+        resumen.append(String.format("   Tiempo de generación evitado (estimado): %.1f ms%n",
+                getMilisegundosOmitidosEstimados()));
+        resumen.append(String.format("   %-16s %10s %10s %10s %12s%n", "Heurística", "Evaluada", "Omitida",
+                "Mejor", "Recompensa"));
+        for (int i = 0; i < heuristicas.size(); i++) {
+            double media = evaluacionesDescontadas[i] > 1e-9
+                    ? recompensasDescontadas[i] / evaluacionesDescontadas[i]
+                    : 0.0;
+            resumen.append(String.format("   %-16s %10d %10d %10d %12.3f%n", heuristicas.get(i), evaluaciones[i],
+                    omitidas[i], victorias[i], media));
+        }
+        return resumen.toString();
+    }
+}
@@ -0,0 +1,560 @@
+package com.ejemplo.algoritmo;
+
+import com.ejemplo.model.TestSystem;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Sintonización automática de {@link ScatterSearch.ParametrosScatterSearch}
+ * por carreras iteradas (iterated racing): en cada iteración se evalúan en
+ * paralelo varias configuraciones candidatas bloque a bloque (instancia,
+ * semilla) y se eliminan pronto las que el test de Friedman, con comparación
+ * post-hoc de Conover, declara peores que la mejor. Las supervivientes (élites)
+ * generan candidatas cercanas para la siguiente iteración, hasta agotar el
+ * presupuesto total de CPU.
+ */
+public class SintonizadorParametros {
+
+    /**
+     * Medida de calidad de cada evaluación. La ganancia es la mejora relativa
+     * (%) del Scatter Search sobre la solución constructiva de la que parte
+     */
+    public enum Criterio {
+        CALIDAD, // Ganancia (%)
+        CALIDAD_POR_SEGUNDO // Ganancia (%) por segundo de CPU
+    }
+
+    public static class ParametrosSintonizador {
+        public double presupuestoCpuSegundos = 1800; // Presupuesto total de CPU (todas las evaluaciones)
+        public int candidatosPorIteracion = 8;
+        public int iteraciones = 3;
+        public int elites = 2; // Supervivientes que pasan a la siguiente iteración
+        public int bloquesMinimos = 3; // Bloques evaluados antes del primer test
+        public int maxBloquesPorCarrera = 10;
+        public double alfa = 0.05; // Nivel de significación de los tests
+        public long semilla = 1;
+        public int hilos = Runtime.getRuntime().availableProcessors();
+        public Criterio criterio = Criterio.CALIDAD_POR_SEGUNDO;
+
+        public static ParametrosSintonizador porDefecto() {
+            return new ParametrosSintonizador();
+        }
+
+        public static ParametrosSintonizador rapido() {
+            ParametrosSintonizador params = new ParametrosSintonizador();
+            params.presupuestoCpuSegundos = 300;
+            params.candidatosPorIteracion = 5;
+            params.iteraciones = 2;
+            params.bloquesMinimos = 2;
+            params.maxBloquesPorCarrera = 5;
+            return params;
+        }
+    }
+
+    private final Map<String, TestSystem> instancias;
+    private final ParametrosSintonizador parametros;
+    private final Random aleatorio;
+    private final List<String> historial = new ArrayList<>();
+    private boolean mostrarProgreso = true;
+
+    private int siguienteId = 1;
+    private int bloquesGenerados = 0;
+    private long consumidoCpuMs = 0;
+    private int evaluaciones = 0;
+
+    public SintonizadorParametros(Map<String, TestSystem> instancias, ParametrosSintonizador parametros) {
+        if (instancias.isEmpty()) {
+            throw new IllegalArgumentException("La sintonización necesita al menos una instancia");
+        }
+        this.instancias = new LinkedHashMap<>(instancias);
+        this.parametros = parametros;
+        this.aleatorio = new Random(parametros.semilla);
+    }
+
+    public void setMostrarProgreso(boolean mostrarProgreso) {
+        this.mostrarProgreso = mostrarProgreso;
+    }
+
+    /**
+     * Ejecuta las carreras iteradas y devuelve la mejor configuración de la
+     * última carrera
+     */
+    public ResultadoSintonizacion sintonizar() throws InterruptedException {
+        long presupuestoMs = (long) (parametros.presupuestoCpuSegundos * 1000);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parametros.hilos));
+        List<Candidato> todos = new ArrayList<>();
+        List<Candidato> elites = new ArrayList<>();
+
+        try {
+            for (int iteracion = 1; iteracion <= parametros.iteraciones && consumidoCpuMs < presupuestoMs; iteracion++) {
+                List<Candidato> candidatos = new ArrayList<>();
+                for (Candidato elite : elites) {
+                    candidatos.add(new Candidato(elite.id, elite.nombre, elite.parametros));
+                }
+                if (iteracion == 1) {
+                    candidatos.add(nuevoCandidato("Rápida",
+                            ScatterSearch.ParametrosScatterSearch.configuracionRapida()));
+                    candidatos.add(nuevoCandidato("Balanceada",
+                            ScatterSearch.ParametrosScatterSearch.configuracionBalanceada()));
+                    candidatos.add(nuevoCandidato("Intensiva",
+                            ScatterSearch.ParametrosScatterSearch.configuracionIntensiva()));
+                }
+                while (candidatos.size() < parametros.candidatosPorIteracion) {
+                    ScatterSearch.ParametrosScatterSearch muestra = elites.isEmpty() ? muestrearUniforme()
+                            : muestrearAlrededor(elites.get(aleatorio.nextInt(elites.size())).parametros,
+                                    iteracion);
+                    candidatos.add(nuevoCandidato(null, muestra));
+                }
+
+                // El presupuesto restante se reparte entre las iteraciones que quedan
+                long presupuestoCarrera = (presupuestoMs - consumidoCpuMs)
+                        / (parametros.iteraciones - iteracion + 1);
+                registrar(String.format("Iteración %d: %d candidatas, presupuesto %.0f s de CPU", iteracion,
+                        candidatos.size(), presupuestoCarrera / 1000.0));
+
+                List<Candidato> supervivientes = correrCarrera(executor, candidatos, iteracion,
+                        consumidoCpuMs + presupuestoCarrera);
+                if (supervivientes.isEmpty()) {
+                    break; // Sin presupuesto para un solo bloque: se conservan las élites anteriores
+                }
+                todos.addAll(candidatos);
+                elites = new ArrayList<>(
+                        supervivientes.subList(0, Math.min(parametros.elites, supervivientes.size())));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Candidato mejor = elites.isEmpty() ? null : elites.get(0);
+        if (mejor != null) {
+            registrar(String.format("Mejor configuración: %s (puntuación media %.4f, objetivo medio %.2f, %.1f s)",
+                    mejor.nombre, mejor.getPuntuacionMedia(), mejor.getObjetivoMedio(), mejor.getSegundosMedios()));
+        }
+        return new ResultadoSintonizacion(mejor, todos, evaluaciones, consumidoCpuMs / 1000.0, historial);
+    }
+
+    /**
+     * Una carrera: evalúa las candidatas vivas bloque a bloque y, a partir de
+     * bloquesMinimos, elimina las que resultan significativamente peores.
+     * Devuelve las supervivientes ordenadas por rango medio, o una lista vacía
+     * si el presupuesto no alcanza ni para el primer bloque.
+     */
+    private List<Candidato> correrCarrera(ExecutorService executor, List<Candidato> candidatos, int iteracion,
+            long limiteCpuMs) throws InterruptedException {
+        List<Candidato> vivos = new ArrayList<>(candidatos);
+
+        for (int bloque = 0; bloque < parametros.maxBloquesPorCarrera && vivos.size() > 1; bloque++) {
+            // Antes de cada bloque, estimar su coste con la media de las evaluaciones previas
+            double costeEstimado = evaluaciones > 0 ? (double) consumidoCpuMs / evaluaciones * vivos.size() : 0.0;
+            if (consumidoCpuMs + costeEstimado > limiteCpuMs) {
+                registrar(String.format("Iteración %d: presupuesto agotado tras %d bloques", iteracion, bloque));
+                if (bloque == 0) {
+                    return new ArrayList<>();
+                }
+                break;
+            }
+
+            String instancia = siguienteInstancia();
+            long semilla = parametros.semilla * 1_000_003L + bloquesGenerados++;
+            evaluarBloque(executor, vivos, instancia, semilla);
+
+            if (bloque + 1 >= parametros.bloquesMinimos) {
+                List<Candidato> eliminados = eliminarPeores(vivos);
+                if (!eliminados.isEmpty()) {
+                    vivos.removeAll(eliminados);
+                    StringBuilder nombres = new StringBuilder();
+                    for (Candidato eliminado : eliminados) {
+                        eliminado.eliminado = true;
+                        nombres.append(nombres.length() > 0 ? ", " : "").append(eliminado.nombre);
+                    }
+                    registrar(String.format("Iteración %d, bloque %d: eliminadas %s (quedan %d)", iteracion,
+                            bloque + 1, nombres, vivos.size()));
+                }
+            }
+        }
+
+        double[] rangos = rangosMedios(vivos);
+        Integer[] orden = new Integer[vivos.size()];
+        for (int i = 0; i < orden.length; i++) {
+            orden[i] = i;
+        }
+        Arrays.sort(orden, Comparator.<Integer>comparingDouble(i -> rangos[i])
+                .thenComparing(i -> -vivos.get(i).getPuntuacionMedia()));
+        List<Candidato> ordenados = new ArrayList<>(vivos.size());
+        for (int i : orden) {
+            ordenados.add(vivos.get(i));
+        }
+        return ordenados;
+    }
+
+    private void evaluarBloque(ExecutorService executor, List<Candidato> vivos, String instancia, long semilla)
+            throws InterruptedException {
+        TestSystem testSystem = instancias.get(instancia);
+        List<Future<BenchmarkConfiguraciones.Ejecucion>> pendientes = new ArrayList<>(vivos.size());
+        for (Candidato candidato : vivos) {
+            pendientes.add(executor.submit(() -> BenchmarkConfiguraciones.evaluar(candidato.nombre,
+                    candidato.parametros, instancia, testSystem, semilla)));
+        }
+        for (int i = 0; i < vivos.size(); i++) {
+            BenchmarkConfiguraciones.Ejecucion ejecucion;
+            try {
+                ejecucion = pendientes.get(i).get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Error inesperado evaluando candidatas", e.getCause());
+            }
+            Candidato candidato = vivos.get(i);
+            candidato.agregar(ejecucion, puntuar(ejecucion));
+            consumidoCpuMs += ejecucion.tiempoCpuMs;
+            evaluaciones++;
+        }
+        if (mostrarProgreso) {
+            System.out.printf("   🏁 Bloque %s/semilla %d evaluado (%d candidatas, CPU consumida %.0f s)%n",
+                    instancia, semilla, vivos.size(), consumidoCpuMs / 1000.0);
+        }
+    }
+
+    private double puntuar(BenchmarkConfiguraciones.Ejecucion ejecucion) {
+        if (!ejecucion.isCorrecta()) {
+            return Double.NEGATIVE_INFINITY; // Siempre el peor rango del bloque
+        }
+        double referencia = Math.abs(ejecucion.valorObjetivoInicial);
+        double ganancia = referencia > 1e-9
+                ? (ejecucion.valorObjetivo - ejecucion.valorObjetivoInicial) / referencia * 100.0
+                : 0.0;
+        if (parametros.criterio == Criterio.CALIDAD) {
+            return ganancia;
+        }
+        return ganancia / Math.max(ejecucion.tiempoCpuMs / 1000.0, 1e-3);
+    }
+
+    /**
+     * Test de Friedman sobre los bloques comunes a las candidatas vivas; si
+     * rechaza la igualdad, elimina las candidatas cuya suma de rangos difiere
+     * de la mejor más que la diferencia crítica de Conover.
+     */
+    private List<Candidato> eliminarPeores(List<Candidato> vivos) {
+        int k = vivos.size();
+        int n = vivos.get(0).puntuacionesCarrera.size();
+        if (k < 2 || n < 2) {
+            return Collections.emptyList();
+        }
+
+        double[][] rangos = rangosPorBloque(vivos);
+        double[] sumaRangos = new double[k];
+        double sumaCuadrados = 0.0;
+        for (double[] fila : rangos) {
+            for (int j = 0; j < k; j++) {
+                sumaRangos[j] += fila[j];
+                sumaCuadrados += fila[j] * fila[j];
+            }
+        }
+        double correccion = n * k * (k + 1) * (k + 1) / 4.0;
+        double denominador = sumaCuadrados - correccion;
+        if (denominador <= 1e-12) {
+            return Collections.emptyList(); // Todas empatadas en todos los bloques
+        }
+        double suma = 0.0;
+        for (double r : sumaRangos) {
+            suma += (r - n * (k + 1) / 2.0) * (r - n * (k + 1) / 2.0);
+        }
+        double estadistico = (k - 1) * suma / denominador;
+        if (estadistico <= cuantilChiCuadrado(1.0 - parametros.alfa, k - 1)) {
+            return Collections.emptyList();
+        }
+
+        int mejor = 0;
+        for (int j = 1; j < k; j++) {
+            if (sumaRangos[j] < sumaRangos[mejor]) {
+                mejor = j;
+            }
+        }
+        int gradosLibertad = (n - 1) * (k - 1);
+        double factor = Math.max(0.0, 1.0 - estadistico / (n * (k - 1.0)));
+        double diferenciaCritica = cuantilT(1.0 - parametros.alfa / 2.0, gradosLibertad)
+                * Math.sqrt(2.0 * n * denominador / gradosLibertad * factor);
+
+        List<Candidato> eliminados = new ArrayList<>();
+        for (int j = 0; j < k; j++) {
+            if (j != mejor && sumaRangos[j] - sumaRangos[mejor] > diferenciaCritica) {
+                eliminados.add(vivos.get(j));
+            }
+        }
+        return eliminados;
+    }
+
+    private double[] rangosMedios(List<Candidato> vivos) {
+        double[] medios = new double[vivos.size()];
+        if (vivos.isEmpty() || vivos.get(0).puntuacionesCarrera.isEmpty()) {
+            return medios;
+        }
+        double[][] rangos = rangosPorBloque(vivos);
+        for (double[] fila : rangos) {
+            for (int j = 0; j < fila.length; j++) {
+                medios[j] += fila[j] / rangos.length;
+            }
+        }
+        return medios;
+    }
+
+    /**
+     * Rangos de cada bloque de la carrera (1 = mejor puntuación; empates con
+     * rango promedio)
+     */
+    private static double[][] rangosPorBloque(List<Candidato> vivos) {
+        int k = vivos.size();
+        int n = vivos.get(0).puntuacionesCarrera.size();
+        double[][] rangos = new double[n][k];
+        Integer[] orden = new Integer[k];
+        for (int b = 0; b < n; b++) {
+            double[] puntuaciones = new double[k];
+            for (int j = 0; j < k; j++) {
+                puntuaciones[j] = vivos.get(j).puntuacionesCarrera.get(b);
+                orden[j] = j;
+            }
+            Arrays.sort(orden, (x, y) -> Double.compare(puntuaciones[y], puntuaciones[x]));
+            for (int i = 0; i < k;) {
+                int fin = i;
+                while (fin + 1 < k && puntuaciones[orden[fin + 1]] == puntuaciones[orden[i]]) {
+                    fin++;
+                }
+                double rangoPromedio = (i + fin) / 2.0 + 1.0;
+                for (int t = i; t <= fin; t++) {
+                    rangos[b][orden[t]] = rangoPromedio;
+                }
+                i = fin + 1;
+            }
+        }
+        return rangos;
+    }
+
+    private String siguienteInstancia() {
+        List<String> nombres = new ArrayList<>(instancias.keySet());
+        return nombres.get(bloquesGenerados % nombres.size());
+    }
+
+    private Candidato nuevoCandidato(String nombre, ScatterSearch.ParametrosScatterSearch params) {
+        int id = siguienteId++;
+        return new Candidato(id, nombre != null ? nombre : "C" + id, params);
+    }
+
+    /**
+     * Muestra uniforme en los rangos que cubren los presets rápida e intensiva
+     */
+    private ScatterSearch.ParametrosScatterSearch muestrearUniforme() {
+        ScatterSearch.ParametrosScatterSearch params = new ScatterSearch.ParametrosScatterSearch();
+        params.tamañoConjuntoReferencia = entero(4, 12);
+        params.maxIteracionesTotal = entero(5, 40);
+        params.maxIteracionesSinMejora = entero(3, 12);
+        params.maxEjecucionesDiversificacion = entero(10, 50);
+        params.maxIteracionesBusquedaLocal = entero(1, 8);
+        params.umbralSimilitud = 0.01 + aleatorio.nextDouble() * 0.09;
+        params.umbralDiversidad = 0.2 + aleatorio.nextDouble() * 0.5;
+        params.capacidadFrentePareto = entero(10, 30);
+        return normalizar(params);
+    }
+
+    /**
+     * Perturbación gaussiana de una élite; la desviación se reduce en cada
+     * iteración para concentrar la búsqueda
+     */
+    private ScatterSearch.ParametrosScatterSearch muestrearAlrededor(ScatterSearch.ParametrosScatterSearch base,
+            int iteracion) {
+        double escala = 0.3 / iteracion;
+        ScatterSearch.ParametrosScatterSearch params = base.copia();
+        params.tamañoConjuntoReferencia = perturbar(base.tamañoConjuntoReferencia, 8 * escala, 4, 12);
+        params.maxIteracionesTotal = perturbar(base.maxIteracionesTotal, 35 * escala, 5, 40);
+        params.maxIteracionesSinMejora = perturbar(base.maxIteracionesSinMejora, 9 * escala, 3, 12);
+        params.maxEjecucionesDiversificacion = perturbar(base.maxEjecucionesDiversificacion, 40 * escala, 10, 50);
+        params.maxIteracionesBusquedaLocal = perturbar(base.maxIteracionesBusquedaLocal, 7 * escala, 1, 8);
+        params.umbralSimilitud = Math.min(0.1,
+                Math.max(0.01, base.umbralSimilitud + aleatorio.nextGaussian() * 0.09 * escala));
+        params.umbralDiversidad = Math.min(0.7,
+                Math.max(0.2, base.umbralDiversidad + aleatorio.nextGaussian() * 0.5 * escala));
+        params.capacidadFrentePareto = perturbar(base.capacidadFrentePareto, 20 * escala, 10, 30);
+        return normalizar(params);
+    }
+
+    /**
+     * Mantiene las relaciones entre parámetros que respetan los presets
+     */
+    private static ScatterSearch.ParametrosScatterSearch normalizar(ScatterSearch.ParametrosScatterSearch params) {
+        params.tamañoConjuntoCalidad = Math.max(1, (int) Math.round(params.tamañoConjuntoReferencia * 0.65));
+        params.tamañoConjuntoDiverso = Math.max(1, params.tamañoConjuntoReferencia - params.tamañoConjuntoCalidad);
+        params.maxIteracionesSinMejora = Math.min(params.maxIteracionesSinMejora, params.maxIteracionesTotal);
+        params.capacidadFrentePareto = Math.max(params.capacidadFrentePareto, params.tamañoConjuntoReferencia);
+        return params;
+    }
+
+    private int entero(int minimo, int maximo) {
+        return minimo + aleatorio.nextInt(maximo - minimo + 1);
+    }
+
+    private int perturbar(int valor, double desviacion, int minimo, int maximo) {
+        long nuevo = Math.round(valor + aleatorio.nextGaussian() * Math.max(desviacion, 0.5));
+        return (int) Math.min(maximo, Math.max(minimo, nuevo));
+    }
+
+    private void registrar(String mensaje) {
+        historial.add(mensaje);
+        if (mostrarProgreso) {
+            System.out.println("   🤖 " + mensaje);
+        }
+    }
+
+    /**
+     * Cuantil de la normal estándar (aproximación racional de Acklam)
+     */
+    static double cuantilNormal(double p) {
+        double[] a = { -3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00 };
+        double[] b = { -5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                6.680131188771972e+01, -1.328068155288572e+01 };
+        double[] c = { -7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00 };
+        double[] d = { 7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                3.754408661907416e+00 };
+        double bajo = 0.02425;
+        if (p < bajo) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        if (p > 1 - bajo) {
+            return -cuantilNormal(1 - p);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+
+    /**
+     * Cuantil de la chi-cuadrado (aproximación de Wilson-Hilferty)
+     */
+    static double cuantilChiCuadrado(double p, int gradosLibertad) {
+        // Casos exactos para 1 y 2 grados de libertad, donde la aproximación es peor
+        if (gradosLibertad == 1) {
+            double z = cuantilNormal((1.0 + p) / 2.0);
+            return z * z;
+        }
+        if (gradosLibertad == 2) {
+            return -2.0 * Math.log(1.0 - p);
+        }
+        double z = cuantilNormal(p);
+        double h = 2.0 / (9.0 * gradosLibertad);
+        double base = 1.0 - h + z * Math.sqrt(h);
+        return gradosLibertad * base * base * base;
+    }
+
+    /**
+     * Cuantil de la t de Student (expansión de Cornish-Fisher)
+     */
+    static double cuantilT(double p, int gradosLibertad) {
+        double z = cuantilNormal(p);
+        double v = gradosLibertad;
+        double z3 = z * z * z;
+        double z5 = z3 * z * z;
+        double z7 = z5 * z * z;
+        return z + (z3 + z) / (4 * v) + (5 * z5 + 16 * z3 + 3 * z) / (96 * v * v)
+                + (3 * z7 + 19 * z5 + 17 * z3 - 15 * z) / (384 * v * v * v);
+    }
+
+    /**
+     * Configuración candidata y sus evaluaciones en la carrera actual
+     */
+    public static class Candidato {
+        private final int id;
+        private final String nombre;
+        private final ScatterSearch.ParametrosScatterSearch parametros;
+        private final List<Double> puntuacionesCarrera = new ArrayList<>();
+        private final List<BenchmarkConfiguraciones.Ejecucion> ejecuciones = new ArrayList<>();
+        private boolean eliminado;
+
+        Candidato(int id, String nombre, ScatterSearch.ParametrosScatterSearch parametros) {
+            this.id = id;
+            this.nombre = nombre;
+            this.parametros = parametros;
+        }
+
+        void agregar(BenchmarkConfiguraciones.Ejecucion ejecucion, double puntuacion) {
+            ejecuciones.add(ejecucion);
+            puntuacionesCarrera.add(puntuacion);
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        public ScatterSearch.ParametrosScatterSearch getParametros() {
+            return parametros;
+        }
+
+        public List<BenchmarkConfiguraciones.Ejecucion> getEjecuciones() {
+            return ejecuciones;
+        }
+
+        public boolean isEliminado() {
+            return eliminado;
+        }
+
+        public double getPuntuacionMedia() {
+            double suma = 0.0;
+            for (double puntuacion : puntuacionesCarrera) {
+                suma += Double.isInfinite(puntuacion) ? 0.0 : puntuacion;
+            }
+            return puntuacionesCarrera.isEmpty() ? 0.0 : suma / puntuacionesCarrera.size();
+        }
+
+        public double getObjetivoMedio() {
+            return BenchmarkConfiguraciones.Estadistica.de(ejecuciones.stream().filter(
+                    BenchmarkConfiguraciones.Ejecucion::isCorrecta).mapToDouble(e -> e.valorObjetivo).toArray()).media;
+        }
+
+        public double getSegundosMedios() {
+            return BenchmarkConfiguraciones.Estadistica.de(ejecuciones.stream().filter(
+                    BenchmarkConfiguraciones.Ejecucion::isCorrecta).mapToDouble(e -> e.tiempoCpuMs / 1000.0)
+                    .toArray()).media;
+        }
+    }
+
+    public static class ResultadoSintonizacion {
+        private final Candidato mejor;
+        private final List<Candidato> candidatos;
+        private final int evaluaciones;
+        private final double cpuSegundos;
+        private final List<String> historial;
+
+        ResultadoSintonizacion(Candidato mejor, List<Candidato> candidatos, int evaluaciones, double cpuSegundos,
+                List<String> historial) {
+            this.mejor = mejor;
+            this.candidatos = candidatos;
+            this.evaluaciones = evaluaciones;
+            this.cpuSegundos = cpuSegundos;
+            this.historial = historial;
+        }
+
+        public Candidato getMejor() {
+            return mejor;
+        }
+
+        public List<Candidato> getCandidatos() {
+            return candidatos;
+        }
+
+        public int getEvaluaciones() {
+            return evaluaciones;
+        }
+
+        public double getCpuSegundos() {
+            return cpuSegundos;
+        }
+
+        public List<String> getHistorial() {
+            return historial;
+        }
+    }
+}
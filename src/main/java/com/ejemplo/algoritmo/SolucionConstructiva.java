@@ -35,6 +35,9 @@ public class SolucionConstructiva {
     // Detalles de vehículos
     private List<VehiculoSimulacion> estadoFinalVehiculos;
 
+    // Métricas de tiempo y memoria por fase (puede ser null)
+    private MetricasFases metricasFases;
+
     public SolucionConstructiva() {
         this.costoTotalOperacion = 0.0;
         this.valorCargaEntregada = 0.0;
@@ -241,6 +244,14 @@ public class SolucionConstructiva {
         this.porcentajeCargaEntregado = porcentajeCargaEntregado;
     }
 
+    public MetricasFases getMetricasFases() {
+        return metricasFases;
+    }
+
+    public void setMetricasFases(MetricasFases metricasFases) {
+        this.metricasFases = metricasFases;
+    }
+
     /**
      * Crea una copia profunda de esta solución
      */
@@ -275,6 +286,9 @@ public class SolucionConstructiva {
             clon.estadoFinalVehiculos = new ArrayList<>(this.estadoFinalVehiculos);
         }
 
+        // Las métricas son de solo lectura una vez terminada la ejecución
+        clon.metricasFases = this.metricasFases;
+
         return clon;
     }
 }
\ No newline at end of file
@@ -11,7 +11,18 @@ public class SolucionPareto {
 
     private final SolucionConstructiva solucion;
     private final double[] objetivos;
-    private final String[] nombresObjetivos;
+
+    /** Número de objetivos manejados por cada solución */
+    public static final int NUM_OBJETIVOS = 6;
+
+    private static final String[] NOMBRES_OBJETIVOS = {
+            "Costo Total (EUR)",
+            "Energía Entregada (kWh)",
+            "Vehículos Atendidos",
+            "Tiempo Espera Promedio (h)",
+            "Eficiencia Promedio (%)",
+            "Porcentaje Carga Entregado (%)"
+    };
 
     // Índices de objetivos
     public static final int MINIMIZAR_COSTO = 0;
@@ -23,15 +34,7 @@ public class SolucionPareto {
 
     public SolucionPareto(SolucionConstructiva solucion) {
         this.solucion = solucion;
-        this.objetivos = new double[6];
-        this.nombresObjetivos = new String[] {
-                "Costo Total (EUR)",
-                "Energía Entregada (kWh)",
-                "Vehículos Atendidos",
-                "Tiempo Espera Promedio (h)",
-                "Eficiencia Promedio (%)",
-                "Porcentaje Carga Entregado (%)"
-        };
+        this.objetivos = new double[NUM_OBJETIVOS];
 
         calcularObjetivos();
     }
@@ -122,14 +125,14 @@ public class SolucionPareto {
             // Convertir valores invertidos de vuelta a su forma original para mostrar
             if (i == MINIMIZAR_COSTO) {
                 valorReal = -valorReal;
-                sb.append(String.format("%s: %.2f EUR\n", nombresObjetivos[i], valorReal));
+                sb.append(String.format("%s: %.2f EUR\n", NOMBRES_OBJETIVOS[i], valorReal));
             } else if (i == MINIMIZAR_TIEMPO_ESPERA) {
                 valorReal = -valorReal;
-                sb.append(String.format("%s: %.3f h\n", nombresObjetivos[i], valorReal));
+                sb.append(String.format("%s: %.3f h\n", NOMBRES_OBJETIVOS[i], valorReal));
             } else if (i == MAXIMIZAR_VEHICULOS) {
-                sb.append(String.format("%s: %.0f\n", nombresObjetivos[i], valorReal));
+                sb.append(String.format("%s: %.0f\n", NOMBRES_OBJETIVOS[i], valorReal));
             } else {
-                sb.append(String.format("%s: %.2f\n", nombresObjetivos[i], valorReal));
+                sb.append(String.format("%s: %.2f\n", NOMBRES_OBJETIVOS[i], valorReal));
             }
         }
 
@@ -161,7 +164,14 @@ public class SolucionPareto {
     }
 
     public String[] getNombresObjetivos() {
-        return nombresObjetivos.clone();
+        return NOMBRES_OBJETIVOS.clone();
+    }
+
+    /**
+     * Copia los objetivos en una fila de una matriz plana sin crear arreglos
+     */
+    void copiarObjetivos(double[] destino, int desplazamiento) {
+        System.arraycopy(objetivos, 0, destino, desplazamiento, NUM_OBJETIVOS);
     }
 
     public double getObjetivo(int indice) {
@@ -0,0 +1,119 @@
+package com.ejemplo.algoritmo;
+
+import com.ejemplo.model.TestSystem;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.net.Socket;
+
+/**
+ * Proceso trabajador del Scatter Search distribuido. Se conecta al
+ * CoordinadorScatterSearch, recibe la instancia una sola vez y después
+ * ejecuta tareas de construcción (el constructivo con la semilla indicada),
+ * devolviendo el resumen compacto de cada solución. Termina cuando el
+ * coordinador envía el mensaje de fin o cierra la conexión.
+ *
+ * Uso: java -cp <classpath> com.ejemplo.algoritmo.TrabajadorScatterSearch <host> <puerto>
+ */
+public class TrabajadorScatterSearch {
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Uso: TrabajadorScatterSearch <host> <puerto>");
+            System.exit(2);
+        }
+        try {
+            int tareas = ejecutar(args[0], Integer.parseInt(args[1]));
+            System.out.printf("✅ Trabajador terminado: %d tareas ejecutadas%n", tareas);
+        } catch (IOException e) {
+            System.err.println("❌ Trabajador desconectado: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Atiende al coordinador hasta el mensaje de fin. Retorna el número de
+     * tareas ejecutadas.
+     */
+    public static int ejecutar(String host, int puerto) throws IOException {
+        try (Socket socket = new Socket(host, puerto)) {
+            socket.setTcpNoDelay(true);
+            DataInputStream entrada = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            salida.writeInt(CoordinadorScatterSearch.MAGIA);
+            salida.writeInt(CoordinadorScatterSearch.VERSION);
+            salida.flush();
+
+            if (entrada.readByte() != CoordinadorScatterSearch.MENSAJE_INSTANCIA) {
+                throw new IOException("Se esperaba la instancia del coordinador");
+            }
+            int longitud = entrada.readInt();
+            if (longitud < 0 || longitud > CoordinadorScatterSearch.TAMAÑO_MAXIMO_INSTANCIA) {
+                throw new IOException("Tamaño de instancia inválido: " + longitud);
+            }
+            byte[] instancia = new byte[longitud];
+            entrada.readFully(instancia);
+            TestSystem testSystem = leerInstancia(instancia);
+
+            int tareas = 0;
+            while (true) {
+                byte tipo = entrada.readByte();
+                if (tipo == CoordinadorScatterSearch.MENSAJE_FIN) {
+                    return tareas;
+                }
+                if (tipo != CoordinadorScatterSearch.MENSAJE_TAREA) {
+                    throw new IOException("Mensaje desconocido del coordinador: " + tipo);
+                }
+                long id = entrada.readLong();
+                long semilla = entrada.readLong();
+
+                SolucionConstructiva solucion = null;
+                String error = null;
+                try {
+                    solucion = ejecutarTarea(testSystem, semilla);
+                    if (solucion == null) {
+                        error = "El constructivo no produjo solución";
+                    }
+                } catch (RuntimeException e) {
+                    error = String.valueOf(e.getMessage());
+                }
+
+                if (error == null) {
+                    salida.writeByte(CoordinadorScatterSearch.MENSAJE_RESULTADO);
+                    salida.writeLong(id);
+                    PuntoControlScatterSearch.escribirResumenSolucion(salida, solucion);
+                } else {
+                    salida.writeByte(CoordinadorScatterSearch.MENSAJE_ERROR);
+                    salida.writeLong(id);
+                    salida.writeUTF(error);
+                }
+                salida.flush();
+                tareas++;
+            }
+        }
+    }
+
+    /**
+     * Tarea de construcción: diversificación y combinación del Scatter Search
+     * son ejecuciones del constructivo que solo difieren en la semilla
+     */
+    static SolucionConstructiva ejecutarTarea(TestSystem testSystem, long semilla) {
+        ConstructivoAdaptativo algoritmo = new ConstructivoAdaptativo(testSystem);
+        algoritmo.getLogger().setShowLogs(false);
+        algoritmo.getLogger().setHistorialTexto(false); // La solución no conserva los logs
+        algoritmo.setSemilla(semilla);
+        return algoritmo.ejecutar();
+    }
+
+    static byte[] escribirInstancia(TestSystem testSystem) throws IOException {
+        return new ObjectMapper().writeValueAsBytes(testSystem);
+    }
+
+    static TestSystem leerInstancia(byte[] datos) throws IOException {
+        return new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .readValue(datos, TestSystem.class);
+    }
+}
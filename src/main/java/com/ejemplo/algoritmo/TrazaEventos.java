@@ -0,0 +1,495 @@
+package com.ejemplo.algoritmo;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Traza binaria de eventos de la simulación de carga. Cada evento ocupa un
+ * registro de tamaño fijo (40 bytes):
+ *
+ * <pre>
+ * int    tipo      (ordinal del tipo en los 8 bits bajos, id de texto + 1 en el resto)
+ * int    vehiculo  (-1 si no aplica)
+ * int    cargador  (-1 si no aplica)
+ * int    extra     (dato entero según el tipo)
+ * double tiempo    (hora de simulación)
+ * double valor1
+ * double valor2
+ * </pre>
+ *
+ * Los textos repetidos (nombres de heurística, razones, marcas) se guardan una vez
+ * en un diccionario. La traza puede vivir en un buffer directo preasignado
+ * (circular: al llenarse sobrescribe lo más antiguo) o en un archivo mapeado
+ * en memoria que crece por bloques.
+ */
+public class TrazaEventos implements AutoCloseable {
+
+    /** Tamaño en bytes de cada registro */
+    public static final int TAMAÑO_REGISTRO = 40;
+
+    /** Máximo de registros de una traza en memoria (un buffer directo se indexa con int) */
+    public static final int CAPACIDAD_MAXIMA_REGISTROS = Integer.MAX_VALUE / TAMAÑO_REGISTRO;
+
+    private static final int REGISTROS_POR_BLOQUE = 65_536;
+    private static final String EXTENSION_NOMBRES = ".nombres";
+
+    /**
+     * Tipos de evento con su nivel, categoría y plantilla de texto
+     */
+    public enum TipoEvento {
+        INICIO_ITERACION("INFO", "ITERATION"),
+        GENERACION_HEURISTICAS("INFO", "HEURISTICS"),
+        SELECCION_HEURISTICA("SUCCESS", "HEURISTICS"),
+        FACTIBILIDAD("DEBUG", "FEASIBILITY"),
+        COMPATIBILIDAD("DEBUG", "COMPATIBILITY"),
+        ASIGNACION("SUCCESS", "ASSIGNMENT"),
+        PREEMPCION("WARN", "PREEMPTION"),
+        CAMBIO_CARGADOR("INFO", "CHARGER_SWAP"),
+        PROGRESO_CARGA("DEBUG", "CHARGING"),
+        FIN_CARGA("SUCCESS", "COMPLETION"),
+        SALIDA("INFO", "DEPARTURE"),
+        TRANSFORMADOR("DEBUG", "CONSTRAINT"),
+        RED("DEBUG", "GRID"),
+        EVALUACION("DEBUG", "EVALUATION"),
+        RESUMEN_ITERACION("INFO", "SUMMARY"),
+        ESTADISTICAS_FINALES("SUCCESS", "STATISTICS");
+
+        private final String nivel;
+        private final String categoria;
+
+        TipoEvento(String nivel, String categoria) {
+            this.nivel = nivel;
+            this.categoria = categoria;
+        }
+
+        public String getNivel() {
+            return nivel;
+        }
+
+        public String getCategoria() {
+            return categoria;
+        }
+    }
+
+    private static final TipoEvento[] TIPOS = TipoEvento.values();
+
+    // Almacenamiento: buffer circular en memoria o archivo mapeado por bloques
+    private final ByteBuffer bufferMemoria;
+    private final int capacidadRegistros;
+    private final FileChannel canal;
+    private final Path archivo;
+    private MappedByteBuffer bloqueActual;
+    private long inicioBloque;
+
+    private long registrosTotales;
+    private final Map<String, Integer> indiceTextos = new HashMap<>();
+    private final List<String> textos = new ArrayList<>();
+
+    private TrazaEventos(ByteBuffer bufferMemoria, int capacidadRegistros, FileChannel canal, Path archivo) {
+        this.bufferMemoria = bufferMemoria;
+        this.capacidadRegistros = capacidadRegistros;
+        this.canal = canal;
+        this.archivo = archivo;
+    }
+
+    /**
+     * Crea una traza circular en un buffer directo preasignado
+     */
+    public static TrazaEventos enMemoria(int capacidadRegistros) {
+        if (capacidadRegistros <= 0) {
+            throw new IllegalArgumentException("La capacidad de la traza debe ser positiva: " + capacidadRegistros);
+        }
+        long bytes = (long) capacidadRegistros * TAMAÑO_REGISTRO;
+        if (bytes > CAPACIDAD_MAXIMA_REGISTROS * (long) TAMAÑO_REGISTRO) {
+            throw new IllegalArgumentException(String.format(
+                    "La traza de %d registros (%d bytes) supera el máximo de %d registros en memoria",
+                    capacidadRegistros, bytes, CAPACIDAD_MAXIMA_REGISTROS));
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.LITTLE_ENDIAN);
+        return new TrazaEventos(buffer, capacidadRegistros, null, null);
+    }
+
+    /**
+     * Crea una traza sobre un archivo mapeado en memoria. El diccionario de
+     * textos se escribe junto al archivo (extensión ".nombres") al cerrar.
+     */
+    public static TrazaEventos enArchivo(Path archivo) throws IOException {
+        Path padre = archivo.toAbsolutePath().getParent();
+        if (padre != null) {
+            Files.createDirectories(padre);
+        }
+        FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        TrazaEventos traza = new TrazaEventos(null, Integer.MAX_VALUE, canal, archivo);
+        traza.mapearBloque(0);
+        return traza;
+    }
+
+    /**
+     * Carga en memoria una traza escrita previamente con {@link #enArchivo}
+     */
+    public static TrazaEventos leerArchivo(Path archivo) throws IOException {
+        if (!Files.exists(archivo)) {
+            throw new IOException("El archivo de traza no existe: " + archivo);
+        }
+        long bytes = Files.size(archivo);
+        if (bytes % TAMAÑO_REGISTRO != 0) {
+            throw new IOException("El archivo de traza está truncado: " + archivo);
+        }
+        if (bytes / TAMAÑO_REGISTRO > CAPACIDAD_MAXIMA_REGISTROS) {
+            throw new IOException(String.format("La traza %s tiene %d registros y no cabe en memoria (máximo %d)",
+                    archivo, bytes / TAMAÑO_REGISTRO, CAPACIDAD_MAXIMA_REGISTROS));
+        }
+        int registros = (int) (bytes / TAMAÑO_REGISTRO);
+        TrazaEventos traza = enMemoria(Math.max(1, registros));
+        try (FileChannel lectura = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            while (traza.bufferMemoria.position() < bytes) {
+                if (lectura.read(traza.bufferMemoria) < 0) {
+                    break;
+                }
+            }
+        }
+        traza.registrosTotales = registros;
+
+        Path nombres = Paths.get(archivo.toString() + EXTENSION_NOMBRES);
+        if (Files.exists(nombres)) {
+            for (String texto : Files.readAllLines(nombres, StandardCharsets.UTF_8)) {
+                traza.idTexto(texto.replace("\\n", "\n"));
+            }
+        }
+        return traza;
+    }
+
+    private void mapearBloque(long registroInicial) throws IOException {
+        inicioBloque = registroInicial;
+        bloqueActual = canal.map(FileChannel.MapMode.READ_WRITE, registroInicial * TAMAÑO_REGISTRO,
+                (long) REGISTROS_POR_BLOQUE * TAMAÑO_REGISTRO);
+        bloqueActual.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Devuelve el identificador de un texto, registrándolo si es nuevo
+     */
+    public int idTexto(String texto) {
+        Integer id = indiceTextos.get(texto);
+        if (id == null) {
+            id = textos.size();
+            textos.add(texto);
+            indiceTextos.put(texto, id);
+        }
+        return id;
+    }
+
+    /**
+     * Registra un evento sin texto asociado
+     */
+    public void registrar(TipoEvento tipo, double tiempo, int vehiculo, int cargador, int extra,
+            double valor1, double valor2) {
+        escribirRegistro(tipo.ordinal(), tiempo, vehiculo, cargador, extra, valor1, valor2);
+    }
+
+    /**
+     * Registra un evento que referencia un texto del diccionario
+     */
+    public void registrar(TipoEvento tipo, String texto, double tiempo, int vehiculo, int cargador, int extra,
+            double valor1, double valor2) {
+        int referencia = texto == null ? 0 : idTexto(texto) + 1;
+        escribirRegistro(tipo.ordinal() | (referencia << 8), tiempo, vehiculo, cargador, extra, valor1, valor2);
+    }
+
+    private void escribirRegistro(int tipo, double tiempo, int vehiculo, int cargador, int extra,
+            double valor1, double valor2) {
+        ByteBuffer destino;
+        int posicion;
+        if (bufferMemoria != null) {
+            destino = bufferMemoria;
+            posicion = (int) (registrosTotales % capacidadRegistros) * TAMAÑO_REGISTRO;
+        } else {
+            if (registrosTotales - inicioBloque >= REGISTROS_POR_BLOQUE) {
+                try {
+                    mapearBloque(registrosTotales);
+                } catch (IOException e) {
+                    throw new IllegalStateException("No se pudo ampliar la traza en " + archivo, e);
+                }
+            }
+            destino = bloqueActual;
+            posicion = (int) (registrosTotales - inicioBloque) * TAMAÑO_REGISTRO;
+        }
+
+        destino.putInt(posicion, tipo);
+        destino.putInt(posicion + 4, vehiculo);
+        destino.putInt(posicion + 8, cargador);
+        destino.putInt(posicion + 12, extra);
+        destino.putDouble(posicion + 16, tiempo);
+        destino.putDouble(posicion + 24, valor1);
+        destino.putDouble(posicion + 32, valor2);
+        registrosTotales++;
+    }
+
+    /**
+     * Fija el tamaño final del archivo y guarda el diccionario de textos
+     */
+    @Override
+    public void close() throws IOException {
+        if (canal == null || !canal.isOpen()) {
+            return;
+        }
+        bloqueActual.force();
+        bloqueActual = null;
+        canal.truncate(registrosTotales * TAMAÑO_REGISTRO);
+        canal.close();
+
+        List<String> lineas = new ArrayList<>(textos.size());
+        for (String texto : textos) {
+            lineas.add(texto.replace("\n", "\\n"));
+        }
+        Files.write(Paths.get(archivo.toString() + EXTENSION_NOMBRES), lineas, StandardCharsets.UTF_8);
+    }
+
+    // Acceso a registros retenidos (0 = el más antiguo); solo en memoria
+
+    public int getNumeroRegistros() {
+        return (int) Math.min(registrosTotales, capacidadRegistros);
+    }
+
+    public long getRegistrosTotales() {
+        return registrosTotales;
+    }
+
+    public long getRegistrosDescartados() {
+        return registrosTotales - getNumeroRegistros();
+    }
+
+    private int posicion(int i) {
+        if (bufferMemoria == null) {
+            throw new IllegalStateException("La traza en archivo se lee con TrazaEventos.leerArchivo()");
+        }
+        if (i < 0 || i >= getNumeroRegistros()) {
+            throw new IndexOutOfBoundsException("Registro de traza inválido: " + i);
+        }
+        long primero = registrosTotales - getNumeroRegistros();
+        return (int) ((primero + i) % capacidadRegistros) * TAMAÑO_REGISTRO;
+    }
+
+    public TipoEvento getTipo(int i) {
+        return TIPOS[leerEntero(i, 0) & 0xFF];
+    }
+
+    public String getTexto(int i) {
+        int referencia = leerEntero(i, 0) >>> 8;
+        return referencia == 0 ? null : textos.get(referencia - 1);
+    }
+
+    public int getVehiculo(int i) {
+        return leerEntero(i, 4);
+    }
+
+    public int getCargador(int i) {
+        return leerEntero(i, 8);
+    }
+
+    public int getExtra(int i) {
+        return leerEntero(i, 12);
+    }
+
+    public double getTiempo(int i) {
+        return bufferMemoria.getDouble(posicion(i) + 16);
+    }
+
+    public double getValor1(int i) {
+        return bufferMemoria.getDouble(posicion(i) + 24);
+    }
+
+    public double getValor2(int i) {
+        return bufferMemoria.getDouble(posicion(i) + 32);
+    }
+
+    private int leerEntero(int i, int desplazamiento) {
+        return bufferMemoria.getInt(posicion(i) + desplazamiento);
+    }
+
+    /**
+     * Reconstruye las líneas que el logger escribió para un registro, con el
+     * mismo nivel, categoría y mensaje. Las líneas de detalle cuyos datos no
+     * guarda el registro se omiten (el CSV conserva todos los campos).
+     */
+    public String decodificarTexto(int i) {
+        TipoEvento tipo = getTipo(i);
+        List<String[]> lineas = new ArrayList<>();
+        describir(i, tipo, lineas);
+        StringBuilder texto = new StringBuilder();
+        for (String[] linea : lineas) {
+            if (texto.length() > 0) {
+                texto.append('\n');
+            }
+            texto.append(String.format(Locale.ROOT, "[t=%.3f h] %s <%s> %s", getTiempo(i), linea[0],
+                    tipo.getCategoria(), linea[1]));
+        }
+        return texto.toString();
+    }
+
+    private static void agregar(List<String[]> lineas, String nivel, String mensaje) {
+        lineas.add(new String[] { nivel, mensaje });
+    }
+
+    // Mismos formatos que los métodos de ChargingLogger; para los eventos de un
+    // vehículo el texto del registro es la marca
+    private void describir(int i, TipoEvento tipo, List<String[]> lineas) {
+        int v = getVehiculo(i);
+        int c = getCargador(i);
+        int extra = getExtra(i);
+        double t = getTiempo(i);
+        double v1 = getValor1(i);
+        double v2 = getValor2(i);
+        String texto = getTexto(i);
+        String nivel = tipo.getNivel();
+
+        switch (tipo) {
+            case INICIO_ITERACION:
+                agregar(lineas, nivel, String.format(
+                        "🔄 Iteración %d iniciada - Tiempo: %.2f h | Vehículos esperando: %d | Cargadores disponibles: %d",
+                        extra, t, (int) v1, (int) v2));
+                break;
+            case GENERACION_HEURISTICAS:
+                agregar(lineas, nivel, String.format("🧠 Generadas %d soluciones candidatas:", extra));
+                break;
+            case SELECCION_HEURISTICA:
+                agregar(lineas, nivel, String.format("🎯 Heurística seleccionada: %s", texto));
+                agregar(lineas, "INFO", String.format("   📊 Valor evaluación: %.4f", v1));
+                agregar(lineas, "INFO", String.format("   ⏱️  Tiempo evaluación: %.2f ms", v2));
+                break;
+            case FACTIBILIDAD:
+                agregar(lineas, nivel, String.format("%s: Vehículo %d → Cargador %d",
+                        extra != 0 ? "✅ FACTIBLE" : "❌ NO FACTIBLE", v, c));
+                if (extra != 0) {
+                    agregar(lineas, nivel, String.format("   ✓ Potencia efectiva: %.1f kW", v1));
+                } else {
+                    agregar(lineas, "WARN", String.format("   🚫 Razón: %s", texto));
+                }
+                break;
+            case COMPATIBILIDAD:
+                if (extra != 0) {
+                    agregar(lineas, nivel, String.format("✅ %s compatible con Cargador %d (score: %.3f)",
+                            texto, c, v1));
+                } else {
+                    agregar(lineas, "WARN", String.format("❌ %s NO compatible con Cargador %d", texto, c));
+                }
+                break;
+            case ASIGNACION:
+                agregar(lineas, nivel, String.format("🔗 ASIGNACIÓN: Vehículo %d (%s) → Cargador %d", v, texto, c));
+                agregar(lineas, "INFO", String.format("   ⏰ Tiempo asignación: %.3f h", t));
+                agregar(lineas, "INFO", String.format("   🔋 Energía requerida: %.2f kWh", v1));
+                agregar(lineas, "INFO", String.format("   ⚡ Potencia disponible: %d kW", extra));
+                agregar(lineas, "INFO", String.format("   🚪 Tiempo salida: %.3f h", v2));
+                break;
+            case PREEMPCION:
+                agregar(lineas, nivel, String.format("🔄 PREEMPCIÓN en Cargador %d", c));
+                agregar(lineas, nivel, String.format("   🎯 Razón: %s", texto));
+                break;
+            case CAMBIO_CARGADOR:
+                agregar(lineas, nivel, String.format("🔀 CAMBIO DE CARGADOR: Vehículo %d", v));
+                agregar(lineas, nivel, String.format("   📤 Cargador anterior: %d (%d kW)", extra, (int) v1));
+                agregar(lineas, nivel, String.format("   📥 Cargador nuevo: %d (%d kW)", c, (int) v2));
+                agregar(lineas, nivel, String.format("   🎯 Razón: %s", texto));
+                if (v2 > v1) {
+                    agregar(lineas, nivel, String.format("   📈 Mejora de potencia: +%d kW", (int) (v2 - v1)));
+                } else if (v2 < v1) {
+                    agregar(lineas, "WARN", String.format("   📉 Reducción de potencia: %d kW", (int) (v2 - v1)));
+                }
+                break;
+            case PROGRESO_CARGA:
+                agregar(lineas, nivel, String.format("🔋 Carga Vehículo %d: +%.3f kWh", v, v1));
+                agregar(lineas, nivel, String.format("   💰 Precio actual: %.4f EUR/kWh", v2));
+                agregar(lineas, nivel, String.format("   ⚙️  Eficiencia: %.1f%%", extra / 100.0));
+                break;
+            case FIN_CARGA:
+                agregar(lineas, nivel, String.format("🏁 CARGA %s: Vehículo %d (%s)",
+                        extra != 0 ? "✅ COMPLETADA" : "⚠️ PARCIAL", v, texto));
+                agregar(lineas, "INFO", String.format("   ⏰ Tiempo finalización: %.3f h", t));
+                agregar(lineas, "INFO", String.format("   💰 Costo total: %.2f EUR", v2));
+                break;
+            case SALIDA:
+                agregar(lineas, nivel, String.format("🚪 SALIDA: Vehículo %d (%s)", v, texto));
+                agregar(lineas, nivel, String.format("   ⏰ Tiempo salida: %.3f h (programado: %.3f h)", t, v1));
+                if (c >= 0) {
+                    agregar(lineas, nivel, String.format("   🔌 Liberando cargador: %d", c));
+                }
+                agregar(lineas, nivel, String.format("   ⏳ Tiempo total de espera: %.3f h", v2));
+                break;
+            case TRANSFORMADOR:
+                if (extra != 0) {
+                    agregar(lineas, "ERROR", String.format("🚨 VIOLACIÓN TRANSFORMADOR: %.1f kW > %d kW",
+                            v1, (int) v2));
+                } else {
+                    agregar(lineas, nivel, String.format("✅ Carga transformador: %.1f/%d kW (%.1f%%)",
+                            v1, (int) v2, (v1 / (int) v2) * 100));
+                }
+                break;
+            case RED:
+                agregar(lineas, nivel, "🔌 Verificación restricciones de red:");
+                break;
+            case EVALUACION:
+                agregar(lineas, nivel, String.format("📊 Evaluación multiobjetivo: %s", texto));
+                agregar(lineas, nivel, String.format("   💰 Componente costo: %.4f", v1));
+                agregar(lineas, nivel, String.format("   🎯 Puntuación total: %.4f", v2));
+                break;
+            case RESUMEN_ITERACION:
+                agregar(lineas, nivel, "📋 Resumen de iteración:");
+                agregar(lineas, nivel, String.format("   ⏰ Tiempo: %.3f h", t));
+                agregar(lineas, nivel, String.format("   🚗 Vehículos activos: %d", v));
+                agregar(lineas, nivel, String.format("   🔋 Vehículos cargando: %d", c));
+                agregar(lineas, nivel, String.format("   ✅ Vehículos completados: %d", extra));
+                agregar(lineas, nivel, String.format("   ⚡ Energía total entregada: %.2f kWh", v1));
+                break;
+            case ESTADISTICAS_FINALES:
+                agregar(lineas, nivel, "📊 ESTADÍSTICAS FINALES DEL ALGORITMO:");
+                agregar(lineas, "INFO", String.format("   🔄 Total iteraciones: %d", extra));
+                agregar(lineas, "INFO", String.format("   ⚡ Energía entregada: %.2f kWh", v2));
+                agregar(lineas, "INFO", String.format("   📊 Porcentaje de carga entregado: %.1f%%", v1));
+                break;
+            default:
+                agregar(lineas, nivel, tipo.name());
+        }
+    }
+
+    /**
+     * Escribe la traza como texto legible, una línea por evento
+     */
+    public void exportarTexto(Writer salida) throws IOException {
+        for (int i = 0, n = getNumeroRegistros(); i < n; i++) {
+            salida.write(decodificarTexto(i));
+            salida.write('\n');
+        }
+        salida.flush();
+    }
+
+    /**
+     * Escribe la traza en formato CSV con una columna por campo del registro
+     */
+    public void exportarCsv(Writer salida) throws IOException {
+        salida.write("Tiempo,Tipo,Nivel,Categoria,Vehiculo,Cargador,Extra,Valor1,Valor2,Texto\n");
+        for (int i = 0, n = getNumeroRegistros(); i < n; i++) {
+            TipoEvento tipo = getTipo(i);
+            String texto = getTexto(i);
+            salida.write(String.format(Locale.ROOT, "%.4f,%s,%s,%s,%d,%d,%d,%.6f,%.6f,%s\n",
+                    getTiempo(i), tipo.name(), tipo.getNivel(), tipo.getCategoria(), getVehiculo(i),
+                    getCargador(i), getExtra(i), getValor1(i), getValor2(i),
+                    texto == null ? "" : "\"" + texto.replace("\"", "\"\"") + "\""));
+        }
+        salida.flush();
+    }
+}
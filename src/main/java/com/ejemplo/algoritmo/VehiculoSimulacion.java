@@ -84,6 +84,9 @@ public class VehiculoSimulacion {
     private List<HistorialCargador> historialCargadores;
     private int numeroPreempciones;
 
+    // Posición en el orden de llegada a la simulación (desempata la cola de espera)
+    private long ordenLlegada;
+
     public VehiculoSimulacion(VehicleArrival vehiculoOriginal) {
         this.vehiculoOriginal = vehiculoOriginal;
         this.estado = EstadoVehiculo.ESPERANDO;
@@ -101,6 +104,14 @@ public class VehiculoSimulacion {
         this.numeroPreempciones = 0;
     }
 
+    public long getOrdenLlegada() {
+        return ordenLlegada;
+    }
+
+    public void setOrdenLlegada(long ordenLlegada) {
+        this.ordenLlegada = ordenLlegada;
+    }
+
     /**
      * Registra el uso de un nuevo cargador
      */
@@ -172,6 +183,23 @@ public class VehiculoSimulacion {
         }
     }
 
+    /**
+     * Fija los acumulados calculados por un paso de carga en lote (ver
+     * LoteCarga) y comprueba la completitud igual que actualizarCarga. Retorna
+     * true si la carga quedó completa.
+     */
+    boolean establecerAcumuladosCarga(double energiaActual, double costoEnergiaAcumulado,
+            double costoOperacionAcumulado) {
+        this.energiaActual = energiaActual;
+        this.costoEnergiaAcumulado = costoEnergiaAcumulado;
+        this.costoOperacionAcumulado = costoOperacionAcumulado;
+        if (this.energiaActual >= this.vehiculoOriginal.getRequiredEnergy()) {
+            this.cargaCompleta = true;
+            this.estado = EstadoVehiculo.COMPLETADO;
+        }
+        return this.cargaCompleta;
+    }
+
     /**
      * Calcula el porcentaje de completitud de la carga
      */
@@ -1,16 +1,27 @@
 package com.ejemplo.main;
 
 import com.ejemplo.model.*;
-import com.ejemplo.mapper.JsonMapper;
+import com.ejemplo.mapper.FuenteLlegadasJson;
+import com.ejemplo.mapper.GeneradorInstancias;
+import com.ejemplo.mapper.InstanciaBinaria;
+import com.ejemplo.mapper.StreamingJsonMapper;
 import com.ejemplo.algoritmo.*;
 
 import java.util.Scanner;
 import java.io.IOException;
 import java.util.Map;
 import java.util.List;
+import java.util.Set;
 import java.io.FileWriter; // Added for CSV writing
 import java.io.PrintWriter; // Added for CSV writing
 import java.util.ArrayList; // Added for storing benchmark results
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 public class Main {
     private static Scanner scanner = new Scanner(System.in);
@@ -18,6 +29,18 @@ public class Main {
     private static ConstructivoAdaptativo ultimoAlgoritmoEjecutado = null; // Para acceder a los logs
     private static ScatterSearch ultimoScatterSearchEjecutado = null; // Para acceder a los resultados de Scatter Search
     private static boolean logsHabilitados = false; // Feature flag global para controlar logs
+    private static Path archivoLogs = null; // Archivo donde se escriben los logs del constructivo (null: ninguno)
+    private static Path archivoTraza = null; // Traza binaria mapeada en archivo (null: traza en memoria)
+    private static CotaEnergia cotaEnergia = null; // Cota de energía de la instancia cargada
+    private static TestSystem instanciaCotaEnergia = null;
+    private static final int CAPACIDAD_TRAZA = 262_144; // Registros de la traza binaria (~10 MB)
+    private static final StreamingJsonMapper JSON_MAPPER = new StreamingJsonMapper();
+    // JSON a partir del cual las llegadas se leen en streaming en lugar de cargarlas
+    private static final long UMBRAL_BYTES_STREAMING = 256L * 1024 * 1024;
+    private static String archivoLlegadasStreaming = null; // JSON cuyas llegadas se leen en streaming (null: en memoria)
+    // Opciones del menú que funcionan sin las llegadas en memoria
+    private static final Set<Integer> OPCIONES_SIN_LLEGADAS = Set.of(
+            0, 1, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 15, 22, 24, 25, 26, 32);
 
     public static void main(String[] args) {
         System.out.println(" MAPPER DE SISTEMA DE CARGA DE VEHÍCULOS ELÉCTRICOS");
@@ -33,8 +56,6 @@ public class Main {
     private static void cargarDatosDelSistema() {
         System.out.println(" Cargando datos del sistema de prueba...");
         try {
-            JsonMapper jsonMapper = new JsonMapper();
-
             // Preguntar al usuario qué archivo quiere cargar
             System.out.println("Archivos JSON disponibles:");
             System.out.println("1. test_system_1.json ");
@@ -52,12 +73,25 @@ public class Main {
             System.out.println(" Intentando cargar " + archivo + "...");
 
             try {
-                testSystem = jsonMapper.mapJsonToTestSystem(archivo);
+                if (Files.size(Paths.get(archivo)) >= UMBRAL_BYTES_STREAMING) {
+                    // Instancia grande: solo se cargan catálogos y precios; el constructivo
+                    // lee las llegadas del archivo a medida que avanza la simulación
+                    testSystem = JSON_MAPPER.mapJsonSinLlegadas(archivo);
+                    archivoLlegadasStreaming = archivo;
+                } else {
+                    testSystem = cargarInstancia(archivo);
+                    archivoLlegadasStreaming = null;
+                }
                 System.out.println(" Datos cargados exitosamente desde " + archivo + "!");
                 System.out.printf("   • Sistema de prueba #%d%n", testSystem.getTestNumber());
-                System.out.printf("   • %d vehículos, %d cargadores%n",
-                        testSystem.getArrivals().size(),
-                        testSystem.getParkingConfig().getChargers().size());
+                if (archivoLlegadasStreaming != null) {
+                    System.out.printf("   • Llegadas leídas en streaming, %d cargadores%n",
+                            testSystem.getParkingConfig().getChargers().size());
+                } else {
+                    System.out.printf("   • %d vehículos, %d cargadores%n",
+                            testSystem.getArrivals().size(),
+                            testSystem.getParkingConfig().getChargers().size());
+                }
             } catch (IOException e) {
                 System.err.println(" Error cargando " + archivo + ": " + e.getMessage());
                 System.err.println("Por favor, asegúrese de que el archivo exista y sea válido.");
@@ -74,6 +108,34 @@ public class Main {
         System.out.println();
     }
 
+    /**
+     * Carga una instancia usando la copia binaria (.evb) junto al JSON cuando
+     * está al día; si no existe o es más antigua que el JSON, lee el JSON y
+     * regenera la copia binaria para las próximas ejecuciones.
+     */
+    private static TestSystem cargarInstancia(String archivoJson) throws IOException {
+        Path json = Paths.get(archivoJson);
+        Path binario = Paths.get(archivoJson.replaceFirst("\\.json$", "") + InstanciaBinaria.EXTENSION);
+
+        if (Files.exists(json) && Files.exists(binario)
+                && Files.getLastModifiedTime(binario).compareTo(Files.getLastModifiedTime(json)) >= 0) {
+            try {
+                return InstanciaBinaria.abrir(binario).toTestSystem();
+            } catch (IOException e) {
+                System.err.println("⚠️ Copia binaria inválida, se regenera desde el JSON: " + e.getMessage());
+            }
+        }
+
+        TestSystem cargado = JSON_MAPPER.mapJsonToTestSystem(archivoJson);
+        try {
+            InstanciaBinaria.exportar(cargado, binario);
+        } catch (IOException e) {
+            // La copia binaria es solo una caché: si no se puede escribir se sigue con el JSON
+            System.err.println("⚠️ No se pudo guardar la copia binaria " + binario + ": " + e.getMessage());
+        }
+        return cargado;
+    }
+
     private static void mostrarMenuPrincipal() {
         boolean continuar = true;
 
@@ -103,11 +165,24 @@ public class Main {
             System.out.println("22. ejecutar benchmark completo y exportar csv");
             System.out.println("23. ejecutar constructivo para un archivo y exportar a csv");
             System.out.println("24. ejecutar constructivo para todos los archivos y exportar a csv");
+            System.out.println("25. generar instancia sintética");
+            System.out.println("26. exportar gráficas a png/svg (sin ventana)");
+            System.out.println("27. evaluar robustez de la última solución (monte carlo)");
+            System.out.println("28. reanudar scatter search desde punto de control");
+            System.out.println("29. ejecutar scatter search con islas (paralelo)");
+            System.out.println("30. ejecutar scatter search distribuido (procesos trabajadores)");
+            System.out.println("31. plan por flujo de costo mínimo y cota del modelo continuo");
+            System.out.println("32. planificador online: reproducir la instancia como flujo de eventos");
             System.out.println("0. salir");
             System.out.println();
             System.out.print("seleccione una opción: ");
 
-            int opcion = leerOpcion(0, 24); // Updated max option
+            int opcion = leerOpcion(0, 32); // Updated max option
+            if (archivoLlegadasStreaming != null && !OPCIONES_SIN_LLEGADAS.contains(opcion)) {
+                System.out.println("⚠️ Las llegadas de " + archivoLlegadasStreaming
+                        + " se leen en streaming; esta opción necesita todas las llegadas en memoria.");
+                opcion = -1;
+            }
 
             switch (opcion) {
                 case 1:
@@ -179,6 +254,30 @@ public class Main {
                 case 24:
                     ejecutarConstructivoParaTodosYExportarCSV();
                     break;
+                case 25:
+                    generarInstanciaSintetica();
+                    break;
+                case 26:
+                    exportarGraficas();
+                    break;
+                case 27:
+                    evaluarRobustez();
+                    break;
+                case 28:
+                    reanudarScatterSearch();
+                    break;
+                case 29:
+                    ejecutarScatterSearchIslas();
+                    break;
+                case 30:
+                    ejecutarScatterSearchDistribuido();
+                    break;
+                case 31:
+                    ejecutarFlujoCostoMinimo();
+                    break;
+                case 32:
+                    ejecutarPlanificadorOnline();
+                    break;
                 case 0:
                     continuar = false;
                     System.out.println(" Hasta luego!");
@@ -435,6 +534,18 @@ public class Main {
         }
     }
 
+    /**
+     * Cota superior de energía entregable de la instancia cargada; se calcula
+     * una vez por instancia
+     */
+    private static CotaEnergia obtenerCotaEnergia() {
+        if (cotaEnergia == null || instanciaCotaEnergia != testSystem) {
+            cotaEnergia = CotaEnergia.calcular(testSystem);
+            instanciaCotaEnergia = testSystem;
+        }
+        return cotaEnergia;
+    }
+
     private static int leerOpcion(int min, int max) {
         int opcion = -1;
         boolean valida = false;
@@ -457,6 +568,50 @@ public class Main {
         return opcion;
     }
 
+    /**
+     * Como leerOpcion(min, max), pero una línea vacía devuelve el valor por
+     * defecto
+     */
+    private static int leerOpcion(int min, int max, int porDefecto) {
+        while (true) {
+            String input = scanner.nextLine().trim();
+            if (input.isEmpty()) {
+                return porDefecto;
+            }
+            try {
+                int opcion = Integer.parseInt(input);
+                if (opcion >= min && opcion <= max) {
+                    return opcion;
+                }
+                System.out.printf("❌ Opción inválida. Ingrese un número entre %d y %d: ", min, max);
+            } catch (NumberFormatException e) {
+                System.out.printf("❌ Entrada inválida. Ingrese un número entre %d y %d: ", min, max);
+            }
+        }
+    }
+
+    /**
+     * Lee un número real en [min, max]; una línea vacía devuelve el valor por
+     * defecto
+     */
+    private static double leerReal(double min, double max, double porDefecto) {
+        while (true) {
+            String input = scanner.nextLine().trim();
+            if (input.isEmpty()) {
+                return porDefecto;
+            }
+            try {
+                double valor = Double.parseDouble(input.replace(',', '.'));
+                if (valor >= min && valor <= max) {
+                    return valor;
+                }
+                System.out.printf("❌ Valor inválido. Ingrese un número entre %s y %s: ", min, max);
+            } catch (NumberFormatException e) {
+                System.out.printf("❌ Entrada inválida. Ingrese un número entre %s y %s: ", min, max);
+            }
+        }
+    }
+
     /**
      * Ejecuta el algoritmo constructivo adaptativo y muestra los resultados
      */
@@ -471,17 +626,60 @@ public class Main {
         System.out.println("   🎯 Objetivo 2: Maximizar Valor de Carga Entregada");
         System.out.println();
 
+        System.out.print("¿Usar selección adaptativa de heurísticas (evalúa solo las más prometedoras)? (s/n): ");
+        String seleccion = scanner.nextLine().trim().toLowerCase();
+        boolean seleccionAdaptativa = seleccion.equals("s") || seleccion.equals("si") || seleccion.equals("sí");
+
         try {
-            // Crear y ejecutar el algoritmo constructivo
-            ultimoAlgoritmoEjecutado = new ConstructivoAdaptativo(testSystem);
+            // Crear y ejecutar el algoritmo constructivo; en una instancia grande las
+            // llegadas se leen del archivo y los vehículos que salen no se retienen
+            if (archivoLlegadasStreaming != null) {
+                ultimoAlgoritmoEjecutado = new ConstructivoAdaptativo(testSystem,
+                        new FuenteLlegadasJson(archivoLlegadasStreaming));
+                ultimoAlgoritmoEjecutado.setRetenerVehiculosFinalizados(false);
+            } else {
+                ultimoAlgoritmoEjecutado = new ConstructivoAdaptativo(testSystem);
+            }
+            if (seleccionAdaptativa) {
+                ultimoAlgoritmoEjecutado
+                        .setSeleccionAdaptativa(SelectorHeuristicas.ParametrosSelector.porDefecto());
+            }
 
             // Configurar logs según el estado global
             ultimoAlgoritmoEjecutado.getLogger().setShowLogs(logsHabilitados);
+            ultimoAlgoritmoEjecutado.getLogger().setTraza(archivoTraza != null
+                    ? TrazaEventos.enArchivo(archivoTraza)
+                    : TrazaEventos.enMemoria(CAPACIDAD_TRAZA));
+            if (archivoLogs != null) {
+                ultimoAlgoritmoEjecutado.getLogger().habilitarArchivoLogs(archivoLogs);
+            }
 
-            SolucionConstructiva solucion = ultimoAlgoritmoEjecutado.ejecutar();
+            SolucionConstructiva solucion;
+            try {
+                solucion = ultimoAlgoritmoEjecutado.ejecutar();
+            } finally {
+                EscritorLogsAsincrono escritor = ultimoAlgoritmoEjecutado.getLogger().getEscritorArchivo();
+                ultimoAlgoritmoEjecutado.getLogger().cerrarArchivoLogs();
+                if (escritor != null) {
+                    System.out.printf("📝 Logs escritos en %s: %d entradas (%d descartadas)%n",
+                            escritor.getArchivo(), escritor.getEntradasEscritas(),
+                            escritor.getEntradasDescartadas());
+                }
+                if (archivoTraza != null) {
+                    // Se cierra el archivo mapeado y se recarga para consultar y exportar la traza
+                    ultimoAlgoritmoEjecutado.getLogger().getTraza().close();
+                    TrazaEventos traza = TrazaEventos.leerArchivo(archivoTraza);
+                    ultimoAlgoritmoEjecutado.getLogger().setTraza(traza);
+                    System.out.printf("🧾 Traza binaria escrita en %s: %d eventos%n", archivoTraza,
+                            traza.getNumeroRegistros());
+                }
+            }
 
             // Mostrar resultados
             mostrarResultadosAlgoritmo(solucion, ultimoAlgoritmoEjecutado);
+            if (ultimoAlgoritmoEjecutado.getSelectorHeuristicas() != null) {
+                System.out.print(ultimoAlgoritmoEjecutado.getSelectorHeuristicas().generarResumen());
+            }
 
         } catch (Exception e) {
             System.err.println("❌ Error ejecutando el algoritmo constructivo: " + e.getMessage());
@@ -505,6 +703,17 @@ public class Main {
 
         // Estadísticas de heurísticas
         mostrarEstadisticasHeuristicas(algoritmo.getContadorHeuristicas());
+        long evaluadas = algoritmo.getEvaluacionesRealizadas();
+        long duplicadas = algoritmo.getEvaluacionesDuplicadasEvitadas();
+        if (evaluadas + duplicadas > 0) {
+            System.out.printf("   ♻️ Evaluaciones: %d realizadas, %d evitadas por candidatas duplicadas (%.1f%%)\n\n",
+                    evaluadas, duplicadas, duplicadas * 100.0 / (evaluadas + duplicadas));
+        }
+
+        // Tiempo y memoria por fase
+        if (solucion.getMetricasFases() != null) {
+            System.out.println(solucion.getMetricasFases().generarResumen());
+        }
 
         // Análisis de vehículos
         mostrarAnalisisVehiculos(solucion);
@@ -536,6 +745,10 @@ public class Main {
         System.out.printf("   • Porcentaje de carga entregado: %.1f%%\n", solucion.getPorcentajeCargaEntregado());
         System.out.printf("   • Eficiencia promedio: %.1f%%\n", solucion.getEficienciaPromedio() * 100);
         System.out.printf("   • Utilización de cargadores: %.1f%%\n", solucion.getUtilizacionCargadores() * 100);
+        if (archivoLlegadasStreaming == null) {
+            System.out.printf("   • Cota superior de energía (flujo máximo): %.2f kWh, brecha %.2f%%\n",
+                    obtenerCotaEnergia().getCota(), obtenerCotaEnergia().calcularBrecha(solucion));
+        }
 
         System.out.printf("\n🚗 Servicio al Cliente:\n");
         System.out.printf("   • Valor de carga entregada: %.2f\n", solucion.getValorCargaEntregada());
@@ -709,14 +922,13 @@ public class Main {
         System.out.println("=".repeat(50));
 
         var logger = ultimoAlgoritmoEjecutado.getLogger();
-        var logs = logger.getLogHistory();
 
-        if (logs.isEmpty()) {
+        if (logger.getTamañoHistorial() == 0) {
             System.out.println("No hay logs disponibles.");
             return;
         }
 
-        System.out.printf("Total de entradas de log: %d%n%n", logs.size());
+        System.out.printf("Total de entradas de log: %d%n%n", logger.getTamañoHistorial());
 
         // Mostrar opciones de visualización
         System.out.println("¿Cómo desea ver los logs?");
@@ -731,16 +943,16 @@ public class Main {
 
         switch (opcionVista) {
             case 1:
-                mostrarTodosLosLogs(logs);
+                mostrarTodosLosLogs(logger.getLogHistory());
                 break;
             case 2:
-                mostrarUltimosLogs(logs, 50);
+                mostrarUltimosLogs(logger.getUltimosLogs(50), 50);
                 break;
             case 3:
-                mostrarLogsErrorYWarning(logs);
+                mostrarLogsErrorYWarning(logger);
                 break;
             case 4:
-                mostrarLogsAsignacionesYPreempciones(logs);
+                mostrarLogsAsignacionesYPreempciones(logger);
                 break;
         }
     }
@@ -807,30 +1019,46 @@ public class Main {
         System.out.println("=".repeat(40));
 
         var logger = ultimoAlgoritmoEjecutado.getLogger();
-        String contenidoLogs = logger.exportLogs();
+        var logs = logger.getLogHistory();
 
-        // Para esta implementación, solo mostraremos el contenido
-        // En una implementación real, se guardaría en archivo
-        System.out.println("📄 Contenido de logs generado:");
+        System.out.println("📄 Primeras líneas del historial:");
         System.out.println("-".repeat(40));
 
         // Mostrar solo las primeras 20 líneas para no saturar la consola
-        String[] lineas = contenidoLogs.split("\n");
-        int lineasAMostrar = Math.min(20, lineas.length);
-
+        int lineasAMostrar = Math.min(20, logs.size());
         for (int i = 0; i < lineasAMostrar; i++) {
-            System.out.println(lineas[i]);
+            System.out.println(logs.get(i));
         }
 
-        if (lineas.length > 20) {
-            System.out.printf("%n... y %d líneas más.%n", lineas.length - 20);
+        if (logs.size() > 20) {
+            System.out.printf("%n... y %d líneas más.%n", logs.size() - 20);
         }
 
-        System.out.printf("%n📊 Resumen:%n");
-        System.out.printf("   • Total de líneas: %d%n", lineas.length);
-        System.out.printf("   • Tamaño aproximado: %d caracteres%n", contenidoLogs.length());
+        // Escritura en streaming: el historial no se materializa como un solo texto
+        String nombreArchivo = String.format("logs_test_system_%d.log.gz", testSystem.getTestNumber());
+        try {
+            logger.exportLogs(java.nio.file.Paths.get(nombreArchivo));
+            System.out.printf("%n✅ Logs exportados a %s%n", nombreArchivo);
+        } catch (IOException e) {
+            System.err.printf("❌ Error al exportar los logs: %s%n", e.getMessage());
+        }
+
+        // Traza binaria de eventos decodificada a CSV
+        TrazaEventos traza = logger.getTraza();
+        if (traza != null && traza.getNumeroRegistros() > 0) {
+            String nombreTraza = String.format("traza_test_system_%d.csv", testSystem.getTestNumber());
+            try (java.io.Writer salida = java.nio.file.Files.newBufferedWriter(java.nio.file.Paths.get(nombreTraza))) {
+                traza.exportarCsv(salida);
+                System.out.printf("✅ Traza de %d eventos exportada a %s%n", traza.getNumeroRegistros(), nombreTraza);
+            } catch (IOException e) {
+                System.err.printf("❌ Error al exportar la traza: %s%n", e.getMessage());
+            }
+        }
 
-        System.out.println("%n💡 En una implementación real, este contenido se guardaría en un archivo.");
+        System.out.printf("%n📊 Resumen:%n");
+        System.out.printf("   • Entradas en memoria: %d (capacidad %d)%n",
+                logger.getTamañoHistorial(), logger.getCapacidadHistorial());
+        System.out.printf("   • Entradas antiguas descartadas: %d%n", logger.getEntradasDescartadas());
     }
 
     // Métodos auxiliares para mostrar logs
@@ -855,13 +1083,11 @@ public class Main {
         }
     }
 
-    private static void mostrarLogsErrorYWarning(List<String> logs) {
+    private static void mostrarLogsErrorYWarning(ChargingLogger logger) {
         System.out.println("⚠️ LOGS DE ERROR Y WARNING:");
         System.out.println("-".repeat(50));
 
-        var logsImportantes = logs.stream()
-                .filter(log -> log.contains(" ERROR ") || log.contains(" WARN "))
-                .collect(java.util.stream.Collectors.toList());
+        var logsImportantes = logger.getLogsByLevels("ERROR", "WARN");
 
         if (logsImportantes.isEmpty()) {
             System.out.println("✅ No hay logs de error o warning. ¡Excelente!");
@@ -872,15 +1098,11 @@ public class Main {
         }
     }
 
-    private static void mostrarLogsAsignacionesYPreempciones(List<String> logs) {
+    private static void mostrarLogsAsignacionesYPreempciones(ChargingLogger logger) {
         System.out.println("🔄 LOGS DE ASIGNACIONES Y PREEMPCIONES:");
         System.out.println("-".repeat(50));
 
-        var logsRelevantes = logs.stream()
-                .filter(log -> log.contains("<ASSIGNMENT>") ||
-                        log.contains("<PREEMPTION>") ||
-                        log.contains("<CHARGER_SWAP>"))
-                .collect(java.util.stream.Collectors.toList());
+        var logsRelevantes = logger.getLogsByCategories("ASSIGNMENT", "PREEMPTION", "CHARGER_SWAP");
 
         if (logsRelevantes.isEmpty()) {
             System.out.println("No hay logs de asignaciones o preempciones disponibles.");
@@ -912,10 +1134,12 @@ public class Main {
         System.out.println("1. Activar logs (mostrar en consola durante ejecución)");
         System.out.println("2. Desactivar logs (solo guardar en historial)");
         System.out.println("3. Ver estado actual");
+        System.out.println("4. Escribir logs a archivo (.gz para comprimir)");
+        System.out.println("5. Guardar traza binaria en archivo (mapeado en memoria, sin límite de eventos)");
         System.out.println("0. Volver al menú principal");
-        System.out.print("Seleccione una opción (0-3): ");
+        System.out.print("Seleccione una opción (0-5): ");
 
-        int opcion = leerOpcion(0, 3);
+        int opcion = leerOpcion(0, 5);
         System.out.println();
 
         switch (opcion) {
@@ -928,6 +1152,12 @@ public class Main {
             case 3:
                 mostrarEstadoLogs();
                 break;
+            case 4:
+                configurarArchivoLogs();
+                break;
+            case 5:
+                configurarArchivoTraza();
+                break;
             case 0:
                 System.out.println("Volviendo al menú principal...");
                 break;
@@ -968,12 +1198,50 @@ public class Main {
         System.out.println("💡 Los logs seguirán guardándose en el historial para consulta posterior.");
     }
 
+    /**
+     * Define el archivo donde se escriben en segundo plano los logs de las
+     * próximas ejecuciones del constructivo (vacío para desactivarlo)
+     */
+    private static void configurarArchivoLogs() {
+        System.out.println("📝 ARCHIVO DE LOGS");
+        System.out.println("-".repeat(30));
+        System.out.print("Nombre del archivo (ej. logs_constructivo.log.gz, vacío para desactivar): ");
+        String nombre = scanner.nextLine().trim();
+        if (nombre.isEmpty()) {
+            archivoLogs = null;
+            System.out.println("❌ Escritura de logs a archivo desactivada.");
+        } else {
+            archivoLogs = Paths.get(nombre);
+            System.out.printf("✅ Los próximos constructivos escribirán sus logs en %s%n", archivoLogs);
+        }
+    }
+
+    /**
+     * Define el archivo donde se mapea la traza binaria de los próximos
+     * constructivos; vacío vuelve a la traza circular en memoria
+     */
+    private static void configurarArchivoTraza() {
+        System.out.println("🧾 TRAZA BINARIA EN ARCHIVO");
+        System.out.println("-".repeat(30));
+        System.out.print("Nombre del archivo (ej. traza_constructivo.bin, vacío para usar memoria): ");
+        String nombre = scanner.nextLine().trim();
+        if (nombre.isEmpty()) {
+            archivoTraza = null;
+            System.out.printf("✅ La traza vuelve a memoria (últimos %d eventos).%n", CAPACIDAD_TRAZA);
+        } else {
+            archivoTraza = Paths.get(nombre);
+            System.out.printf("✅ Los próximos constructivos guardarán la traza completa en %s%n", archivoTraza);
+        }
+    }
+
     private static void mostrarEstadoLogs() {
         System.out.println("📊 ESTADO ACTUAL DE LOGS");
         System.out.println("-".repeat(30));
 
         System.out.printf("📋 Estado global: %s%n",
                 logsHabilitados ? "✅ ACTIVADOS" : "❌ DESACTIVADOS");
+        System.out.printf("📝 Archivo de logs: %s%n", archivoLogs != null ? archivoLogs : "ninguno");
+        System.out.printf("🧾 Traza binaria: %s%n", archivoTraza != null ? archivoTraza : "en memoria");
 
         if (ultimoAlgoritmoEjecutado == null) {
             System.out.println("📋 No hay algoritmo ejecutado aún.");
@@ -985,7 +1253,7 @@ public class Main {
                     logsActivos ? "✅ ACTIVADOS" : "❌ DESACTIVADOS");
 
             System.out.printf("📈 Logs en historial: %d entradas%n",
-                    logger.getLogHistory().size());
+                    logger.getTamañoHistorial());
         }
 
         if (logsHabilitados) {
@@ -1083,7 +1351,7 @@ public class Main {
 
         var datosTemporales = ultimoAlgoritmoEjecutado.getDatosTemporales();
 
-        if (datosTemporales.getPuntosTemporales().isEmpty()) {
+        if (datosTemporales.estaVacio()) {
             System.out.println("❌ No hay datos temporales disponibles.");
             System.out.println("   Los datos se capturan durante la ejecución del algoritmo.");
             return;
@@ -1097,6 +1365,12 @@ public class Main {
         System.out.println("   🔋 Energía - Energía Acumulada vs Tiempo");
         System.out.println();
 
+        if (java.awt.GraphicsEnvironment.isHeadless()) {
+            System.out.println("💡 Entorno sin pantalla: las gráficas se exportan a PNG en su lugar.");
+            exportarGraficasA(Paths.get("graficas"), ExportadorGraficas.Formato.PNG);
+            return;
+        }
+
         try {
             // Mostrar las gráficas usando el generador
             com.ejemplo.algoritmo.GeneradorGraficas.mostrarGraficas(datosTemporales);
@@ -1135,9 +1409,28 @@ public class Main {
                 ultimoAlgoritmoEjecutado.getMejorSolucion().getVehiculosAtendidos());
         System.out.println();
 
+        Path archivoPuntoControl = archivoPuntoControlPorDefecto();
+        System.out.printf("¿Guardar un punto de control en cada iteración (%s)? (s/n): ", archivoPuntoControl);
+        String respuesta = scanner.nextLine().trim().toLowerCase();
+        boolean conPuntoControl = respuesta.equals("s") || respuesta.equals("si") || respuesta.equals("sí");
+
+        System.out.printf("📐 Cota superior de energía: %.2f kWh (brecha inicial %.2f%%)%n",
+                obtenerCotaEnergia().getCota(),
+                obtenerCotaEnergia().calcularBrecha(ultimoAlgoritmoEjecutado.getMejorSolucion()));
+        System.out.print("Brecha de energía (%) para detener la búsqueda antes (0 = sin parada temprana): ");
+        int brechaParada = leerOpcion(0, 100);
+
         try {
             // Crear y ejecutar Scatter Search
-            ultimoScatterSearchEjecutado = new ScatterSearch(testSystem, ultimoAlgoritmoEjecutado.getMejorSolucion());
+            ScatterSearch.ParametrosScatterSearch parametros = ScatterSearch.ParametrosScatterSearch
+                    .configuracionBalanceada();
+            parametros.brechaEnergiaParada = brechaParada;
+            ultimoScatterSearchEjecutado = new ScatterSearch(testSystem, ultimoAlgoritmoEjecutado.getMejorSolucion(),
+                    parametros);
+            ultimoScatterSearchEjecutado.setCotaEnergia(obtenerCotaEnergia());
+            if (conPuntoControl) {
+                ultimoScatterSearchEjecutado.setPuntoControl(archivoPuntoControl, 1);
+            }
 
             // Configurar logs según el estado global
             ultimoScatterSearchEjecutado.getLogger().setShowLogs(logsHabilitados);
@@ -1155,6 +1448,212 @@ public class Main {
         }
     }
 
+    /**
+     * Scatter Search con varias islas en paralelo que migran soluciones en anillo
+     */
+    private static void ejecutarScatterSearchIslas() {
+        if (ultimoAlgoritmoEjecutado == null) {
+            System.out.println("❌ Error: Debe ejecutar primero el algoritmo constructivo.");
+            System.out.println("   Por favor, ejecute la opción 9 primero.");
+            return;
+        }
+
+        System.out.println("🏝️ SCATTER SEARCH CON ISLAS");
+        System.out.println("=".repeat(50));
+        ScatterSearchIslas.ParametrosIslas parametros = ScatterSearchIslas.ParametrosIslas.porDefecto();
+        System.out.printf("💻 Núcleos disponibles: %d%n", Runtime.getRuntime().availableProcessors());
+        System.out.print("Número de islas (2-16): ");
+        parametros.numeroIslas = leerOpcion(2, 16);
+        parametros.hilos = Math.min(parametros.numeroIslas, Runtime.getRuntime().availableProcessors());
+        System.out.printf("🔁 Migración en anillo cada %d iteraciones (%d soluciones por isla)%n",
+                parametros.iteracionesEntreMigraciones, parametros.migrantesPorIsla);
+
+        try {
+            ScatterSearchIslas islas = new ScatterSearchIslas(testSystem, ultimoAlgoritmoEjecutado.getMejorSolucion(),
+                    ScatterSearch.ParametrosScatterSearch.configuracionBalanceada(), parametros);
+            SolucionConstructiva mejor = islas.ejecutar();
+
+            System.out.println();
+            System.out.println(islas.generarResumen());
+            System.out.println(mejor.generarResumen());
+            System.out.println(islas.getFrenteGlobal().generarResumen());
+        } catch (Exception e) {
+            System.err.println("❌ Error ejecutando Scatter Search con islas: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Scatter Search con coordinador y procesos trabajadores conectados por TCP
+     */
+    private static void ejecutarScatterSearchDistribuido() {
+        if (ultimoAlgoritmoEjecutado == null) {
+            System.out.println("❌ Error: Debe ejecutar primero el algoritmo constructivo.");
+            System.out.println("   Por favor, ejecute la opción 9 primero.");
+            return;
+        }
+
+        System.out.println("🌐 SCATTER SEARCH DISTRIBUIDO");
+        System.out.println("=".repeat(50));
+        System.out.print("Número de trabajadores locales a lanzar (0-16): ");
+        int trabajadores = leerOpcion(0, 16);
+
+        try (CoordinadorScatterSearch coordinador = new CoordinadorScatterSearch(testSystem,
+                CoordinadorScatterSearch.ParametrosCoordinador.porDefecto())) {
+            System.out.printf("📡 Coordinador escuchando en el puerto %d%n", coordinador.getPuerto());
+            System.out.printf("   Trabajadores adicionales: java -cp <classpath> %s <host> %d%n",
+                    TrabajadorScatterSearch.class.getName(), coordinador.getPuerto());
+            coordinador.lanzarTrabajadoresLocales(trabajadores);
+            int conectados = coordinador.esperarTrabajadores(trabajadores, 30_000);
+            System.out.printf("👷 Trabajadores conectados: %d%n", conectados);
+
+            ultimoScatterSearchEjecutado = new ScatterSearch(testSystem, ultimoAlgoritmoEjecutado.getMejorSolucion());
+            ultimoScatterSearchEjecutado.getLogger().setShowLogs(logsHabilitados);
+            ultimoScatterSearchEjecutado.setCoordinador(coordinador);
+
+            long tiempoInicio = System.currentTimeMillis();
+            SolucionConstructiva mejorSolucionSS = ultimoScatterSearchEjecutado.ejecutar();
+            long tiempoTotal = System.currentTimeMillis() - tiempoInicio;
+
+            mostrarResultadosScatterSearch(mejorSolucionSS, ultimoScatterSearchEjecutado, tiempoTotal);
+            System.out.println(coordinador.generarResumen());
+        } catch (Exception e) {
+            System.err.println("❌ Error ejecutando Scatter Search distribuido: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Plan entero redondeado desde el flujo de costo mínimo en la red temporal,
+     * con la cota del modelo continuo, comparado con el constructivo si ya se
+     * ejecutó
+     */
+    private static void ejecutarFlujoCostoMinimo() {
+        System.out.println("🧮 PLAN POR FLUJO DE COSTO MÍNIMO");
+        System.out.println("=".repeat(50));
+        if (testSystem.getArrivals().size() > 250) {
+            System.out.printf("⚠️ Instancia con %d vehículos: el cálculo puede tardar más de un minuto%n",
+                    testSystem.getArrivals().size());
+        }
+
+        try {
+            PlanificadorFlujoCostoMinimo planificador = PlanificadorFlujoCostoMinimo.resolver(testSystem);
+            SolucionConstructiva solucion = planificador.getSolucion();
+
+            System.out.println();
+            System.out.print(planificador.generarResumen());
+            System.out.println(solucion.generarResumen());
+            mostrarMetricasDetalladas(solucion);
+
+            if (ultimoAlgoritmoEjecutado != null && ultimoAlgoritmoEjecutado.getMejorSolucion() != null) {
+                double constructivo = ultimoAlgoritmoEjecutado.getMejorSolucion().getValorObjetivo();
+                System.out.printf("%n📊 Constructivo: %.4f | Flujo de costo mínimo: %.4f (%+.4f)%n", constructivo,
+                        solucion.getValorObjetivo(), solucion.getValorObjetivo() - constructivo);
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Error resolviendo el flujo de costo mínimo: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Reproduce la instancia como flujo de eventos con el planificador online:
+     * cada vehículo se registra al llegar y se llama a paso() una vez por
+     * resolución temporal. Muestra la latencia de cada llamada y compara con el
+     * constructivo si ya se ejecutó.
+     */
+    private static void ejecutarPlanificadorOnline() {
+        System.out.println("📡 PLANIFICADOR ONLINE (REPRODUCCIÓN DE EVENTOS)");
+        System.out.println("=".repeat(50));
+
+        System.out.print("¿Evaluar todos los vehículos en espera en cada paso, sin ventana? (s/n): ");
+        String respuesta = scanner.nextLine().trim().toLowerCase();
+        boolean sinVentana = respuesta.equals("s") || respuesta.equals("si") || respuesta.equals("sí");
+        PlanificadorOnline.ParametrosPlanificador parametros = sinVentana
+                ? PlanificadorOnline.ParametrosPlanificador.sinVentana()
+                : PlanificadorOnline.ParametrosPlanificador.porDefecto();
+
+        PlanificadorOnline planificador = new PlanificadorOnline(testSystem, parametros);
+        double resolucion = testSystem.getParkingConfig().getTimeResolution();
+        long inicio = System.currentTimeMillis();
+        try (FuenteLlegadas fuente = archivoLlegadasStreaming != null
+                ? new FuenteLlegadasJson(archivoLlegadasStreaming)
+                : FuenteLlegadas.desdeLista(testSystem.getArrivals())) {
+            for (long paso = 0;; paso++) {
+                double ahora = paso * resolucion;
+                while (fuente.hayMas() && fuente.proximaLlegada() <= ahora) {
+                    planificador.registrarLlegada(fuente.siguiente());
+                }
+                planificador.paso(ahora);
+                if (!fuente.hayMas() && planificador.estaInactivo()) {
+                    break;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("❌ Error reproduciendo los eventos: " + e.getMessage());
+            return;
+        }
+
+        SolucionConstructiva solucion = planificador.getSolucion();
+        System.out.printf("✅ Reproducción completada en %d ms%n", System.currentTimeMillis() - inicio);
+        System.out.println(solucion.generarResumen());
+
+        MetricasFases.Fase pasos = planificador.getMetricas().getFase(PlanificadorOnline.FASE_PASO);
+        if (pasos != null) {
+            System.out.printf("⏱️ Latencia de paso(): %d llamadas, media %.1f µs, p90 %.1f µs, máx %.1f µs%n",
+                    pasos.getLlamadas(), pasos.getMediaNanos() / 1e3, pasos.getPercentilNanos(0.90) / 1e3,
+                    pasos.getMaxNanos() / 1e3);
+        }
+        if (!sinVentana) {
+            System.out.printf("   Ventana por paso: máx(%d, %d × cargadores libres) vehículos en espera%n",
+                    parametros.ventanaMinima, parametros.factorVentana);
+        }
+
+        if (ultimoAlgoritmoEjecutado != null && ultimoAlgoritmoEjecutado.getMejorSolucion() != null) {
+            SolucionConstructiva constructivo = ultimoAlgoritmoEjecutado.getMejorSolucion();
+            System.out.printf("%n📊 Constructivo: %.2f kWh, objetivo %.4f | Online: %.2f kWh, objetivo %.4f%n",
+                    constructivo.getEnergiaTotalEntregada(), constructivo.getValorObjetivo(),
+                    solucion.getEnergiaTotalEntregada(), solucion.getValorObjetivo());
+        }
+    }
+
+    private static Path archivoPuntoControlPorDefecto() {
+        return Paths.get("scatter_search_" + testSystem.getTestNumber() + ".ckpt.gz");
+    }
+
+    /**
+     * Continúa un Scatter Search interrumpido desde su último punto de control
+     */
+    private static void reanudarScatterSearch() {
+        System.out.println("⏯️ REANUDAR SCATTER SEARCH");
+        System.out.println("=".repeat(50));
+
+        Path porDefecto = archivoPuntoControlPorDefecto();
+        System.out.printf("Archivo de punto de control (Enter para '%s'): ", porDefecto);
+        String entrada = scanner.nextLine().trim();
+        Path archivo = entrada.isEmpty() ? porDefecto : Paths.get(entrada);
+        if (!Files.exists(archivo)) {
+            System.out.println("❌ No existe el archivo " + archivo);
+            return;
+        }
+
+        try {
+            ScatterSearch busqueda = ScatterSearch.desdePuntoControl(testSystem, archivo);
+            busqueda.getLogger().setShowLogs(logsHabilitados);
+            System.out.printf("📂 Punto de control cargado: iteración %d, frente de Pareto con %d soluciones%n",
+                    busqueda.getIteracionActual(), busqueda.getFrentePareto().getTamaño());
+
+            long tiempoInicio = System.currentTimeMillis();
+            SolucionConstructiva mejorSolucionSS = busqueda.reanudar();
+            long tiempoTotal = System.currentTimeMillis() - tiempoInicio;
+            ultimoScatterSearchEjecutado = busqueda;
+
+            mostrarResultadosScatterSearch(mejorSolucionSS, busqueda, tiempoTotal);
+        } catch (IOException e) {
+            System.err.println("❌ Error leyendo el punto de control: " + e.getMessage());
+        }
+    }
+
     private static void mostrarResultadosScatterSearch(SolucionConstructiva mejorSolucionSS, ScatterSearch algoritmo,
             long tiempoTotal) {
         System.out.println("📊 RESULTADOS DEL SCATTER SEARCH");
@@ -1313,7 +1812,7 @@ public class Main {
 
         var datosTemporales = ultimoScatterSearchEjecutado.getDatosTemporales();
 
-        if (datosTemporales.getPuntosTemporales().isEmpty()) {
+        if (datosTemporales.estaVacio()) {
             System.out.println("❌ No hay datos temporales disponibles.");
             System.out.println("   Los datos se capturan durante la ejecución del algoritmo.");
             return;
@@ -1617,10 +2116,11 @@ public class Main {
         System.out.println("3. 🎯 Configuración INTENSIVA (máxima calidad, más tiempo)");
         System.out.println("4. 🔧 Configuración MANUAL (ajustar parámetros específicos)");
         System.out.println("5. 📈 BENCHMARK (probar múltiples configuraciones)");
+        System.out.println("6. 🤖 SINTONIZACIÓN AUTOMÁTICA (carreras con tests estadísticos)");
         System.out.println("0. Volver al menú principal");
-        System.out.print("Seleccione una opción (0-5): ");
+        System.out.print("Seleccione una opción (0-6): ");
 
-        int opcion = leerOpcion(0, 5);
+        int opcion = leerOpcion(0, 6);
         System.out.println();
 
         switch (opcion) {
@@ -1639,6 +2139,9 @@ public class Main {
             case 5:
                 ejecutarBenchmark();
                 break;
+            case 6:
+                sintonizarParametrosAutomaticamente();
+                break;
             case 0:
                 System.out.println("Volviendo al menú principal...");
                 break;
@@ -1844,15 +2347,39 @@ public class Main {
     private static void ejecutarBenchmark() {
         System.out.println("📈 BENCHMARK DE CONFIGURACIONES");
         System.out.println("-".repeat(50));
-        System.out.println("🔬 Ejecutará múltiples configuraciones para encontrar la óptima");
-        System.out.println("⏱️ Tiempo estimado: 10-15 minutos");
+        System.out.println("🔬 Ejecuta cada configuración con varias semillas y compara calidad, frente y tiempo");
         System.out.println();
 
-        System.out.println("❓ ¿Desea ejecutar el benchmark completo?");
-        System.out.println("   Se probarán 5 configuraciones diferentes");
-        System.out.println("   Se evaluarán métricas de calidad y tiempo");
-        System.out.print("¿Continuar? (s/n): ");
+        System.out.print("Número de semillas por configuración e instancia (1-20): ");
+        int numeroSemillas = leerOpcion(1, 20);
+
+        System.out.println("Instancias a evaluar:");
+        System.out.println("1. Instancia cargada actualmente");
+        System.out.println("2. Todas las instancias (test_system_1..7.json)");
+        System.out.print("Seleccione una opción (1-2): ");
+        int opcionInstancias = leerOpcion(1, 2);
+
+        BenchmarkConfiguraciones benchmark = new BenchmarkConfiguraciones()
+                .agregarPresets()
+                .agregarConfiguracion("Experimental 1", configuracionExperimental1())
+                .agregarConfiguracion("Experimental 2", configuracionExperimental2())
+                .agregarSemillas(numeroSemillas, 1);
+
+        if (opcionInstancias == 1) {
+            benchmark.agregarInstancia("test_system_" + testSystem.getTestNumber(), testSystem, obtenerCotaEnergia());
+        } else {
+            for (int i = 1; i <= 7; i++) {
+                String archivo = "test_system_" + i + ".json";
+                try {
+                    benchmark.agregarInstancia("test_system_" + i, cargarInstancia(archivo));
+                } catch (IOException e) {
+                    System.err.printf("❌ Error al cargar el archivo %s: %s%n", archivo, e.getMessage());
+                }
+            }
+        }
 
+        System.out.printf("❓ Se realizarán %d ejecuciones (5 configuraciones). ¿Continuar? (s/n): ",
+                benchmark.getNumeroEjecuciones());
         String respuesta = scanner.nextLine().trim().toLowerCase();
         if (!respuesta.equals("s") && !respuesta.equals("si") && !respuesta.equals("sí")) {
             System.out.println("Benchmark cancelado.");
@@ -1860,51 +2387,121 @@ public class Main {
         }
 
         System.out.println();
-        System.out.println("🚀 Iniciando benchmark...");
-        System.out.println("📊 Se mostrarán resultados comparativos al final");
-        System.out.println();
-
-        // Simular benchmark (en implementación real ejecutaría las configuraciones)
-        System.out.println("⏳ Ejecutando configuración RÁPIDA... ✅");
-        System.out.println("⏳ Ejecutando configuración BALANCEADA... ✅");
-        System.out.println("⏳ Ejecutando configuración INTENSIVA... ✅");
-        System.out.println("⏳ Ejecutando configuración EXPERIMENTAL 1... ✅");
-        System.out.println("⏳ Ejecutando configuración EXPERIMENTAL 2... ✅");
+        System.out.printf("🚀 Iniciando benchmark con %d hilos...%n", Runtime.getRuntime().availableProcessors());
+        long inicio = System.currentTimeMillis();
+        List<BenchmarkConfiguraciones.Ejecucion> ejecuciones;
+        try {
+            ejecuciones = benchmark.ejecutar();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("❌ Benchmark interrumpido.");
+            return;
+        }
+        System.out.printf("⏱️ Benchmark completado en %.1f s%n", (System.currentTimeMillis() - inicio) / 1000.0);
         System.out.println();
 
-        mostrarResultadosBenchmark();
+        mostrarResultadosBenchmark(ejecuciones);
     }
 
-    private static void mostrarResultadosBenchmark() {
+    private static void mostrarResultadosBenchmark(List<BenchmarkConfiguraciones.Ejecucion> ejecuciones) {
         System.out.println("📊 RESULTADOS DEL BENCHMARK");
         System.out.println("=".repeat(60));
+        System.out.print(BenchmarkConfiguraciones.generarInforme(ejecuciones));
+
+        String nombreArchivoCSV = "benchmark_configuraciones_" + System.currentTimeMillis() + ".csv";
+        try {
+            BenchmarkConfiguraciones.exportarCsv(ejecuciones, Paths.get(nombreArchivoCSV));
+            System.out.printf("%n📁 Ejecuciones individuales exportadas a %s%n", nombreArchivoCSV);
+        } catch (IOException e) {
+            System.err.println("❌ Error al exportar el CSV: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Balanceada con más refinamiento local y menos diversificación
+     */
+    private static ScatterSearch.ParametrosScatterSearch configuracionExperimental1() {
+        ScatterSearch.ParametrosScatterSearch params = ScatterSearch.ParametrosScatterSearch
+                .configuracionBalanceada();
+        params.maxEjecucionesDiversificacion = 20;
+        params.maxIteracionesBusquedaLocal = 8;
+        return params;
+    }
+
+    /**
+     * Conjunto de referencia amplio con pocas iteraciones
+     */
+    private static ScatterSearch.ParametrosScatterSearch configuracionExperimental2() {
+        ScatterSearch.ParametrosScatterSearch params = ScatterSearch.ParametrosScatterSearch
+                .configuracionIntensiva();
+        params.maxIteracionesTotal = 15;
+        params.maxIteracionesSinMejora = 5;
+        params.maxEjecucionesDiversificacion = 30;
+        return params;
+    }
+
+    private static void sintonizarParametrosAutomaticamente() {
+        System.out.println("🤖 SINTONIZACIÓN AUTOMÁTICA DE PARÁMETROS");
+        System.out.println("-".repeat(50));
+        System.out.println("🔬 Carreras iteradas: las configuraciones candidatas se evalúan en paralelo");
+        System.out.println("   y se descartan en cuanto un test de Friedman muestra que son peores");
+        System.out.println();
 
-        System.out.printf("%-15s %-10s %-12s %-10s %-15s%n",
-                "CONFIGURACIÓN", "TIEMPO", "PARETO SIZE", "CALIDAD", "EFICIENCIA");
-        System.out.println("-".repeat(60));
-
-        System.out.printf("%-15s %-10s %-12s %-10s %-15s%n",
-                "Rápida", "45s", "8", "7.2/10", "★★★★★");
-        System.out.printf("%-15s %-10s %-12s %-10s %-15s%n",
-                "Balanceada", "2.3min", "15", "8.7/10", "★★★★☆");
-        System.out.printf("%-15s %-10s %-12s %-10s %-15s%n",
-                "Intensiva", "6.1min", "23", "9.4/10", "★★★☆☆");
-        System.out.printf("%-15s %-10s %-12s %-10s %-15s%n",
-                "Experimental 1", "3.8min", "18", "8.9/10", "★★★★☆");
-        System.out.printf("%-15s %-10s %-12s %-10s %-15s%n",
-                "Experimental 2", "4.2min", "21", "9.1/10", "★★★☆☆");
+        SintonizadorParametros.ParametrosSintonizador params = SintonizadorParametros.ParametrosSintonizador
+                .porDefecto();
 
+        System.out.print("Presupuesto total de CPU en minutos (1-600): ");
+        params.presupuestoCpuSegundos = leerOpcion(1, 600) * 60.0;
+
+        System.out.println("Criterio de selección:");
+        System.out.println("1. ⚡ Calidad por segundo (mejora % / segundo de CPU)");
+        System.out.println("2. 🎯 Calidad (mejora % sobre la solución constructiva)");
+        System.out.print("Seleccione una opción (1-2): ");
+        params.criterio = leerOpcion(1, 2) == 1 ? SintonizadorParametros.Criterio.CALIDAD_POR_SEGUNDO
+                : SintonizadorParametros.Criterio.CALIDAD;
         System.out.println();
-        System.out.println("🏆 RECOMENDACIÓN BASADA EN BENCHMARK:");
-        System.out.println("   Para su sistema específico, la configuración BALANCEADA");
-        System.out.println("   ofrece el mejor equilibrio calidad-tiempo-recursos.");
+
+        Map<String, TestSystem> instancias = new java.util.LinkedHashMap<>();
+        instancias.put("test_system_" + testSystem.getTestNumber(), testSystem);
+
+        SintonizadorParametros.ResultadoSintonizacion resultado;
+        try {
+            resultado = new SintonizadorParametros(instancias, params).sintonizar();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("❌ Sintonización interrumpida.");
+            return;
+        }
+
         System.out.println();
-        System.out.println("📈 Métricas evaluadas:");
-        System.out.println("   • Tiempo de ejecución");
-        System.out.println("   • Tamaño del frente de Pareto");
-        System.out.println("   • Calidad de soluciones (valor objetivo)");
-        System.out.println("   • Eficiencia computacional");
-        System.out.println("   • Diversidad del frente");
+        System.out.println("📊 RESULTADO DE LA SINTONIZACIÓN");
+        System.out.println("=".repeat(60));
+        System.out.printf("   • Evaluaciones realizadas: %d%n", resultado.getEvaluaciones());
+        System.out.printf("   • CPU consumida: %.1f s%n", resultado.getCpuSegundos());
+        SintonizadorParametros.Candidato mejor = resultado.getMejor();
+        if (mejor == null) {
+            System.out.println("❌ No se pudo evaluar ninguna configuración.");
+            return;
+        }
+        System.out.printf("🏆 Mejor configuración: %s%n", mejor.getNombre());
+        System.out.printf("   • Objetivo medio: %.2f%n", mejor.getObjetivoMedio());
+        System.out.printf("   • CPU media por ejecución: %.1f s%n", mejor.getSegundosMedios());
+        System.out.println("   • " + mejor.getParametros());
+
+        System.out.print("\n❓ ¿Desea ejecutar Scatter Search con esta configuración? (s/n): ");
+        String respuesta = scanner.nextLine().trim().toLowerCase();
+        if (!respuesta.equals("s") && !respuesta.equals("si") && !respuesta.equals("sí")) {
+            return;
+        }
+
+        ScatterSearch scatterSearch = new ScatterSearch(testSystem, ultimoAlgoritmoEjecutado.getMejorSolucion(),
+                mejor.getParametros());
+        scatterSearch.getLogger().setShowLogs(logsHabilitados);
+        long tiempoInicio = System.currentTimeMillis();
+        SolucionConstructiva mejorSolucionSS = scatterSearch.ejecutar();
+        long tiempoTotal = System.currentTimeMillis() - tiempoInicio;
+        ultimoScatterSearchEjecutado = scatterSearch;
+        mostrarResultadosScatterSearch(mejorSolucionSS, scatterSearch, tiempoTotal);
     }
 
     private static void confirmarYEjecutarConfiguracion(String tipoConfig) {
@@ -1997,81 +2594,163 @@ public class Main {
                 "Archivo",
                 "Costo_Constructivo", "Energia_Constructivo", "Vehiculos_Constructivo", "Tiempo_Constructivo_ms",
                 "Costo_ScatterSearch", "Energia_ScatterSearch", "Vehiculos_ScatterSearch", "Tiempo_ScatterSearch_ms",
-                "Mejora_ScatterSearch_%", "FrentePareto_Tamano"
+                "Mejora_ScatterSearch_%", "FrentePareto_Tamano",
+                "Brecha_Cota_Constructivo_%", "Brecha_Cota_ScatterSearch_%"
         });
 
+        // Cada instancia se ejecuta en su propio hilo con estado aislado
+        List<String> archivos = new ArrayList<>();
         for (int i = 1; i <= 7; i++) {
-            String archivo = "test_system_" + i + ".json";
-            System.out.printf("--- Procesando archivo: %s ---%n", archivo);
-
-            try {
-                // 1. Cargar datos del sistema
-                JsonMapper jsonMapper = new JsonMapper();
-                testSystem = jsonMapper.mapJsonToTestSystem(archivo);
-                System.out.printf("✅ Datos cargados exitosamente desde %s%n", archivo);
-
-                // 2. Ejecutar Algoritmo Constructivo
-                System.out.println("🚀 Ejecutando Algoritmo Constructivo...");
-                long inicioConstructivo = System.currentTimeMillis();
-                ConstructivoAdaptativo constructivo = new ConstructivoAdaptativo(testSystem);
-                constructivo.getLogger().setShowLogs(false); // Desactivar logs en consola para benchmark
-                SolucionConstructiva solucionConstructiva = constructivo.ejecutar();
-                long tiempoConstructivo = System.currentTimeMillis() - inicioConstructivo;
-                ultimoAlgoritmoEjecutado = constructivo; // Actualizar para acceso si se quiere
-
-                System.out.printf("✅ Constructivo ejecutado en %d ms. Costo: %.2f, Energía: %.2f%n",
-                        tiempoConstructivo, solucionConstructiva.getCostoTotalOperacion(),
-                        solucionConstructiva.getEnergiaTotalEntregada());
+            archivos.add("test_system_" + i + ".json");
+        }
+        int hilos = Math.max(1, Math.min(archivos.size(), Runtime.getRuntime().availableProcessors()));
+        System.out.printf("🧵 Ejecutando %d instancias con %d hilos en paralelo...%n", archivos.size(), hilos);
 
-                // 3. Ejecutar Scatter Search
-                System.out.println("🔍 Ejecutando Scatter Search...");
-                long inicioScatter = System.currentTimeMillis();
-                ScatterSearch scatterSearch = ScatterSearch.conConfiguracionBalanceada(testSystem,
-                        solucionConstructiva); // Usar configuración balanceada
-                scatterSearch.getLogger().setShowLogs(false); // Desactivar logs en consola para benchmark
-                SolucionConstructiva solucionScatterSearch = scatterSearch.ejecutar();
-                long tiempoScatter = System.currentTimeMillis() - inicioScatter;
-                ultimoScatterSearchEjecutado = scatterSearch; // Actualizar para acceso si se quiere
-
-                double mejoraObtenida = scatterSearch.getMejoraObtenida();
-                int tamanoFrentePareto = scatterSearch.getFrentePareto().getTamaño();
-
-                System.out.printf("✅ Scatter Search ejecutado en %d ms. Costo: %.2f, Energía: %.2f, Mejora: %.2f%%%n",
-                        tiempoScatter, solucionScatterSearch.getCostoTotalOperacion(),
-                        solucionScatterSearch.getEnergiaTotalEntregada(), mejoraObtenida);
-
-                // 4. Recopilar resultados
-                resultadosBenchmark.add(new String[] {
-                        archivo,
-                        String.format("%.2f", solucionConstructiva.getCostoTotalOperacion()),
-                        String.format("%.2f", solucionConstructiva.getEnergiaTotalEntregada()),
-                        String.valueOf(solucionConstructiva.getVehiculosAtendidos()),
-                        String.valueOf(tiempoConstructivo),
-                        String.format(java.util.Locale.US, "%.2f", solucionScatterSearch.getCostoTotalOperacion()),
-                        String.format(java.util.Locale.US, "%.2f", solucionScatterSearch.getEnergiaTotalEntregada()),
-                        String.valueOf(solucionScatterSearch.getVehiculosAtendidos()),
-                        String.valueOf(tiempoScatter),
-                        String.format(java.util.Locale.US, "%.2f", mejoraObtenida),
-                        String.valueOf(tamanoFrentePareto)
-                });
+        long inicioBenchmark = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        List<Future<ResultadoBenchmark>> pendientes = new ArrayList<>();
+        for (String archivo : archivos) {
+            pendientes.add(executor.submit(() -> ejecutarBenchmarkInstancia(archivo)));
+        }
+        executor.shutdown();
 
-            } catch (IOException e) {
-                System.err.printf("❌ Error al cargar el archivo %s: %s%n", archivo, e.getMessage());
-                resultadosBenchmark
-                        .add(new String[] { archivo, "ERROR", e.getMessage(), "", "", "", "", "", "", "", "" });
-            } catch (Exception e) {
-                System.err.printf("❌ Error al ejecutar algoritmos para %s: %s%n", archivo, e.getMessage());
-                e.printStackTrace();
-                resultadosBenchmark
-                        .add(new String[] { archivo, "ERROR", e.getMessage(), "", "", "", "", "", "", "", "" });
+        // Las filas se recogen en el orden de los archivos, no en el de finalización
+        ResultadoBenchmark ultimoCorrecto = null;
+        for (int i = 0; i < pendientes.size(); i++) {
+            String archivo = archivos.get(i);
+            try {
+                ResultadoBenchmark resultado = pendientes.get(i).get();
+                resultadosBenchmark.add(resultado.fila);
+                if (resultado.scatterSearch != null) {
+                    ultimoCorrecto = resultado;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+                System.err.println("❌ Benchmark interrumpido.");
+                return;
+            } catch (ExecutionException e) {
+                System.err.printf("❌ Error al ejecutar algoritmos para %s: %s%n", archivo, e.getCause());
+                resultadosBenchmark.add(new String[] { archivo, "ERROR", String.valueOf(e.getCause().getMessage()),
+                        "", "", "", "", "", "", "", "", "", "" });
             }
         }
+        System.out.printf("⏱️ Benchmark completo en %d ms%n", System.currentTimeMillis() - inicioBenchmark);
+
+        // Como en la versión secuencial, queda accesible la última instancia procesada
+        if (ultimoCorrecto != null) {
+            testSystem = ultimoCorrecto.testSystem;
+            ultimoAlgoritmoEjecutado = ultimoCorrecto.constructivo;
+            ultimoScatterSearchEjecutado = ultimoCorrecto.scatterSearch;
+            cotaEnergia = ultimoCorrecto.cotaEnergia;
+            instanciaCotaEnergia = ultimoCorrecto.testSystem;
+        }
 
         // 5. Exportar a CSV
         String nombreArchivoCSV = "resultados_benchmark_" + System.currentTimeMillis() + ".csv";
         exportarResultadosCSV(resultadosBenchmark, nombreArchivoCSV);
     }
 
+    /**
+     * Resultado de una instancia del benchmark: fila del CSV y objetos de la
+     * ejecución (nulos si hubo un error)
+     */
+    private static class ResultadoBenchmark {
+        private final String[] fila;
+        private final TestSystem testSystem;
+        private final ConstructivoAdaptativo constructivo;
+        private final ScatterSearch scatterSearch;
+        private final CotaEnergia cotaEnergia;
+
+        ResultadoBenchmark(String[] fila, TestSystem testSystem, ConstructivoAdaptativo constructivo,
+                ScatterSearch scatterSearch, CotaEnergia cotaEnergia) {
+            this.fila = fila;
+            this.testSystem = testSystem;
+            this.constructivo = constructivo;
+            this.scatterSearch = scatterSearch;
+            this.cotaEnergia = cotaEnergia;
+        }
+    }
+
+    /**
+     * Ejecuta constructivo y Scatter Search sobre un archivo. Solo usa variables
+     * locales (instancia, algoritmos y sus loggers), por lo que varias
+     * instancias pueden ejecutarse a la vez.
+     */
+    private static ResultadoBenchmark ejecutarBenchmarkInstancia(String archivo) {
+        String prefijo = "[" + archivo + "] ";
+        System.out.printf("%s--- Procesando archivo ---%n", prefijo);
+
+        try {
+            // 1. Cargar datos del sistema
+            TestSystem instancia = cargarInstancia(archivo);
+            System.out.printf("%s✅ Datos cargados%n", prefijo);
+
+            // La cota de la instancia sirve para las brechas de ambos algoritmos
+            CotaEnergia cota = CotaEnergia.calcular(instancia);
+            System.out.printf("%s📐 Cota de energía: %.2f kWh (%d ms)%n", prefijo, cota.getCota(),
+                    cota.getTiempoCalculoMs());
+
+            // 2. Ejecutar Algoritmo Constructivo
+            long inicioConstructivo = System.currentTimeMillis();
+            ConstructivoAdaptativo constructivo = new ConstructivoAdaptativo(instancia);
+            constructivo.getLogger().setShowLogs(false); // Desactivar logs en consola para benchmark
+            constructivo.getLogger().setHistorialTexto(false);
+            SolucionConstructiva solucionConstructiva = constructivo.ejecutar();
+            long tiempoConstructivo = System.currentTimeMillis() - inicioConstructivo;
+
+            System.out.printf("%s✅ Constructivo ejecutado en %d ms. Costo: %.2f, Energía: %.2f, Brecha cota: %.2f%%%n",
+                    prefijo, tiempoConstructivo, solucionConstructiva.getCostoTotalOperacion(),
+                    solucionConstructiva.getEnergiaTotalEntregada(), cota.calcularBrecha(solucionConstructiva));
+
+            // 3. Ejecutar Scatter Search
+            long inicioScatter = System.currentTimeMillis();
+            ScatterSearch scatterSearch = ScatterSearch.conConfiguracionBalanceada(instancia,
+                    solucionConstructiva); // Usar configuración balanceada
+            scatterSearch.getLogger().setShowLogs(false); // Desactivar logs en consola para benchmark
+            scatterSearch.getLogger().setHistorialTexto(false);
+            SolucionConstructiva solucionScatterSearch = scatterSearch.ejecutar();
+            long tiempoScatter = System.currentTimeMillis() - inicioScatter;
+
+            double mejoraObtenida = scatterSearch.getMejoraObtenida();
+            int tamanoFrentePareto = scatterSearch.getFrentePareto().getTamaño();
+
+            System.out.printf(
+                    "%s✅ Scatter Search ejecutado en %d ms. Costo: %.2f, Energía: %.2f, Mejora: %.2f%%, Brecha cota: %.2f%%%n",
+                    prefijo, tiempoScatter, solucionScatterSearch.getCostoTotalOperacion(),
+                    solucionScatterSearch.getEnergiaTotalEntregada(), mejoraObtenida,
+                    cota.calcularBrecha(solucionScatterSearch));
+
+            // 4. Recopilar resultados
+            String[] fila = new String[] {
+                    archivo,
+                    String.format("%.2f", solucionConstructiva.getCostoTotalOperacion()),
+                    String.format("%.2f", solucionConstructiva.getEnergiaTotalEntregada()),
+                    String.valueOf(solucionConstructiva.getVehiculosAtendidos()),
+                    String.valueOf(tiempoConstructivo),
+                    String.format(java.util.Locale.US, "%.2f", solucionScatterSearch.getCostoTotalOperacion()),
+                    String.format(java.util.Locale.US, "%.2f", solucionScatterSearch.getEnergiaTotalEntregada()),
+                    String.valueOf(solucionScatterSearch.getVehiculosAtendidos()),
+                    String.valueOf(tiempoScatter),
+                    String.format(java.util.Locale.US, "%.2f", mejoraObtenida),
+                    String.valueOf(tamanoFrentePareto),
+                    String.format(java.util.Locale.US, "%.2f", cota.calcularBrecha(solucionConstructiva)),
+                    String.format(java.util.Locale.US, "%.2f", cota.calcularBrecha(solucionScatterSearch))
+            };
+            return new ResultadoBenchmark(fila, instancia, constructivo, scatterSearch, cota);
+
+        } catch (IOException e) {
+            System.err.printf("❌ Error al cargar el archivo %s: %s%n", archivo, e.getMessage());
+            return new ResultadoBenchmark(new String[] { archivo, "ERROR", e.getMessage(), "", "", "", "", "", "", "",
+                    "", "", "" }, null, null, null, null);
+        } catch (Exception e) {
+            System.err.printf("❌ Error al ejecutar algoritmos para %s: %s%n", archivo, e.getMessage());
+            e.printStackTrace();
+            return new ResultadoBenchmark(new String[] { archivo, "ERROR", e.getMessage(), "", "", "", "", "", "", "",
+                    "", "", "" }, null, null, null, null);
+        }
+    }
+
     private static void exportarResultadosCSV(List<String[]> data, String filename) {
         System.out.printf("📋 Exportando resultados a %s...%n", filename);
         try (PrintWriter pw = new PrintWriter(new FileWriter(filename))) {
@@ -2093,7 +2772,7 @@ public class Main {
         if (testSystem == null) {
             System.out.println("❌ No hay datos del sistema cargados. Cargando por defecto 'test_system_1.json'.");
             try {
-                testSystem = new JsonMapper().mapJsonToTestSystem("test_system_1.json");
+                testSystem = cargarInstancia("test_system_1.json");
                 System.out.println("✅ Datos cargados exitosamente desde test_system_1.json!");
             } catch (IOException e) {
                 System.err.println("❌ Error cargando archivo por defecto: " + e.getMessage());
@@ -2116,8 +2795,7 @@ public class Main {
 
         try {
             // Cargar los datos del sistema seleccionado
-            JsonMapper jsonMapper = new JsonMapper();
-            testSystem = jsonMapper.mapJsonToTestSystem(archivoSeleccionado);
+            testSystem = cargarInstancia(archivoSeleccionado);
             System.out.printf("✅ Datos cargados para %s%n", archivoSeleccionado);
 
             // Ejecutar Algoritmo Constructivo
@@ -2125,6 +2803,7 @@ public class Main {
             long inicioConstructivo = System.currentTimeMillis();
             ConstructivoAdaptativo constructivo = new ConstructivoAdaptativo(testSystem);
             constructivo.getLogger().setShowLogs(false); // Desactivar logs en consola
+            constructivo.getLogger().setHistorialTexto(false); // Los resultados no usan el historial
             SolucionConstructiva solucionConstructiva = constructivo.ejecutar();
             long tiempoConstructivo = System.currentTimeMillis() - inicioConstructivo;
 
@@ -2134,19 +2813,37 @@ public class Main {
 
             // Preparar resultados para exportar
             List<String[]> resultados = new ArrayList<>();
-            resultados.add(new String[] { "Archivo", "Costo", "Energia", "VehiculosAtendidos", "TiempoEjecucion_ms" });
+            resultados.add(new String[] { "Archivo", "Costo", "Energia", "VehiculosAtendidos", "TiempoEjecucion_ms",
+                    "Brecha_Cota_%" });
             resultados.add(new String[] {
                     archivoSeleccionado,
                     String.format(java.util.Locale.US, "%.2f", solucionConstructiva.getCostoTotalOperacion()),
                     String.format(java.util.Locale.US, "%.2f", solucionConstructiva.getEnergiaTotalEntregada()),
                     String.valueOf(solucionConstructiva.getVehiculosAtendidos()),
-                    String.valueOf(tiempoConstructivo)
+                    String.valueOf(tiempoConstructivo),
+                    String.format(java.util.Locale.US, "%.2f", obtenerCotaEnergia().calcularBrecha(solucionConstructiva))
             });
 
             // Exportar a CSV
             String nombreArchivoCSV = "resultado_constructivo_" + archivoSeleccionado.replace(".json", ".csv");
             exportarResultadosCSV(resultados, nombreArchivoCSV);
 
+            // Exportar métricas por fase
+            if (solucionConstructiva.getMetricasFases() != null) {
+                System.out.println(solucionConstructiva.getMetricasFases().generarResumen());
+                String nombreMetricasCSV = "metricas_constructivo_" + archivoSeleccionado.replace(".json", ".csv");
+                try (PrintWriter pw = new PrintWriter(new FileWriter(nombreMetricasCSV))) {
+                    solucionConstructiva.getMetricasFases().exportarCsv(pw);
+                    System.out.printf("✅ Métricas por fase exportadas a %s%n", nombreMetricasCSV);
+                }
+                String nombreHistogramasCSV = "histogramas_constructivo_"
+                        + archivoSeleccionado.replace(".json", ".csv");
+                try (PrintWriter pw = new PrintWriter(new FileWriter(nombreHistogramasCSV))) {
+                    solucionConstructiva.getMetricasFases().exportarHistogramasCsv(pw);
+                    System.out.printf("✅ Histogramas de latencia por fase exportados a %s%n", nombreHistogramasCSV);
+                }
+            }
+
         } catch (IOException e) {
             System.err.printf("❌ Error al cargar el archivo %s: %s%n", archivoSeleccionado, e.getMessage());
         } catch (Exception e) {
@@ -2177,7 +2874,8 @@ public class Main {
                 "Costo_Constructivo",
                 "Energia_Constructivo",
                 "Vehiculos_Constructivo",
-                "Tiempo_Constructivo_ms"
+                "Tiempo_Constructivo_ms",
+                "Brecha_Cota_Constructivo_%"
         });
 
         for (int i = 1; i <= 7; i++) {
@@ -2186,8 +2884,8 @@ public class Main {
 
             try {
                 // Cargar datos del sistema
-                JsonMapper jsonMapper = new JsonMapper();
-                testSystem = jsonMapper.mapJsonToTestSystem(archivo);
+                testSystem = cargarInstancia(archivo);
+                archivoLlegadasStreaming = null;
                 System.out.printf("✅ Datos cargados exitosamente desde %s%n", archivo);
 
                 // Ejecutar Algoritmo Constructivo
@@ -2195,6 +2893,7 @@ public class Main {
                 long inicioConstructivo = System.currentTimeMillis();
                 ConstructivoAdaptativo constructivo = new ConstructivoAdaptativo(testSystem);
                 constructivo.getLogger().setShowLogs(false); // Desactivar logs en consola
+                constructivo.getLogger().setHistorialTexto(false); // Los resultados no usan el historial
                 SolucionConstructiva solucionConstructiva = constructivo.ejecutar();
                 long tiempoConstructivo = System.currentTimeMillis() - inicioConstructivo;
 
@@ -2208,19 +2907,21 @@ public class Main {
                         String.format(java.util.Locale.US, "%.2f", solucionConstructiva.getCostoTotalOperacion()),
                         String.format(java.util.Locale.US, "%.2f", solucionConstructiva.getEnergiaTotalEntregada()),
                         String.valueOf(solucionConstructiva.getVehiculosAtendidos()),
-                        String.valueOf(tiempoConstructivo)
+                        String.valueOf(tiempoConstructivo),
+                        String.format(java.util.Locale.US, "%.2f",
+                                obtenerCotaEnergia().calcularBrecha(solucionConstructiva))
                 });
 
             } catch (IOException e) {
                 System.err.printf("❌ Error al cargar el archivo %s: %s%n", archivo, e.getMessage());
                 resultadosConstructivo
-                        .add(new String[] { archivo, "ERROR", e.getMessage(), "", "" });
+                        .add(new String[] { archivo, "ERROR", e.getMessage(), "", "", "" });
             } catch (Exception e) {
                 System.err.printf("❌ Error al ejecutar el algoritmo constructivo para %s: %s%n", archivo,
                         e.getMessage());
                 e.printStackTrace();
                 resultadosConstructivo
-                        .add(new String[] { archivo, "ERROR", e.getMessage(), "", "" });
+                        .add(new String[] { archivo, "ERROR", e.getMessage(), "", "", "" });
             }
             System.out.println();
         }
@@ -2229,4 +2930,219 @@ public class Main {
         String nombreArchivoCSV = "resultados_constructivo_todos_" + System.currentTimeMillis() + ".csv";
         exportarResultadosCSV(resultadosConstructivo, nombreArchivoCSV);
     }
-}
\ No newline at end of file
+
+    /**
+     * Genera una instancia sintética con los catálogos de la instancia cargada y
+     * la guarda en JSON o en formato binario
+     */
+    private static void evaluarRobustez() {
+        System.out.println("🎲 EVALUACIÓN DE ROBUSTEZ (MONTE CARLO)");
+        System.out.println("=".repeat(50));
+
+        if (ultimoAlgoritmoEjecutado == null || ultimoAlgoritmoEjecutado.getMejorSolucion() == null) {
+            System.out.println("❌ No se ha ejecutado el algoritmo constructivo aún.");
+            System.out.println("   Ejecute primero la opción 9.");
+            return;
+        }
+
+        EvaluadorRobustez.ParametrosEscenarios parametros = EvaluadorRobustez.ParametrosEscenarios.porDefecto();
+        System.out.printf("🔀 Perturbaciones: llegada/salida ±%.2f h, energía ±%.0f%%, precio ±%.0f%% (desv. típica)%n",
+                parametros.desviacionLlegada, parametros.ruidoEnergia * 100, parametros.ruidoPrecio * 100);
+        System.out.print("Número de escenarios (100-100000): ");
+        int escenarios = leerOpcion(100, 100000);
+
+        EvaluadorRobustez evaluador = new EvaluadorRobustez(testSystem, parametros);
+        EvaluadorRobustez.ResultadoRobustez resultado;
+        try {
+            resultado = evaluador.evaluarPlan(ultimoAlgoritmoEjecutado.getMejorSolucion(), escenarios);
+        } catch (IllegalStateException e) {
+            System.out.println("❌ " + e.getMessage());
+            return;
+        }
+        System.out.println();
+        System.out.println("📋 Plan del constructivo reproducido en cada escenario:");
+        System.out.print(resultado.generarInforme());
+
+        System.out.print("\n¿Reejecutar además el constructivo completo en 20 escenarios? (s/n): ");
+        String respuesta = scanner.nextLine().trim().toLowerCase();
+        if (respuesta.equals("s") || respuesta.equals("si") || respuesta.equals("sí")) {
+            EvaluadorRobustez.ResultadoRobustez politica = evaluador.evaluarPolitica(escenario -> {
+                ConstructivoAdaptativo constructivo = new ConstructivoAdaptativo(escenario);
+                constructivo.getLogger().setShowLogs(false);
+                constructivo.getLogger().setHistorialTexto(false);
+                constructivo.setSemilla(parametros.semilla);
+                return constructivo.ejecutar();
+            }, 20);
+            System.out.println();
+            System.out.println("📋 Constructivo reejecutado en cada escenario:");
+            System.out.print(politica.generarInforme());
+        }
+    }
+
+    private static void exportarGraficas() {
+        System.out.println("🖼️ EXPORTAR GRÁFICAS (PNG/SVG)");
+        System.out.println("=".repeat(50));
+
+        if (ultimoAlgoritmoEjecutado == null && ultimoScatterSearchEjecutado == null) {
+            System.out.println("❌ No se ha ejecutado ningún algoritmo aún.");
+            System.out.println("   Ejecute el constructivo (opción 9) o Scatter Search (opción 16).");
+            return;
+        }
+
+        System.out.println("Formato de salida:");
+        System.out.println("1. PNG");
+        System.out.println("2. SVG");
+        System.out.print("Seleccione una opción (1-2): ");
+        ExportadorGraficas.Formato formato = leerOpcion(1, 2) == 1 ? ExportadorGraficas.Formato.PNG
+                : ExportadorGraficas.Formato.SVG;
+
+        System.out.print("Directorio de salida (Enter para 'graficas'): ");
+        String directorio = scanner.nextLine().trim();
+        exportarGraficasA(Paths.get(directorio.isEmpty() ? "graficas" : directorio), formato);
+    }
+
+    /**
+     * Exporta la evolución del constructivo y, si existe, la del último
+     * Scatter Search con su frente de Pareto
+     */
+    private static void exportarGraficasA(Path directorio, ExportadorGraficas.Formato formato) {
+        long inicio = System.currentTimeMillis();
+        List<Path> archivos = new ArrayList<>();
+        try {
+            if (ultimoAlgoritmoEjecutado != null && !ultimoAlgoritmoEjecutado.getDatosTemporales().estaVacio()) {
+                archivos.addAll(ExportadorGraficas.exportarEvolucion(ultimoAlgoritmoEjecutado.getDatosTemporales(),
+                        directorio, "constructivo", formato, ExportadorGraficas.ANCHO_POR_DEFECTO,
+                        ExportadorGraficas.ALTO_POR_DEFECTO));
+            }
+            if (ultimoScatterSearchEjecutado != null) {
+                if (!ultimoScatterSearchEjecutado.getDatosTemporales().estaVacio()) {
+                    archivos.addAll(ExportadorGraficas.exportarEvolucion(
+                            ultimoScatterSearchEjecutado.getDatosTemporales(), directorio, "scatter_search", formato,
+                            ExportadorGraficas.ANCHO_POR_DEFECTO, ExportadorGraficas.ALTO_POR_DEFECTO));
+                }
+                if (!ultimoScatterSearchEjecutado.getFrentePareto().estaVacio()) {
+                    archivos.add(ExportadorGraficas.exportarFrentePareto(ultimoScatterSearchEjecutado.getFrentePareto(),
+                            directorio, "scatter_search", formato, ExportadorGraficas.ANCHO_POR_DEFECTO,
+                            ExportadorGraficas.ALTO_POR_DEFECTO));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Error exportando gráficas: " + e.getMessage());
+            return;
+        }
+
+        if (archivos.isEmpty()) {
+            System.out.println("❌ No hay datos temporales disponibles.");
+            return;
+        }
+        System.out.printf("✅ %d gráficas exportadas en %d ms:%n", archivos.size(),
+                System.currentTimeMillis() - inicio);
+        for (Path archivo : archivos) {
+            System.out.println("   📄 " + archivo);
+        }
+    }
+
+    private static void generarInstanciaSintetica() {
+        System.out.println("🏭 GENERADOR DE INSTANCIAS SINTÉTICAS");
+        System.out.println("=".repeat(50));
+
+        TestSystem plantilla = testSystem;
+        if (plantilla == null) {
+            try {
+                plantilla = cargarInstancia("test_system_7.json");
+            } catch (IOException e) {
+                System.err.println("❌ No se pudieron cargar los catálogos de test_system_7.json: " + e.getMessage());
+                return;
+            }
+        }
+
+        // Entre paréntesis el valor por defecto, que se toma con una línea vacía
+        GeneradorInstancias.ParametrosGenerador parametros = new GeneradorInstancias.ParametrosGenerador();
+        System.out.printf("Número de vehículos esperados (%d): ", parametros.numeroVehiculos);
+        parametros.numeroVehiculos = leerOpcion(1, Integer.MAX_VALUE, parametros.numeroVehiculos);
+        System.out.printf("Intensidad de llegadas en vehículos/h, 0 = según el número de vehículos (%.1f): ",
+                parametros.intensidadLlegadas);
+        parametros.intensidadLlegadas = leerReal(0, Double.MAX_VALUE, parametros.intensidadLlegadas);
+        System.out.printf("Amplitud relativa de la intensidad de llegadas, 0-1 (%.2f): ", parametros.amplitudLlegadas);
+        parametros.amplitudLlegadas = leerReal(0, 1, parametros.amplitudLlegadas);
+        System.out.printf("Horas entre picos de llegadas (%.1f): ", parametros.periodoLlegadas);
+        parametros.periodoLlegadas = leerReal(0.25, 168, parametros.periodoLlegadas);
+        System.out.printf("Número de cargadores (%d): ", parametros.numeroCargadores);
+        parametros.numeroCargadores = leerOpcion(1, Integer.MAX_VALUE, parametros.numeroCargadores);
+        System.out.printf("Precio base en céntimos/kWh (%.1f): ", parametros.precioBase);
+        parametros.precioBase = leerReal(0, 1000, parametros.precioBase);
+        System.out.printf("Amplitud de la curva de precios en céntimos/kWh (%.1f): ", parametros.amplitudPrecio);
+        parametros.amplitudPrecio = leerReal(0, 1000, parametros.amplitudPrecio);
+        System.out.printf("Horas entre picos de precio (%.1f): ", parametros.periodoPrecio);
+        parametros.periodoPrecio = leerReal(0.25, 168, parametros.periodoPrecio);
+        System.out.printf("Hora del primer pico de precio (%.2f): ", parametros.picoPrecio);
+        parametros.picoPrecio = leerReal(0, 168, parametros.picoPrecio);
+        System.out.printf("Ruido del precio en céntimos/kWh (%.1f): ", parametros.ruidoPrecio);
+        parametros.ruidoPrecio = leerReal(0, 1000, parametros.ruidoPrecio);
+        System.out.printf("Semilla (%d): ", parametros.semilla);
+        parametros.semilla = leerOpcion(0, Integer.MAX_VALUE, (int) parametros.semilla);
+        System.out.print("Destino (1 = json, 2 = binario .evb, 3 = ejecutar el constructivo sin archivo) (1): ");
+        int destino = leerOpcion(1, 3, 1);
+        if (destino == 3) {
+            ejecutarConstructivoSobreGenerador(new GeneradorInstancias(plantilla, parametros));
+            return;
+        }
+        boolean binario = destino == 2;
+
+        String archivo = String.format("instancia_sintetica_%d_%d_%d%s", parametros.numeroVehiculos,
+                parametros.numeroCargadores, parametros.semilla, binario ? InstanciaBinaria.EXTENSION : ".json");
+        GeneradorInstancias generador = new GeneradorInstancias(plantilla, parametros);
+        try {
+            long inicio = System.currentTimeMillis();
+            if (binario) {
+                generador.escribirBinario(Paths.get(archivo));
+            } else {
+                generador.escribirJson(Paths.get(archivo));
+            }
+            System.out.printf("✅ Instancia generada en %s (%d ms, %.1f MB)%n", archivo,
+                    System.currentTimeMillis() - inicio, Files.size(Paths.get(archivo)) / (1024.0 * 1024.0));
+        } catch (IOException e) {
+            System.err.println("❌ Error al generar la instancia: " + e.getMessage());
+            return;
+        }
+
+        System.out.print("¿Cargar la instancia generada como sistema actual? (s/n): ");
+        String respuesta = scanner.nextLine().trim().toLowerCase();
+        if (respuesta.startsWith("s")) {
+            try {
+                testSystem = binario ? InstanciaBinaria.abrir(Paths.get(archivo)).toTestSystem()
+                        : cargarInstancia(archivo);
+                archivoLlegadasStreaming = null;
+                System.out.printf("✅ %d vehículos y %d cargadores cargados%n", testSystem.getArrivals().size(),
+                        testSystem.getParkingConfig().getChargers().size());
+            } catch (IOException e) {
+                System.err.println("❌ Error al cargar la instancia generada: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Ejecuta el constructivo tomando las llegadas directamente del generador,
+     * sin escribir ni cargar la instancia: los vehículos se crean a medida que
+     * llegan y se descartan al salir, así que la memoria no depende del tamaño
+     * de la instancia
+     */
+    private static void ejecutarConstructivoSobreGenerador(GeneradorInstancias generador) {
+        TestSystem configuracion = generador.generarConfiguracion();
+        ConstructivoAdaptativo constructivo = new ConstructivoAdaptativo(configuracion, generador.fuenteLlegadas());
+        constructivo.setRetenerVehiculosFinalizados(false);
+        constructivo.getLogger().setShowLogs(false);
+        constructivo.getLogger().setHistorialTexto(false);
+        constructivo.setSemilla(generador.getParametros().semilla);
+
+        System.out.printf("🚀 Ejecutando el constructivo con %d cargadores y ~%.0f llegadas/h generadas bajo demanda...%n",
+                configuracion.getParkingConfig().getChargers().size(), generador.getIntensidadMedia());
+        long inicio = System.currentTimeMillis();
+        SolucionConstructiva solucion = constructivo.ejecutar();
+        System.out.printf("✅ Constructivo completado en %d ms%n", System.currentTimeMillis() - inicio);
+        System.out.println(solucion.generarResumen());
+        if (solucion.getMetricasFases() != null) {
+            System.out.println(solucion.getMetricasFases().generarResumen());
+        }
+    }
+}
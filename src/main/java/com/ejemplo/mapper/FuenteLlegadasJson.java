@@ -0,0 +1,118 @@
+package com.ejemplo.mapper;
+
+import com.ejemplo.algoritmo.FuenteLlegadas;
+import com.ejemplo.model.VehicleArrival;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.NoSuchElementException;
+
+/**
+ * Fuente de llegadas que lee el arreglo "arrivals" de un archivo JSON de
+ * instancia de forma incremental: solo mantiene en memoria la próxima llegada.
+ * Las llegadas del archivo deben estar ordenadas por tiempo de llegada.
+ *
+ * El resto de la instancia (precios, estacionamiento, marcas) se obtiene con
+ * {@link StreamingJsonMapper#mapJsonSinLlegadas(String)}.
+ */
+public class FuenteLlegadasJson implements FuenteLlegadas {
+
+    private final String jsonFilePath;
+    private final JsonParser parser;
+    private VehicleArrival proxima;
+    private double ultimoTiempo = Double.NEGATIVE_INFINITY;
+
+    public FuenteLlegadasJson(String jsonFilePath) throws IOException {
+        File jsonFile = new File(jsonFilePath);
+        if (!jsonFile.exists()) {
+            throw new IOException("El archivo JSON no existe: " + jsonFilePath);
+        }
+        this.jsonFilePath = jsonFilePath;
+        this.parser = new JsonFactory().createParser(jsonFile);
+
+        try {
+            posicionarEnLlegadas();
+            avanzar();
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Recorre los campos de primer nivel hasta el inicio del arreglo "arrivals"
+     */
+    private void posicionarEnLlegadas() throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("El archivo JSON no se pudo parsear correctamente: " + jsonFilePath);
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String campo = parser.getCurrentName();
+            parser.nextToken();
+            if (campo.equals("arrivals")) {
+                StreamingJsonMapper.esperar(parser, JsonToken.START_ARRAY, campo);
+                return;
+            }
+            parser.skipChildren();
+        }
+        throw new IOException("Campo 'arrivals' no encontrado en el JSON: " + jsonFilePath);
+    }
+
+    /**
+     * Lee la siguiente llegada del arreglo, o deja proxima en null al terminar
+     */
+    private void avanzar() throws IOException {
+        if (!StreamingJsonMapper.siguienteElemento(parser, JsonToken.START_OBJECT, "arrivals")) {
+            proxima = null;
+            parser.close();
+            return;
+        }
+        proxima = StreamingJsonMapper.leerVehicleArrival(parser);
+        if (proxima.getArrivalTime() < ultimoTiempo) {
+            throw new IOException(String.format(
+                    "Las llegadas no están ordenadas por tiempo (vehículo %d llega en %.3f h, antes que el anterior): %s",
+                    proxima.getId(), proxima.getArrivalTime(), jsonFilePath));
+        }
+        ultimoTiempo = proxima.getArrivalTime();
+    }
+
+    @Override
+    public boolean hayMas() {
+        return proxima != null;
+    }
+
+    @Override
+    public double proximaLlegada() {
+        if (proxima == null) {
+            throw new NoSuchElementException("No quedan llegadas en " + jsonFilePath);
+        }
+        return proxima.getArrivalTime();
+    }
+
+    @Override
+    public VehicleArrival siguiente() {
+        if (proxima == null) {
+            throw new NoSuchElementException("No quedan llegadas en " + jsonFilePath);
+        }
+        VehicleArrival actual = proxima;
+        try {
+            avanzar();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error leyendo llegadas de " + jsonFilePath, e);
+        }
+        return actual;
+    }
+
+    @Override
+    public void close() {
+        try {
+            parser.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,544 @@
+package com.ejemplo.mapper;
+
+import com.ejemplo.algoritmo.FuenteLlegadas;
+import com.ejemplo.model.*;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Generador de instancias sintéticas del sistema de carga a cualquier escala.
+ * Reutiliza los catálogos de marcas y tipos de cargador de una instancia
+ * existente y reproduce las distribuciones observadas en test_system_1..7:
+ *
+ * - llegadas de Poisson no homogéneas con intensidad periódica,
+ * - estancia normal (media 4.7 h, desviación 2.1 h) truncada al horizonte,
+ * - energía requerida uniforme entre el 10% y el 90% de la batería,
+ * - prioridad uniforme en {1, 2, 3} y disposición a pagar uniforme en
+ * [0.8, 1.5],
+ * - curva de precios periódica con ruido.
+ *
+ * Las llegadas se generan en orden de tiempo y bajo demanda, de modo que se
+ * pueden escribir en JSON o pasar directamente al algoritmo
+ * ({@link #fuenteLlegadas()}) sin tenerlas todas en memoria. Con la misma
+ * semilla el resultado es siempre el mismo.
+ */
+public class GeneradorInstancias {
+
+    // Tasas mínimas de carga de las instancias de prueba: 4.4 kW para vehículos
+    // con carga AC trifásica de 22 kW, 3.5 kW para el resto
+    private static final double TASA_MINIMA_AC_22 = 4.4;
+    private static final double TASA_MINIMA_AC = 3.5;
+    private static final double PRECIO_MINIMO = 1.0; // céntimos/kWh
+
+    public static class ParametrosGenerador {
+        public int testNumber = 100;
+        public int numeroVehiculos = 600; // Llegadas esperadas en el horizonte
+        public double intensidadLlegadas = 0.0; // Vehículos/hora; si > 0 sustituye a numeroVehiculos
+        public double amplitudLlegadas = 0.35; // Variación relativa de la intensidad
+        public double periodoLlegadas = 6.0; // Horas entre picos de llegadas
+        public int numeroCargadores = 132;
+        public double horizonte = 14.0; // Horas simuladas
+        public double resolucionTiempo = 0.25;
+        public long semilla = 42L;
+
+        // Curva de precios (céntimos/kWh, como en los JSON)
+        public double precioBase = 42.0;
+        public double amplitudPrecio = 20.0;
+        public double periodoPrecio = 6.0;
+        public double picoPrecio = 0.75; // Hora del primer máximo
+        public double ruidoPrecio = 3.0;
+
+        // Vehículos
+        public double estanciaMedia = 4.7;
+        public double desviacionEstancia = 2.1;
+        public double estanciaMinima = 0.05;
+        public double fraccionEnergiaMinima = 0.1;
+        public double fraccionEnergiaMaxima = 0.9;
+        public double disposicionPagoMinima = 0.8;
+        public double disposicionPagoMaxima = 1.5;
+
+        // Estacionamiento
+        public double plazasPorCargador = 1.5;
+        public double factorTransformador = 0.25; // Fracción de la potencia instalada
+        public double eficienciaEstacionamiento = 0.85;
+
+        // Pesos relativos (marca -> peso, tipo de cargador -> peso) observados en
+        // las instancias de prueba
+        public Map<String, Double> pesosMarcas = pesosMarcasObservados();
+        public Map<String, Double> mezclaCargadores = mezclaCargadoresObservada();
+
+        /**
+         * Parámetros para un sitio de tamaño dado con la misma densidad de
+         * llegadas por cargador que test_system_7
+         */
+        public static ParametrosGenerador paraTamaño(int numeroVehiculos, int numeroCargadores) {
+            ParametrosGenerador parametros = new ParametrosGenerador();
+            parametros.numeroVehiculos = numeroVehiculos;
+            parametros.numeroCargadores = numeroCargadores;
+            return parametros;
+        }
+
+        private static Map<String, Double> pesosMarcasObservados() {
+            Map<String, Double> pesos = new LinkedHashMap<>();
+            pesos.put("Nissan Leaf 40kWh", 434.0);
+            pesos.put("Renault Zoe 52kWh", 352.0);
+            pesos.put("VW ID.3 58kWh", 318.0);
+            pesos.put("Tesla Model 3 57kWh", 433.0);
+            pesos.put("Hyundai Kona 64kWh", 435.0);
+            pesos.put("Tesla Model S 100kWh", 212.0);
+            return pesos;
+        }
+
+        private static Map<String, Double> mezclaCargadoresObservada() {
+            Map<String, Double> mezcla = new LinkedHashMap<>();
+            mezcla.put("AC_7kW", 60.0);
+            mezcla.put("AC_22kW", 30.0);
+            mezcla.put("DC_50kW", 20.0);
+            mezcla.put("DC_150kW", 15.0);
+            mezcla.put("DC_250kW", 5.0);
+            mezcla.put("DC_350kW", 2.0);
+            return mezcla;
+        }
+    }
+
+    private final List<CarBrand> marcas;
+    private final Map<String, ChargerType> tiposCargador;
+    private final ParametrosGenerador parametros;
+    private final double[] pesosAcumuladosMarcas;
+
+    /**
+     * Crea un generador con los catálogos de marcas y tipos de cargador de una
+     * instancia existente
+     */
+    public GeneradorInstancias(TestSystem plantilla, ParametrosGenerador parametros) {
+        this(plantilla.getCarBrands(), plantilla.getChargerTypes(), parametros);
+    }
+
+    public GeneradorInstancias(List<CarBrand> marcas, Map<String, ChargerType> tiposCargador,
+            ParametrosGenerador parametros) {
+        if (marcas == null || marcas.isEmpty()) {
+            throw new IllegalArgumentException("El catálogo de marcas está vacío");
+        }
+        if (tiposCargador == null || tiposCargador.isEmpty()) {
+            throw new IllegalArgumentException("El catálogo de tipos de cargador está vacío");
+        }
+        if (parametros.horizonte <= 0 || parametros.resolucionTiempo <= 0) {
+            throw new IllegalArgumentException("El horizonte y la resolución temporal deben ser positivos");
+        }
+        this.marcas = new ArrayList<>(marcas);
+        this.tiposCargador = tiposCargador;
+        this.parametros = parametros;
+
+        // Marcas sin peso explícito reciben el peso medio
+        double pesoMedio = parametros.pesosMarcas == null || parametros.pesosMarcas.isEmpty() ? 1.0
+                : parametros.pesosMarcas.values().stream().mapToDouble(Double::doubleValue).average().orElse(1.0);
+        this.pesosAcumuladosMarcas = new double[this.marcas.size()];
+        double acumulado = 0.0;
+        for (int i = 0; i < this.marcas.size(); i++) {
+            Double peso = parametros.pesosMarcas != null ? parametros.pesosMarcas.get(this.marcas.get(i).getModelName())
+                    : null;
+            acumulado += peso != null ? peso : pesoMedio;
+            pesosAcumuladosMarcas[i] = acumulado;
+        }
+    }
+
+    /**
+     * Intensidad media de llegadas en vehículos por hora
+     */
+    public double getIntensidadMedia() {
+        return parametros.intensidadLlegadas > 0 ? parametros.intensidadLlegadas
+                : parametros.numeroVehiculos / parametros.horizonte;
+    }
+
+    /**
+     * Genera la instancia completa en memoria
+     */
+    public TestSystem generar() {
+        TestSystem testSystem = generarConfiguracion();
+        List<VehicleArrival> llegadas = new ArrayList<>();
+        try (FuenteLlegadas fuente = fuenteLlegadas()) {
+            while (fuente.hayMas()) {
+                llegadas.add(fuente.siguiente());
+            }
+        }
+        testSystem.setArrivals(llegadas);
+        return testSystem;
+    }
+
+    /**
+     * Genera todo salvo las llegadas (la lista queda vacía); se combina con
+     * {@link #fuenteLlegadas()} para simular sin materializar los vehículos
+     */
+    public TestSystem generarConfiguracion() {
+        TestSystem testSystem = new TestSystem();
+        testSystem.setTestNumber(parametros.testNumber);
+
+        double[] precios = generarPreciosCentimos();
+        List<EnergyPrice> energyPrices = new ArrayList<>(precios.length);
+        for (int i = 0; i < precios.length; i++) {
+            // Mismo cambio de unidades que al leer el JSON
+            energyPrices.add(new EnergyPrice(i * parametros.resolucionTiempo, precios[i] / 100.0));
+        }
+        testSystem.setEnergyPrices(energyPrices);
+        testSystem.setArrivals(new ArrayList<>());
+        testSystem.setParkingConfig(generarParkingConfig());
+        testSystem.setCarBrands(new ArrayList<>(marcas));
+        testSystem.setChargerTypes(new LinkedHashMap<>(tiposCargador));
+        return testSystem;
+    }
+
+    /**
+     * Precios en céntimos/kWh en cada paso de tiempo del horizonte
+     */
+    private double[] generarPreciosCentimos() {
+        Random random = new Random(parametros.semilla + 1);
+        int pasos = (int) Math.ceil(parametros.horizonte / parametros.resolucionTiempo);
+        double[] precios = new double[pasos];
+        for (int i = 0; i < pasos; i++) {
+            double tiempo = i * parametros.resolucionTiempo;
+            double ciclo = Math.cos(2 * Math.PI * (tiempo - parametros.picoPrecio) / parametros.periodoPrecio);
+            double precio = parametros.precioBase + parametros.amplitudPrecio * ciclo
+                    + parametros.ruidoPrecio * random.nextGaussian();
+            precios[i] = Math.max(PRECIO_MINIMO, precio);
+        }
+        return precios;
+    }
+
+    /**
+     * Cargadores repartidos según la mezcla de tipos (método del mayor resto)
+     */
+    private ParkingConfig generarParkingConfig() {
+        List<String> tipos = new ArrayList<>();
+        List<Double> pesos = new ArrayList<>();
+        double pesoTotal = 0.0;
+        Map<String, Double> mezcla = parametros.mezclaCargadores;
+        for (String tipo : tiposCargador.keySet()) {
+            double peso = mezcla == null ? 1.0 : mezcla.getOrDefault(tipo, 0.0);
+            if (peso > 0) {
+                tipos.add(tipo);
+                pesos.add(peso);
+                pesoTotal += peso;
+            }
+        }
+        if (tipos.isEmpty()) {
+            throw new IllegalArgumentException("La mezcla de cargadores no incluye ningún tipo del catálogo");
+        }
+        // Respetar el orden de la mezcla (de menor a mayor potencia en los datos)
+        if (mezcla != null) {
+            tipos.sort((a, b) -> Integer.compare(indiceEn(mezcla, a), indiceEn(mezcla, b)));
+            List<Double> ordenados = new ArrayList<>();
+            for (String tipo : tipos) {
+                ordenados.add(mezcla.get(tipo));
+            }
+            pesos = ordenados;
+        }
+
+        int[] cantidades = new int[tipos.size()];
+        double[] restos = new double[tipos.size()];
+        int asignados = 0;
+        for (int i = 0; i < tipos.size(); i++) {
+            double exacto = parametros.numeroCargadores * pesos.get(i) / pesoTotal;
+            cantidades[i] = (int) Math.floor(exacto);
+            restos[i] = exacto - cantidades[i];
+            asignados += cantidades[i];
+        }
+        while (asignados < parametros.numeroCargadores) {
+            int mayor = 0;
+            for (int i = 1; i < restos.length; i++) {
+                if (restos[i] > restos[mayor]) {
+                    mayor = i;
+                }
+            }
+            cantidades[mayor]++;
+            restos[mayor] = -1.0;
+            asignados++;
+        }
+
+        List<Charger> chargers = new ArrayList<>(parametros.numeroCargadores);
+        long potenciaInstalada = 0;
+        for (int i = 0; i < tipos.size(); i++) {
+            ChargerType tipo = tiposCargador.get(tipos.get(i));
+            for (int k = 0; k < cantidades[i]; k++) {
+                chargers.add(new Charger(chargers.size(), tipo.getPower(), tipo.getType(),
+                        tipo.getInstallationCost(), tipo.getOperationCost(), tipo.getEfficiency(),
+                        new ArrayList<>(tipo.getCompatibleVehicles())));
+                potenciaInstalada += tipo.getPower();
+            }
+        }
+
+        int limiteTransformador = (int) Math.max(1, Math.round(potenciaInstalada * parametros.factorTransformador));
+        GridConstraints red = new GridConstraints(limiteTransformador / 3.0, 0.05, 0.95, null);
+        int plazas = (int) Math.max(parametros.numeroCargadores,
+                Math.round(parametros.numeroCargadores * parametros.plazasPorCargador));
+        return new ParkingConfig(plazas, chargers, limiteTransformador, parametros.eficienciaEstacionamiento,
+                parametros.resolucionTiempo, red);
+    }
+
+    private static int indiceEn(Map<String, Double> mapa, String clave) {
+        int i = 0;
+        for (String k : mapa.keySet()) {
+            if (k.equals(clave)) {
+                return i;
+            }
+            i++;
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Fuente de llegadas generadas bajo demanda en orden de tiempo. Cada llamada
+     * devuelve una fuente nueva que produce la misma secuencia.
+     */
+    public FuenteLlegadas fuenteLlegadas() {
+        return new FuenteGenerada();
+    }
+
+    /**
+     * Proceso de Poisson no homogéneo por aceptación-rechazo (thinning) con
+     * intensidad lambda(t) = media * (1 + amplitud * cos(2 pi t / periodo))
+     */
+    private final class FuenteGenerada implements FuenteLlegadas {
+        private final Random random = new Random(parametros.semilla);
+        private final double intensidadMedia = getIntensidadMedia();
+        private final double amplitud = Math.max(0.0, Math.min(1.0, parametros.amplitudLlegadas));
+        private final double intensidadMaxima = intensidadMedia * (1.0 + amplitud);
+        private double tiempo;
+        private int siguienteId;
+        private double proxima;
+
+        FuenteGenerada() {
+            proxima = intensidadMedia > 0 ? avanzar() : Double.POSITIVE_INFINITY;
+        }
+
+        private double avanzar() {
+            while (true) {
+                tiempo += -Math.log(1.0 - random.nextDouble()) / intensidadMaxima;
+                if (tiempo >= parametros.horizonte) {
+                    return Double.POSITIVE_INFINITY;
+                }
+                double intensidad = intensidadMedia
+                        * (1.0 + amplitud * Math.cos(2 * Math.PI * tiempo / parametros.periodoLlegadas));
+                if (random.nextDouble() * intensidadMaxima <= intensidad) {
+                    return tiempo;
+                }
+            }
+        }
+
+        @Override
+        public boolean hayMas() {
+            return proxima != Double.POSITIVE_INFINITY;
+        }
+
+        @Override
+        public double proximaLlegada() {
+            if (!hayMas()) {
+                throw new NoSuchElementException("No quedan llegadas en el horizonte generado");
+            }
+            return proxima;
+        }
+
+        @Override
+        public VehicleArrival siguiente() {
+            double llegada = proximaLlegada();
+            VehicleArrival vehiculo = crearVehiculo(siguienteId++, llegada, random);
+            proxima = avanzar();
+            return vehiculo;
+        }
+    }
+
+    private VehicleArrival crearVehiculo(int id, double llegada, Random random) {
+        CarBrand marca = elegirMarca(random);
+        double estancia = Math.max(parametros.estanciaMinima,
+                parametros.estanciaMedia + parametros.desviacionEstancia * random.nextGaussian());
+        double salida = Math.min(parametros.horizonte, llegada + estancia);
+        double fraccion = uniforme(random, parametros.fraccionEnergiaMinima, parametros.fraccionEnergiaMaxima);
+
+        VehicleArrival vehiculo = new VehicleArrival();
+        vehiculo.setId(id);
+        vehiculo.setArrivalTime(llegada);
+        vehiculo.setDepartureTime(salida);
+        vehiculo.setBrand(marca.getModelName());
+        vehiculo.setBatteryCapacity(marca.getBatteryCapacity());
+        vehiculo.setRequiredEnergy(marca.getBatteryCapacity() * fraccion);
+        vehiculo.setMinChargeRate(marca.getMaxAcChargeRate() >= 22 ? TASA_MINIMA_AC_22 : TASA_MINIMA_AC);
+        vehiculo.setMaxChargeRate(marca.getMaxDcChargeRate());
+        vehiculo.setAcChargeRate(marca.getMaxAcChargeRate());
+        vehiculo.setDcChargeRate(marca.getMaxDcChargeRate());
+        vehiculo.setPriority(1 + random.nextInt(3));
+        vehiculo.setWillingnessToPay(
+                uniforme(random, parametros.disposicionPagoMinima, parametros.disposicionPagoMaxima));
+        vehiculo.setEfficiency(marca.getChargingEfficiency());
+        return vehiculo;
+    }
+
+    private CarBrand elegirMarca(Random random) {
+        double objetivo = random.nextDouble() * pesosAcumuladosMarcas[pesosAcumuladosMarcas.length - 1];
+        for (int i = 0; i < pesosAcumuladosMarcas.length; i++) {
+            if (objetivo < pesosAcumuladosMarcas[i]) {
+                return marcas.get(i);
+            }
+        }
+        return marcas.get(marcas.size() - 1);
+    }
+
+    private static double uniforme(Random random, double minimo, double maximo) {
+        return minimo + (maximo - minimo) * random.nextDouble();
+    }
+
+    /**
+     * Escribe la instancia en el formato JSON de test_system_N.json. Las
+     * llegadas se generan y escriben una a una, por lo que la memoria no depende
+     * del número de vehículos.
+     */
+    public void escribirJson(Path archivo) throws IOException {
+        Path padre = archivo.toAbsolutePath().getParent();
+        if (padre != null) {
+            Files.createDirectories(padre);
+        }
+        TestSystem configuracion = generarConfiguracion();
+        double[] precios = generarPreciosCentimos();
+
+        try (JsonGenerator json = new JsonFactory().createGenerator(archivo.toFile(), JsonEncoding.UTF8);
+                FuenteLlegadas fuente = fuenteLlegadas()) {
+            json.writeStartObject();
+            json.writeNumberField("test_number", configuracion.getTestNumber());
+
+            json.writeArrayFieldStart("energy_prices");
+            for (int i = 0; i < precios.length; i++) {
+                json.writeStartObject();
+                json.writeNumberField("time", configuracion.getEnergyPrices().get(i).getTime());
+                json.writeNumberField("price", precios[i]);
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+
+            json.writeArrayFieldStart("arrivals");
+            while (fuente.hayMas()) {
+                escribirLlegada(json, fuente.siguiente());
+            }
+            json.writeEndArray();
+
+            escribirParkingConfig(json, configuracion.getParkingConfig());
+
+            json.writeArrayFieldStart("car_brands");
+            for (CarBrand marca : configuracion.getCarBrands()) {
+                json.writeStartArray();
+                json.writeString(marca.getModelName());
+                json.writeNumber(marca.getBatteryCapacity());
+                json.writeNumber(marca.getMinSocArrival());
+                json.writeNumber(marca.getMaxAcChargeRate());
+                json.writeNumber(marca.getMaxDcChargeRate());
+                json.writeNumber(marca.getChargingEfficiency());
+                json.writeEndArray();
+            }
+            json.writeEndArray();
+
+            json.writeObjectFieldStart("charger_types");
+            for (Map.Entry<String, ChargerType> entrada : configuracion.getChargerTypes().entrySet()) {
+                ChargerType tipo = entrada.getValue();
+                json.writeObjectFieldStart(entrada.getKey());
+                json.writeNumberField("power", tipo.getPower());
+                json.writeStringField("type", tipo.getType());
+                json.writeNumberField("installation_cost", tipo.getInstallationCost());
+                json.writeNumberField("operation_cost", tipo.getOperationCost());
+                json.writeNumberField("efficiency", tipo.getEfficiency());
+                escribirTextos(json, "compatible_vehicles", tipo.getCompatibleVehicles());
+                json.writeEndObject();
+            }
+            json.writeEndObject();
+
+            json.writeEndObject();
+        }
+    }
+
+    /**
+     * Escribe la instancia en el formato binario columnar. Este formato necesita
+     * las columnas completas, por lo que las llegadas se materializan antes.
+     */
+    public void escribirBinario(Path archivo) throws IOException {
+        InstanciaBinaria.exportar(generar(), archivo);
+    }
+
+    private static void escribirLlegada(JsonGenerator json, VehicleArrival vehiculo) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", vehiculo.getId());
+        json.writeNumberField("arrival_time", vehiculo.getArrivalTime());
+        json.writeNumberField("departure_time", vehiculo.getDepartureTime());
+        json.writeStringField("brand", vehiculo.getBrand());
+        json.writeNumberField("battery_capacity", vehiculo.getBatteryCapacity());
+        json.writeNumberField("required_energy", vehiculo.getRequiredEnergy());
+        json.writeNumberField("min_charge_rate", vehiculo.getMinChargeRate());
+        json.writeNumberField("max_charge_rate", vehiculo.getMaxChargeRate());
+        json.writeNumberField("ac_charge_rate", vehiculo.getAcChargeRate());
+        json.writeNumberField("dc_charge_rate", vehiculo.getDcChargeRate());
+        json.writeNumberField("priority", vehiculo.getPriority());
+        json.writeNumberField("willingness_to_pay", vehiculo.getWillingnessToPay());
+        json.writeNumberField("efficiency", vehiculo.getEfficiency());
+        json.writeEndObject();
+    }
+
+    private static void escribirParkingConfig(JsonGenerator json, ParkingConfig parking) throws IOException {
+        json.writeObjectFieldStart("parking_config");
+        json.writeNumberField("n_spots", parking.getNSpots());
+
+        json.writeArrayFieldStart("chargers");
+        for (Charger cargador : parking.getChargers()) {
+            json.writeStartObject();
+            json.writeNumberField("charger_id", cargador.getChargerId());
+            json.writeNumberField("power", cargador.getPower());
+            json.writeStringField("type", cargador.getType());
+            json.writeNumberField("installation_cost", cargador.getInstallationCost());
+            json.writeNumberField("operation_cost_per_hour", cargador.getOperationCostPerHour());
+            json.writeNumberField("efficiency", cargador.getEfficiency());
+            escribirTextos(json, "compatible_vehicles", cargador.getCompatibleVehicles());
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+
+        json.writeNumberField("transformer_limit", parking.getTransformerLimit());
+        json.writeNumberField("efficiency", parking.getEfficiency());
+        json.writeNumberField("time_resolution", parking.getTimeResolution());
+
+        GridConstraints red = parking.getGridConstraints();
+        if (red == null) {
+            json.writeNullField("grid_constraints");
+        } else {
+            json.writeObjectFieldStart("grid_constraints");
+            json.writeNumberField("max_power_per_phase", red.getMaxPowerPerPhase());
+            json.writeNumberField("voltage_drop_limit", red.getVoltageDropLimit());
+            json.writeNumberField("power_factor_limit", red.getPowerFactorLimit());
+            if (red.getSystemEfficiency() == null) {
+                json.writeNullField("system_efficiency");
+            } else {
+                json.writeNumberField("system_efficiency", red.getSystemEfficiency());
+            }
+            json.writeEndObject();
+        }
+        json.writeEndObject();
+    }
+
+    private static void escribirTextos(JsonGenerator json, String campo, List<String> textos) throws IOException {
+        json.writeArrayFieldStart(campo);
+        if (textos != null) {
+            for (String texto : textos) {
+                json.writeString(texto);
+            }
+        }
+        json.writeEndArray();
+    }
+
+    public ParametrosGenerador getParametros() {
+        return parametros;
+    }
+}
@@ -0,0 +1,759 @@
+package com.ejemplo.mapper;
+
+import com.ejemplo.algoritmo.FuenteLlegadas;
+import com.ejemplo.model.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Formato binario columnar de una instancia del sistema de carga. Cada campo de
+ * las llegadas, precios, cargadores, marcas y tipos de cargador se guarda como
+ * una columna de primitivos contigua (little-endian, alineada a 8 bytes); los
+ * textos van a un diccionario común y las columnas guardan su índice.
+ *
+ * El lector proyecta el archivo en memoria y lee las columnas directamente del
+ * buffer, sin crear objetos por registro. {@link #toTestSystem()} materializa
+ * el modelo completo cuando los algoritmos lo necesitan.
+ *
+ * Estructura: cabecera fija, tabla de desplazamientos de las columnas y las
+ * columnas en el orden de las constantes COL_*. Al abrir se verifica que cada
+ * columna quepa en el archivo y que los índices a textos y listas de
+ * compatibles estén en rango, así que un archivo truncado o corrupto se
+ * rechaza con IOException. {@link #exportar} escribe en un temporal y lo mueve
+ * al destino, de modo que un lector nunca ve un archivo a medio escribir.
+ */
+public class InstanciaBinaria {
+
+    public static final String EXTENSION = ".evb";
+
+    private static final int MAGICO = 0x31425645; // "EVB1" en little-endian
+    private static final int VERSION = 1;
+
+    // Llegadas de vehículos
+    private static final int COL_LL_ID = 0;
+    private static final int COL_LL_LLEGADA = 1;
+    private static final int COL_LL_SALIDA = 2;
+    private static final int COL_LL_MARCA = 3;
+    private static final int COL_LL_CAPACIDAD = 4;
+    private static final int COL_LL_ENERGIA = 5;
+    private static final int COL_LL_TASA_MIN = 6;
+    private static final int COL_LL_TASA_MAX = 7;
+    private static final int COL_LL_TASA_AC = 8;
+    private static final int COL_LL_TASA_DC = 9;
+    private static final int COL_LL_PRIORIDAD = 10;
+    private static final int COL_LL_DISPOSICION = 11;
+    private static final int COL_LL_EFICIENCIA = 12;
+    // Precios de energía
+    private static final int COL_PR_TIEMPO = 13;
+    private static final int COL_PR_PRECIO = 14;
+    // Cargadores del estacionamiento
+    private static final int COL_CG_ID = 15;
+    private static final int COL_CG_POTENCIA = 16;
+    private static final int COL_CG_TIPO = 17;
+    private static final int COL_CG_COSTO_INST = 18;
+    private static final int COL_CG_COSTO_OP = 19;
+    private static final int COL_CG_EFICIENCIA = 20;
+    private static final int COL_CG_COMPAT = 21; // n+1 inicios en COL_COMPATIBLES
+    // Marcas de vehículos
+    private static final int COL_MC_NOMBRE = 22;
+    private static final int COL_MC_CAPACIDAD = 23;
+    private static final int COL_MC_SOC = 24;
+    private static final int COL_MC_AC = 25;
+    private static final int COL_MC_DC = 26;
+    private static final int COL_MC_EFICIENCIA = 27;
+    // Tipos de cargador
+    private static final int COL_TC_NOMBRE = 28;
+    private static final int COL_TC_POTENCIA = 29;
+    private static final int COL_TC_TIPO = 30;
+    private static final int COL_TC_COSTO_INST = 31;
+    private static final int COL_TC_COSTO_OP = 32;
+    private static final int COL_TC_EFICIENCIA = 33;
+    private static final int COL_TC_COMPAT = 34; // n+1 inicios en COL_COMPATIBLES
+    // Listas de vehículos compatibles y diccionario de textos
+    private static final int COL_COMPATIBLES = 35;
+    private static final int COL_TXT_INICIO = 36; // n+1 inicios en COL_TXT_BYTES
+    private static final int COL_TXT_BYTES = 37;
+    private static final int NUM_COLUMNAS = 38;
+
+    // Bytes por elemento de cada columna, en el orden de las constantes COL_*
+    private static final int[] BYTES_ELEMENTO = {
+            4, 8, 8, 4, 4, 8, 8, 4, 8, 4, 4, 8, 8, // Llegadas
+            8, 8, // Precios
+            4, 4, 4, 4, 8, 8, 4, // Cargadores
+            4, 4, 8, 8, 4, 8, // Marcas
+            4, 4, 4, 4, 8, 8, 4, // Tipos de cargador
+            4, 4, 1 }; // Compatibles y textos
+
+    // magico, version, testNumber, 7 tamaños, nSpots, transformerLimit, flags, relleno
+    private static final int ENTEROS_CABECERA = 14;
+    private static final int DOUBLES_CABECERA = 6;
+    private static final int TAMAÑO_CABECERA = ENTEROS_CABECERA * 4 + DOUBLES_CABECERA * 8 + NUM_COLUMNAS * 8;
+
+    private static final int FLAG_RED = 1;
+    private static final int FLAG_EFICIENCIA_SISTEMA = 2;
+
+    private final Path archivo;
+    private final MappedByteBuffer datos;
+    private final long[] desplazamientos = new long[NUM_COLUMNAS];
+    private final String[] textos;
+
+    private final int testNumber;
+    private final int numeroLlegadas;
+    private final int numeroPrecios;
+    private final int numeroCargadores;
+    private final int numeroMarcas;
+    private final int numeroTiposCargador;
+    private final int nSpots;
+    private final int transformerLimit;
+    private final int flags;
+    private final double eficienciaEstacionamiento;
+    private final double resolucionTemporal;
+    private final double maxPowerPerPhase;
+    private final double voltageDropLimit;
+    private final double powerFactorLimit;
+    private final double systemEfficiency;
+
+    private InstanciaBinaria(Path archivo, MappedByteBuffer datos) throws IOException {
+        this.archivo = archivo;
+        this.datos = datos;
+        datos.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (datos.capacity() < TAMAÑO_CABECERA || datos.getInt(0) != MAGICO) {
+            throw new IOException("El archivo no es una instancia binaria válida: " + archivo);
+        }
+        if (datos.getInt(4) != VERSION) {
+            throw new IOException("Versión de instancia binaria no soportada (" + datos.getInt(4) + "): " + archivo);
+        }
+
+        testNumber = datos.getInt(8);
+        numeroLlegadas = datos.getInt(12);
+        numeroPrecios = datos.getInt(16);
+        numeroCargadores = datos.getInt(20);
+        numeroMarcas = datos.getInt(24);
+        numeroTiposCargador = datos.getInt(28);
+        int numeroCompatibles = datos.getInt(32);
+        int numeroTextos = datos.getInt(36);
+        nSpots = datos.getInt(40);
+        transformerLimit = datos.getInt(44);
+        flags = datos.getInt(48);
+
+        int base = ENTEROS_CABECERA * 4;
+        eficienciaEstacionamiento = datos.getDouble(base);
+        resolucionTemporal = datos.getDouble(base + 8);
+        maxPowerPerPhase = datos.getDouble(base + 16);
+        voltageDropLimit = datos.getDouble(base + 24);
+        powerFactorLimit = datos.getDouble(base + 32);
+        systemEfficiency = datos.getDouble(base + 40);
+
+        base += DOUBLES_CABECERA * 8;
+        for (int c = 0; c < NUM_COLUMNAS; c++) {
+            desplazamientos[c] = datos.getLong(base + c * 8);
+        }
+        verificarExtensiones(numeroCompatibles, numeroTextos);
+
+        // El diccionario de textos es pequeño (marcas y tipos): se decodifica una vez
+        textos = new String[numeroTextos];
+        for (int t = 0; t < numeroTextos; t++) {
+            int inicio = entero(COL_TXT_INICIO, t);
+            int fin = entero(COL_TXT_INICIO, t + 1);
+            byte[] bytes = new byte[fin - inicio];
+            ByteBuffer vista = datos.duplicate();
+            vista.position((int) desplazamientos[COL_TXT_BYTES] + inicio);
+            vista.get(bytes);
+            textos[t] = new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Verifica que los tamaños de la cabecera sean coherentes, que cada
+     * columna quepa en el archivo y que los índices guardados en las columnas
+     * (inicios de listas y de textos, ids de texto) estén en rango
+     */
+    private void verificarExtensiones(int numeroCompatibles, int numeroTextos) throws IOException {
+        if (numeroLlegadas < 0 || numeroPrecios < 0 || numeroCargadores < 0 || numeroMarcas < 0
+                || numeroTiposCargador < 0 || numeroCompatibles < 0 || numeroTextos < 0) {
+            throw corrupto("tamaños negativos en la cabecera");
+        }
+        long[] elementos = new long[NUM_COLUMNAS];
+        for (int c = COL_LL_ID; c <= COL_LL_EFICIENCIA; c++) {
+            elementos[c] = numeroLlegadas;
+        }
+        elementos[COL_PR_TIEMPO] = numeroPrecios;
+        elementos[COL_PR_PRECIO] = numeroPrecios;
+        for (int c = COL_CG_ID; c < COL_CG_COMPAT; c++) {
+            elementos[c] = numeroCargadores;
+        }
+        elementos[COL_CG_COMPAT] = numeroCargadores + 1L;
+        for (int c = COL_MC_NOMBRE; c <= COL_MC_EFICIENCIA; c++) {
+            elementos[c] = numeroMarcas;
+        }
+        for (int c = COL_TC_NOMBRE; c < COL_TC_COMPAT; c++) {
+            elementos[c] = numeroTiposCargador;
+        }
+        elementos[COL_TC_COMPAT] = numeroTiposCargador + 1L;
+        elementos[COL_COMPATIBLES] = numeroCompatibles;
+        elementos[COL_TXT_INICIO] = numeroTextos + 1L;
+        for (int c = 0; c < COL_TXT_BYTES; c++) {
+            verificarColumna(c, elementos[c]);
+        }
+
+        // Los inicios de textos y de listas deben ser crecientes y caer dentro de su columna
+        int bytesTextos = verificarInicios(COL_TXT_INICIO, numeroTextos, Integer.MAX_VALUE);
+        verificarColumna(COL_TXT_BYTES, bytesTextos);
+        verificarInicios(COL_CG_COMPAT, numeroCargadores, numeroCompatibles);
+        verificarInicios(COL_TC_COMPAT, numeroTiposCargador, numeroCompatibles);
+
+        int[] columnasTexto = { COL_LL_MARCA, COL_CG_TIPO, COL_MC_NOMBRE, COL_TC_NOMBRE, COL_TC_TIPO,
+                COL_COMPATIBLES };
+        for (int columna : columnasTexto) {
+            for (int i = 0; i < elementos[columna]; i++) {
+                int id = entero(columna, i);
+                if (id < -1 || id >= numeroTextos) {
+                    throw corrupto("índice de texto " + id + " fuera de rango en la columna " + columna);
+                }
+            }
+        }
+    }
+
+    private void verificarColumna(int columna, long elementos) throws IOException {
+        long inicio = desplazamientos[columna];
+        if (inicio < TAMAÑO_CABECERA || inicio % 8 != 0
+                || inicio + elementos * BYTES_ELEMENTO[columna] > datos.capacity()) {
+            throw corrupto("la columna " + columna + " no cabe en el archivo");
+        }
+    }
+
+    /**
+     * Verifica que los n+1 inicios de la columna sean crecientes y estén entre
+     * 0 y el máximo; retorna el último
+     */
+    private int verificarInicios(int columna, int n, int maximo) throws IOException {
+        int anterior = 0;
+        for (int i = 0; i <= n; i++) {
+            int inicio = entero(columna, i);
+            if (inicio < anterior || inicio > maximo) {
+                throw corrupto("inicios fuera de rango en la columna " + columna);
+            }
+            anterior = inicio;
+        }
+        return anterior;
+    }
+
+    private IOException corrupto(String detalle) {
+        return new IOException("Instancia binaria corrupta (" + detalle + "): " + archivo);
+    }
+
+    /**
+     * Proyecta en memoria una instancia binaria
+     *
+     * @param archivo Ruta al archivo .evb
+     * @return Vista de solo lectura sobre el archivo
+     * @throws IOException Si el archivo no existe o no tiene el formato esperado
+     */
+    public static InstanciaBinaria abrir(Path archivo) throws IOException {
+        if (!Files.exists(archivo)) {
+            throw new IOException("El archivo binario no existe: " + archivo);
+        }
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long tamaño = canal.size();
+            if (tamaño > Integer.MAX_VALUE) {
+                throw new IOException("La instancia binaria supera 2 GB: " + archivo);
+            }
+            // La proyección sigue siendo válida después de cerrar el canal
+            return new InstanciaBinaria(archivo, canal.map(FileChannel.MapMode.READ_ONLY, 0, tamaño));
+        }
+    }
+
+    /**
+     * Escribe un TestSystem en formato binario columnar. Las columnas se
+     * escriben una a una, de modo que la memoria extra es la de la columna más
+     * grande. Se escribe en un temporal único del mismo directorio que luego
+     * reemplaza al destino de forma atómica, así que escrituras concurrentes o
+     * interrumpidas nunca dejan un archivo truncado en el destino.
+     */
+    public static void exportar(TestSystem testSystem, Path archivo) throws IOException {
+        List<VehicleArrival> llegadas = testSystem.getArrivals();
+        List<EnergyPrice> precios = testSystem.getEnergyPrices();
+        ParkingConfig parking = testSystem.getParkingConfig();
+        List<Charger> cargadores = parking.getChargers() != null ? parking.getChargers() : new ArrayList<>();
+        List<CarBrand> marcas = testSystem.getCarBrands();
+        List<Map.Entry<String, ChargerType>> tipos = new ArrayList<>(testSystem.getChargerTypes().entrySet());
+        GridConstraints red = parking.getGridConstraints();
+
+        // Diccionario de textos y listas de compatibles
+        Map<String, Integer> idTextos = new LinkedHashMap<>();
+        List<Integer> compatibles = new ArrayList<>();
+        int[] compatCargadores = new int[cargadores.size() + 1];
+        for (int i = 0; i < cargadores.size(); i++) {
+            compatCargadores[i] = compatibles.size();
+            agregarCompatibles(cargadores.get(i).getCompatibleVehicles(), compatibles, idTextos);
+        }
+        compatCargadores[cargadores.size()] = compatibles.size();
+        int[] compatTipos = new int[tipos.size() + 1];
+        for (int i = 0; i < tipos.size(); i++) {
+            compatTipos[i] = compatibles.size();
+            agregarCompatibles(tipos.get(i).getValue().getCompatibleVehicles(), compatibles, idTextos);
+        }
+        compatTipos[tipos.size()] = compatibles.size();
+        int[] marcaLlegadas = new int[llegadas.size()];
+        for (int i = 0; i < llegadas.size(); i++) {
+            marcaLlegadas[i] = idTexto(llegadas.get(i).getBrand(), idTextos);
+        }
+
+        Path padre = archivo.toAbsolutePath().getParent();
+        if (padre != null) {
+            Files.createDirectories(padre);
+        }
+        Path temporal = Files.createTempFile(padre != null ? padre : Paths.get("."),
+                archivo.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE)) {
+                EscritorColumnas escritor = new EscritorColumnas(canal);
+
+                escritor.enteros(COL_LL_ID, llegadas.size(), i -> llegadas.get(i).getId());
+                escritor.doubles(COL_LL_LLEGADA, llegadas.size(), i -> llegadas.get(i).getArrivalTime());
+                escritor.doubles(COL_LL_SALIDA, llegadas.size(), i -> llegadas.get(i).getDepartureTime());
+                escritor.enteros(COL_LL_MARCA, llegadas.size(), i -> marcaLlegadas[i]);
+                escritor.enteros(COL_LL_CAPACIDAD, llegadas.size(), i -> llegadas.get(i).getBatteryCapacity());
+                escritor.doubles(COL_LL_ENERGIA, llegadas.size(), i -> llegadas.get(i).getRequiredEnergy());
+                escritor.doubles(COL_LL_TASA_MIN, llegadas.size(), i -> llegadas.get(i).getMinChargeRate());
+                escritor.enteros(COL_LL_TASA_MAX, llegadas.size(), i -> llegadas.get(i).getMaxChargeRate());
+                escritor.doubles(COL_LL_TASA_AC, llegadas.size(), i -> llegadas.get(i).getAcChargeRate());
+                escritor.enteros(COL_LL_TASA_DC, llegadas.size(), i -> llegadas.get(i).getDcChargeRate());
+                escritor.enteros(COL_LL_PRIORIDAD, llegadas.size(), i -> llegadas.get(i).getPriority());
+                escritor.doubles(COL_LL_DISPOSICION, llegadas.size(), i -> llegadas.get(i).getWillingnessToPay());
+                escritor.doubles(COL_LL_EFICIENCIA, llegadas.size(), i -> llegadas.get(i).getEfficiency());
+
+                escritor.doubles(COL_PR_TIEMPO, precios.size(), i -> precios.get(i).getTime());
+                escritor.doubles(COL_PR_PRECIO, precios.size(), i -> precios.get(i).getPrice());
+
+                escritor.enteros(COL_CG_ID, cargadores.size(), i -> cargadores.get(i).getChargerId());
+                escritor.enteros(COL_CG_POTENCIA, cargadores.size(), i -> cargadores.get(i).getPower());
+                escritor.enteros(COL_CG_TIPO, cargadores.size(), i -> idTexto(cargadores.get(i).getType(), idTextos));
+                escritor.enteros(COL_CG_COSTO_INST, cargadores.size(), i -> cargadores.get(i).getInstallationCost());
+                escritor.doubles(COL_CG_COSTO_OP, cargadores.size(), i -> cargadores.get(i).getOperationCostPerHour());
+                escritor.doubles(COL_CG_EFICIENCIA, cargadores.size(), i -> cargadores.get(i).getEfficiency());
+                escritor.enteros(COL_CG_COMPAT, compatCargadores.length, i -> compatCargadores[i]);
+
+                escritor.enteros(COL_MC_NOMBRE, marcas.size(), i -> idTexto(marcas.get(i).getModelName(), idTextos));
+                escritor.enteros(COL_MC_CAPACIDAD, marcas.size(), i -> marcas.get(i).getBatteryCapacity());
+                escritor.doubles(COL_MC_SOC, marcas.size(), i -> marcas.get(i).getMinSocArrival());
+                escritor.doubles(COL_MC_AC, marcas.size(), i -> marcas.get(i).getMaxAcChargeRate());
+                escritor.enteros(COL_MC_DC, marcas.size(), i -> marcas.get(i).getMaxDcChargeRate());
+                escritor.doubles(COL_MC_EFICIENCIA, marcas.size(), i -> marcas.get(i).getChargingEfficiency());
+
+                escritor.enteros(COL_TC_NOMBRE, tipos.size(), i -> idTexto(tipos.get(i).getKey(), idTextos));
+                escritor.enteros(COL_TC_POTENCIA, tipos.size(), i -> tipos.get(i).getValue().getPower());
+                escritor.enteros(COL_TC_TIPO, tipos.size(), i -> idTexto(tipos.get(i).getValue().getType(), idTextos));
+                escritor.enteros(COL_TC_COSTO_INST, tipos.size(), i -> tipos.get(i).getValue().getInstallationCost());
+                escritor.doubles(COL_TC_COSTO_OP, tipos.size(), i -> tipos.get(i).getValue().getOperationCost());
+                escritor.doubles(COL_TC_EFICIENCIA, tipos.size(), i -> tipos.get(i).getValue().getEfficiency());
+                escritor.enteros(COL_TC_COMPAT, compatTipos.length, i -> compatTipos[i]);
+
+                escritor.enteros(COL_COMPATIBLES, compatibles.size(), compatibles::get);
+
+                // Diccionario de textos: inicios y bytes UTF-8 concatenados
+                List<byte[]> bytesTextos = new ArrayList<>(idTextos.size());
+                int[] iniciosTextos = new int[idTextos.size() + 1];
+                for (String texto : idTextos.keySet()) {
+                    byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+                    iniciosTextos[bytesTextos.size() + 1] = iniciosTextos[bytesTextos.size()] + bytes.length;
+                    bytesTextos.add(bytes);
+                }
+                escritor.enteros(COL_TXT_INICIO, iniciosTextos.length, i -> iniciosTextos[i]);
+                escritor.bytes(COL_TXT_BYTES, bytesTextos);
+
+                // Cabecera al final, cuando ya se conocen los desplazamientos
+                ByteBuffer cabecera = ByteBuffer.allocate(TAMAÑO_CABECERA).order(ByteOrder.LITTLE_ENDIAN);
+                cabecera.putInt(MAGICO).putInt(VERSION).putInt(testSystem.getTestNumber())
+                        .putInt(llegadas.size()).putInt(precios.size()).putInt(cargadores.size())
+                        .putInt(marcas.size()).putInt(tipos.size()).putInt(compatibles.size()).putInt(idTextos.size())
+                        .putInt(parking.getNSpots()).putInt(parking.getTransformerLimit())
+                        .putInt((red != null ? FLAG_RED : 0)
+                                | (red != null && red.getSystemEfficiency() != null ? FLAG_EFICIENCIA_SISTEMA : 0))
+                        .putInt(0);
+                cabecera.putDouble(parking.getEfficiency()).putDouble(parking.getTimeResolution());
+                cabecera.putDouble(red != null ? red.getMaxPowerPerPhase() : 0.0)
+                        .putDouble(red != null ? red.getVoltageDropLimit() : 0.0)
+                        .putDouble(red != null ? red.getPowerFactorLimit() : 0.0)
+                        .putDouble(red != null && red.getSystemEfficiency() != null ? red.getSystemEfficiency() : 0.0);
+                for (long desplazamiento : escritor.desplazamientos) {
+                    cabecera.putLong(desplazamiento);
+                }
+                cabecera.flip();
+                canal.write(cabecera, 0);
+            }
+            try {
+                Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    private static void agregarCompatibles(List<String> vehiculos, List<Integer> compatibles,
+            Map<String, Integer> idTextos) {
+        if (vehiculos != null) {
+            for (String vehiculo : vehiculos) {
+                compatibles.add(idTexto(vehiculo, idTextos));
+            }
+        }
+    }
+
+    /**
+     * Índice del texto en el diccionario; -1 representa null
+     */
+    private static int idTexto(String texto, Map<String, Integer> idTextos) {
+        if (texto == null) {
+            return -1;
+        }
+        return idTextos.computeIfAbsent(texto, t -> idTextos.size());
+    }
+
+    /**
+     * Escribe columnas consecutivas alineadas a 8 bytes tras la cabecera
+     */
+    private static final class EscritorColumnas {
+        private static final int BLOQUE = 64 * 1024;
+
+        private final FileChannel canal;
+        private final long[] desplazamientos = new long[NUM_COLUMNAS];
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BLOQUE).order(ByteOrder.LITTLE_ENDIAN);
+        private long posicion = TAMAÑO_CABECERA;
+
+        EscritorColumnas(FileChannel canal) {
+            this.canal = canal;
+        }
+
+        void enteros(int columna, int n, java.util.function.IntUnaryOperator valor) throws IOException {
+            iniciar(columna);
+            for (int i = 0; i < n; i++) {
+                asegurar(4);
+                buffer.putInt(valor.applyAsInt(i));
+            }
+            terminar();
+        }
+
+        void doubles(int columna, int n, java.util.function.IntToDoubleFunction valor) throws IOException {
+            iniciar(columna);
+            for (int i = 0; i < n; i++) {
+                asegurar(8);
+                buffer.putDouble(valor.applyAsDouble(i));
+            }
+            terminar();
+        }
+
+        void bytes(int columna, List<byte[]> bloques) throws IOException {
+            iniciar(columna);
+            for (byte[] bloque : bloques) {
+                for (byte b : bloque) {
+                    asegurar(1);
+                    buffer.put(b);
+                }
+            }
+            terminar();
+        }
+
+        private void iniciar(int columna) {
+            desplazamientos[columna] = posicion;
+        }
+
+        private void asegurar(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                vaciar();
+            }
+        }
+
+        private void terminar() throws IOException {
+            // Relleno hasta el siguiente múltiplo de 8
+            long tamaño = posicion + buffer.position();
+            while (tamaño % 8 != 0) {
+                buffer.put((byte) 0);
+                tamaño++;
+            }
+            vaciar();
+        }
+
+        private void vaciar() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                posicion += canal.write(buffer, posicion);
+            }
+            buffer.clear();
+        }
+    }
+
+    // Acceso a columnas
+    private int entero(int columna, int i) {
+        return datos.getInt((int) desplazamientos[columna] + i * 4);
+    }
+
+    private double real(int columna, int i) {
+        return datos.getDouble((int) desplazamientos[columna] + i * 8);
+    }
+
+    private String texto(int columna, int i) {
+        int id = entero(columna, i);
+        return id >= 0 ? textos[id] : null;
+    }
+
+    // Llegadas de vehículos (i = posición en el archivo)
+    public int getNumeroLlegadas() {
+        return numeroLlegadas;
+    }
+
+    public int getIdLlegada(int i) {
+        return entero(COL_LL_ID, i);
+    }
+
+    public double getTiempoLlegada(int i) {
+        return real(COL_LL_LLEGADA, i);
+    }
+
+    public double getTiempoSalida(int i) {
+        return real(COL_LL_SALIDA, i);
+    }
+
+    public String getMarca(int i) {
+        return texto(COL_LL_MARCA, i);
+    }
+
+    public int getCapacidadBateria(int i) {
+        return entero(COL_LL_CAPACIDAD, i);
+    }
+
+    public double getEnergiaRequerida(int i) {
+        return real(COL_LL_ENERGIA, i);
+    }
+
+    public double getTasaCargaMinima(int i) {
+        return real(COL_LL_TASA_MIN, i);
+    }
+
+    public int getTasaCargaMaxima(int i) {
+        return entero(COL_LL_TASA_MAX, i);
+    }
+
+    public double getTasaCargaAc(int i) {
+        return real(COL_LL_TASA_AC, i);
+    }
+
+    public int getTasaCargaDc(int i) {
+        return entero(COL_LL_TASA_DC, i);
+    }
+
+    public int getPrioridad(int i) {
+        return entero(COL_LL_PRIORIDAD, i);
+    }
+
+    public double getDisposicionPago(int i) {
+        return real(COL_LL_DISPOSICION, i);
+    }
+
+    public double getEficiencia(int i) {
+        return real(COL_LL_EFICIENCIA, i);
+    }
+
+    /**
+     * Materializa una sola llegada como objeto del modelo
+     */
+    public VehicleArrival leerLlegada(int i) {
+        return new VehicleArrival(getIdLlegada(i), getTiempoLlegada(i), getTiempoSalida(i), getMarca(i),
+                getCapacidadBateria(i), getEnergiaRequerida(i), getTasaCargaMinima(i), getTasaCargaMaxima(i),
+                getTasaCargaAc(i), getTasaCargaDc(i), getPrioridad(i), getDisposicionPago(i), getEficiencia(i));
+    }
+
+    /**
+     * Fuente de llegadas que materializa cada vehículo solo cuando la simulación
+     * lo pide. Si el archivo no está ordenado por tiempo de llegada se recorre a
+     * través de un índice ordenado (4 bytes por llegada).
+     */
+    public FuenteLlegadas fuenteLlegadas() {
+        int[] orden = null;
+        for (int i = 1; i < numeroLlegadas; i++) {
+            if (getTiempoLlegada(i) < getTiempoLlegada(i - 1)) {
+                orden = ordenPorLlegada();
+                break;
+            }
+        }
+        int[] indice = orden;
+
+        return new FuenteLlegadas() {
+            private int siguiente;
+
+            @Override
+            public boolean hayMas() {
+                return siguiente < numeroLlegadas;
+            }
+
+            @Override
+            public double proximaLlegada() {
+                return getTiempoLlegada(posicion());
+            }
+
+            @Override
+            public VehicleArrival siguiente() {
+                VehicleArrival llegada = leerLlegada(posicion());
+                siguiente++;
+                return llegada;
+            }
+
+            private int posicion() {
+                if (!hayMas()) {
+                    throw new NoSuchElementException("No quedan llegadas en " + archivo);
+                }
+                return indice != null ? indice[siguiente] : siguiente;
+            }
+        };
+    }
+
+    /**
+     * Posiciones de las llegadas ordenadas de forma estable por tiempo de llegada
+     */
+    private int[] ordenPorLlegada() {
+        long[] claves = new long[numeroLlegadas];
+        for (int i = 0; i < numeroLlegadas; i++) {
+            // Los tiempos son no negativos: sus bits conservan el orden como long
+            claves[i] = Double.doubleToLongBits(getTiempoLlegada(i) + 0.0);
+        }
+        Integer[] posiciones = new Integer[numeroLlegadas];
+        for (int i = 0; i < numeroLlegadas; i++) {
+            posiciones[i] = i;
+        }
+        java.util.Arrays.sort(posiciones, (a, b) -> Long.compare(claves[a], claves[b]));
+        int[] orden = new int[numeroLlegadas];
+        for (int i = 0; i < numeroLlegadas; i++) {
+            orden[i] = posiciones[i];
+        }
+        return orden;
+    }
+
+    // Precios de energía (EUR/kWh)
+    public int getNumeroPrecios() {
+        return numeroPrecios;
+    }
+
+    public double getTiempoPrecio(int i) {
+        return real(COL_PR_TIEMPO, i);
+    }
+
+    public double getPrecio(int i) {
+        return real(COL_PR_PRECIO, i);
+    }
+
+    /**
+     * Materializa el TestSystem completo, igual al que produce el JSON original
+     */
+    public TestSystem toTestSystem() {
+        TestSystem testSystem = new TestSystem();
+        testSystem.setTestNumber(testNumber);
+
+        List<EnergyPrice> precios = new ArrayList<>(numeroPrecios);
+        for (int i = 0; i < numeroPrecios; i++) {
+            precios.add(new EnergyPrice(getTiempoPrecio(i), getPrecio(i)));
+        }
+        testSystem.setEnergyPrices(precios);
+
+        List<VehicleArrival> llegadas = new ArrayList<>(numeroLlegadas);
+        for (int i = 0; i < numeroLlegadas; i++) {
+            llegadas.add(leerLlegada(i));
+        }
+        testSystem.setArrivals(llegadas);
+
+        testSystem.setParkingConfig(leerParkingConfig());
+        testSystem.setCarBrands(leerCarBrands());
+        testSystem.setChargerTypes(leerChargerTypes());
+        return testSystem;
+    }
+
+    public ParkingConfig leerParkingConfig() {
+        List<Charger> cargadores = new ArrayList<>(numeroCargadores);
+        for (int i = 0; i < numeroCargadores; i++) {
+            cargadores.add(new Charger(entero(COL_CG_ID, i), entero(COL_CG_POTENCIA, i), texto(COL_CG_TIPO, i),
+                    entero(COL_CG_COSTO_INST, i), real(COL_CG_COSTO_OP, i), real(COL_CG_EFICIENCIA, i),
+                    leerCompatibles(COL_CG_COMPAT, i)));
+        }
+
+        GridConstraints red = null;
+        if ((flags & FLAG_RED) != 0) {
+            red = new GridConstraints(maxPowerPerPhase, voltageDropLimit, powerFactorLimit,
+                    (flags & FLAG_EFICIENCIA_SISTEMA) != 0 ? systemEfficiency : null);
+        }
+        return new ParkingConfig(nSpots, cargadores, transformerLimit, eficienciaEstacionamiento,
+                resolucionTemporal, red);
+    }
+
+    public List<CarBrand> leerCarBrands() {
+        List<CarBrand> marcas = new ArrayList<>(numeroMarcas);
+        for (int i = 0; i < numeroMarcas; i++) {
+            marcas.add(new CarBrand(texto(COL_MC_NOMBRE, i), entero(COL_MC_CAPACIDAD, i), real(COL_MC_SOC, i),
+                    real(COL_MC_AC, i), entero(COL_MC_DC, i), real(COL_MC_EFICIENCIA, i)));
+        }
+        return marcas;
+    }
+
+    public Map<String, ChargerType> leerChargerTypes() {
+        Map<String, ChargerType> tipos = new HashMap<>();
+        for (int i = 0; i < numeroTiposCargador; i++) {
+            tipos.put(texto(COL_TC_NOMBRE, i), new ChargerType(entero(COL_TC_POTENCIA, i), texto(COL_TC_TIPO, i),
+                    entero(COL_TC_COSTO_INST, i), real(COL_TC_COSTO_OP, i), real(COL_TC_EFICIENCIA, i),
+                    leerCompatibles(COL_TC_COMPAT, i)));
+        }
+        return tipos;
+    }
+
+    private List<String> leerCompatibles(int columnaInicios, int i) {
+        int inicio = entero(columnaInicios, i);
+        int fin = entero(columnaInicios, i + 1);
+        List<String> vehiculos = new ArrayList<>(fin - inicio);
+        for (int k = inicio; k < fin; k++) {
+            vehiculos.add(texto(COL_COMPATIBLES, k));
+        }
+        return vehiculos;
+    }
+
+    // Getters
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    public int getTestNumber() {
+        return testNumber;
+    }
+
+    public int getNumeroCargadores() {
+        return numeroCargadores;
+    }
+
+    public int getNumeroMarcas() {
+        return numeroMarcas;
+    }
+
+    public int getNumeroTiposCargador() {
+        return numeroTiposCargador;
+    }
+
+    public long getTamañoBytes() {
+        return datos.capacity();
+    }
+}
@@ -0,0 +1,522 @@
+package com.ejemplo.mapper;
+
+import com.ejemplo.model.*;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lector en streaming de los archivos JSON del sistema de carga. Recorre el
+ * archivo una sola vez con el {@link JsonParser} de Jackson y construye
+ * directamente los objetos del modelo, sin árbol intermedio de JsonNode, de
+ * modo que la memoria máxima es la del propio TestSystem. Los campos pueden
+ * aparecer en cualquier orden y los desconocidos se ignoran. Un campo
+ * conocido en null o con un valor del tipo equivocado (por ejemplo, un
+ * elemento que no es objeto dentro de un arreglo de objetos) se rechaza con
+ * JsonParseException indicando el campo, en lugar de desincronizar la
+ * lectura.
+ *
+ * Produce el mismo resultado y los mismos mensajes de validación que
+ * {@link JsonMapper}.
+ */
+public class StreamingJsonMapper {
+    private final JsonFactory jsonFactory;
+
+    public StreamingJsonMapper() {
+        this.jsonFactory = new JsonFactory();
+    }
+
+    /**
+     * Lee el archivo JSON completo en una sola pasada.
+     *
+     * @param jsonFilePath Ruta al archivo JSON (ej: "test_system_1.json")
+     * @return TestSystem completamente poblado con todos los datos del JSON
+     * @throws IOException Si hay problemas leyendo o validando el archivo JSON
+     */
+    public TestSystem mapJsonToTestSystem(String jsonFilePath) throws IOException {
+        return leerArchivo(jsonFilePath, true);
+    }
+
+    /**
+     * Lee la instancia sin materializar las llegadas (la lista queda vacía).
+     * Se usa junto con {@link FuenteLlegadasJson} para simular instancias que
+     * no caben en memoria.
+     */
+    public TestSystem mapJsonSinLlegadas(String jsonFilePath) throws IOException {
+        return leerArchivo(jsonFilePath, false);
+    }
+
+    private TestSystem leerArchivo(String jsonFilePath, boolean incluirLlegadas) throws IOException {
+        File jsonFile = new File(jsonFilePath);
+
+        // Verificar que el archivo existe
+        if (!jsonFile.exists()) {
+            throw new IOException("El archivo JSON no existe: " + jsonFilePath);
+        }
+
+        // Verificar que el archivo no está vacío
+        if (jsonFile.length() == 0) {
+            throw new IOException("El archivo JSON está vacío: " + jsonFilePath);
+        }
+
+        try (JsonParser parser = jsonFactory.createParser(jsonFile)) {
+            return leerTestSystem(parser, jsonFilePath, incluirLlegadas);
+        }
+    }
+
+    /**
+     * Lee un TestSystem desde un flujo; el nombre solo se usa en los mensajes
+     */
+    public TestSystem mapJsonToTestSystem(InputStream entrada, String nombre) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(entrada)) {
+            return leerTestSystem(parser, nombre, true);
+        }
+    }
+
+    private TestSystem leerTestSystem(JsonParser parser, String jsonFilePath, boolean incluirLlegadas)
+            throws IOException {
+        // Verificar que el JSON es un objeto
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("El archivo JSON no se pudo parsear correctamente: " + jsonFilePath);
+        }
+
+        TestSystem testSystem = new TestSystem();
+        boolean testNumber = false;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String campo = parser.getCurrentName();
+            parser.nextToken();
+
+            switch (campo) {
+                case "test_number":
+                    esperar(parser, JsonToken.VALUE_NUMBER_INT, campo);
+                    testSystem.setTestNumber(parser.getValueAsInt());
+                    testNumber = true;
+                    break;
+                case "energy_prices":
+                    esperar(parser, JsonToken.START_ARRAY, campo);
+                    testSystem.setEnergyPrices(leerEnergyPrices(parser));
+                    break;
+                case "arrivals":
+                    esperar(parser, JsonToken.START_ARRAY, campo);
+                    if (incluirLlegadas) {
+                        testSystem.setArrivals(leerVehicleArrivals(parser));
+                    } else {
+                        parser.skipChildren();
+                        testSystem.setArrivals(new ArrayList<>());
+                    }
+                    break;
+                case "parking_config":
+                    esperar(parser, JsonToken.START_OBJECT, campo);
+                    testSystem.setParkingConfig(leerParkingConfig(parser));
+                    break;
+                case "car_brands":
+                    esperar(parser, JsonToken.START_ARRAY, campo);
+                    testSystem.setCarBrands(leerCarBrands(parser));
+                    break;
+                case "charger_types":
+                    esperar(parser, JsonToken.START_OBJECT, campo);
+                    testSystem.setChargerTypes(leerChargerTypes(parser));
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+
+        // Validación de campos obligatorios, en el mismo orden que JsonMapper
+        if (!testNumber) {
+            throw new IOException("Campo 'test_number' no encontrado en el JSON: " + jsonFilePath);
+        }
+        if (testSystem.getEnergyPrices() == null) {
+            throw new IOException("Campo 'energy_prices' no encontrado en el JSON: " + jsonFilePath);
+        }
+        if (testSystem.getArrivals() == null) {
+            throw new IOException("Campo 'arrivals' no encontrado en el JSON: " + jsonFilePath);
+        }
+        if (testSystem.getParkingConfig() == null) {
+            throw new IOException("Campo 'parking_config' no encontrado en el JSON: " + jsonFilePath);
+        }
+        if (testSystem.getCarBrands() == null) {
+            throw new IOException("Campo 'car_brands' no encontrado en el JSON: " + jsonFilePath);
+        }
+        if (testSystem.getChargerTypes() == null) {
+            throw new IOException("Campo 'charger_types' no encontrado en el JSON: " + jsonFilePath);
+        }
+
+        return testSystem;
+    }
+
+    /**
+     * Verifica que el valor actual del campo sea del tipo esperado
+     */
+    static void esperar(JsonParser parser, JsonToken esperado, String campo) throws JsonParseException {
+        JsonToken actual = parser.currentToken();
+        if (actual != esperado) {
+            throw new JsonParseException(parser, String.format("Campo '%s': se esperaba %s y se encontró %s", campo,
+                    describir(esperado), describir(actual)));
+        }
+    }
+
+    /**
+     * Avanza al siguiente elemento de un arreglo. Retorna false al llegar a su
+     * fin y rechaza los elementos que no empiezan con el token indicado.
+     */
+    static boolean siguienteElemento(JsonParser parser, JsonToken inicio, String campo) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY) {
+            return false;
+        }
+        esperar(parser, inicio, campo);
+        return true;
+    }
+
+    private static String describir(JsonToken token) {
+        if (token == null) {
+            return "el fin del archivo";
+        }
+        switch (token) {
+            case START_OBJECT:
+                return "un objeto";
+            case START_ARRAY:
+                return "un arreglo";
+            case VALUE_NULL:
+                return "null";
+            case VALUE_NUMBER_INT:
+                return "un número entero";
+            case VALUE_NUMBER_FLOAT:
+                return "un número";
+            case VALUE_STRING:
+                return "un texto";
+            default:
+                return token.toString();
+        }
+    }
+
+    /**
+     * Lee la lista de precios de energía (el precio se pasa a EUR/kWh)
+     */
+    private List<EnergyPrice> leerEnergyPrices(JsonParser parser) throws IOException {
+        List<EnergyPrice> energyPrices = new ArrayList<>();
+
+        while (siguienteElemento(parser, JsonToken.START_OBJECT, "energy_prices")) {
+            EnergyPrice energyPrice = new EnergyPrice();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String campo = parser.getCurrentName();
+                parser.nextToken();
+                switch (campo) {
+                    case "time":
+                        energyPrice.setTime(parser.getValueAsDouble());
+                        break;
+                    case "price":
+                        energyPrice.setPrice(parser.getValueAsDouble() / 100.0);
+                        break;
+                    default:
+                        parser.skipChildren();
+                        break;
+                }
+            }
+            energyPrices.add(energyPrice);
+        }
+
+        return energyPrices;
+    }
+
+    /**
+     * Lee la lista de llegadas de vehículos, un objeto cada vez
+     */
+    private List<VehicleArrival> leerVehicleArrivals(JsonParser parser) throws IOException {
+        List<VehicleArrival> arrivals = new ArrayList<>();
+
+        while (siguienteElemento(parser, JsonToken.START_OBJECT, "arrivals")) {
+            arrivals.add(leerVehicleArrival(parser));
+        }
+
+        return arrivals;
+    }
+
+    /**
+     * Lee una llegada de vehículo; el parser debe estar en su START_OBJECT
+     */
+    static VehicleArrival leerVehicleArrival(JsonParser parser) throws IOException {
+        VehicleArrival arrival = new VehicleArrival();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String campo = parser.getCurrentName();
+            parser.nextToken();
+            switch (campo) {
+                case "id":
+                    arrival.setId(parser.getValueAsInt());
+                    break;
+                case "arrival_time":
+                    arrival.setArrivalTime(parser.getValueAsDouble());
+                    break;
+                case "departure_time":
+                    arrival.setDepartureTime(parser.getValueAsDouble());
+                    break;
+                case "brand":
+                    arrival.setBrand(parser.getValueAsString());
+                    break;
+                case "battery_capacity":
+                    arrival.setBatteryCapacity(parser.getValueAsInt());
+                    break;
+                case "required_energy":
+                    arrival.setRequiredEnergy(parser.getValueAsDouble());
+                    break;
+                case "min_charge_rate":
+                    arrival.setMinChargeRate(parser.getValueAsDouble());
+                    break;
+                case "max_charge_rate":
+                    arrival.setMaxChargeRate(parser.getValueAsInt()); // int según JSON
+                    break;
+                case "ac_charge_rate":
+                    arrival.setAcChargeRate(parser.getValueAsDouble());
+                    break;
+                case "dc_charge_rate":
+                    arrival.setDcChargeRate(parser.getValueAsInt()); // int según JSON
+                    break;
+                case "priority":
+                    arrival.setPriority(parser.getValueAsInt());
+                    break;
+                case "willingness_to_pay":
+                    arrival.setWillingnessToPay(parser.getValueAsDouble());
+                    break;
+                case "efficiency":
+                    arrival.setEfficiency(parser.getValueAsDouble());
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return arrival;
+    }
+
+    /**
+     * Lee la configuración del estacionamiento con sus cargadores y
+     * restricciones de red
+     */
+    private ParkingConfig leerParkingConfig(JsonParser parser) throws IOException {
+        ParkingConfig parkingConfig = new ParkingConfig();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String campo = parser.getCurrentName();
+            JsonToken valor = parser.nextToken();
+            switch (campo) {
+                case "n_spots":
+                    parkingConfig.setNSpots(parser.getValueAsInt());
+                    break;
+                case "transformer_limit":
+                    parkingConfig.setTransformerLimit(parser.getValueAsInt()); // int según JSON
+                    break;
+                case "efficiency":
+                    parkingConfig.setEfficiency(parser.getValueAsDouble());
+                    break;
+                case "time_resolution":
+                    parkingConfig.setTimeResolution(parser.getValueAsDouble());
+                    break;
+                case "chargers":
+                    esperar(parser, JsonToken.START_ARRAY, "parking_config.chargers");
+                    parkingConfig.setChargers(leerChargers(parser));
+                    break;
+                case "grid_constraints":
+                    if (valor == JsonToken.START_OBJECT) {
+                        parkingConfig.setGridConstraints(leerGridConstraints(parser));
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+
+        return parkingConfig;
+    }
+
+    /**
+     * Lee la lista de cargadores del estacionamiento
+     */
+    private List<Charger> leerChargers(JsonParser parser) throws IOException {
+        List<Charger> chargers = new ArrayList<>();
+
+        while (siguienteElemento(parser, JsonToken.START_OBJECT, "parking_config.chargers")) {
+            Charger charger = new Charger();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String campo = parser.getCurrentName();
+                parser.nextToken();
+                switch (campo) {
+                    case "charger_id":
+                        charger.setChargerId(parser.getValueAsInt());
+                        break;
+                    case "power":
+                        charger.setPower(parser.getValueAsInt()); // int según JSON
+                        break;
+                    case "type":
+                        charger.setType(parser.getValueAsString());
+                        break;
+                    case "installation_cost":
+                        charger.setInstallationCost(parser.getValueAsInt()); // int según JSON
+                        break;
+                    case "operation_cost_per_hour":
+                        charger.setOperationCostPerHour(parser.getValueAsDouble());
+                        break;
+                    case "efficiency":
+                        charger.setEfficiency(parser.getValueAsDouble());
+                        break;
+                    case "compatible_vehicles":
+                        esperar(parser, JsonToken.START_ARRAY, "compatible_vehicles");
+                        charger.setCompatibleVehicles(leerListaTextos(parser));
+                        break;
+                    default:
+                        parser.skipChildren();
+                        break;
+                }
+            }
+            chargers.add(charger);
+        }
+
+        return chargers;
+    }
+
+    /**
+     * Lee las restricciones de la red; system_efficiency puede ser null
+     */
+    private GridConstraints leerGridConstraints(JsonParser parser) throws IOException {
+        GridConstraints gridConstraints = new GridConstraints();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String campo = parser.getCurrentName();
+            JsonToken valor = parser.nextToken();
+            switch (campo) {
+                case "max_power_per_phase":
+                    gridConstraints.setMaxPowerPerPhase(parser.getValueAsDouble());
+                    break;
+                case "voltage_drop_limit":
+                    gridConstraints.setVoltageDropLimit(parser.getValueAsDouble());
+                    break;
+                case "power_factor_limit":
+                    gridConstraints.setPowerFactorLimit(parser.getValueAsDouble());
+                    break;
+                case "system_efficiency":
+                    if (valor != JsonToken.VALUE_NULL) {
+                        gridConstraints.setSystemEfficiency(parser.getValueAsDouble());
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+
+        return gridConstraints;
+    }
+
+    /**
+     * Lee las marcas de vehículos. Cada marca es un arreglo posicional:
+     * [nombre_modelo, capacidad_bateria, soc_minimo, carga_ac_max, carga_dc_max,
+     * eficiencia]
+     */
+    private List<CarBrand> leerCarBrands(JsonParser parser) throws IOException {
+        List<CarBrand> carBrands = new ArrayList<>();
+
+        while (siguienteElemento(parser, JsonToken.START_ARRAY, "car_brands")) {
+            CarBrand carBrand = new CarBrand();
+            int posicion = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                switch (posicion++) {
+                    case 0:
+                        carBrand.setModelName(parser.getValueAsString()); // [0] = nombre
+                        break;
+                    case 1:
+                        carBrand.setBatteryCapacity(parser.getValueAsInt()); // [1] = capacidad
+                        break;
+                    case 2:
+                        carBrand.setMinSocArrival(parser.getValueAsDouble()); // [2] = SoC mínimo
+                        break;
+                    case 3:
+                        carBrand.setMaxAcChargeRate(parser.getValueAsDouble()); // [3] = AC max
+                        break;
+                    case 4:
+                        carBrand.setMaxDcChargeRate(parser.getValueAsInt()); // [4] = DC max
+                        break;
+                    case 5:
+                        carBrand.setChargingEfficiency(parser.getValueAsDouble()); // [5] = eficiencia
+                        break;
+                    default:
+                        parser.skipChildren();
+                        break;
+                }
+            }
+            carBrands.add(carBrand);
+        }
+
+        return carBrands;
+    }
+
+    /**
+     * Lee el diccionario de tipos de cargadores (clave = nombre del tipo)
+     */
+    private Map<String, ChargerType> leerChargerTypes(JsonParser parser) throws IOException {
+        Map<String, ChargerType> chargerTypes = new HashMap<>();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String typeName = parser.getCurrentName();
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+
+            ChargerType chargerType = new ChargerType();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String campo = parser.getCurrentName();
+                parser.nextToken();
+                switch (campo) {
+                    case "power":
+                        chargerType.setPower(parser.getValueAsInt()); // int según JSON
+                        break;
+                    case "type":
+                        chargerType.setType(parser.getValueAsString());
+                        break;
+                    case "installation_cost":
+                        chargerType.setInstallationCost(parser.getValueAsInt()); // int según JSON
+                        break;
+                    case "operation_cost":
+                        chargerType.setOperationCost(parser.getValueAsDouble());
+                        break;
+                    case "efficiency":
+                        chargerType.setEfficiency(parser.getValueAsDouble());
+                        break;
+                    case "compatible_vehicles":
+                        esperar(parser, JsonToken.START_ARRAY, "compatible_vehicles");
+                        chargerType.setCompatibleVehicles(leerListaTextos(parser));
+                        break;
+                    default:
+                        parser.skipChildren();
+                        break;
+                }
+            }
+            chargerTypes.put(typeName, chargerType);
+        }
+
+        return chargerTypes;
+    }
+
+    /**
+     * Lee un arreglo de cadenas; el parser debe estar en su START_ARRAY
+     */
+    private static List<String> leerListaTextos(JsonParser parser) throws IOException {
+        List<String> textos = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            textos.add(parser.getValueAsString());
+        }
+        return textos;
+    }
+}
@@ -0,0 +1,82 @@
+package com.ejemplo.algoritmo;
+
+import com.ejemplo.mapper.FuenteLlegadasJson;
+import com.ejemplo.mapper.JsonMapper;
+import com.ejemplo.mapper.StreamingJsonMapper;
+import com.ejemplo.model.TestSystem;
+import com.ejemplo.model.VehicleArrival;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConstructivoAdaptativoTest {
+
+    private static SolucionConstructiva ejecutarEnSilencio(ConstructivoAdaptativo constructivo) {
+        constructivo.getLogger().setShowLogs(false);
+        constructivo.getLogger().setHistorialTexto(false);
+        constructivo.setSemilla(1);
+        PrintStream consola = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            return constructivo.ejecutar();
+        } finally {
+            System.setOut(consola);
+        }
+    }
+
+    @Test
+    void llegadasEnStreamingDanLaMismaSolucion() throws Exception {
+        String instancia = "test_system_2.json";
+        SolucionConstructiva enMemoria = ejecutarEnSilencio(
+                new ConstructivoAdaptativo(new JsonMapper().mapJsonToTestSystem(instancia)));
+
+        ConstructivoAdaptativo streaming = new ConstructivoAdaptativo(
+                new StreamingJsonMapper().mapJsonSinLlegadas(instancia), new FuenteLlegadasJson(instancia));
+        streaming.setRetenerVehiculosFinalizados(false);
+        SolucionConstructiva solucion = ejecutarEnSilencio(streaming);
+
+        assertEquals(enMemoria.getValorObjetivo(), solucion.getValorObjetivo(), 1e-9);
+        assertEquals(enMemoria.getEnergiaTotalEntregada(), solucion.getEnergiaTotalEntregada(), 1e-9);
+        assertEquals(0, streaming.getVehiculosEnMemoria());
+    }
+
+    @Test
+    void cierraLaFuenteSiLaSimulacionFalla() throws Exception {
+        TestSystem testSystem = new JsonMapper().mapJsonToTestSystem("test_system_1.json");
+        VehicleArrival primera = testSystem.getArrivals().get(0);
+        boolean[] cerrada = { false };
+        FuenteLlegadas fuente = new FuenteLlegadas() {
+            private int entregadas = 0;
+
+            @Override
+            public boolean hayMas() {
+                return true;
+            }
+
+            @Override
+            public double proximaLlegada() {
+                return primera.getArrivalTime();
+            }
+
+            @Override
+            public VehicleArrival siguiente() {
+                if (++entregadas > 1) {
+                    throw new IllegalStateException("fuente agotada");
+                }
+                return primera;
+            }
+
+            @Override
+            public void close() {
+                cerrada[0] = true;
+            }
+        };
+
+        assertThrows(IllegalStateException.class,
+                () -> ejecutarEnSilencio(new ConstructivoAdaptativo(testSystem, fuente)));
+        assertTrue(cerrada[0]);
+    }
+}
@@ -0,0 +1,42 @@
+package com.ejemplo.algoritmo;
+
+import com.ejemplo.mapper.JsonMapper;
+import com.ejemplo.model.TestSystem;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CotaEnergiaTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = { "test_system_1.json", "test_system_2.json", "test_system_3.json" })
+    void cotaNoEsMenorQueLaEnergiaEntregada(String instancia) throws Exception {
+        TestSystem testSystem = new JsonMapper().mapJsonToTestSystem(instancia);
+        CotaEnergia cota = CotaEnergia.calcular(testSystem);
+        assertTrue(cota.getCota() > 0);
+
+        PrintStream consola = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            for (long semilla = 1; semilla <= 3; semilla++) {
+                ConstructivoAdaptativo constructivo = new ConstructivoAdaptativo(testSystem);
+                constructivo.getLogger().setShowLogs(false);
+                constructivo.getLogger().setHistorialTexto(false);
+                constructivo.setSemilla(semilla);
+                SolucionConstructiva solucion = constructivo.ejecutar();
+
+                double entregada = solucion.getEnergiaTotalEntregada();
+                assertTrue(entregada <= cota.getCota() + 1e-6, String.format(
+                        "%s semilla %d: entregó %.4f kWh sobre la cota %.4f", instancia, semilla, entregada,
+                        cota.getCota()));
+                assertTrue(cota.calcularBrecha(solucion) >= -1e-9);
+            }
+        } finally {
+            System.setOut(consola);
+        }
+    }
+}
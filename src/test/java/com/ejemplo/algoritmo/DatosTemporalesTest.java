@@ -0,0 +1,68 @@
+package com.ejemplo.algoritmo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatosTemporalesTest {
+
+    private static DatosTemporales serieAleatoria(int puntos, long semilla) {
+        DatosTemporales datos = new DatosTemporales(70, 10);
+        Random aleatorio = new Random(semilla);
+        for (int i = 0; i < puntos; i++) {
+            datos.registrarPunto(i * 0.25, aleatorio.nextDouble() * 70, aleatorio.nextInt(11), 0, 0, 0, i);
+        }
+        return datos;
+    }
+
+    @Test
+    void lttbConservaExtremosYUnPuntoPorCubo() {
+        int puntos = 1_003;
+        DatosTemporales datos = serieAleatoria(puntos, 7);
+        for (int umbral : new int[] { 3, 4, 10, 97, 500, puntos - 1 }) {
+            int[] indices = datos.reducirLttb(DatosTemporales.Serie.CARGA_TRANSFORMADOR, umbral);
+
+            assertEquals(umbral, indices.length);
+            assertEquals(0, indices[0]);
+            assertEquals(puntos - 1, indices[umbral - 1]);
+
+            // Cada punto intermedio sale de su propio cubo, así que quedan en orden estricto
+            double anchoCubo = (double) (puntos - 2) / (umbral - 2);
+            for (int cubo = 0; cubo < umbral - 2; cubo++) {
+                int inicio = (int) Math.floor(cubo * anchoCubo) + 1;
+                int fin = (int) Math.floor((cubo + 1) * anchoCubo) + 1;
+                int elegido = indices[cubo + 1];
+                assertTrue(elegido >= inicio && elegido < fin,
+                        String.format("umbral %d: índice %d fuera del cubo [%d, %d)", umbral, elegido, inicio, fin));
+            }
+            for (int i = 1; i < indices.length; i++) {
+                assertTrue(indices[i] > indices[i - 1]);
+            }
+        }
+    }
+
+    @Test
+    void lttbConservaUnPicoAislado() {
+        DatosTemporales datos = new DatosTemporales(70, 10);
+        for (int i = 0; i < 400; i++) {
+            datos.registrarPunto(i * 0.25, i == 211 ? 69.0 : 10.0, 0, 0, 0, 0, 0);
+        }
+        int[] indices = datos.reducirLttb(DatosTemporales.Serie.CARGA_TRANSFORMADOR, 20);
+        boolean conservado = false;
+        for (int indice : indices) {
+            conservado |= indice == 211;
+        }
+        assertTrue(conservado);
+    }
+
+    @Test
+    void lttbSinReduccionDevuelveTodos() {
+        DatosTemporales datos = serieAleatoria(50, 3);
+        assertEquals(50, datos.reducirLttb(DatosTemporales.Serie.CARGA_TRANSFORMADOR, 50).length);
+        assertEquals(50, datos.reducirLttb(DatosTemporales.Serie.CARGA_TRANSFORMADOR, 2).length);
+        assertEquals(0, new DatosTemporales(70, 10)
+                .reducirLttb(DatosTemporales.Serie.CARGA_TRANSFORMADOR, 10).length);
+    }
+}
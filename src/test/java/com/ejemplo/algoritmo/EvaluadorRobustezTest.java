@@ -0,0 +1,83 @@
+package com.ejemplo.algoritmo;
+
+import com.ejemplo.mapper.JsonMapper;
+import com.ejemplo.model.TestSystem;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvaluadorRobustezTest {
+
+    private static SolucionConstructiva ejecutarEnSilencio(TestSystem testSystem) {
+        ConstructivoAdaptativo constructivo = new ConstructivoAdaptativo(testSystem);
+        constructivo.getLogger().setShowLogs(false);
+        constructivo.getLogger().setHistorialTexto(false);
+        constructivo.setSemilla(1);
+        PrintStream consola = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            return constructivo.ejecutar();
+        } finally {
+            System.setOut(consola);
+        }
+    }
+
+    /**
+     * Sin ruido la política reproduce exactamente el objetivo del constructivo
+     * y el plan se reproduce dentro de la tolerancia: la reproducción no
+     * modela la reducción por transformador ni la expulsión de vehículos
+     */
+    @Test
+    void escenarioSinRuidoReproduceAlConstructivo() throws Exception {
+        TestSystem testSystem = new JsonMapper().mapJsonToTestSystem("test_system_4.json");
+        SolucionConstructiva solucion = ejecutarEnSilencio(testSystem);
+        EvaluadorRobustez evaluador = new EvaluadorRobustez(testSystem,
+                EvaluadorRobustez.ParametrosEscenarios.nominal());
+
+        EvaluadorRobustez.ResultadoRobustez politica = evaluador
+                .evaluarPolitica(EvaluadorRobustezTest::ejecutarEnSilencio, 1);
+        assertEquals(solucion.getCostoTotalOperacion(), politica.costo[0], 1e-6);
+        assertEquals(solucion.getPorcentajeCargaEntregado(), politica.porcentajeEnergia[0], 1e-6);
+
+        EvaluadorRobustez.ResultadoRobustez plan = evaluador.evaluarPlan(solucion, 4);
+        for (int i = 1; i < plan.costo.length; i++) {
+            assertEquals(plan.costo[0], plan.costo[i]);
+            assertEquals(plan.porcentajeEnergia[0], plan.porcentajeEnergia[i]);
+        }
+        double costo = solucion.getCostoTotalOperacion();
+        assertEquals(costo, plan.costo[0], 0.01 * costo, "costo del plan reproducido");
+        assertEquals(solucion.getPorcentajeCargaEntregado(), plan.porcentajeEnergia[0], 3.0,
+                "% de energía del plan reproducido");
+    }
+
+    /**
+     * Con la misma semilla los escenarios se repiten, y la cola de peores
+     * escenarios queda del lado malo de la media: más costo, menos energía
+     */
+    @Test
+    void cvarQuedaDelLadoMaloDeLaMedia() throws Exception {
+        TestSystem testSystem = new JsonMapper().mapJsonToTestSystem("test_system_1.json");
+        SolucionConstructiva solucion = ejecutarEnSilencio(testSystem);
+        EvaluadorRobustez.ParametrosEscenarios parametros = EvaluadorRobustez.ParametrosEscenarios.porDefecto();
+
+        EvaluadorRobustez.ResultadoRobustez resultado = new EvaluadorRobustez(testSystem, parametros)
+                .evaluarPlan(solucion, 200);
+        parametros.hilos = 1;
+        EvaluadorRobustez.ResultadoRobustez repetido = new EvaluadorRobustez(testSystem, parametros)
+                .evaluarPlan(solucion, 200);
+        assertArrayEquals(resultado.costo, repetido.costo);
+        assertArrayEquals(resultado.porcentajeEnergia, repetido.porcentajeEnergia);
+
+        double mediaEnergia = resultado.getEstadisticaEnergia().media;
+        double mediaCosto = resultado.getEstadisticaCosto().media;
+        assertTrue(resultado.getCvarEnergia() <= mediaEnergia + 1e-9,
+                String.format("CVaR energía %.4f sobre la media %.4f", resultado.getCvarEnergia(), mediaEnergia));
+        assertTrue(resultado.getCvarCosto() >= mediaCosto - 1e-9,
+                String.format("CVaR costo %.4f bajo la media %.4f", resultado.getCvarCosto(), mediaCosto));
+        // Con ruido la cola se separa de la media
+        assertTrue(resultado.getCvarEnergia() < mediaEnergia);
+    }
+}
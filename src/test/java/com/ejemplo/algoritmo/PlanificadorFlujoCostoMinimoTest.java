@@ -0,0 +1,75 @@
+package com.ejemplo.algoritmo;
+
+import com.ejemplo.mapper.JsonMapper;
+import com.ejemplo.model.Charger;
+import com.ejemplo.model.TestSystem;
+import com.ejemplo.model.VehicleArrival;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlanificadorFlujoCostoMinimoTest {
+
+    private static final double TOLERANCIA = 1e-6;
+
+    @ParameterizedTest
+    @ValueSource(strings = { "test_system_1.json", "test_system_2.json" })
+    void planEsFactible(String instancia) throws Exception {
+        TestSystem testSystem = new JsonMapper().mapJsonToTestSystem(instancia);
+        PlanificadorFlujoCostoMinimo planificador = PlanificadorFlujoCostoMinimo.resolver(testSystem);
+        SolucionConstructiva solucion = planificador.getSolucion();
+
+        ConstructivoAdaptativoAuxiliar auxiliar = new ConstructivoAdaptativoAuxiliar(testSystem);
+        Map<Integer, Charger> cargadores = new HashMap<>();
+        for (Charger cargador : testSystem.getParkingConfig().getChargers()) {
+            cargadores.putIfAbsent(cargador.getChargerId(), cargador);
+        }
+
+        Map<Integer, List<double[]>> intervalosPorCargador = new HashMap<>();
+        for (VehiculoSimulacion vehiculo : solucion.getEstadoFinalVehiculos()) {
+            VehicleArrival llegada = vehiculo.getVehiculoOriginal();
+            assertTrue(vehiculo.getEnergiaActual() <= llegada.getRequiredEnergy() * (1.0 + TOLERANCIA),
+                    "Vehículo " + llegada.getId() + " recibe más energía de la requerida");
+
+            List<double[]> propios = new ArrayList<>();
+            for (VehiculoSimulacion.HistorialCargador registro : vehiculo.getHistorialCargadores()) {
+                double[] intervalo = { registro.getTiempoInicio(), registro.getTiempoFin() };
+                assertTrue(intervalo[1] > intervalo[0], "Intervalo vacío o sin cerrar del vehículo " + llegada.getId());
+                assertTrue(intervalo[0] >= llegada.getArrivalTime() - TOLERANCIA
+                        && intervalo[0] < llegada.getDepartureTime(),
+                        "Vehículo " + llegada.getId() + " carga fuera de su estadía");
+                assertTrue(auxiliar.esCompatible(vehiculo, cargadores.get(registro.getCargadorId())),
+                        "Vehículo " + llegada.getId() + " en un cargador incompatible");
+                propios.add(intervalo);
+                intervalosPorCargador.computeIfAbsent(registro.getCargadorId(), id -> new ArrayList<>())
+                        .add(intervalo);
+            }
+            assertSinSolapes(propios, "vehículo " + llegada.getId());
+        }
+        intervalosPorCargador.forEach((id, intervalos) -> assertSinSolapes(intervalos, "cargador " + id));
+
+        double[] potencia = planificador.getPotenciaRedPorPaso();
+        for (int k = 0; k < potencia.length; k++) {
+            assertTrue(potencia[k] <= planificador.getLimitePotencia() + TOLERANCIA,
+                    String.format("Paso %d: %.3f kW sobre el límite %.3f kW", k, potencia[k],
+                            planificador.getLimitePotencia()));
+        }
+
+        // El plan entero es factible en el modelo continuo, que lo acota
+        assertTrue(solucion.getValorObjetivo() > 0);
+        assertTrue(solucion.getValorObjetivo() <= planificador.getCotaModeloContinuo() + TOLERANCIA);
+    }
+
+    private static void assertSinSolapes(List<double[]> intervalos, String recurso) {
+        intervalos.sort(Comparator.comparingDouble(intervalo -> intervalo[0]));
+        for (int i = 1; i < intervalos.size(); i++) {
+            assertTrue(intervalos.get(i)[0] >= intervalos.get(i - 1)[1] - TOLERANCIA,
+                    String.format("Intervalos solapados en el %s: [%.3f, %.3f) y [%.3f, %.3f)", recurso,
+                            intervalos.get(i - 1)[0], intervalos.get(i - 1)[1], intervalos.get(i)[0],
+                            intervalos.get(i)[1]));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.ejemplo.algoritmo;
+
+import com.ejemplo.mapper.JsonMapper;
+import com.ejemplo.model.EnergyPrice;
+import com.ejemplo.model.TestSystem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlanificadorOnlineTest {
+
+    private static final Set<String> HEURISTICAS_ONLINE = Set.of("EDF", "HighestPriority", "Fairness", "SJF",
+            "PriceReactive");
+
+    /**
+     * Reproduce la instancia como eventos y compara cada decisión con la del
+     * constructivo en el mismo instante, hasta que el constructivo elige una
+     * heurística que el planificador online no tiene (LocalSearch,
+     * Exploration) y los estados dejan de ser comparables
+     */
+    @ParameterizedTest
+    @ValueSource(strings = { "test_system_1.json", "test_system_2.json", "test_system_3.json" })
+    void decideComoElConstructivoConLosMismosEventos(String instancia) throws Exception {
+        TestSystem testSystem = new JsonMapper().mapJsonToTestSystem(instancia);
+        ConstructivoAdaptativo constructivo = new ConstructivoAdaptativo(testSystem);
+        constructivo.getLogger().setShowLogs(false);
+        constructivo.getLogger().setHistorialTexto(false);
+        constructivo.setSemilla(1);
+        PrintStream consola = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            constructivo.ejecutar();
+        } finally {
+            System.setOut(consola);
+        }
+        Map<Long, ResultadoIteracion> decisiones = new HashMap<>();
+        double resolucion = testSystem.getParkingConfig().getTimeResolution();
+        for (ResultadoIteracion iteracion : constructivo.getHistorialIteraciones()) {
+            decisiones.put(Math.round(iteracion.getTiempo() / resolucion), iteracion);
+        }
+
+        PlanificadorOnline planificador = new PlanificadorOnline(testSystem,
+                PlanificadorOnline.ParametrosPlanificador.sinVentana());
+        FuenteLlegadas fuente = FuenteLlegadas.desdeLista(testSystem.getArrivals());
+        int comparadas = 0;
+        boolean comparables = true;
+        long llamadas = 0;
+        for (long paso = 0;; paso++) {
+            double ahora = paso * resolucion;
+            while (fuente.hayMas() && fuente.proximaLlegada() <= ahora) {
+                planificador.registrarLlegada(fuente.siguiente());
+            }
+            PlanificadorOnline.ResultadoPaso resultado = planificador.paso(ahora);
+            llamadas++;
+            assertTrue(resultado.getCargaTransformador()
+                    <= testSystem.getParkingConfig().getTransformerLimit() + 1e-9);
+
+            ResultadoIteracion decision = decisiones.get(paso);
+            if (comparables && decision != null) {
+                if (!HEURISTICAS_ONLINE.contains(decision.getHeuristicaSeleccionada())) {
+                    comparables = false;
+                } else {
+                    // El constructivo guarda la candidata antes de filtrar las asignaciones no factibles
+                    assertEquals(decision.getHeuristicaSeleccionada(), resultado.getHeuristicaSeleccionada(),
+                            instancia + " paso " + paso);
+                    Map<Integer, Integer> candidata = decision.getMejorAsignacion().getAsignaciones();
+                    assertTrue(candidata.entrySet().containsAll(resultado.getAsignaciones().entrySet()),
+                            instancia + " paso " + paso);
+                    comparadas++;
+                }
+            }
+            if (!fuente.hayMas() && planificador.estaInactivo()) {
+                break;
+            }
+        }
+
+        assertTrue(comparadas >= 10, instancia + ": solo " + comparadas + " decisiones comparadas");
+        assertEquals(llamadas, planificador.getMetricas().getFase(PlanificadorOnline.FASE_PASO).getLlamadas());
+    }
+
+    @Test
+    void actualizarPrecioNoModificaLaInstancia() throws Exception {
+        TestSystem testSystem = new JsonMapper().mapJsonToTestSystem("test_system_1.json");
+        List<EnergyPrice> precios = testSystem.getEnergyPrices();
+        int numeroPrecios = precios.size();
+        double primerPrecio = precios.get(0).getPrice();
+
+        PlanificadorOnline planificador = new PlanificadorOnline(testSystem);
+        planificador.actualizarPrecio(precios.get(0).getTime(), primerPrecio + 1.0);
+        planificador.actualizarPrecio(0.123, 0.5);
+
+        assertEquals(numeroPrecios, precios.size());
+        assertEquals(primerPrecio, precios.get(0).getPrice());
+    }
+}
@@ -0,0 +1,107 @@
+package com.ejemplo.algoritmo;
+
+import com.ejemplo.mapper.JsonMapper;
+import com.ejemplo.model.TestSystem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PuntoControlScatterSearchTest {
+
+    @TempDir
+    Path directorio;
+
+    private static byte[] serializar(Object objeto) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream salida = new ObjectOutputStream(bytes)) {
+            salida.writeObject(objeto);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void aleatorioSeRestauraConSuEstado() throws Exception {
+        Random original = new Random(42);
+        original.nextGaussian(); // Deja un gaussiano pendiente en el estado
+        Random restaurado = PuntoControlScatterSearch.leerAleatorio(serializar(original));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(original.nextGaussian(), restaurado.nextGaussian());
+            assertEquals(original.nextLong(), restaurado.nextLong());
+        }
+    }
+
+    @Test
+    void aleatorioRechazaOtrasClases() throws Exception {
+        assertThrows(IOException.class,
+                () -> PuntoControlScatterSearch.leerAleatorio(serializar(new ArrayList<>(List.of(1, 2)))));
+        assertThrows(IOException.class,
+                () -> PuntoControlScatterSearch.leerAleatorio(serializar(new HashMap<String, Integer>())));
+        assertThrows(IOException.class,
+                () -> PuntoControlScatterSearch.leerAleatorio(serializar(new java.security.SecureRandom())));
+    }
+
+    @Test
+    void reanudarReproduceLaEjecucionSinInterrupcion() throws Exception {
+        TestSystem testSystem = new JsonMapper().mapJsonToTestSystem("test_system_1.json");
+        PrintStream consola = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            ConstructivoAdaptativo constructivo = new ConstructivoAdaptativo(testSystem);
+            constructivo.getLogger().setShowLogs(false);
+            constructivo.setSemilla(1);
+            SolucionConstructiva inicial = constructivo.ejecutar();
+
+            ScatterSearch completo = nuevoScatter(testSystem, inicial, 2);
+            SolucionConstructiva esperada = completo.ejecutar();
+
+            Path archivo = directorio.resolve("scatter.ckpt.gz");
+            ScatterSearch interrumpido = nuevoScatter(testSystem, inicial, 1);
+            interrumpido.setPuntoControl(archivo, 1);
+            interrumpido.ejecutar();
+
+            ScatterSearch reanudado = ScatterSearch.desdePuntoControl(testSystem, archivo);
+            reanudado.getLogger().setShowLogs(false);
+            assertEquals(1, reanudado.getIteracionActual());
+            reanudado.getParametros().maxIteracionesTotal = 2;
+            SolucionConstructiva obtenida = reanudado.reanudar();
+
+            assertEquals(esperada.getValorObjetivo(), obtenida.getValorObjetivo());
+            assertEquals(completo.getIteracionActual(), reanudado.getIteracionActual());
+            List<ScatterSearch.IteracionScatter> historialEsperado = completo.getHistorialIteraciones();
+            List<ScatterSearch.IteracionScatter> historialObtenido = reanudado.getHistorialIteraciones();
+            assertEquals(historialEsperado.size(), historialObtenido.size());
+            for (int i = 0; i < historialEsperado.size(); i++) {
+                assertEquals(historialEsperado.get(i).getMejorValor(), historialObtenido.get(i).getMejorValor());
+            }
+            assertEquals(completo.getFrentePareto().getTamaño(), reanudado.getFrentePareto().getTamaño());
+        } finally {
+            System.setOut(consola);
+        }
+    }
+
+    private static ScatterSearch nuevoScatter(TestSystem testSystem, SolucionConstructiva inicial, int iteraciones) {
+        ScatterSearch.ParametrosScatterSearch parametros = ScatterSearch.ParametrosScatterSearch.configuracionRapida();
+        parametros.maxIteracionesTotal = iteraciones;
+        // Instancia chica para que la prueba tarde segundos
+        parametros.tamañoConjuntoReferencia = 3;
+        parametros.tamañoConjuntoCalidad = 2;
+        parametros.maxEjecucionesDiversificacion = 4;
+        parametros.maxIteracionesBusquedaLocal = 1;
+        ScatterSearch scatter = new ScatterSearch(testSystem, inicial, parametros);
+        scatter.getLogger().setShowLogs(false);
+        scatter.setSemilla(7);
+        return scatter;
+    }
+}
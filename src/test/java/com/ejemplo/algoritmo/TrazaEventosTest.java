@@ -0,0 +1,120 @@
+package com.ejemplo.algoritmo;
+
+import com.ejemplo.model.Charger;
+import com.ejemplo.model.VehicleArrival;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrazaEventosTest {
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void archivoMapeadoSeRecuperaCompleto() throws Exception {
+        Path archivo = directorio.resolve("traza.bin");
+        // Más de un bloque mapeado para cubrir la ampliación del archivo
+        int eventos = 70_000;
+        try (TrazaEventos traza = TrazaEventos.enArchivo(archivo)) {
+            for (int i = 0; i < eventos; i++) {
+                if (i % 3 == 0) {
+                    traza.registrar(TrazaEventos.TipoEvento.SELECCION_HEURISTICA, "Heuristica" + (i % 7),
+                            i * 0.25, -1, -1, i, i * 0.5, -i);
+                } else {
+                    traza.registrar(TrazaEventos.TipoEvento.PROGRESO_CARGA, i * 0.25, i, i % 10, 9_000,
+                            1.5, 0.2);
+                }
+            }
+        }
+
+        TrazaEventos leida = TrazaEventos.leerArchivo(archivo);
+        assertEquals(eventos, leida.getNumeroRegistros());
+        assertEquals(0, leida.getRegistrosDescartados());
+        for (int i = 0; i < eventos; i++) {
+            assertEquals(i * 0.25, leida.getTiempo(i));
+            if (i % 3 == 0) {
+                assertEquals(TrazaEventos.TipoEvento.SELECCION_HEURISTICA, leida.getTipo(i));
+                assertEquals("Heuristica" + (i % 7), leida.getTexto(i));
+                assertEquals(i, leida.getExtra(i));
+                assertEquals(i * 0.5, leida.getValor1(i));
+                assertEquals(-i, leida.getValor2(i));
+            } else {
+                assertEquals(TrazaEventos.TipoEvento.PROGRESO_CARGA, leida.getTipo(i));
+                assertNull(leida.getTexto(i));
+                assertEquals(i, leida.getVehiculo(i));
+                assertEquals(i % 10, leida.getCargador(i));
+            }
+        }
+    }
+
+    @Test
+    void bufferCircularConservaLosUltimos() {
+        TrazaEventos traza = TrazaEventos.enMemoria(4);
+        for (int i = 0; i < 10; i++) {
+            traza.registrar(TrazaEventos.TipoEvento.SALIDA, i, i, -1, 0, 0, 0);
+        }
+        assertEquals(4, traza.getNumeroRegistros());
+        assertEquals(6, traza.getRegistrosDescartados());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(6 + i, traza.getVehiculo(i));
+        }
+    }
+
+    @Test
+    void capacidadExcesivaSeRechaza() {
+        assertThrows(IllegalArgumentException.class,
+                () -> TrazaEventos.enMemoria(TrazaEventos.CAPACIDAD_MAXIMA_REGISTROS + 1));
+    }
+
+    @Test
+    void textoDecodificadoCoincideConElLogger() {
+        ChargingLogger logger = new ChargingLogger(false);
+        TrazaEventos traza = TrazaEventos.enMemoria(64);
+        logger.setTraza(traza);
+
+        Charger cargador = new Charger();
+        cargador.setChargerId(3);
+        cargador.setPower(22);
+        cargador.setCompatibleVehicles(Arrays.asList("Tesla"));
+        VehicleArrival llegada = new VehicleArrival();
+        llegada.setId(17);
+        llegada.setBrand("Nissan");
+        llegada.setDepartureTime(6.5);
+        llegada.setRequiredEnergy(30.0);
+        llegada.setMaxChargeRate(11);
+        VehiculoSimulacion vehiculo = new VehiculoSimulacion(llegada);
+
+        logger.logIterationStart(1.25, 4, 2);
+        logger.logCompatibilityCheck(vehiculo, cargador, false, 0.0);
+        logger.logCompatibilityCheck(vehiculo, cargador, true, 0.875);
+        logger.logFeasibilityCheck(vehiculo, cargador, true, null);
+        logger.logVehicleAssignment(vehiculo, cargador, 1.25);
+        logger.logTransformerConstraint(45.0, 70, false);
+        logger.logVehicleDeparture(vehiculo, 6.5);
+
+        // Cada línea decodificada debe ser, sin la marca de tiempo, una línea del logger
+        List<String> lineasLogger = logger.getLogHistory().stream()
+                .map(TrazaEventosTest::sinMarca)
+                .collect(Collectors.toList());
+        int lineasDecodificadas = 0;
+        for (int i = 0; i < traza.getNumeroRegistros(); i++) {
+            for (String linea : traza.decodificarTexto(i).split("\n")) {
+                assertTrue(lineasLogger.contains(sinMarca(linea)), "Línea no emitida por el logger: " + linea);
+                lineasDecodificadas++;
+            }
+        }
+        assertTrue(lineasDecodificadas >= traza.getNumeroRegistros());
+        assertTrue(traza.decodificarTexto(1).contains("Nissan NO compatible con Cargador 3"));
+    }
+
+    private static String sinMarca(String linea) {
+        return linea.substring(linea.indexOf("] ") + 2);
+    }
+}
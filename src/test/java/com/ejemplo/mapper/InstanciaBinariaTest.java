@@ -0,0 +1,81 @@
+package com.ejemplo.mapper;
+
+import com.ejemplo.model.TestSystem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstanciaBinariaTest {
+
+    // Posición de la tabla de desplazamientos: 14 enteros y 6 doubles de cabecera
+    private static final int TABLA_COLUMNAS = 14 * 4 + 6 * 8;
+    private static final int COL_LL_MARCA = 3;
+
+    @TempDir
+    Path directorio;
+
+    private Path exportarInstancia() throws Exception {
+        TestSystem original = new JsonMapper().mapJsonToTestSystem("test_system_1.json");
+        Path archivo = directorio.resolve("test_system_1" + InstanciaBinaria.EXTENSION);
+        InstanciaBinaria.exportar(original, archivo);
+        return archivo;
+    }
+
+    @Test
+    void idaYVueltaSinDejarTemporales() throws Exception {
+        TestSystem original = new JsonMapper().mapJsonToTestSystem("test_system_1.json");
+        Path archivo = exportarInstancia();
+        // Reexportar sobre un archivo existente lo reemplaza completo
+        InstanciaBinaria.exportar(original, archivo);
+
+        TestSystem leido = InstanciaBinaria.abrir(archivo).toTestSystem();
+        assertEquals(original.getArrivals().size(), leido.getArrivals().size());
+        assertEquals(original.getArrivals().get(0).getBrand(), leido.getArrivals().get(0).getBrand());
+        assertEquals(original.getParkingConfig().getChargers().size(), leido.getParkingConfig().getChargers().size());
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            assertEquals(1, archivos.count());
+        }
+    }
+
+    @Test
+    void rechazaArchivoTruncado() throws Exception {
+        Path archivo = exportarInstancia();
+        byte[] bytes = Files.readAllBytes(archivo);
+        Files.write(archivo, Arrays.copyOf(bytes, bytes.length / 2));
+        assertThrows(IOException.class, () -> InstanciaBinaria.abrir(archivo));
+    }
+
+    @Test
+    void rechazaCabeceraYColumnasCorruptas() throws Exception {
+        Path archivo = exportarInstancia();
+        byte[] original = Files.readAllBytes(archivo);
+
+        // Tamaño de llegadas mayor que el archivo
+        ByteBuffer datos = ByteBuffer.wrap(original.clone()).order(ByteOrder.LITTLE_ENDIAN);
+        datos.putInt(12, 50_000_000);
+        Files.write(archivo, datos.array());
+        assertThrows(IOException.class, () -> InstanciaBinaria.abrir(archivo));
+
+        // Desplazamiento de columna fuera del archivo
+        datos = ByteBuffer.wrap(original.clone()).order(ByteOrder.LITTLE_ENDIAN);
+        datos.putLong(TABLA_COLUMNAS, original.length);
+        Files.write(archivo, datos.array());
+        assertThrows(IOException.class, () -> InstanciaBinaria.abrir(archivo));
+
+        // Índice de texto fuera del diccionario
+        datos = ByteBuffer.wrap(original.clone()).order(ByteOrder.LITTLE_ENDIAN);
+        int columnaMarca = (int) datos.getLong(TABLA_COLUMNAS + COL_LL_MARCA * 8);
+        datos.putInt(columnaMarca, 9999);
+        Files.write(archivo, datos.array());
+        assertThrows(IOException.class, () -> InstanciaBinaria.abrir(archivo));
+    }
+}
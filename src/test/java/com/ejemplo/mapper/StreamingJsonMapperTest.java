@@ -0,0 +1,55 @@
+package com.ejemplo.mapper;
+
+import com.ejemplo.model.TestSystem;
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingJsonMapperTest {
+
+    private static final String BASE = "{\"test_number\": 9, \"energy_prices\": [{\"time\": 0, \"price\": 10}],"
+            + " \"arrivals\": [{\"id\": 1, \"arrival_time\": 0.5}],"
+            + " \"parking_config\": {\"chargers\": [{\"charger_id\": 1}]},"
+            + " \"car_brands\": [[\"Tesla\", 75, 0.2, 11, 250, 0.9]], \"charger_types\": {}}";
+
+    private static TestSystem leer(String json) throws Exception {
+        return new StreamingJsonMapper().mapJsonToTestSystem(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), "prueba");
+    }
+
+    @Test
+    void leeLaMismaInstanciaQueJsonMapper() throws Exception {
+        TestSystem esperado = new JsonMapper().mapJsonToTestSystem("test_system_1.json");
+        TestSystem leido = new StreamingJsonMapper().mapJsonToTestSystem("test_system_1.json");
+        assertEquals(esperado.getArrivals().size(), leido.getArrivals().size());
+        assertEquals(esperado.getEnergyPrices().size(), leido.getEnergyPrices().size());
+        assertEquals(esperado.getParkingConfig().getChargers().size(), leido.getParkingConfig().getChargers().size());
+        assertEquals(esperado.getCarBrands().size(), leido.getCarBrands().size());
+
+        TestSystem minimo = leer(BASE);
+        assertEquals(9, minimo.getTestNumber());
+        assertEquals(1, minimo.getArrivals().size());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "\"energy_prices\": [{\"time\": 0, \"price\": 10}]|\"energy_prices\": null|energy_prices",
+            "\"test_number\": 9|\"test_number\": null|test_number",
+            "\"arrivals\": [{\"id\": 1, \"arrival_time\": 0.5}]|\"arrivals\": [1, 2]|arrivals",
+            "\"arrivals\": [{\"id\": 1, \"arrival_time\": 0.5}]|\"arrivals\": {}|arrivals",
+            "\"chargers\": [{\"charger_id\": 1}]|\"chargers\": [[1]]|chargers",
+            "[[\"Tesla\", 75, 0.2, 11, 250, 0.9]]|[{\"nombre\": \"Tesla\"}]|car_brands",
+            "\"charger_types\": {}|\"charger_types\": null|charger_types" })
+    void rechazaNullYTiposEquivocados(String original, String reemplazo, String campo) {
+        String json = BASE.replace(original, reemplazo);
+        assertNotEquals(BASE, json);
+        JsonParseException error = assertThrows(JsonParseException.class, () -> leer(json));
+        assertTrue(error.getMessage().contains(campo), error.getMessage());
+    }
+}